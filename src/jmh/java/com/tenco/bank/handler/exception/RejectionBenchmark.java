@@ -0,0 +1,81 @@
+package com.tenco.bank.handler.exception;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.http.HttpStatus;
+
+import com.tenco.bank.dto.WithdrawalDTO;
+import com.tenco.bank.utils.Define;
+
+/**
+ * 거절된 요청 처리량 (잔액 부족 / 입력 오류)
+ *
+ * depth : 예외가 만들어지는 지점까지의 호출 깊이 (Tomcat, 필터, 인터셉터, 컨트롤러를 거치면 100 단계 이상)
+ * legacy : 거절마다 new DataDeliveryException (스택 트레이스 생성)
+ * stackless : 미리 만든 BusinessException 을 던진다.
+ * validation : DTO validate() 결과만 확인 (예외 없음)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class RejectionBenchmark {
+
+	@Param({ "20", "150" })
+	public int depth;
+
+	private final WithdrawalDTO invalid = WithdrawalDTO.builder().amount(-1L).wAccountNumber("1111")
+			.wAccountPassword("1234").build();
+
+	@Benchmark
+	public String legacy() {
+		try {
+			call(depth, true);
+			return null;
+		} catch (DataDeliveryException e) {
+			return e.getMessage();
+		}
+	}
+
+	@Benchmark
+	public String stackless() {
+		try {
+			call(depth, false);
+			return null;
+		} catch (DataDeliveryException e) {
+			return e.getMessage();
+		}
+	}
+
+	@Benchmark
+	public String validation() {
+		return validate(depth);
+	}
+
+	// 거절 지점까지 depth 단계 호출
+	private void call(int remaining, boolean legacy) {
+		if (remaining > 0) {
+			call(remaining - 1, legacy);
+			return;
+		}
+		if (legacy) {
+			throw new DataDeliveryException(Define.LACK_Of_BALANCE, HttpStatus.BAD_REQUEST);
+		}
+		throw BusinessException.LACK_OF_BALANCE;
+	}
+
+	private String validate(int remaining) {
+		if (remaining > 0) {
+			return validate(remaining - 1);
+		}
+		return invalid.validate().getMessage();
+	}
+}
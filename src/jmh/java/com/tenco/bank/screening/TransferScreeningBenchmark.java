@@ -0,0 +1,60 @@
+package com.tenco.bank.screening;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.tenco.bank.repository.model.Account;
+
+/**
+ * 이체 한 건 심사 시간 분포 (목표 p99 1ms 미만)
+ *
+ * 10,000 개 계좌에 출금 20 건씩 채워 두고, 통과하는 이체 (규칙 3 개 모두 끝까지 계산) 를 심사 한다.
+ * SampleTime 결과의 p0.99 가 이체 한 건에 더해지는 시간이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class TransferScreeningBenchmark {
+
+	private static final int ACCOUNTS = 10_000;
+
+	private TransferScreeningService screening;
+	private Account[] accounts;
+
+	@Setup
+	public void setUp() {
+		// 규칙은 메모리 특징만 보므로 저장소의 DB 의존성은 쓰이지 않는다.
+		FeatureStore featureStore = new FeatureStore(null, null);
+		screening = new TransferScreeningService(featureStore, List.of(new RapidDrainRule(0.9, 3),
+				new NewPayeeBurstRule(5), new LargeAmountRule(20, 5, 1_000_000L)), true);
+		accounts = new Account[ACCOUNTS];
+		long now = System.currentTimeMillis();
+		for (int i = 0; i < ACCOUNTS; i++) {
+			accounts[i] = Account.builder().id(i + 1).balance(100_000_000L).build();
+			AccountFeatures features = featureStore.of(i + 1);
+			// 최근 10분 안에 2 건, 나머지는 그 이전 (수취 계좌는 모두 다름)
+			for (int j = 0; j < 20; j++) {
+				features.record(ACCOUNTS + j, 1_000_000L, now - (j < 2 ? j : 10 + j) * 60_000L);
+			}
+		}
+	}
+
+	@Benchmark
+	public void screen() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Account wAccount = accounts[random.nextInt(ACCOUNTS)];
+		Account dAccount = accounts[random.nextInt(ACCOUNTS)];
+		screening.screen(wAccount, dAccount, 1_000_000L + random.nextInt(1_000));
+	}
+}
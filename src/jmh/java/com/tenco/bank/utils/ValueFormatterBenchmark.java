@@ -0,0 +1,45 @@
+package com.tenco.bank.utils;
+
+import java.sql.Timestamp;
+import java.text.DecimalFormat;
+import java.text.SimpleDateFormat;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * 거래 내역 한 행 포맷 비용 (시간 + 금액 2 개)
+ *
+ * legacy : 이전 방식 (호출마다 SimpleDateFormat / DecimalFormat 생성)
+ * current : ValueFormatter (공유 DateTimeFormatter, 스레드별 버퍼)
+ * -prof gc 의 gc.alloc.rate.norm 으로 호출당 할당 바이트를 비교 한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class ValueFormatterBenchmark {
+
+	private final Timestamp createdAt = Timestamp.valueOf("2026-10-19 15:06:37");
+	private final Long amount = 1_234_567L;
+	private final Long balance = 98_765_432_100L;
+
+	@Benchmark
+	public String legacy() {
+		SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+		DecimalFormat df = new DecimalFormat("#,###");
+		return sdf.format(createdAt) + df.format(amount) + "원" + new DecimalFormat("#,###").format(balance) + "원";
+	}
+
+	@Benchmark
+	public String current() {
+		return ValueFormatter.formatTimestamp(createdAt) + ValueFormatter.formatWon(amount)
+				+ ValueFormatter.formatWon(balance);
+	}
+}
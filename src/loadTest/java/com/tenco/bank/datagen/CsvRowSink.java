@@ -0,0 +1,59 @@
+package com.tenco.bank.datagen;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * bulk load 파일로 쓰는 sink (테이블마다 csv 하나 + MySQL / H2 적재 스크립트)
+ * null 은 \N 으로 쓴다. (H2 csvread 옵션은 \ 를 escape 로 읽으므로 \\N 으로 넘긴다.)
+ */
+public class CsvRowSink implements RowSink {
+
+	private final Path dir;
+	private final Map<String, BufferedWriter> writers = new LinkedHashMap<>();
+	private final Map<String, String[]> columns = new LinkedHashMap<>();
+
+	public CsvRowSink(DataGenConfig config) throws IOException {
+		this.dir = Path.of(config.outDir);
+		Files.createDirectories(dir);
+	}
+
+	@Override
+	public void write(RowBlock block) throws IOException {
+		BufferedWriter out = writers.get(block.table());
+		if (out == null) {
+			out = Files.newBufferedWriter(dir.resolve(block.table() + ".csv"), StandardCharsets.UTF_8);
+			out.append(String.join(",", block.columns())).append('\n');
+			writers.put(block.table(), out);
+			columns.put(block.table(), block.columns());
+		}
+		for (int row = 0; row < block.size(); row++) {
+			block.writeCsv(out, row);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		for (BufferedWriter out : writers.values()) {
+			out.close();
+		}
+		StringBuilder mysql = new StringBuilder("-- mysql --local-infile=1 mybank < load-mysql.sql\n");
+		StringBuilder h2 = new StringBuilder("-- H2 : RUNSCRIPT FROM 'load-h2.sql'\n");
+		columns.forEach((table, cols) -> {
+			String file = dir.toAbsolutePath().resolve(table + ".csv").toString().replace('\\', '/');
+			String list = String.join(", ", cols);
+			mysql.append("load data local infile '").append(file).append("' into table ").append(table)
+					.append(" character set utf8mb4 fields terminated by ',' lines terminated by '\\n' ignore 1 lines (")
+					.append(list).append(");\n");
+			h2.append("insert into ").append(table).append('(').append(list).append(") select * from csvread('")
+					.append(file).append("', null, 'charset=UTF-8 nullString=\\\\N');\n");
+		});
+		Files.writeString(dir.resolve("load-mysql.sql"), mysql, StandardCharsets.UTF_8);
+		Files.writeString(dir.resolve("load-h2.sql"), h2, StandardCharsets.UTF_8);
+	}
+}
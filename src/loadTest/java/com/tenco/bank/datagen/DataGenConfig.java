@@ -0,0 +1,55 @@
+package com.tenco.bank.datagen;
+
+/**
+ * 데이터 생성 설정 (시스템 프로퍼티, gradle generateData -P 값으로 전달)
+ *
+ * datagen.url / user / password : 대상 DB (JDBC). csv 모드에서 빈 값(-Purl=)이면 빈 테이블 기준 id 로 만든다.
+ * datagen.mode      : insert (다중 행 insert) / csv (bulk load 파일 + 적재 스크립트)
+ * datagen.users     : 사용자 수
+ * datagen.histories : 거래 내역 수
+ * datagen.days      : 거래 내역 기간 (오늘 기준 과거 n일)
+ * datagen.seed      : 난수 seed (같은 seed + 같은 시작 id 면 같은 데이터)
+ * datagen.batch-rows: insert 한 문장의 행 수
+ * datagen.threads   : insert 작업 스레드 (= 커넥션) 수
+ * datagen.out-dir   : csv 저장 위치
+ */
+public class DataGenConfig {
+
+	final String url;
+	final String user;
+	final String password;
+	final boolean csv;
+	final int users;
+	final long histories;
+	final int days;
+	final long seed;
+	final int batchRows;
+	final int threads;
+	final String outDir;
+
+	private DataGenConfig() {
+		this.url = System.getProperty("datagen.url", "jdbc:mysql://localhost:3306/mybank?serverTimezone=Asia/Seoul");
+		this.user = System.getProperty("datagen.user", "root");
+		this.password = System.getProperty("datagen.password", "asd123");
+		this.csv = "csv".equalsIgnoreCase(System.getProperty("datagen.mode", "insert"));
+		this.users = Integer.getInteger("datagen.users", 100_000);
+		this.histories = Long.getLong("datagen.histories", 1_000_000L);
+		this.days = Integer.getInteger("datagen.days", 365);
+		this.seed = Long.getLong("datagen.seed", 42L);
+		this.batchRows = Integer.getInteger("datagen.batch-rows", 1000);
+		this.threads = Integer.getInteger("datagen.threads", 4);
+		this.outDir = System.getProperty("datagen.out-dir", "build/datagen");
+	}
+
+	public static DataGenConfig fromSystemProperties() {
+		return new DataGenConfig();
+	}
+
+	boolean hasDatabase() {
+		return url != null && !url.isEmpty();
+	}
+
+	boolean isH2() {
+		return url != null && url.startsWith("jdbc:h2:");
+	}
+}
@@ -0,0 +1,204 @@
+package com.tenco.bank.datagen;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.tenco.bank.service.AccountNumberAllocator;
+
+/**
+ * 대량 테스트 데이터 생성기 (user_tb, account_tb, history_tb)
+ *
+ * - 사용자마다 계좌 1개 + 기하 분포로 추가 계좌 (최대 5개)
+ * - 입금 받는 계좌는 Zipf(1.1), 출금/이체 하는 계좌는 Zipf(0.8) 로 골라서 소수의 hot 계좌와 긴 꼬리를 만든다.
+ * - 금액, 초기 잔액은 로그 정규 분포
+ * - 거래 내역을 시간 순서로 만들면서 계좌별 잔액을 메모리에 유지 하므로 잔액 체인이 맞는다. (대사 작업 통과)
+ *   잔액이 부족한 출금/이체는 같은 계좌 입금으로 바꾼다.
+ * - 계좌 최종 잔액은 거래 내역을 모두 만든 뒤 등록 한다.
+ * - id 는 기존 최대 id 다음부터 직접 넣고, 계좌 번호는 account_number_seq_tb 에서 구간을 예약 한다.
+ *
+ * 실행 : ./gradlew generateData -Pusers=1000000 -Phistories=10000000 -Pseed=42
+ */
+public class DataGenerator {
+
+	private static final long DAY = TimeUnit.DAYS.toMillis(1);
+	private static final int MAX_ACCOUNTS_PER_USER = 5;
+
+	public static void main(String[] args) throws Exception {
+		DataGenConfig config = DataGenConfig.fromSystemProperties();
+		Random random = new Random(config.seed);
+
+		int userOffset = 0;
+		int accountOffset = 0;
+		long historyOffset = 0;
+		long numberBase = 500_000_000L;
+
+		// 1. 계좌 배정 (사용자 id 순서)
+		int[] accountOwner = new int[config.users * MAX_ACCOUNTS_PER_USER];
+		int accountCount = 0;
+		for (int u = 0; u < config.users; u++) {
+			int n = 1;
+			while (n < MAX_ACCOUNTS_PER_USER && random.nextDouble() < 0.4) {
+				n++;
+			}
+			for (int i = 0; i < n; i++) {
+				accountOwner[accountCount++] = u;
+			}
+		}
+
+		if (config.hasDatabase()) {
+			try (Connection conn = DriverManager.getConnection(config.url, config.user, config.password)) {
+				userOffset = (int) maxId(conn, "user_tb");
+				accountOffset = (int) maxId(conn, "account_tb");
+				historyOffset = maxId(conn, "history_tb");
+				numberBase = reserveAccountNumbers(conn, accountCount);
+			}
+		}
+
+		RowSink sink = config.csv ? new CsvRowSink(config) : new JdbcRowSink(config);
+		String passwordHash = new BCryptPasswordEncoder().encode("1234");
+		long now = System.currentTimeMillis();
+		long historyStart = now - config.days * DAY;
+		long start = System.nanoTime();
+
+		try (sink) {
+			// 2. 사용자
+			RowBlock.Users users = new RowBlock.Users(config.batchRows, passwordHash);
+			for (int u = 0; u < config.users; u++) {
+				users.add(userOffset + u + 1, historyStart - 60 * DAY + (long) (random.nextDouble() * 30 * DAY));
+				if (users.size() == config.batchRows) {
+					sink.write(users);
+					users = new RowBlock.Users(config.batchRows, passwordHash);
+				}
+			}
+			if (users.size() > 0) {
+				sink.write(users);
+			}
+			System.out.printf("[datagen] user_tb %,d 행%n", config.users);
+
+			// 3. 거래 내역 (시간 순서, 계좌별 잔액 유지)
+			long[] balance = new long[accountCount];
+			for (int a = 0; a < accountCount; a++) {
+				balance[a] = roundTo10(Math.exp(13 + 1.5 * random.nextGaussian()));
+			}
+			ZipfSampler payees = new ZipfSampler(accountCount, 1.1, random);
+			ZipfSampler payers = new ZipfSampler(accountCount, 0.8, random);
+			double step = (double) (now - historyStart) / Math.max(1, config.histories);
+
+			long historyStartNanos = System.nanoTime();
+			RowBlock.Histories histories = new RowBlock.Histories(config.batchRows);
+			for (long h = 0; h < config.histories; h++) {
+				long createdAt = historyStart + (long) (h * step);
+				long amount = Math.max(100, roundTo10(Math.exp(9 + 1.2 * random.nextGaussian())));
+				double type = random.nextDouble();
+				int w = -1;
+				int d = -1;
+				if (type < 0.3) {
+					d = payees.next(random); // ATM 입금
+				} else if (type < 0.5) {
+					w = payers.next(random); // ATM 출금
+				} else {
+					w = payers.next(random); // 이체
+					d = payees.next(random);
+					if (w == d) {
+						w = -1;
+					}
+				}
+				if (w >= 0 && balance[w] < amount) {
+					// 잔액 부족 - 출금 계좌로의 ATM 입금으로 바꿔서 체인을 유지
+					d = w;
+					w = -1;
+				}
+				long wBalance = 0;
+				long dBalance = 0;
+				if (w >= 0) {
+					balance[w] -= amount;
+					wBalance = balance[w];
+				}
+				if (d >= 0) {
+					balance[d] += amount;
+					dBalance = balance[d];
+				}
+				histories.add(historyOffset + h + 1, amount, w < 0 ? 0 : accountOffset + w + 1, wBalance,
+						d < 0 ? 0 : accountOffset + d + 1, dBalance, createdAt);
+				if (histories.size() == config.batchRows) {
+					sink.write(histories);
+					histories = new RowBlock.Histories(config.batchRows);
+				}
+			}
+			if (histories.size() > 0) {
+				sink.write(histories);
+			}
+			double historySeconds = (System.nanoTime() - historyStartNanos) / 1e9;
+			System.out.printf("[datagen] history_tb %,d 행 (생성 기준 %,.0f 행/분)%n", config.histories,
+					config.histories / Math.max(historySeconds, 0.001) * 60);
+
+			// 4. 계좌 (최종 잔액)
+			RowBlock.Accounts accounts = new RowBlock.Accounts(config.batchRows);
+			for (int a = 0; a < accountCount; a++) {
+				accounts.add(accountOffset + a + 1, AccountNumberAllocator.withCheckDigit(numberBase + a), balance[a],
+						userOffset + accountOwner[a] + 1, historyStart - 30 * DAY + (long) (random.nextDouble() * 29 * DAY));
+				if (accounts.size() == config.batchRows) {
+					sink.write(accounts);
+					accounts = new RowBlock.Accounts(config.batchRows);
+				}
+			}
+			if (accounts.size() > 0) {
+				sink.write(accounts);
+			}
+			System.out.printf("[datagen] account_tb %,d 행, hot 계좌 id : %d, %d, %d%n", accountCount,
+					accountOffset + payees.indexOfRank(0) + 1, accountOffset + payees.indexOfRank(1) + 1,
+					accountOffset + payees.indexOfRank(2) + 1);
+		}
+
+		// H2 는 id 를 직접 넣어도 자동 증가 값이 따라오지 않으므로 다음 값을 맞춘다.
+		if (!config.csv && config.isH2()) {
+			try (Connection conn = DriverManager.getConnection(config.url, config.user, config.password);
+					Statement st = conn.createStatement()) {
+				for (String table : new String[] { "user_tb", "account_tb", "history_tb" }) {
+					st.execute("alter table " + table + " alter column id restart with " + (maxId(conn, table) + 1));
+				}
+			}
+		}
+
+		double seconds = (System.nanoTime() - start) / 1e9;
+		long total = config.users + accountCount + config.histories;
+		System.out.printf("[datagen] 완료 %,d 행, %.1f초 (%,.0f 행/분)%n", total, seconds, total / seconds * 60);
+	}
+
+	private static long maxId(Connection conn, String table) throws Exception {
+		try (Statement st = conn.createStatement();
+				ResultSet rs = st.executeQuery("select coalesce(max(id), 0) from " + table)) {
+			rs.next();
+			return rs.getLong(1);
+		}
+	}
+
+	// 앱의 계좌 번호 발급(hi/lo)과 겹치지 않도록 시퀀스에서 count 개를 예약
+	private static long reserveAccountNumbers(Connection conn, int count) throws Exception {
+		conn.setAutoCommit(false);
+		try (Statement st = conn.createStatement()) {
+			long base;
+			try (ResultSet rs = st.executeQuery(
+					"select next_val from account_number_seq_tb where name = 'account' for update")) {
+				rs.next();
+				base = rs.getLong(1);
+			}
+			st.executeUpdate("update account_number_seq_tb set next_val = next_val + " + count
+					+ " where name = 'account'");
+			conn.commit();
+			return base;
+		} finally {
+			conn.setAutoCommit(true);
+		}
+	}
+
+	private static long roundTo10(double value) {
+		return Math.round(value / 10) * 10;
+	}
+}
@@ -0,0 +1,106 @@
+package com.tenco.bank.datagen;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 다중 행 insert 로 쓰는 sink
+ *
+ * - 작업 스레드마다 커넥션 하나, 묶음 하나 = insert 한 문장 = 트랜잭션 하나
+ * - 큐가 차면 생성 스레드가 기다린다. (메모리 사용량 제한)
+ * - id 를 직접 넣으므로 작업 스레드 사이의 순서는 상관 없다.
+ */
+public class JdbcRowSink implements RowSink {
+
+	private static final RowBlock END = new RowBlock.Users(0, "");
+
+	private final BlockingQueue<RowBlock> queue;
+	private final List<Thread> workers = new ArrayList<>();
+	private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+	public JdbcRowSink(DataGenConfig config) {
+		this.queue = new ArrayBlockingQueue<>(config.threads * 4);
+		for (int i = 0; i < config.threads; i++) {
+			workers.add(Thread.ofPlatform().name("datagen-writer-" + i).start(() -> work(config)));
+		}
+	}
+
+	private void work(DataGenConfig config) {
+		Map<String, PreparedStatement> statements = new HashMap<>();
+		try (Connection conn = DriverManager.getConnection(config.url, config.user, config.password)) {
+			conn.setAutoCommit(false);
+			while (true) {
+				RowBlock block = queue.take();
+				if (block == END) {
+					break;
+				}
+				String key = block.table() + ":" + block.size();
+				PreparedStatement ps = statements.get(key);
+				if (ps == null) {
+					ps = conn.prepareStatement(insertSql(block));
+					statements.put(key, ps);
+				}
+				int columns = block.columns().length;
+				for (int row = 0; row < block.size(); row++) {
+					block.bind(ps, row, row * columns + 1);
+				}
+				ps.executeUpdate();
+				conn.commit();
+			}
+		} catch (Exception e) {
+			failure.compareAndSet(null, e);
+			queue.clear();
+		}
+	}
+
+	// insert into t(c1, c2) values (?, ?), (?, ?) ...
+	private static String insertSql(RowBlock block) {
+		String[] columns = block.columns();
+		StringBuilder row = new StringBuilder("(");
+		for (int i = 0; i < columns.length; i++) {
+			row.append(i == 0 ? "?" : ", ?");
+		}
+		row.append(')');
+		StringBuilder sql = new StringBuilder("insert into ").append(block.table()).append('(')
+				.append(String.join(", ", columns)).append(") values ");
+		for (int i = 0; i < block.size(); i++) {
+			if (i > 0) {
+				sql.append(", ");
+			}
+			sql.append(row);
+		}
+		return sql.toString();
+	}
+
+	@Override
+	public void write(RowBlock block) throws Exception {
+		checkFailure();
+		queue.put(block);
+	}
+
+	@Override
+	public void close() throws Exception {
+		for (int i = 0; i < workers.size(); i++) {
+			queue.put(END);
+		}
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		checkFailure();
+	}
+
+	private void checkFailure() throws Exception {
+		Exception e = failure.get();
+		if (e != null) {
+			throw e;
+		}
+	}
+}
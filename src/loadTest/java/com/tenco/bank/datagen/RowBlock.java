@@ -0,0 +1,206 @@
+package com.tenco.bank.datagen;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+/**
+ * 한 테이블의 행 묶음 (다중 행 insert 한 문장 또는 csv 한 덩어리)
+ * 생성 스레드가 채우고 작업 스레드가 쓰므로 채운 뒤에는 변경하지 않는다.
+ */
+public abstract class RowBlock {
+
+	protected int size;
+
+	public int size() {
+		return size;
+	}
+
+	public abstract String table();
+
+	public abstract String[] columns();
+
+	// row 번째 행 값을 parameterIndex 부터 바인딩
+	public abstract void bind(PreparedStatement ps, int row, int parameterIndex) throws SQLException;
+
+	// row 번째 행을 csv 한 줄로 (null 은 \N)
+	public abstract void writeCsv(Appendable out, int row) throws IOException;
+
+	protected static void setNullableLong(PreparedStatement ps, int index, long value, boolean isNull)
+			throws SQLException {
+		if (isNull) {
+			ps.setNull(index, Types.BIGINT);
+		} else {
+			ps.setLong(index, value);
+		}
+	}
+
+	protected static String csvTime(long millis) {
+		return new Timestamp(millis).toString().substring(0, 19);
+	}
+
+	// user_tb
+	public static class Users extends RowBlock {
+		final int[] id;
+		final long[] createdAt;
+		private final String passwordHash;
+
+		public Users(int capacity, String passwordHash) {
+			this.id = new int[capacity];
+			this.createdAt = new long[capacity];
+			this.passwordHash = passwordHash;
+		}
+
+		void add(int userId, long created) {
+			id[size] = userId;
+			createdAt[size] = created;
+			size++;
+		}
+
+		@Override
+		public String table() {
+			return "user_tb";
+		}
+
+		@Override
+		public String[] columns() {
+			return new String[] { "id", "username", "password", "fullname", "created_at" };
+		}
+
+		@Override
+		public void bind(PreparedStatement ps, int row, int i) throws SQLException {
+			ps.setInt(i, id[row]);
+			ps.setString(i + 1, "gen_" + id[row]);
+			ps.setString(i + 2, passwordHash);
+			ps.setString(i + 3, "generated");
+			ps.setTimestamp(i + 4, new Timestamp(createdAt[row]));
+		}
+
+		@Override
+		public void writeCsv(Appendable out, int row) throws IOException {
+			out.append(Integer.toString(id[row])).append(",gen_").append(Integer.toString(id[row])).append(',')
+					.append(passwordHash).append(",generated,").append(csvTime(createdAt[row])).append('\n');
+		}
+	}
+
+	// account_tb
+	public static class Accounts extends RowBlock {
+		final int[] id;
+		final String[] number;
+		final long[] balance;
+		final int[] userId;
+		final long[] createdAt;
+
+		public Accounts(int capacity) {
+			this.id = new int[capacity];
+			this.number = new String[capacity];
+			this.balance = new long[capacity];
+			this.userId = new int[capacity];
+			this.createdAt = new long[capacity];
+		}
+
+		void add(int accountId, String accountNumber, long accountBalance, int ownerId, long created) {
+			id[size] = accountId;
+			number[size] = accountNumber;
+			balance[size] = accountBalance;
+			userId[size] = ownerId;
+			createdAt[size] = created;
+			size++;
+		}
+
+		@Override
+		public String table() {
+			return "account_tb";
+		}
+
+		@Override
+		public String[] columns() {
+			return new String[] { "id", "number", "password", "balance", "user_id", "created_at" };
+		}
+
+		@Override
+		public void bind(PreparedStatement ps, int row, int i) throws SQLException {
+			ps.setInt(i, id[row]);
+			ps.setString(i + 1, number[row]);
+			ps.setString(i + 2, "1234");
+			ps.setLong(i + 3, balance[row]);
+			ps.setInt(i + 4, userId[row]);
+			ps.setTimestamp(i + 5, new Timestamp(createdAt[row]));
+		}
+
+		@Override
+		public void writeCsv(Appendable out, int row) throws IOException {
+			out.append(Integer.toString(id[row])).append(',').append(number[row]).append(",1234,")
+					.append(Long.toString(balance[row])).append(',').append(Integer.toString(userId[row])).append(',')
+					.append(csvTime(createdAt[row])).append('\n');
+		}
+	}
+
+	// history_tb (계좌 id 0 = ATM = null)
+	public static class Histories extends RowBlock {
+		final long[] id;
+		final long[] amount;
+		final long[] wBalance;
+		final long[] dBalance;
+		final int[] wAccountId;
+		final int[] dAccountId;
+		final long[] createdAt;
+
+		public Histories(int capacity) {
+			this.id = new long[capacity];
+			this.amount = new long[capacity];
+			this.wBalance = new long[capacity];
+			this.dBalance = new long[capacity];
+			this.wAccountId = new int[capacity];
+			this.dAccountId = new int[capacity];
+			this.createdAt = new long[capacity];
+		}
+
+		void add(long historyId, long value, int wId, long wBal, int dId, long dBal, long created) {
+			id[size] = historyId;
+			amount[size] = value;
+			wAccountId[size] = wId;
+			wBalance[size] = wBal;
+			dAccountId[size] = dId;
+			dBalance[size] = dBal;
+			createdAt[size] = created;
+			size++;
+		}
+
+		@Override
+		public String table() {
+			return "history_tb";
+		}
+
+		@Override
+		public String[] columns() {
+			return new String[] { "id", "amount", "w_balance", "d_balance", "w_account_id", "d_account_id",
+					"created_at" };
+		}
+
+		@Override
+		public void bind(PreparedStatement ps, int row, int i) throws SQLException {
+			ps.setLong(i, id[row]);
+			ps.setLong(i + 1, amount[row]);
+			setNullableLong(ps, i + 2, wBalance[row], wAccountId[row] == 0);
+			setNullableLong(ps, i + 3, dBalance[row], dAccountId[row] == 0);
+			setNullableLong(ps, i + 4, wAccountId[row], wAccountId[row] == 0);
+			setNullableLong(ps, i + 5, dAccountId[row], dAccountId[row] == 0);
+			ps.setTimestamp(i + 6, new Timestamp(createdAt[row]));
+		}
+
+		@Override
+		public void writeCsv(Appendable out, int row) throws IOException {
+			boolean atmW = wAccountId[row] == 0;
+			boolean atmD = dAccountId[row] == 0;
+			out.append(Long.toString(id[row])).append(',').append(Long.toString(amount[row])).append(',')
+					.append(atmW ? "\\N" : Long.toString(wBalance[row])).append(',')
+					.append(atmD ? "\\N" : Long.toString(dBalance[row])).append(',')
+					.append(atmW ? "\\N" : Integer.toString(wAccountId[row])).append(',')
+					.append(atmD ? "\\N" : Integer.toString(dAccountId[row])).append(',')
+					.append(csvTime(createdAt[row])).append('\n');
+		}
+	}
+}
@@ -0,0 +1,11 @@
+package com.tenco.bank.datagen;
+
+// 생성된 행 묶음을 받는 곳 (DB insert 또는 csv 파일)
+public interface RowSink extends AutoCloseable {
+
+	void write(RowBlock block) throws Exception;
+
+	// 남은 묶음을 모두 쓰고 끝낸다.
+	@Override
+	void close() throws Exception;
+}
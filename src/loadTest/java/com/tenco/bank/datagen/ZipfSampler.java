@@ -0,0 +1,50 @@
+package com.tenco.bank.datagen;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 치우친(Zipf) 분포로 0 ~ n-1 중 하나를 고른다.
+ * 순위 r 의 가중치는 1 / r^exponent 이고, 순위는 섞인 순서(permutation)에 대응 시켜
+ * 인기 계좌가 id 앞쪽에 몰리지 않게 한다.
+ */
+public class ZipfSampler {
+
+	private final double[] cumulative;
+	private final int[] rankToIndex;
+
+	public ZipfSampler(int n, double exponent, Random random) {
+		this.cumulative = new double[n];
+		double sum = 0;
+		for (int rank = 0; rank < n; rank++) {
+			sum += 1.0 / Math.pow(rank + 1, exponent);
+			cumulative[rank] = sum;
+		}
+		for (int rank = 0; rank < n; rank++) {
+			cumulative[rank] /= sum;
+		}
+		this.rankToIndex = new int[n];
+		for (int i = 0; i < n; i++) {
+			rankToIndex[i] = i;
+		}
+		for (int i = n - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int tmp = rankToIndex[i];
+			rankToIndex[i] = rankToIndex[j];
+			rankToIndex[j] = tmp;
+		}
+	}
+
+	public int next(Random random) {
+		int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+		if (rank < 0) {
+			rank = -rank - 1;
+		}
+		return rankToIndex[Math.min(rank, rankToIndex.length - 1)];
+	}
+
+	// 가장 인기 있는 순위 rank 의 index (보고용)
+	public int indexOfRank(int rank) {
+		return rankToIndex[rank];
+	}
+}
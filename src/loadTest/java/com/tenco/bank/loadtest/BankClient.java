@@ -0,0 +1,104 @@
+package com.tenco.bank.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 세션(쿠키)을 유지하는 HTTP 클라이언트 한 명분
+ *
+ * HttpClient 는 모든 가상 사용자가 공유하고, 쿠키(JSESSIONID)만 사용자마다 따로 가진다.
+ * 리다이렉트는 따라가지 않는다. (POST 처리 시간만 측정, 302 는 성공)
+ * 업무 오류는 200 + alert 스크립트로 내려오므로 본문에 alert( 가 있으면 실패로 본다.
+ * (거절을 기대하는 요청은 반대로 alert( 가 있어야 성공 - 거절 처리량 측정용)
+ */
+public class BankClient {
+
+	private final HttpClient http;
+	private final String baseUrl;
+	private final LatencyRecorder recorder;
+	private String cookie;
+
+	public BankClient(HttpClient http, String baseUrl, LatencyRecorder recorder) {
+		this.http = http;
+		this.baseUrl = baseUrl;
+		this.recorder = recorder;
+	}
+
+	public static HttpClient newHttpClient(ExecutorService executor) {
+		return HttpClient.newBuilder()
+				.executor(executor)
+				.followRedirects(HttpClient.Redirect.NEVER)
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+	}
+
+	public Response get(String endpoint, String path) throws IOException, InterruptedException {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+		return send(endpoint, builder, false);
+	}
+
+	public Response post(String endpoint, String path, Map<String, String> form)
+			throws IOException, InterruptedException {
+		return send(endpoint, formRequest(path, form), false);
+	}
+
+	// 업무 오류(alert)로 거절 되어야 하는 요청 (잔액 부족, 입력 누락 등)
+	public Response postRejected(String endpoint, String path, Map<String, String> form)
+			throws IOException, InterruptedException {
+		return send(endpoint, formRequest(path, form), true);
+	}
+
+	private HttpRequest.Builder formRequest(String path, Map<String, String> form) {
+		StringBuilder body = new StringBuilder();
+		form.forEach((key, value) -> {
+			if (body.length() > 0) {
+				body.append('&');
+			}
+			body.append(URLEncoder.encode(key, StandardCharsets.UTF_8)).append('=')
+					.append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+		});
+		return HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.header("Content-Type", "application/x-www-form-urlencoded; charset=UTF-8")
+				.POST(HttpRequest.BodyPublishers.ofString(body.toString()));
+	}
+
+	private Response send(String endpoint, HttpRequest.Builder builder, boolean expectRejection)
+			throws IOException, InterruptedException {
+		if (cookie != null) {
+			builder.header("Cookie", cookie);
+		}
+		builder.timeout(Duration.ofSeconds(30));
+		long start = System.nanoTime();
+		HttpResponse<String> response;
+		try {
+			response = http.send(builder.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			recorder.record(endpoint, start, System.nanoTime() - start, false);
+			throw e;
+		}
+		long elapsed = System.nanoTime() - start;
+
+		List<String> setCookies = response.headers().allValues("Set-Cookie");
+		for (String setCookie : setCookies) {
+			if (setCookie.startsWith("JSESSIONID=")) {
+				cookie = setCookie.substring(0, setCookie.indexOf(';') < 0 ? setCookie.length() : setCookie.indexOf(';'));
+			}
+		}
+		boolean rejected = response.body().contains("alert(");
+		boolean ok = response.statusCode() < 400 && rejected == expectRejection;
+		recorder.record(endpoint, start, elapsed, ok);
+		return new Response(response.statusCode(), response.body(), ok);
+	}
+
+	public record Response(int status, String body, boolean ok) {
+	}
+}
@@ -0,0 +1,7 @@
+package com.tenco.bank.loadtest;
+
+// 부하 테스트용으로 미리 만든 사용자와 계좌
+public record BankUser(String username, String password, Integer accountId, String accountNumber) {
+
+	static final String ACCOUNT_PASSWORD = "1234";
+}
@@ -0,0 +1,96 @@
+package com.tenco.bank.loadtest;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tenco.bank.ClassBankApplication;
+
+/**
+ * JSP 화면별 콜드 스타트 측정
+ * 앱을 새로 띄운 뒤 화면마다 첫 요청, 두 번째 요청 응답 시간을 잰다. (차이 = JSP 컴파일/초기화 비용)
+ * jsp.precompiled 시스템 프로퍼티로 런타임 컴파일 / 미리 컴파일을 비교 한다.
+ */
+public class ColdStartProbe {
+
+	private static final Pattern ACCOUNT_LINK = Pattern.compile("/account/detail/(\\d+)\\?type=all\"");
+
+	public static void main(String[] args) throws Exception {
+		boolean precompiled = Boolean.getBoolean("jsp.precompiled");
+		String reportDir = System.getProperty("loadtest.report-dir", "build/reports/jsp-cold-start");
+
+		SpringApplication app = new SpringApplication(ClassBankApplication.class);
+		app.setAdditionalProfiles("loadtest");
+		ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+		try (ConfigurableApplicationContext context = app.run("--server.port=0")) {
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			HttpClient http = BankClient.newHttpClient(executor);
+			BankClient client = new BankClient(http, "http://localhost:" + port, new LatencyRecorder());
+
+			Map<String, Map<String, Double>> pages = new LinkedHashMap<>();
+			probe(client, pages, "user/signUp.jsp", "/user/sign-up");
+			probe(client, pages, "user/signIn.jsp", "/user/sign-in");
+			probe(client, pages, "main.jsp", "/main-page");
+
+			// 로그인 후 화면 (사용자/계좌 준비 요청은 측정하지 않음)
+			client.post("setup", "/user/sign-up",
+					VirtualUser.form("username", "coldstart", "password", "1234", "fullname", "coldstart"));
+			client.post("setup", "/user/sign-in", VirtualUser.form("username", "coldstart", "password", "1234"));
+			client.post("setup", "/account/save", VirtualUser.form("password", "1234", "balance", "10000"));
+
+			String listBody = probe(client, pages, "account/list.jsp", "/account/list");
+			probe(client, pages, "account/save.jsp", "/account/save");
+			probe(client, pages, "account/deposit.jsp", "/account/deposit");
+			probe(client, pages, "account/withdrawal.jsp", "/account/withdrawal");
+			probe(client, pages, "account/transfer.jsp", "/account/transfer");
+			Matcher m = ACCOUNT_LINK.matcher(listBody);
+			if (m.find()) {
+				probe(client, pages, "account/detail.jsp", "/account/detail/" + m.group(1) + "?type=all");
+			}
+
+			Map<String, Object> report = new LinkedHashMap<>();
+			report.put("precompiled", precompiled);
+			report.put("pages", pages);
+			Path dir = Path.of(reportDir);
+			Files.createDirectories(dir);
+			Path file = dir.resolve(precompiled ? "precompiled.json" : "runtime.json");
+			new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+
+			System.out.printf("%-24s %12s %12s%n", "page (precompiled=" + precompiled + ")", "first ms", "second ms");
+			pages.forEach((page, times) -> System.out.printf("%-24s %12.1f %12.1f%n", page, times.get("firstMs"),
+					times.get("secondMs")));
+			System.out.println("[jsp] 결과 : " + file.toAbsolutePath());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	// 같은 화면을 두 번 요청해서 첫 번째/두 번째 응답 시간 기록
+	private static String probe(BankClient client, Map<String, Map<String, Double>> pages, String page, String path)
+			throws Exception {
+		long start = System.nanoTime();
+		BankClient.Response first = client.get(page, path);
+		double firstMs = (System.nanoTime() - start) / 1e6;
+		start = System.nanoTime();
+		client.get(page, path);
+		double secondMs = (System.nanoTime() - start) / 1e6;
+
+		Map<String, Double> times = new LinkedHashMap<>();
+		times.put("firstMs", Math.round(firstMs * 10) / 10.0);
+		times.put("secondMs", Math.round(secondMs * 10) / 10.0);
+		pages.put(page, times);
+		return first.body();
+	}
+}
@@ -0,0 +1,169 @@
+package com.tenco.bank.loadtest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.DuplicateKeyException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tenco.bank.ClassBankApplication;
+import com.tenco.bank.dto.DepositDTO;
+import com.tenco.bank.dto.SaveDTO;
+import com.tenco.bank.dto.SignUpDTO;
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.service.AccountService;
+import com.tenco.bank.service.HotAccountService;
+import com.tenco.bank.service.UserService;
+
+/**
+ * 입금이 몰리는 계좌 하나의 경합 측정 (잔액 분할 슬롯 수별)
+ *
+ * 슬롯 수마다 새 계좌를 만들고 threads 개 스레드가 동시에 입금 해서 건당 시간과 처리량을 잰다. (HTTP 제외, 서비스 호출)
+ * 슬롯 0 은 일반 계좌 (계좌 행 하나에 모든 입금이 줄을 선다)
+ * 기본은 내장 H2, 행 잠금 대기가 실제와 가깝게 보이려면 db.url 로 MySQL 을 지정 한다. (스키마는 미리 만들어 둔다 - table.sql)
+ */
+public class HotAccountProbe {
+
+	public static void main(String[] args) throws Exception {
+		int threads = Integer.getInteger("threads", 16);
+		int deposits = Integer.getInteger("deposits", 20000);
+		int warmup = Integer.getInteger("warmup", 2000);
+		int[] slotCounts = Arrays.stream(System.getProperty("slots", "0,4,16").split(",")).map(String::trim)
+				.mapToInt(Integer::parseInt).toArray();
+		String dbUrl = System.getProperty("db.url", "");
+		String reportDir = System.getProperty("loadtest.report-dir", "build/reports/hot-account");
+
+		Map<String, Map<String, Object>> results = new LinkedHashMap<>();
+		SpringApplication app = new SpringApplication(ClassBankApplication.class);
+		app.setAdditionalProfiles("loadtest");
+		try (ConfigurableApplicationContext context = app.run(appArgs(dbUrl))) {
+			UserService userService = context.getBean(UserService.class);
+			AccountService accountService = context.getBean(AccountService.class);
+			HotAccountService hotAccountService = context.getBean(HotAccountService.class);
+
+			String username = "hot-bench-" + System.currentTimeMillis();
+			SignUpDTO signUp = new SignUpDTO();
+			signUp.setUsername(username);
+			signUp.setPassword("1234");
+			signUp.setFullname(username);
+			userService.createUser(signUp);
+			Integer userId = userService.searcUsername(username).getId();
+
+			for (int slots : slotCounts) {
+				accountService.createAccount(SaveDTO.builder().password("1234").balance(1_000_000L).build(), userId);
+				List<Account> accounts = accountService.readAccountListByUserId(userId);
+				Account account = accounts.stream().max((a, b) -> Integer.compare(a.getId(), b.getId())).get();
+				hotAccountService.changeSlots(account.getId(), slots);
+
+				run(accountService, userId, account.getNumber(), threads, warmup);
+				results.put("slots-" + slots, run(accountService, userId, account.getNumber(), threads, deposits));
+			}
+		}
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("database", dbUrl.isEmpty() ? "h2 (in-memory)" : dbUrl);
+		report.put("cpus", Runtime.getRuntime().availableProcessors());
+		report.put("threads", threads);
+		report.put("warmup", warmup);
+		report.put("deposits", deposits);
+		report.put("results", results);
+		Path dir = Path.of(reportDir);
+		Files.createDirectories(dir);
+		Path file = dir.resolve("hot-account.json");
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+
+		System.out.printf("%-10s %10s %10s %10s %10s %12s%n", "slots", "mean(ms)", "p50(ms)", "p99(ms)", "max(ms)",
+				"deposits/s");
+		results.forEach((slots, result) -> System.out.printf("%-10s %10s %10s %10s %10s %12s%n", slots,
+				result.get("mean"), result.get("p50"), result.get("p99"), result.get("max"), result.get("throughput")));
+		System.out.println("[hot-account] 결과 : " + file.toAbsolutePath());
+	}
+
+	private static String[] appArgs(String dbUrl) {
+		List<String> args = new ArrayList<>(List.of("--server.port=0", "--screening.enabled=false",
+				"--hot-account.consolidate-interval-ms=3600000"));
+		if (dbUrl.isEmpty()) {
+			args.add("--spring.datasource.url=jdbc:h2:mem:hot-account;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+		} else {
+			args.add("--spring.datasource.url=" + dbUrl);
+			args.add("--spring.datasource.driver-class-name=");
+			args.add("--spring.datasource.username=" + System.getProperty("db.username", ""));
+			args.add("--spring.datasource.password=" + System.getProperty("db.password", ""));
+			args.add("--spring.sql.init.mode=never");
+		}
+		return args.toArray(String[]::new);
+	}
+
+	// threads 개 스레드가 같은 계좌에 count 건 입금
+	private static Map<String, Object> run(AccountService accountService, Integer userId, String number, int threads,
+			int count) throws Exception {
+		long[] nanos = new long[count];
+		AtomicInteger retries = new AtomicInteger();
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		long started = System.nanoTime();
+		try {
+			List<Future<?>> futures = new ArrayList<>(threads);
+			for (int t = 0; t < threads; t++) {
+				int first = t;
+				futures.add(pool.submit(() -> {
+					DepositDTO dto = new DepositDTO();
+					dto.setAmount(1L);
+					dto.setDAccountNumber(number);
+					for (int i = first; i < count; i += threads) {
+						long start = System.nanoTime();
+						deposit(accountService, dto, userId, retries);
+						nanos[i] = System.nanoTime() - start;
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			pool.shutdown();
+		}
+		double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+		Arrays.sort(nanos);
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("count", count);
+		result.put("mean", millis((long) Arrays.stream(nanos).average().orElse(0)));
+		result.put("p50", millis(nanos[(int) (count * 0.50)]));
+		result.put("p99", millis(nanos[Math.min(count - 1, (int) (count * 0.99))]));
+		result.put("max", millis(nanos[count - 1]));
+		result.put("throughput", Math.round(count / elapsedSeconds));
+		result.put("retries", retries.get());
+		return result;
+	}
+
+	// 내장 H2 는 동시 insert 에서 auto_increment 키가 겹치는 경우가 있어 다시 시도 한다. (MySQL 에서는 발생 안 함)
+	private static void deposit(AccountService accountService, DepositDTO dto, Integer userId, AtomicInteger retries) {
+		for (int attempt = 1;; attempt++) {
+			try {
+				accountService.updateAccountDeposit(dto, userId);
+				return;
+			} catch (DuplicateKeyException e) {
+				if (attempt == 100) {
+					throw e;
+				}
+				retries.incrementAndGet();
+			}
+		}
+	}
+
+	private static double millis(long nanos) {
+		return Math.round(nanos / 1_000L) / 1000.0;
+	}
+}
@@ -0,0 +1,94 @@
+package com.tenco.bank.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 엔드포인트별 응답 시간 기록
+ * 측정 구간 안에서 "시작한" 요청의 표본을 모두 보관하고 끝난 뒤 정렬해서 정확한 백분위를 계산 한다.
+ * (단일 장비 수 분 실행 기준 수십만 건 = 수 MB)
+ */
+public class LatencyRecorder {
+
+	private final Map<String, Samples> samples = new TreeMap<>();
+	private volatile long measureFrom = Long.MAX_VALUE;
+	private volatile long measureTo = Long.MAX_VALUE;
+
+	// 측정 구간 (System.nanoTime 기준)
+	public void window(long from, long to) {
+		this.measureFrom = from;
+		this.measureTo = to;
+	}
+
+	public void record(String endpoint, long startNanos, long nanos, boolean ok) {
+		if (startNanos - measureFrom < 0 || startNanos - measureTo >= 0) {
+			return;
+		}
+		Samples s;
+		synchronized (samples) {
+			s = samples.computeIfAbsent(endpoint, key -> new Samples());
+		}
+		s.add(nanos, ok);
+	}
+
+	/**
+	 * @param elapsedSeconds 측정 구간 길이 (처리량 계산)
+	 * @return 엔드포인트 -> 지표 (count, errors, throughput, mean, p50, p95, p99, max, 단위 ms)
+	 */
+	public Map<String, Map<String, Object>> summarize(double elapsedSeconds) {
+		Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+		synchronized (samples) {
+			samples.forEach((endpoint, s) -> result.put(endpoint, s.summarize(elapsedSeconds)));
+		}
+		return result;
+	}
+
+	private static class Samples {
+		private long[] values = new long[1024];
+		private int size;
+		private long errors;
+
+		private synchronized void add(long nanos, boolean ok) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = nanos;
+			if (!ok) {
+				errors++;
+			}
+		}
+
+		private synchronized Map<String, Object> summarize(double elapsedSeconds) {
+			long[] sorted = Arrays.copyOf(values, size);
+			Arrays.sort(sorted);
+			long total = 0;
+			for (long v : sorted) {
+				total += v;
+			}
+			Map<String, Object> m = new LinkedHashMap<>();
+			m.put("count", size);
+			m.put("errors", errors);
+			m.put("throughputPerSec", round(size / Math.max(elapsedSeconds, 0.001)));
+			m.put("meanMs", size == 0 ? 0 : round(total / (double) size / 1_000_000));
+			m.put("p50Ms", percentile(sorted, 0.50));
+			m.put("p95Ms", percentile(sorted, 0.95));
+			m.put("p99Ms", percentile(sorted, 0.99));
+			m.put("maxMs", size == 0 ? 0 : round(sorted[size - 1] / 1_000_000.0));
+			return m;
+		}
+
+		private static double percentile(long[] sorted, double p) {
+			if (sorted.length == 0) {
+				return 0;
+			}
+			int index = (int) Math.ceil(p * sorted.length) - 1;
+			return round(sorted[Math.max(0, index)] / 1_000_000.0);
+		}
+
+		private static double round(double value) {
+			return Math.round(value * 1000) / 1000.0;
+		}
+	}
+}
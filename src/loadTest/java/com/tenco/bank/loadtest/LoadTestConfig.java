@@ -0,0 +1,46 @@
+package com.tenco.bank.loadtest;
+
+import java.util.List;
+
+/**
+ * 부하 테스트 설정 (시스템 프로퍼티, gradle loadTest -P 값으로 전달)
+ *
+ * loadtest.target     : 이미 떠 있는 서버 주소 (없으면 H2 로 앱을 직접 띄움)
+ * loadtest.users      : 미리 만들어 둘 사용자(계좌) 수
+ * loadtest.duration   : 도착 구간 (초)
+ * loadtest.warmup     : 측정 전 워밍업 (초)
+ * loadtest.arrival    : poisson / constant (도착 간격 분포)
+ * loadtest.seed       : 난수 seed (도착 간격, 사용자 선택 재현)
+ * loadtest.scenarios  : Scenario 형식, 여러 개는 ; 로 구분
+ * loadtest.shards     : 0 보다 크면 H2 메모리 DB 를 샤드 수만큼 띄워서 샤딩으로 실행 (샤드 수별 처리량 비교)
+ * loadtest.report-dir : 보고서(JSON, HTML) 저장 위치
+ */
+public class LoadTestConfig {
+
+	final String target;
+	final int users;
+	final int durationSeconds;
+	final int warmupSeconds;
+	final boolean poisson;
+	final long seed;
+	final List<Scenario> scenarios;
+	final int shards;
+	final String reportDir;
+
+	private LoadTestConfig() {
+		this.target = System.getProperty("loadtest.target", "");
+		this.users = Integer.getInteger("loadtest.users", 50);
+		this.durationSeconds = Integer.getInteger("loadtest.duration", 60);
+		this.warmupSeconds = Integer.getInteger("loadtest.warmup", 10);
+		this.poisson = !"constant".equalsIgnoreCase(System.getProperty("loadtest.arrival", "poisson"));
+		this.seed = Long.getLong("loadtest.seed", 42L);
+		this.scenarios = Scenario.parseAll(System.getProperty("loadtest.scenarios",
+				"browse:10:signin,list,detail;transfer:5:signin,list,deposit,transfer,detail"));
+		this.shards = Integer.getInteger("loadtest.shards", 0);
+		this.reportDir = System.getProperty("loadtest.report-dir", "build/reports/loadtest");
+	}
+
+	public static LoadTestConfig fromSystemProperties() {
+		return new LoadTestConfig();
+	}
+}
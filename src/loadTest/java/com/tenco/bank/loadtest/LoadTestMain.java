@@ -0,0 +1,175 @@
+package com.tenco.bank.loadtest;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.tenco.bank.ClassBankApplication;
+
+/**
+ * 전체 HTTP 흐름 부하 테스트 (로그인 -> 목록 -> 입금 -> 이체 -> 상세)
+ *
+ * 1. loadtest 프로필(H2 메모리 DB)로 앱을 임의 포트에 띄운다. (loadtest.target 이 있으면 그 서버 사용)
+ *    loadtest.shards 가 있으면 H2 메모리 DB 를 샤드 수만큼 만들어 샤딩으로 띄운다.
+ * 2. 사용자/계좌를 loadtest.users 개 만든다. (회원가입, 계좌 생성 화면과 같은 요청)
+ * 3. 시나리오마다 초당 도착 수에 맞춰 가상 사용자를 가상 스레드로 출발 시킨다. (open model)
+ *    응답이 느려져도 도착 간격은 변하지 않으므로 서버 포화시 대기열이 그대로 응답 시간에 나타난다.
+ * 4. 워밍업 이후 구간만 측정해서 엔드포인트별 p50/p95/p99, 처리량을 JSON, HTML 로 저장 한다.
+ *
+ * 실행 : ./gradlew loadTest -Pusers=50 -Pduration=60 -Pscenarios="transfer:20:signin,list,deposit,transfer,detail"
+ *        ./gradlew loadTest -Pshards=4 (샤드 1, 2, 4 로 각각 실행해서 처리량 비교)
+ */
+public class LoadTestMain {
+
+	private static final Pattern ACCOUNT_LINK = Pattern.compile("/account/detail/(\\d+)\\?type=all\">([^<]+)</a>");
+
+	public static void main(String[] args) throws Exception {
+		LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+		ConfigurableApplicationContext context = null;
+		String baseUrl = config.target;
+		if (baseUrl.isEmpty()) {
+			SpringApplication app = new SpringApplication(ClassBankApplication.class);
+			app.setAdditionalProfiles("loadtest");
+			context = app.run(serverArgs(config).toArray(new String[0]));
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			baseUrl = "http://localhost:" + port;
+		}
+
+		ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+		try {
+			HttpClient http = BankClient.newHttpClient(executor);
+			LatencyRecorder recorder = new LatencyRecorder();
+
+			System.out.println("[loadtest] 대상 " + baseUrl + ", 사용자 " + config.users + "명 준비 중");
+			List<BankUser> users = provision(http, baseUrl, recorder, config.users);
+
+			long measureSeconds = run(config, http, baseUrl, recorder, users, executor);
+
+			Map<String, Map<String, Object>> summary = recorder.summarize(measureSeconds);
+			Path dir = Path.of(config.reportDir);
+			LoadTestReport.write(dir, config, baseUrl, measureSeconds, summary);
+			System.out.println("[loadtest] 보고서 : " + dir.toAbsolutePath().resolve("report.html"));
+		} finally {
+			executor.shutdownNow();
+			if (context != null) {
+				context.close();
+			}
+		}
+	}
+
+	// 샤드마다 별도 H2 메모리 DB (샤드 0 은 loadtest 프로필 DB 대신 사용)
+	private static List<String> serverArgs(LoadTestConfig config) {
+		List<String> args = new ArrayList<>();
+		args.add("--server.port=0");
+		if (config.shards > 0) {
+			args.add("--sharding.enabled=true");
+			args.add("--sharding.init-schema=true");
+			args.add("--spring.sql.init.mode=never");
+			for (int i = 0; i < config.shards; i++) {
+				String prefix = "--sharding.shards[" + i + "].";
+				args.add(prefix + "url=jdbc:h2:mem:loadtest_shard" + i
+						+ ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+				args.add(prefix + "username=sa");
+				args.add(prefix + "password=");
+				args.add(prefix + "driver-class-name=org.h2.Driver");
+			}
+		}
+		return args;
+	}
+
+	// 사용자마다 회원가입 -> 로그인 -> 계좌 생성 -> 목록에서 계좌 id/번호 확인
+	private static List<BankUser> provision(HttpClient http, String baseUrl, LatencyRecorder recorder, int count)
+			throws Exception {
+		String prefix = "lt" + Long.toString(System.currentTimeMillis(), 36) + "_";
+		List<BankUser> users = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			String username = prefix + i;
+			String password = "pw" + i;
+			BankClient client = new BankClient(http, baseUrl, recorder);
+			client.post("setup", "/user/sign-up",
+					VirtualUser.form("username", username, "password", password, "fullname", "loadtest"));
+			client.post("setup", "/user/sign-in", VirtualUser.form("username", username, "password", password));
+			client.post("setup", "/account/save",
+					VirtualUser.form("password", BankUser.ACCOUNT_PASSWORD, "balance", "1000000000"));
+			BankClient.Response list = client.get("setup", "/account/list");
+			Matcher m = ACCOUNT_LINK.matcher(list.body());
+			if (!m.find()) {
+				throw new IllegalStateException("계좌 생성 확인 실패 : " + username);
+			}
+			users.add(new BankUser(username, password, Integer.valueOf(m.group(1)), m.group(2).trim()));
+		}
+		return users;
+	}
+
+	/**
+	 * 시나리오별 도착 스레드를 돌린다.
+	 *
+	 * @return 측정 구간 길이 (초)
+	 */
+	private static long run(LoadTestConfig config, HttpClient http, String baseUrl, LatencyRecorder recorder,
+			List<BankUser> users, ExecutorService executor) throws InterruptedException {
+		long start = System.nanoTime();
+		long measureFrom = start + TimeUnit.SECONDS.toNanos(config.warmupSeconds);
+		long end = measureFrom + TimeUnit.SECONDS.toNanos(config.durationSeconds);
+
+		recorder.window(measureFrom, end);
+		AtomicInteger inFlight = new AtomicInteger();
+
+		List<Thread> arrivals = new ArrayList<>();
+		for (int s = 0; s < config.scenarios.size(); s++) {
+			Scenario scenario = config.scenarios.get(s);
+			Random random = new Random(config.seed + s);
+			arrivals.add(Thread.ofPlatform().name("arrival-" + scenario.getName()).start(() -> {
+				double meanGapNanos = 1_000_000_000.0 / scenario.getArrivalsPerSecond();
+				long next = start;
+				while (next < end) {
+					long wait = next - System.nanoTime();
+					if (wait > 0) {
+						LockSupport.parkNanos(wait);
+					}
+					int index = random.nextInt(users.size());
+					BankUser user = users.get(index);
+					BankUser payee = users.get((index + 1) % users.size());
+					VirtualUser visit = new VirtualUser(new BankClient(http, baseUrl, recorder), scenario, user, payee);
+					inFlight.incrementAndGet();
+					executor.execute(() -> {
+						try {
+							visit.run();
+						} finally {
+							inFlight.decrementAndGet();
+						}
+					});
+					// 다음 도착 시각은 이전 "예정" 시각 기준 (실제 출발이 늦어도 누적되지 않음)
+					double gap = config.poisson ? -Math.log(1 - random.nextDouble()) * meanGapNanos : meanGapNanos;
+					next += (long) gap;
+				}
+			}));
+		}
+
+		System.out.println("[loadtest] 워밍업 " + config.warmupSeconds + "초 + 측정 " + config.durationSeconds + "초");
+		for (Thread arrival : arrivals) {
+			arrival.join();
+		}
+		// 측정 구간에 시작한 요청이 끝날 때까지 대기 (최대 30초)
+		long drainUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (inFlight.get() > 0 && System.nanoTime() < drainUntil) {
+			TimeUnit.MILLISECONDS.sleep(50);
+		}
+		return config.durationSeconds;
+	}
+}
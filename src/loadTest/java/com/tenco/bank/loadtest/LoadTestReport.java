@@ -0,0 +1,76 @@
+package com.tenco.bank.loadtest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// 부하 테스트 결과 저장 (report.json, report.html)
+public class LoadTestReport {
+
+	private static final List<String> COLUMNS = List.of("count", "errors", "throughputPerSec", "meanMs", "p50Ms",
+			"p95Ms", "p99Ms", "maxMs");
+
+	public static void write(Path dir, LoadTestConfig config, String baseUrl, long measureSeconds,
+			Map<String, Map<String, Object>> endpoints) throws IOException {
+		Files.createDirectories(dir);
+
+		Map<String, Object> scenarios = new LinkedHashMap<>();
+		for (Scenario scenario : config.scenarios) {
+			scenarios.put(scenario.getName(), Map.of("arrivalsPerSecond", scenario.getArrivalsPerSecond(),
+					"steps", scenario.getSteps()));
+		}
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("createdAt", LocalDateTime.now().toString());
+		report.put("target", baseUrl);
+		report.put("users", config.users);
+		report.put("warmupSeconds", config.warmupSeconds);
+		report.put("measureSeconds", measureSeconds);
+		report.put("arrival", config.poisson ? "poisson" : "constant");
+		report.put("seed", config.seed);
+		report.put("shards", config.shards);
+		report.put("scenarios", scenarios);
+		report.put("endpoints", endpoints);
+
+		ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+		mapper.writeValue(dir.resolve("report.json").toFile(), report);
+		Files.writeString(dir.resolve("report.html"), html(report, endpoints), StandardCharsets.UTF_8);
+	}
+
+	private static String html(Map<String, Object> report, Map<String, Map<String, Object>> endpoints) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("<!DOCTYPE html>\n<html><head><meta charset=\"UTF-8\"><title>부하 테스트 결과</title>\n");
+		sb.append("<style>body{font-family:sans-serif}table{border-collapse:collapse}")
+				.append("td,th{border:1px solid #ccc;padding:4px 8px;text-align:right}td:first-child{text-align:left}</style>\n");
+		sb.append("</head><body>\n<h2>부하 테스트 결과</h2>\n<ul>\n");
+		for (String key : List.of("createdAt", "target", "users", "warmupSeconds", "measureSeconds", "arrival", "seed",
+				"scenarios")) {
+			sb.append("<li>").append(key).append(" : ").append(escape(String.valueOf(report.get(key)))).append("</li>\n");
+		}
+		sb.append("</ul>\n<table>\n<tr><th>endpoint</th>");
+		for (String column : COLUMNS) {
+			sb.append("<th>").append(column).append("</th>");
+		}
+		sb.append("</tr>\n");
+		endpoints.forEach((endpoint, metrics) -> {
+			sb.append("<tr><td>").append(escape(endpoint)).append("</td>");
+			for (String column : COLUMNS) {
+				sb.append("<td>").append(metrics.get(column)).append("</td>");
+			}
+			sb.append("</tr>\n");
+		});
+		sb.append("</table>\n</body></html>\n");
+		return sb.toString();
+	}
+
+	private static String escape(String value) {
+		return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+	}
+}
@@ -0,0 +1,206 @@
+package com.tenco.bank.loadtest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tenco.bank.ClassBankApplication;
+
+/**
+ * 화면별 전송 바이트 / 요청 수 측정 (첫 방문, 재방문)
+ *
+ * 첫 방문 : 화면 HTML + 같은 서버의 정적 파일(link href, script src, img src)을 모두 요청
+ * 재방문 : 화면 HTML 은 다시 받고, 정적 파일은 캐시 헤더에 따라
+ *   - max-age > 0 (immutable 포함) : 요청 없음
+ *   - 그 외 : 조건부 요청 (If-None-Match / If-Modified-Since, 304 면 본문 0)
+ * 바이트는 응답 본문(압축된 그대로) 기준이다. (헤더 제외) CDN 파일은 개수만 따로 센다.
+ * webdelivery 시스템 프로퍼티로 기본 설정 / 압축 + HTTP/2 프로필을 비교 한다.
+ */
+public class PageWeightProbe {
+
+	private static final Pattern ASSET = Pattern.compile("<(?:link|script|img)\\b[^>]*?(?:href|src)=\"([^\"]+)\"");
+	private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+	private static final Pattern ACCOUNT_LINK = Pattern.compile("/account/detail/(\\d+)\\?type=all\"");
+
+	public static void main(String[] args) throws Exception {
+		boolean webDelivery = Boolean.getBoolean("webdelivery");
+		String reportDir = System.getProperty("loadtest.report-dir", "build/reports/page-weight");
+
+		SpringApplication app = new SpringApplication(ClassBankApplication.class);
+		if (webDelivery) {
+			app.setAdditionalProfiles("loadtest", "webdelivery");
+		} else {
+			app.setAdditionalProfiles("loadtest");
+		}
+		ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+		try (ConfigurableApplicationContext context = app.run("--server.port=0")) {
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			String baseUrl = "http://localhost:" + port;
+			HttpClient http = HttpClient.newBuilder()
+					.executor(executor)
+					.version(webDelivery ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+					.followRedirects(HttpClient.Redirect.NEVER)
+					.cookieHandler(new CookieManager())
+					.connectTimeout(Duration.ofSeconds(5))
+					.build();
+
+			Map<String, Map<String, Object>> pages = new LinkedHashMap<>();
+			pages.put("user/signUp.jsp", measure(http, baseUrl, "/user/sign-up"));
+			pages.put("user/signIn.jsp", measure(http, baseUrl, "/user/sign-in"));
+
+			// 로그인 후 화면 (사용자/계좌 준비 요청은 측정하지 않음)
+			post(http, baseUrl, "/user/sign-up", VirtualUser.form("username", "pageweight", "password", "1234",
+					"fullname", "pageweight"));
+			post(http, baseUrl, "/user/sign-in", VirtualUser.form("username", "pageweight", "password", "1234"));
+			post(http, baseUrl, "/account/save", VirtualUser.form("password", "1234", "balance", "10000"));
+
+			pages.put("main.jsp", measure(http, baseUrl, "/main-page"));
+			Map<String, Object> list = measure(http, baseUrl, "/account/list");
+			pages.put("account/list.jsp", list);
+			pages.put("account/transfer.jsp", measure(http, baseUrl, "/account/transfer"));
+			Matcher m = ACCOUNT_LINK.matcher((String) list.remove("body"));
+			if (m.find()) {
+				pages.put("account/detail.jsp", measure(http, baseUrl, "/account/detail/" + m.group(1) + "?type=all"));
+			}
+			pages.values().forEach(page -> page.remove("body"));
+
+			Map<String, Object> report = new LinkedHashMap<>();
+			report.put("webdelivery", webDelivery);
+			report.put("pages", pages);
+			Path dir = Path.of(reportDir);
+			Files.createDirectories(dir);
+			Path file = dir.resolve(webDelivery ? "webdelivery.json" : "baseline.json");
+			new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+
+			System.out.printf("%-22s %8s %10s %10s %10s %10s %6s%n", "page (webdelivery=" + webDelivery + ")",
+					"proto", "1st reqs", "1st bytes", "2nd reqs", "2nd bytes", "cdn");
+			pages.forEach((page, result) -> System.out.printf("%-22s %8s %10s %10s %10s %10s %6s%n", page,
+					result.get("protocol"), result.get("firstViewRequests"), result.get("firstViewBytes"),
+					result.get("repeatViewRequests"), result.get("repeatViewBytes"), result.get("externalAssets")));
+			System.out.println("[page-weight] 결과 : " + file.toAbsolutePath());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	// 화면 하나의 첫 방문 / 재방문 (body 는 호출한 쪽에서 링크 추출 후 제거)
+	private static Map<String, Object> measure(HttpClient http, String baseUrl, String path)
+			throws IOException, InterruptedException {
+		Fetch page = fetch(http, baseUrl + path, null);
+		int firstRequests = 1;
+		long firstBytes = page.bytes;
+		int external = 0;
+		List<Fetch> assets = new ArrayList<>();
+		Matcher m = ASSET.matcher(page.text());
+		while (m.find()) {
+			String url = m.group(1);
+			if (url.startsWith("http://") || url.startsWith("https://") || url.startsWith("//")) {
+				external++;
+				continue;
+			}
+			Fetch asset = fetch(http, baseUrl + url, null);
+			assets.add(asset);
+			firstRequests++;
+			firstBytes += asset.bytes;
+		}
+
+		// 재방문 - 캐시 유효 기간이 있는 정적 파일은 요청하지 않는다.
+		int repeatRequests = 1;
+		long repeatBytes = fetch(http, baseUrl + path, null).bytes;
+		for (Fetch asset : assets) {
+			if (asset.maxAge > 0) {
+				continue;
+			}
+			repeatRequests++;
+			repeatBytes += fetch(http, asset.url, asset).bytes;
+		}
+
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("protocol", page.version);
+		result.put("htmlEncoding", page.encoding);
+		result.put("firstViewRequests", firstRequests);
+		result.put("firstViewBytes", firstBytes);
+		result.put("repeatViewRequests", repeatRequests);
+		result.put("repeatViewBytes", repeatBytes);
+		result.put("externalAssets", external);
+		result.put("body", page.text());
+		return result;
+	}
+
+	// 압축 응답을 받겠다고 알리고 본문은 받은 그대로(압축된 크기) 센다. previous 가 있으면 조건부 요청
+	private static Fetch fetch(HttpClient http, String url, Fetch previous) throws IOException, InterruptedException {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+				.header("Accept-Encoding", "br, gzip")
+				.timeout(Duration.ofSeconds(30))
+				.GET();
+		if (previous != null && previous.etag != null) {
+			builder.header("If-None-Match", previous.etag);
+		}
+		if (previous != null && previous.lastModified != null) {
+			builder.header("If-Modified-Since", previous.lastModified);
+		}
+		HttpResponse<byte[]> response = http.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+		String cacheControl = response.headers().firstValue("Cache-Control").orElse("");
+		Matcher maxAge = MAX_AGE.matcher(cacheControl);
+		return new Fetch(url, response.version() == HttpClient.Version.HTTP_2 ? "h2c" : "http/1.1",
+				response.headers().firstValue("Content-Encoding").orElse("identity"),
+				response.body(), response.body().length,
+				maxAge.find() ? Long.parseLong(maxAge.group(1)) : 0,
+				response.headers().firstValue("ETag").orElse(null),
+				response.headers().firstValue("Last-Modified").orElse(null));
+	}
+
+	private static void post(HttpClient http, String baseUrl, String path, Map<String, String> form)
+			throws IOException, InterruptedException {
+		StringBuilder body = new StringBuilder();
+		form.forEach((key, value) -> {
+			if (body.length() > 0) {
+				body.append('&');
+			}
+			body.append(URLEncoder.encode(key, StandardCharsets.UTF_8)).append('=')
+					.append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+		});
+		http.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.header("Content-Type", "application/x-www-form-urlencoded; charset=UTF-8")
+				.POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+				.build(), HttpResponse.BodyHandlers.discarding());
+	}
+
+	private record Fetch(String url, String version, String encoding, byte[] body, long bytes, long maxAge,
+			String etag, String lastModified) {
+
+		// 링크 추출용 본문 (HTML 은 gzip 까지만 압축 된다)
+		private String text() throws IOException {
+			if ("gzip".equals(encoding)) {
+				try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+					return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+				}
+			}
+			return new String(body, StandardCharsets.UTF_8);
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package com.tenco.bank.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 가상 사용자 시나리오 (open model)
+ *
+ * 형식 : 이름:초당도착수:단계,단계,...
+ * 예) transfer:10:signin,list,deposit,transfer,detail
+ * 단계 : signin, list, deposit, withdrawal, transfer, detail
+ *       overdraw, badpassword, badinput (업무 오류로 거절 되어야 성공)
+ */
+public class Scenario {
+
+	private final String name;
+	private final double arrivalsPerSecond;
+	private final List<String> steps;
+
+	public Scenario(String name, double arrivalsPerSecond, List<String> steps) {
+		this.name = name;
+		this.arrivalsPerSecond = arrivalsPerSecond;
+		this.steps = steps;
+	}
+
+	public static List<Scenario> parseAll(String spec) {
+		List<Scenario> scenarios = new ArrayList<>();
+		for (String part : spec.split(";")) {
+			if (part.isBlank()) {
+				continue;
+			}
+			String[] cols = part.trim().split(":");
+			if (cols.length != 3) {
+				throw new IllegalArgumentException("시나리오 형식 오류 (이름:초당도착수:단계,...) : " + part);
+			}
+			List<String> steps = new ArrayList<>();
+			for (String step : cols[2].split(",")) {
+				steps.add(step.trim());
+			}
+			scenarios.add(new Scenario(cols[0].trim(), Double.parseDouble(cols[1].trim()), steps));
+		}
+		return scenarios;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public double getArrivalsPerSecond() {
+		return arrivalsPerSecond;
+	}
+
+	public List<String> getSteps() {
+		return steps;
+	}
+}
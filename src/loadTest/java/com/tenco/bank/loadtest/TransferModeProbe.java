@@ -0,0 +1,134 @@
+package com.tenco.bank.loadtest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tenco.bank.ClassBankApplication;
+import com.tenco.bank.dto.SaveDTO;
+import com.tenco.bank.dto.SignUpDTO;
+import com.tenco.bank.dto.TransferDTO;
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.service.AccountService;
+import com.tenco.bank.service.UserService;
+
+/**
+ * 같은 샤드 이체 방식 비교 (transfer.mode = statements / procedure)
+ *
+ * 방식마다 앱을 따로 띄워서 계좌 두 개 사이로 번갈아 이체하고 건당 시간을 잰다. (HTTP 제외, 서비스 호출)
+ * 기본은 내장 H2 라서 네트워크 왕복 비용이 없다. 왕복 수 차이를 보려면 db.url 로 원격 MySQL 을 지정 한다.
+ * (스키마는 미리 만들어 둔다 - table.sql)
+ */
+public class TransferModeProbe {
+
+	private static final String[] MODES = { "statements", "procedure" };
+
+	public static void main(String[] args) throws Exception {
+		int warmup = Integer.getInteger("warmup", 2000);
+		int transfers = Integer.getInteger("transfers", 20000);
+		String dbUrl = System.getProperty("db.url", "");
+		String reportDir = System.getProperty("loadtest.report-dir", "build/reports/transfer-mode");
+
+		Map<String, Map<String, Object>> results = new LinkedHashMap<>();
+		for (String mode : MODES) {
+			results.put(mode, run(mode, dbUrl, warmup, transfers));
+		}
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("database", dbUrl.isEmpty() ? "h2 (in-memory)" : dbUrl);
+		report.put("warmup", warmup);
+		report.put("transfers", transfers);
+		report.put("modes", results);
+		Path dir = Path.of(reportDir);
+		Files.createDirectories(dir);
+		Path file = dir.resolve("transfer-mode.json");
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+
+		System.out.printf("%-12s %10s %10s %10s %10s %12s%n", "mode", "mean(ms)", "p50(ms)", "p99(ms)", "max(ms)",
+				"transfers/s");
+		results.forEach((mode, result) -> System.out.printf("%-12s %10s %10s %10s %10s %12s%n", mode,
+				result.get("mean"), result.get("p50"), result.get("p99"), result.get("max"), result.get("throughput")));
+		System.out.println("[transfer-mode] 결과 : " + file.toAbsolutePath());
+	}
+
+	private static Map<String, Object> run(String mode, String dbUrl, int warmup, int transfers) {
+		SpringApplication app = new SpringApplication(ClassBankApplication.class);
+		app.setAdditionalProfiles("loadtest");
+		List<String> args = new ArrayList<>(List.of("--server.port=0", "--transfer.mode=" + mode,
+				"--screening.enabled=false"));
+		if (dbUrl.isEmpty()) {
+			args.add("--spring.datasource.url=jdbc:h2:mem:transfer-" + mode
+					+ ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+		} else {
+			args.add("--spring.datasource.url=" + dbUrl);
+			args.add("--spring.datasource.driver-class-name=");
+			args.add("--spring.datasource.username=" + System.getProperty("db.username", ""));
+			args.add("--spring.datasource.password=" + System.getProperty("db.password", ""));
+			args.add("--spring.sql.init.mode=never");
+		}
+		try (ConfigurableApplicationContext context = app.run(args.toArray(String[]::new))) {
+			UserService userService = context.getBean(UserService.class);
+			AccountService accountService = context.getBean(AccountService.class);
+
+			// 실행마다 새 사용자 (원격 DB 를 다시 쓰는 경우)
+			String username = "bench-" + mode + "-" + System.currentTimeMillis();
+			SignUpDTO signUp = new SignUpDTO();
+			signUp.setUsername(username);
+			signUp.setPassword("1234");
+			signUp.setFullname(username);
+			userService.createUser(signUp);
+			Integer userId = userService.searcUsername(username).getId();
+			for (int i = 0; i < 2; i++) {
+				accountService.createAccount(SaveDTO.builder().password("1234").balance(1_000_000L).build(), userId);
+			}
+			List<Account> accounts = accountService.readAccountListByUserId(userId);
+			String a = accounts.get(0).getNumber();
+			String b = accounts.get(1).getNumber();
+
+			for (int i = 0; i < warmup; i++) {
+				transfer(accountService, userId, i, a, b);
+			}
+			long[] nanos = new long[transfers];
+			long started = System.nanoTime();
+			for (int i = 0; i < transfers; i++) {
+				long start = System.nanoTime();
+				transfer(accountService, userId, i, a, b);
+				nanos[i] = System.nanoTime() - start;
+			}
+			double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+			Arrays.sort(nanos);
+			Map<String, Object> result = new LinkedHashMap<>();
+			result.put("count", transfers);
+			result.put("mean", millis((long) Arrays.stream(nanos).average().orElse(0)));
+			result.put("p50", millis(nanos[(int) (transfers * 0.50)]));
+			result.put("p99", millis(nanos[Math.min(transfers - 1, (int) (transfers * 0.99))]));
+			result.put("max", millis(nanos[transfers - 1]));
+			result.put("throughput", Math.round(transfers / elapsedSeconds));
+			return result;
+		}
+	}
+
+	// 같은 금액을 번갈아 보내서 잔액이 줄지 않도록
+	private static void transfer(AccountService accountService, Integer userId, int i, String a, String b) {
+		TransferDTO dto = new TransferDTO();
+		dto.setAmount(1L);
+		dto.setWAccountNumber(i % 2 == 0 ? a : b);
+		dto.setDAccountNumber(i % 2 == 0 ? b : a);
+		dto.setPassword("1234");
+		accountService.updateAccountTransfer(dto, userId);
+	}
+
+	private static double millis(long nanos) {
+		return Math.round(nanos / 1_000L) / 1000.0;
+	}
+}
@@ -0,0 +1,85 @@
+package com.tenco.bank.loadtest;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 가상 사용자 한 번의 방문 (시나리오 단계를 순서대로 실행)
+ * 단계 실패시 남은 단계는 건너뛴다. (로그인 실패 후 목록 조회 등은 의미 없음)
+ */
+public class VirtualUser implements Runnable {
+
+	private final BankClient client;
+	private final Scenario scenario;
+	private final BankUser user;
+	private final BankUser payee;
+
+	public VirtualUser(BankClient client, Scenario scenario, BankUser user, BankUser payee) {
+		this.client = client;
+		this.scenario = scenario;
+		this.user = user;
+		this.payee = payee;
+	}
+
+	@Override
+	public void run() {
+		try {
+			for (String step : scenario.getSteps()) {
+				if (!execute(step)) {
+					return;
+				}
+			}
+		} catch (IOException e) {
+			// 연결 오류는 기록 되었으므로 이번 방문만 종료
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private boolean execute(String step) throws IOException, InterruptedException {
+		switch (step) {
+		case "signin":
+			return client.post("POST /user/sign-in", "/user/sign-in",
+					form("username", user.username(), "password", user.password())).ok();
+		case "list":
+			return client.get("GET /account/list", "/account/list").ok();
+		case "deposit":
+			return client.post("POST /account/deposit", "/account/deposit",
+					form("amount", "1000", "dAccountNumber", user.accountNumber())).ok();
+		case "withdrawal":
+			return client.post("POST /account/withdrawal", "/account/withdrawal",
+					form("amount", "1000", "wAccountNumber", user.accountNumber(), "wAccountPassword",
+							BankUser.ACCOUNT_PASSWORD)).ok();
+		case "transfer":
+			return client.post("POST /account/transfer", "/account/transfer",
+					form("amount", "1000", "wAccountNumber", user.accountNumber(), "dAccountNumber",
+							payee.accountNumber(), "password", BankUser.ACCOUNT_PASSWORD)).ok();
+		// 거절 되는 요청 (업무 오류 응답 비용 측정)
+		case "overdraw":
+			return client.postRejected("POST /account/withdrawal (잔액 부족)", "/account/withdrawal",
+					form("amount", String.valueOf(Long.MAX_VALUE / 2), "wAccountNumber", user.accountNumber(),
+							"wAccountPassword", BankUser.ACCOUNT_PASSWORD)).ok();
+		case "badpassword":
+			return client.postRejected("POST /account/withdrawal (비밀번호 오류)", "/account/withdrawal",
+					form("amount", "1000", "wAccountNumber", user.accountNumber(), "wAccountPassword", "wrong"))
+					.ok();
+		case "badinput":
+			return client.postRejected("POST /account/transfer (입력 누락)", "/account/transfer",
+					form("wAccountNumber", user.accountNumber(), "dAccountNumber", payee.accountNumber(),
+							"password", BankUser.ACCOUNT_PASSWORD)).ok();
+		case "detail":
+			return client.get("GET /account/detail/{id}", "/account/detail/" + user.accountId() + "?type=all").ok();
+		default:
+			throw new IllegalArgumentException("알 수 없는 단계 : " + step);
+		}
+	}
+
+	static Map<String, String> form(String... pairs) {
+		Map<String, String> form = new LinkedHashMap<>();
+		for (int i = 0; i < pairs.length; i += 2) {
+			form.put(pairs[i], pairs[i + 1]);
+		}
+		return form;
+	}
+}
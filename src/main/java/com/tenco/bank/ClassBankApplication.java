@@ -2,8 +2,10 @@ package com.tenco.bank;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling // @Scheduled 배치 작업 활성화
 public class ClassBankApplication {
 
 	public static void main(String[] args) {
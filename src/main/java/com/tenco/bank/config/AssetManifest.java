@@ -0,0 +1,68 @@
+package com.tenco.bank.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.springframework.boot.web.servlet.ServletContextInitializer;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.ServletContext;
+
+/**
+ * 정적 파일 content hash URL (gradle fingerprintAssets 가 만든 asset-manifest.properties)
+ *
+ * JSP 에서 ${assets.url('/css/common.css')} -> /css/common.1a2b3c4d.css
+ * hash 이름은 내용이 바뀌면 URL 도 바뀌므로 오래 캐시 해도 된다. (WebMvcConfig 에서 immutable)
+ * 파일이 없으면 (gradle 없이 IDE 에서 실행 등) 원래 경로를 그대로 쓴다.
+ */
+@Component
+public class AssetManifest implements ServletContextInitializer {
+
+	public static final String ATTRIBUTE = "assets"; // JSP application 영역 이름
+	private static final String MANIFEST_FILE = "asset-manifest.properties";
+
+	private final Map<String, String> urls;
+
+	public AssetManifest() {
+		Map<String, String> loaded = new HashMap<>();
+		ClassPathResource resource = new ClassPathResource(MANIFEST_FILE);
+		if (resource.exists()) {
+			Properties properties = new Properties();
+			try (InputStream in = resource.getInputStream()) {
+				properties.load(in);
+			} catch (IOException e) {
+				throw new IllegalStateException(MANIFEST_FILE + " 읽기 실패", e);
+			}
+			for (String path : properties.stringPropertyNames()) {
+				loaded.put(path, properties.getProperty(path));
+			}
+		}
+		this.urls = Collections.unmodifiableMap(loaded);
+	}
+
+	/**
+	 * 정적 파일 URL
+	 *
+	 * @param path 예) /css/common.css
+	 * @return hash 이름 URL (목록에 없으면 path 그대로)
+	 */
+	public String url(String path) {
+		return urls.getOrDefault(path, path);
+	}
+
+	// hash 이름 URL 전체 (캐시 헤더 설정 대상)
+	public Collection<String> hashedUrls() {
+		return urls.values();
+	}
+
+	@Override
+	public void onStartup(ServletContext servletContext) {
+		servletContext.setAttribute(ATTRIBUTE, this);
+	}
+}
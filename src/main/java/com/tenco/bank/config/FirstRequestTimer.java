@@ -0,0 +1,39 @@
+package com.tenco.bank.config;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+
+// JVM 시작부터 첫 요청 응답 완료까지 걸린 시간 기록 (시작 최적화 전후 비교용)
+@Component
+public class FirstRequestTimer implements Filter {
+
+	private final AtomicBoolean done = new AtomicBoolean(false);
+
+	@Override
+	public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+			throws IOException, ServletException {
+		if (done.get()) {
+			chain.doFilter(request, response);
+			return;
+		}
+		long start = System.currentTimeMillis();
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			if (done.compareAndSet(false, true)) {
+				System.out.println("[startup] 첫 요청 " + ((HttpServletRequest) request).getRequestURI() + " "
+						+ (System.currentTimeMillis() - start) + "ms, JVM 시작 -> 첫 응답 "
+						+ StartupWarmup.sinceJvmStart() + "ms");
+			}
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package com.tenco.bank.config;
+
+import org.mybatis.spring.mapper.MapperFactoryBean;
+import org.mybatis.spring.mapper.MapperScannerConfigurer;
+import org.springframework.beans.factory.aot.BeanRegistrationExcludeFilter;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.support.MergedBeanDefinitionPostProcessor;
+import org.springframework.beans.factory.support.RegisteredBean;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.ClassUtils;
+
+/**
+ * mapper 빈을 Spring AOT (-Pfaststart, -Dspring.aot.enabled=true) 로 처리하기 위한 설정
+ *
+ * 1. 스캔한 MapperFactoryBean 정의는 mapper 인터페이스를 문자열로만 들고 있어서 AOT 생성 코드가
+ *    생성자 인자(Class)를 빈으로 주입하려다 실패한다. -> AOT 처리 전에 Class 와 제네릭 타입을 채운다.
+ * 2. 스캔 결과는 이미 생성 코드에 들어가므로 MapperScannerConfigurer 는 AOT 에서 뺀다.
+ *    (남겨 두면 실행 시 다시 스캔해서 같은 이름의 빈 정의와 충돌한다. META-INF/spring/aot.factories 에 등록)
+ */
+@Configuration(proxyBeanMethods = false)
+public class MyBatisAotConfig {
+
+	@Bean
+	static MapperFactoryBeanTypeResolver mapperFactoryBeanTypeResolver() {
+		return new MapperFactoryBeanTypeResolver();
+	}
+
+	static class MapperFactoryBeanTypeResolver implements MergedBeanDefinitionPostProcessor {
+
+		@Override
+		public void postProcessMergedBeanDefinition(RootBeanDefinition beanDefinition, Class<?> beanType,
+				String beanName) {
+			if (!MapperFactoryBean.class.isAssignableFrom(beanType)
+					|| !beanDefinition.getResolvableType().hasUnresolvableGenerics()) {
+				return;
+			}
+			Class<?> mapperInterface = mapperInterfaceOf(beanDefinition);
+			if (mapperInterface == null) {
+				return;
+			}
+			ConstructorArgumentValues args = new ConstructorArgumentValues();
+			args.addGenericArgumentValue(mapperInterface);
+			beanDefinition.setConstructorArgumentValues(args);
+			beanDefinition.setTargetType(ResolvableType.forClassWithGenerics(beanType, mapperInterface));
+		}
+
+		private Class<?> mapperInterfaceOf(RootBeanDefinition beanDefinition) {
+			Object value = beanDefinition.getPropertyValues().get("mapperInterface");
+			if (value instanceof Class<?> type) {
+				return type;
+			}
+			if (value instanceof String name) {
+				return ClassUtils.resolveClassName(name, getClass().getClassLoader());
+			}
+			return null;
+		}
+	}
+
+	static class MapperScannerExcludeFilter implements BeanRegistrationExcludeFilter {
+
+		@Override
+		public boolean isExcludedFromAotProcessing(RegisteredBean registeredBean) {
+			return MapperScannerConfigurer.class.isAssignableFrom(registeredBean.getBeanClass());
+		}
+	}
+}
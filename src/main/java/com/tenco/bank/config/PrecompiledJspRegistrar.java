@@ -0,0 +1,59 @@
+package com.tenco.bank.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.ServletContextInitializer;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRegistration;
+
+/**
+ * 빌드 시점에 컴파일된 JSP 서블릿 등록 (gradle jspCompile)
+ *
+ * jsp-precompiled.properties (JSP 경로 = 서블릿 클래스) 를 읽어서 JSP 경로마다 서블릿을 직접 매핑 한다.
+ * 뷰 리졸버가 forward 하는 /WEB-INF/view/xxx.jsp 는 *.jsp(Jasper) 보다 정확한 매핑이 우선이므로
+ * 런타임 컴파일 없이 미리 만든 클래스가 응답 한다.
+ * jsp.precompiled=false(기본) 거나 파일이 없으면 기존처럼 Jasper 가 처리 한다.
+ */
+@Component
+public class PrecompiledJspRegistrar implements ServletContextInitializer {
+
+	private static final String MAPPING_FILE = "jsp-precompiled.properties";
+
+	private final boolean enabled;
+
+	public PrecompiledJspRegistrar(@Value("${jsp.precompiled:false}") boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	@Override
+	public void onStartup(ServletContext servletContext) throws ServletException {
+		if (!enabled) {
+			return;
+		}
+		ClassPathResource resource = new ClassPathResource(MAPPING_FILE);
+		if (!resource.exists()) {
+			System.out.println("[jsp] " + MAPPING_FILE + " 가 없어 런타임 컴파일을 사용 합니다.");
+			return;
+		}
+		Properties mappings = new Properties();
+		try (InputStream in = resource.getInputStream()) {
+			mappings.load(in);
+		} catch (IOException e) {
+			throw new ServletException(MAPPING_FILE + " 읽기 실패", e);
+		}
+		for (String path : mappings.stringPropertyNames()) {
+			String className = mappings.getProperty(path);
+			ServletRegistration.Dynamic registration = servletContext.addServlet(className, className);
+			registration.addMapping(path);
+			registration.setLoadOnStartup(1); // 첫 요청이 아니라 시작시 초기화
+		}
+		System.out.println("[jsp] 미리 컴파일된 JSP " + mappings.size() + "개 등록");
+	}
+}
@@ -0,0 +1,87 @@
+package com.tenco.bank.config;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 시작 준비 (트래픽을 받기 전에 실행)
+ *
+ * ApplicationRunner 는 ApplicationReadyEvent(= readiness ACCEPTING_TRAFFIC) 보다 먼저 실행되므로
+ * 첫 요청이 하던 일을 여기서 미리 한다.
+ * 1. MyBatis 매핑 구문 완성 (다른 XML 을 참조해서 미뤄진 resultMap, cache-ref 등)
+ * 2. mapper 프록시 생성
+ * 3. 커넥션 풀 채우기 (커넥션 확인)
+ */
+@Component
+public class StartupWarmup implements ApplicationRunner {
+
+	private final SqlSessionFactory sqlSessionFactory;
+	private final DataSource dataSource;
+	private final boolean enabled;
+	private final int connections;
+
+	public StartupWarmup(SqlSessionFactory sqlSessionFactory, DataSource dataSource,
+			@Value("${startup.warmup.enabled:true}") boolean enabled,
+			@Value("${startup.warmup.connections:4}") int connections) {
+		this.sqlSessionFactory = sqlSessionFactory;
+		this.dataSource = dataSource;
+		this.enabled = enabled;
+		this.connections = connections;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) throws Exception {
+		if (!enabled) {
+			return;
+		}
+		long start = System.currentTimeMillis();
+
+		// 1. getMappedStatements 가 미완성 구문을 모두 만든다.
+		Configuration configuration = sqlSessionFactory.getConfiguration();
+		int statements = configuration.getMappedStatements().size();
+
+		// 2. mapper 프록시
+		for (Class<?> mapper : configuration.getMapperRegistry().getMappers()) {
+			configuration.getMapperRegistry().getMapper(mapper, null);
+		}
+
+		// 3. 커넥션을 동시에 잡았다 놓아서 풀을 채운다.
+		List<Connection> held = new ArrayList<>(connections);
+		try {
+			for (int i = 0; i < connections; i++) {
+				Connection conn = dataSource.getConnection();
+				held.add(conn);
+				conn.isValid(1);
+			}
+		} finally {
+			for (Connection conn : held) {
+				conn.close();
+			}
+		}
+
+		System.out.println("[startup] 준비 완료 - 매핑 구문 " + statements + "개, 커넥션 " + held.size() + "개, "
+				+ (System.currentTimeMillis() - start) + "ms");
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void ready() {
+		System.out.println("[startup] JVM 시작 -> 준비 완료 " + sinceJvmStart() + "ms");
+	}
+
+	static long sinceJvmStart() {
+		return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+	}
+}
@@ -1,15 +1,21 @@
 package com.tenco.bank.config;
 
+import java.util.concurrent.TimeUnit;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
 
+import com.tenco.bank.handler.AdminInterceptor;
 import com.tenco.bank.handler.AuthInterceptor;
+import com.tenco.bank.handler.ChannelInterceptor;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,6 +28,12 @@ public class WebMvcConfig implements WebMvcConfigurer {
 	@Autowired // 의존성 주입 DI
 	private final AuthInterceptor authInterceptor;
 	
+	private final AdminInterceptor adminInterceptor;
+	
+	private final ChannelInterceptor channelInterceptor;
+	
+	private final AssetManifest assetManifest;
+	
 	// @RequiredArgsConstructor <-- 생성자 대신 사용 가능
 	
 	// 우리가 만들어 놓은 AuthInterceptor 를 등록해야 함.
@@ -29,7 +41,15 @@ public class WebMvcConfig implements WebMvcConfigurer {
 	public void addInterceptors(InterceptorRegistry registry) {
 		registry.addInterceptor(authInterceptor)
 			.addPathPatterns("/account/**")
-			.addPathPatterns("/auth/**");
+			.addPathPatterns("/auth/**")
+			.addPathPatterns("/admin/**")
+			.addPathPatterns("/intake/**");
+		// 관리자 권한 확인 (로그인 확인 다음)
+		registry.addInterceptor(adminInterceptor)
+			.addPathPatterns("/admin/**");
+		// 입금 채널 권한 확인 (ATM 등 채널 계정 또는 관리자)
+		registry.addInterceptor(channelInterceptor)
+			.addPathPatterns("/intake/**");
 	}
 
 	// 코드추가
@@ -39,7 +59,16 @@ public class WebMvcConfig implements WebMvcConfigurer {
 	public void addResourceHandlers(ResourceHandlerRegistry registry) {
 		registry.addResourceHandler("/images/uploads/**")
 		.addResourceLocations("file:\\C:\\work_spring\\upload/");
-		
+
+		// content hash 이름의 정적 파일 (AssetManifest) - 내용이 바뀌면 URL 이 바뀌므로 1년 + immutable (재검증 요청 없음)
+		// 빌드시 미리 압축한 .br / .gz 가 있으면 Accept-Encoding 에 맞춰 그대로 내려준다.
+		if (assetManifest.hashedUrls().isEmpty() == false) {
+			registry.addResourceHandler(assetManifest.hashedUrls().toArray(String[]::new))
+			.addResourceLocations("classpath:/static/")
+			.setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+			.resourceChain(true)
+			.addResolver(new EncodedResourceResolver());
+		}
 	}
 	
 	@Bean // IOC 대상 (싱글톤 처리)
@@ -1,11 +1,13 @@
 package com.tenco.bank.controller;
 
-import java.util.ArrayList;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.Arrays;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,17 +15,23 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.SessionAttribute;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.tenco.bank.dto.AccountDashboardDTO;
 import com.tenco.bank.dto.DepositDTO;
 import com.tenco.bank.dto.SaveDTO;
 import com.tenco.bank.dto.TransferDTO;
 import com.tenco.bank.dto.WithdrawalDTO;
-import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.event.AccountEventHub;
+import com.tenco.bank.handler.exception.BusinessException;
 import com.tenco.bank.handler.exception.UnAuthorizedException;
 import com.tenco.bank.repository.model.Account;
-import com.tenco.bank.repository.model.HistoryAccount;
+import com.tenco.bank.repository.model.AccountDetail;
+import com.tenco.bank.repository.model.AccountRollup;
 import com.tenco.bank.repository.model.User;
+import com.tenco.bank.service.AccountRollupService;
 import com.tenco.bank.service.AccountService;
 import com.tenco.bank.utils.Define;
 
@@ -33,14 +41,22 @@ import jakarta.servlet.http.HttpSession;
 @RequestMapping("/account")
 public class AccountController {
 
+	// 계좌 상세 화면 거래 내역 한 페이지 최대 건수
+	private static final int MAX_DETAIL_PAGE_SIZE = 100;
+
 	// 계좌 생성 화면 요청 DI 처리
 	private final HttpSession session;
 	private final AccountService accountService;
+	private final AccountEventHub accountEventHub;
+	private final AccountRollupService accountRollupService;
 
 	@Autowired
-	public AccountController(HttpSession session, AccountService accountService) {
+	public AccountController(HttpSession session, AccountService accountService, AccountEventHub accountEventHub,
+			AccountRollupService accountRollupService) {
 		this.session = session;
 		this.accountService = accountService;
+		this.accountEventHub = accountEventHub;
+		this.accountRollupService = accountRollupService;
 	}
 
 	/**
@@ -65,13 +81,8 @@ public class AccountController {
 		// 3. 유효성 검사
 		// 4. 서비스 호출
 
-		if (dto.getNumber() == null || dto.getNumber().isEmpty()) {
-			throw new DataDeliveryException(Define.ENTER_YOUR_ACCOUNT_NUMBER, HttpStatus.BAD_REQUEST);
-		} else if (dto.getPassword() == null || dto.getPassword().isEmpty()) {
-			throw new DataDeliveryException(Define.ENTER_YOUR_PASSWORD, HttpStatus.BAD_REQUEST);
-		} else if (dto.getBalance() == null || dto.getBalance() <= 0) {
-			throw new DataDeliveryException(Define.ENTER_YOUR_BALANCE, HttpStatus.BAD_REQUEST);
-		}
+		// 계좌 번호는 서버에서 발급 하므로 입력 받지 않는다.
+		dto.validate().orThrow();
 
 		// 서비스 객체로 전달
 		accountService.createAccount(dto, principal.getId());
@@ -85,7 +96,7 @@ public class AccountController {
 	 * @return
 	 */
 	@GetMapping({ "/list", "/" })
-	public String listPage(Model model) {
+	public String listPage(Model model, @RequestParam(name = "after", required = false) Integer after) {
 
 		// 1. 인증검사
 		User principal = (User) session.getAttribute(Define.PRINCIPAL);
@@ -94,12 +105,14 @@ public class AccountController {
 		}
 		// 2. 유효성 검사
 		// 3. 서비스 호출
-		List<Account> accountList = accountService.readAccountListByUserId(principal.getId());
-		if (accountList.isEmpty()) {
+		// 계좌 + 계좌별 최근 거래 내역 + 전체 잔액 합계 (쿼리 한 번, 계좌 id 기준 페이징)
+		AccountDashboardDTO dashboard = accountService.readDashboard(principal.getId(), after);
+		if (dashboard.getAccounts().isEmpty()) {
 			model.addAttribute("accountList", null);
 		} else {
-			model.addAttribute("accountList", accountList);
+			model.addAttribute("accountList", dashboard.getAccounts());
 		}
+		model.addAttribute("dashboard", dashboard);
 		// JSP 데이터를 넣어 주는 방법
 
 		return "account/list";
@@ -120,18 +133,8 @@ public class AccountController {
 	public String withdrawalProc(WithdrawalDTO dto, @SessionAttribute(Define.PRINCIPAL) User principal) {
 		// 1. 인증검사
 		// 유효성 검사 (자바 코드로 개발) -- > 스프링 부트에서 제공하는 @Valid 라이브러리가 존재
-		if (dto.getAmount() == null) {
-			throw new DataDeliveryException(Define.ENTER_YOUR_BALANCE, HttpStatus.BAD_REQUEST);
-		}
-		if (dto.getAmount().longValue() <= 0) {
-			throw new DataDeliveryException(Define.W_BALANCE_VALUE, HttpStatus.BAD_REQUEST);
-		}
-		if (dto.getWAccountNumber() == null) {
-			throw new DataDeliveryException(Define.ENTER_YOUR_ACCOUNT_NUMBER, HttpStatus.BAD_REQUEST);
-		}
-		if (dto.getWAccountPassword() == null || dto.getWAccountPassword().isEmpty()) {
-			throw new DataDeliveryException(Define.ENTER_YOUR_PASSWORD, HttpStatus.BAD_REQUEST);
-		}
+		// 검사는 예외 없이 결과로 받고, 실패시 미리 만든 예외(스택 트레이스 없음)로 응답 처리
+		dto.validate().orThrow();
 
 		accountService.updateAccountWithdraw(dto, principal.getId());
 
@@ -147,15 +150,7 @@ public class AccountController {
 	// 입금 처리 기능 만들기
 	@PostMapping("/deposit")
 	public String depositProc(DepositDTO dto, @SessionAttribute(Define.PRINCIPAL) User principal) {
-		if (dto.getAmount() == null) {
-			throw new DataDeliveryException(Define.ENTER_YOUR_BALANCE, HttpStatus.BAD_REQUEST);
-		}
-		if (dto.getAmount().longValue() <= 0) {
-			throw new DataDeliveryException(Define.W_BALANCE_VALUE, HttpStatus.BAD_REQUEST);
-		}
-		if (dto.getDAccountNumber() == null || dto.getDAccountNumber().trim().isEmpty()) {
-			throw new DataDeliveryException(Define.ENTER_YOUR_ACCOUNT_NUMBER, HttpStatus.BAD_REQUEST);
-		}
+		dto.validate().orThrow();
 
 		accountService.updateAccountDeposit(dto, principal.getId());
 		return "redirect:/account/list";
@@ -171,18 +166,7 @@ public class AccountController {
 	// 이체 기능 처리 요청
 	@PostMapping("/transfer")
 	public String transferProc(TransferDTO dto, @SessionAttribute(Define.PRINCIPAL) User principal) {
-		if (dto.getAmount() == null) {
-			throw new DataDeliveryException(Define.ENTER_YOUR_BALANCE, HttpStatus.BAD_REQUEST);
-		}
-		if (dto.getWAccountNumber() == null || dto.getWAccountNumber().trim().isEmpty()) {
-			throw new DataDeliveryException(Define.ENTER_YOUR_ACCOUNT_NUMBER, HttpStatus.BAD_REQUEST);
-		}
-		if (dto.getDAccountNumber() == null || dto.getDAccountNumber().trim().isEmpty()) {
-			throw new DataDeliveryException(Define.ENTER_YOUR_ACCOUNT_NUMBER, HttpStatus.BAD_REQUEST);
-		}
-		if (dto.getPassword() == null || dto.getPassword().isEmpty()) {
-			throw new DataDeliveryException(Define.ENTER_YOUR_ACCOUNT_NUMBER, HttpStatus.BAD_REQUEST);
-		}
+		dto.validate().orThrow();
 
 		accountService.updateAccountTransfer(dto, principal.getId());
 		return "redirect:/account/transfer";
@@ -201,26 +185,30 @@ public class AccountController {
 						 @RequestParam(name = "size", defaultValue = "2") int size,
 						 Model model) {
 		User principal = (User) session.getAttribute(Define.PRINCIPAL);
-		int limit = size;
-		int offset = (page - 1) * size;
 
 		// 유효성 검사
 		// array 선언과 동시에 초기화 시키는 메서드
 		List<String> validTypes = Arrays.asList("all", "deposit", "withdrawal");
 
 		if (!validTypes.contains(type)) {
-			throw new DataDeliveryException("유효 하지 않은 접근입니다.", HttpStatus.BAD_REQUEST);
+			throw BusinessException.of("유효 하지 않은 접근입니다.", HttpStatus.BAD_REQUEST);
+		}
+		// 페이지 번호, 크기는 1 이상 (limit/offset 으로 그대로 쓰인다), 크기는 최대 MAX_DETAIL_PAGE_SIZE
+		if (page < 1 || size < 1) {
+			throw BusinessException.of(Define.INVALID_INPUT, HttpStatus.BAD_REQUEST);
+		}
+		size = Math.min(size, MAX_DETAIL_PAGE_SIZE);
+		if ((long) (page - 1) * size > Integer.MAX_VALUE) {
+			throw BusinessException.of(Define.INVALID_INPUT, HttpStatus.BAD_REQUEST);
 		}
 		
+		// 계좌 + 거래 내역 한 페이지 + 전체 건수 (쿼리 한 번, 소유자 확인 포함)
+		AccountDetail detail = accountService.readAccountDetail(type, accountId, principal.getId(), page, size);
 		// 페이지 개수를 계산하기 위해서 총 페이지 수를 계산해주어야 한다.
-		int totalRecords = accountService.countHistoryByAccountIdAndType(type, accountId);
-		int totalPages = (int)Math.ceil( (double)totalRecords / size);
+		int totalPages = (int)Math.ceil( (double)detail.getTotalRecords() / size);
 		
-		Account account = accountService.readAccountById(accountId);
-		List<HistoryAccount> historyList = accountService.readHistoryByAccountId(type, accountId, page, size);
-		
-		model.addAttribute("account", account);
-		model.addAttribute("historyList", historyList);
+		model.addAttribute("account", detail.getAccount());
+		model.addAttribute("historyList", detail.getHistories());
 		
 		model.addAttribute("currentPage", page);
 		model.addAttribute("totalPages", totalPages);
@@ -229,4 +217,41 @@ public class AccountController {
 		
 		return "account/detail";
 	}
+
+	/**
+	 * 잔액/거래 실시간 알림 (Server-Sent Events) 주소 설계 : http://localhost:8080/account/stream
+	 * 
+	 * @return SseEmitter (text/event-stream)
+	 */
+	@GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@ResponseBody
+	public SseEmitter stream(@SessionAttribute(Define.PRINCIPAL) User principal) {
+		return accountEventHub.subscribe(principal.getId());
+	}
+
+	/**
+	 * 월별 입출금 집계 (JSON) 주소 설계 : http://localhost:8080/account/rollup/1?from=2024-01&to=2024-12
+	 * 
+	 * @param from 시작 년월 (yyyy-MM, 없으면 to 의 11개월 전)
+	 * @param to   끝 년월 (yyyy-MM, 없으면 이번 달)
+	 * @return 월별 입금/출금 합계, 건수, 최대 금액 (최근 월 먼저)
+	 */
+	@GetMapping("/rollup/{accountId}")
+	@ResponseBody
+	public List<AccountRollup> rollup(@PathVariable(name = "accountId") Integer accountId,
+			@RequestParam(required = false, name = "from") String from,
+			@RequestParam(required = false, name = "to") String to,
+			@SessionAttribute(Define.PRINCIPAL) User principal) {
+		YearMonth toMonth;
+		YearMonth fromMonth;
+		try {
+			toMonth = to == null ? YearMonth.now() : YearMonth.parse(to);
+			fromMonth = from == null ? toMonth.minusMonths(11) : YearMonth.parse(from);
+		} catch (DateTimeParseException e) {
+			throw BusinessException.of(Define.INVALID_SEARCH_CONDITION, HttpStatus.BAD_REQUEST);
+		}
+		Account account = accountService.readAccountById(accountId);
+		account.checkOwner(principal.getId());
+		return accountRollupService.readMonthly(accountId, fromMonth, toMonth);
+	}
 }
@@ -0,0 +1,47 @@
+package com.tenco.bank.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tenco.bank.dto.DepositDTO;
+import com.tenco.bank.dto.IntakeReceiptDTO;
+import com.tenco.bank.dto.IntakeStatusDTO;
+import com.tenco.bank.intake.DepositIntakeService;
+
+@RestController // 데이터 반환 (JSON)
+public class DepositIntakeController {
+
+	private final DepositIntakeService depositIntakeService;
+
+	@Autowired
+	public DepositIntakeController(DepositIntakeService depositIntakeService) {
+		this.depositIntakeService = depositIntakeService;
+	}
+
+	/**
+	 * 대량 입금 접수 주소 설계 : http://localhost:8080/intake/deposits
+	 * ATM 등 입금 채널 계정(role CHANNEL) 이나 관리자만 호출할 수 있다. (ChannelInterceptor)
+	 * 
+	 * @param deposits [{"amount":1000,"dAccountNumber":"1111"}, ...]
+	 * @return 접수 번호 구간 (저널 디스크 반영 완료, 계좌 반영은 status 의 appliedSeq 로 확인)
+	 */
+	@PostMapping("/intake/deposits")
+	public IntakeReceiptDTO accept(@RequestBody List<DepositDTO> deposits) {
+		return depositIntakeService.accept(deposits);
+	}
+
+	/**
+	 * 입금 접수 저널 상태 주소 설계 : http://localhost:8080/admin/intake
+	 * 
+	 * @return 접수/디스크 반영/계좌 반영 위치, fsync 당 건수
+	 */
+	@GetMapping("/admin/intake")
+	public IntakeStatusDTO status() {
+		return depositIntakeService.readStatus();
+	}
+}
@@ -0,0 +1,68 @@
+package com.tenco.bank.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tenco.bank.dto.HistorySearchDTO;
+import com.tenco.bank.repository.model.HistoryAccount;
+import com.tenco.bank.service.HistorySearchService;
+
+@RestController // 데이터 반환 (JSON)
+@RequestMapping("/admin/history")
+public class HistorySearchController {
+
+	private final HistorySearchService historySearchService;
+	private final ObjectMapper objectMapper;
+
+	@Autowired
+	public HistorySearchController(HistorySearchService historySearchService, ObjectMapper objectMapper) {
+		this.historySearchService = historySearchService;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * 거래 내역 검색 주소 설계 : http://localhost:8080/admin/history/search?accountNumber=1111&from=2024-01-01&to=2024-12-31
+	 * 응답은 한 줄에 거래 내역 하나 (application/x-ndjson)
+	 * 행마다 cursor 를 붙여서 보낸다. 다음 페이지 : 마지막 행의 cursor 를 cursor 로 전달
+	 * 
+	 * @param search
+	 * @return
+	 */
+	@GetMapping("/search")
+	public ResponseEntity<StreamingResponseBody> search(HistorySearchDTO search) {
+		// 조건 오류는 응답을 쓰기 전에 돌려준다.
+		boolean hasResult = historySearchService.prepare(search);
+		StreamingResponseBody body = out -> {
+			if (hasResult) {
+				historySearchService.stream(search, resultContext -> {
+					HistoryAccount row = resultContext.getResultObject();
+					writeLine(out, row, historySearchService.cursorOf(row));
+				});
+			}
+			out.flush();
+		};
+		return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+	}
+
+	private void writeLine(OutputStream out, HistoryAccount row, String cursor) {
+		try {
+			ObjectNode line = objectMapper.valueToTree(row);
+			line.put("cursor", cursor);
+			out.write(objectMapper.writeValueAsBytes(line));
+			out.write('\n');
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
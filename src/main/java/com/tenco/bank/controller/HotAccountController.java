@@ -0,0 +1,37 @@
+package com.tenco.bank.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tenco.bank.service.HotAccountService;
+
+@RestController // 데이터 반환 (JSON)
+@RequestMapping("/admin/hot-account")
+public class HotAccountController {
+
+	private final HotAccountService hotAccountService;
+
+	@Autowired
+	public HotAccountController(HotAccountService hotAccountService) {
+		this.hotAccountService = hotAccountService;
+	}
+
+	/**
+	 * 잔액 분할 슬롯 수 변경 주소 설계 : http://localhost:8080/admin/hot-account/1?slots=8
+	 * slots=0 이면 일반 계좌로 전환
+	 * 
+	 * @param accountId
+	 * @param slots
+	 * @return 변경된 슬롯 수
+	 */
+	@PostMapping("/{accountId}")
+	public int changeSlots(@PathVariable(name = "accountId") Integer accountId,
+			@RequestParam(name = "slots") int slots) {
+		hotAccountService.changeSlots(accountId, slots);
+		return slots;
+	}
+}
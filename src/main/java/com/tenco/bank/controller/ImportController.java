@@ -0,0 +1,45 @@
+package com.tenco.bank.controller;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.tenco.bank.dto.ImportResultDTO;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.service.UserImportService;
+
+@RestController // 데이터 반환 (JSON)
+@RequestMapping("/admin/import")
+public class ImportController {
+
+	private final UserImportService userImportService;
+
+	@Autowired
+	public ImportController(UserImportService userImportService) {
+		this.userImportService = userImportService;
+	}
+
+	/**
+	 * 고객 대량 등록 요청 주소 설계 : http://localhost:8080/admin/import/users
+	 * 
+	 * @param file CSV (username,password,fullname[,accountPassword,balance])
+	 * @return 처리 결과 (행 단위 오류 포함)
+	 */
+	@PostMapping("/users")
+	public ImportResultDTO importUsers(@RequestParam(name = "file") MultipartFile file) {
+		if (file == null || file.isEmpty()) {
+			throw new DataDeliveryException("등록할 파일을 선택해 주세요.", HttpStatus.BAD_REQUEST);
+		}
+		try {
+			return userImportService.importUsers(file.getInputStream());
+		} catch (IOException e) {
+			throw new DataDeliveryException("파일을 읽는 중에 오류가 발생했습니다.", HttpStatus.BAD_REQUEST);
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package com.tenco.bank.controller;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tenco.bank.dto.InterestRunReportDTO;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.service.InterestAccrualService;
+import com.tenco.bank.utils.Define;
+
+@RestController // 데이터 반환 (JSON)
+@RequestMapping("/admin/interest")
+public class InterestController {
+
+	private final InterestAccrualService interestAccrualService;
+
+	@Autowired
+	public InterestController(InterestAccrualService interestAccrualService) {
+		this.interestAccrualService = interestAccrualService;
+	}
+
+	/**
+	 * 일 이자 지급 (재실행) 주소 설계 : http://localhost:8080/admin/interest?date=2024-08-01
+	 * 중간에 실패한 기준일로 다시 호출하면 완료된 구간은 건너뛰고 이어서 처리 한다.
+	 * 오늘 이후 기준일, 지급을 마친 기준일은 거절 한다.
+	 * 
+	 * @param date 기준일 (yyyy-MM-dd)
+	 * @return 처리 결과
+	 */
+	@PostMapping
+	public InterestRunReportDTO accrue(@RequestParam(name = "date") String date) {
+		LocalDate businessDate;
+		try {
+			businessDate = LocalDate.parse(date);
+		} catch (DateTimeParseException e) {
+			throw new DataDeliveryException(Define.INVALID_INPUT, HttpStatus.BAD_REQUEST);
+		}
+		return interestAccrualService.accrue(businessDate);
+	}
+}
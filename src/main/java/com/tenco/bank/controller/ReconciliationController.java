@@ -0,0 +1,31 @@
+package com.tenco.bank.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tenco.bank.dto.ReconciliationReportDTO;
+import com.tenco.bank.service.ReconciliationService;
+
+@RestController // 데이터 반환 (JSON)
+@RequestMapping("/admin/reconciliation")
+public class ReconciliationController {
+
+	private final ReconciliationService reconciliationService;
+
+	@Autowired
+	public ReconciliationController(ReconciliationService reconciliationService) {
+		this.reconciliationService = reconciliationService;
+	}
+
+	/**
+	 * 잔액 대사 실행 주소 설계 : http://localhost:8080/admin/reconciliation
+	 * 
+	 * @return 불일치 계좌 목록
+	 */
+	@PostMapping
+	public ReconciliationReportDTO reconcile() {
+		return reconciliationService.reconcile();
+	}
+}
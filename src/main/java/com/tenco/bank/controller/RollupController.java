@@ -0,0 +1,32 @@
+package com.tenco.bank.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tenco.bank.dto.RollupRebuildReportDTO;
+import com.tenco.bank.service.AccountRollupService;
+
+@RestController // 데이터 반환 (JSON)
+@RequestMapping("/admin/rollups")
+public class RollupController {
+
+	private final AccountRollupService accountRollupService;
+
+	@Autowired
+	public RollupController(AccountRollupService accountRollupService) {
+		this.accountRollupService = accountRollupService;
+	}
+
+	/**
+	 * 월 집계 다시 계산 주소 설계 : http://localhost:8080/admin/rollups/rebuild
+	 * 거래 내역(history_tb)에서 계좌 id 구간 단위로 병렬 계산 (구간마다 트랜잭션 하나)
+	 * 
+	 * @return 처리 결과
+	 */
+	@PostMapping("/rebuild")
+	public RollupRebuildReportDTO rebuild() {
+		return accountRollupService.rebuild();
+	}
+}
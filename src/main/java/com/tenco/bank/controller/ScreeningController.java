@@ -0,0 +1,33 @@
+package com.tenco.bank.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tenco.bank.dto.RuleMetricsDTO;
+import com.tenco.bank.screening.TransferScreeningService;
+
+@RestController // 데이터 반환 (JSON)
+@RequestMapping("/admin/screening")
+public class ScreeningController {
+
+	private final TransferScreeningService screeningService;
+
+	@Autowired
+	public ScreeningController(TransferScreeningService screeningService) {
+		this.screeningService = screeningService;
+	}
+
+	/**
+	 * 이체 심사 규칙별 지표 주소 설계 : http://localhost:8080/admin/screening/metrics
+	 * 
+	 * @return 규칙별 호출 수, 차단 수, 평균/p99 소요 시간
+	 */
+	@GetMapping("/metrics")
+	public List<RuleMetricsDTO> metrics() {
+		return screeningService.readMetrics();
+	}
+}
@@ -0,0 +1,65 @@
+package com.tenco.bank.controller;
+
+import java.net.URI;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tenco.bank.dto.ThumbnailStatsDTO;
+import com.tenco.bank.thumbnail.ThumbnailCache;
+
+@RestController // 데이터 반환 (이미지, JSON)
+public class ThumbnailController {
+
+	private final ThumbnailCache thumbnailCache;
+	private final CacheControl cacheControl;
+
+	@Autowired
+	public ThumbnailController(ThumbnailCache thumbnailCache,
+			@Value("${thumbnail.max-age-seconds:604800}") long maxAgeSeconds) {
+		this.thumbnailCache = thumbnailCache;
+		this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic();
+	}
+
+	/**
+	 * 원격 프로필 썸네일 주소 설계 : http://localhost:8080/images/thumbnails?src=http://k.kakaocdn.net/...
+	 * 
+	 * ETag 는 캐시 키 - If-None-Match 가 같으면 304 (HttpEntityMethodProcessor 가 처리)
+	 * 
+	 * @param src 원격 썸네일 주소 (thumbnail.allowed-hosts 만)
+	 * @return 받아 둔 이미지, 가져오지 못했으면 원본 주소로 302
+	 */
+	@GetMapping("/images/thumbnails")
+	public ResponseEntity<Resource> thumbnail(@RequestParam(name = "src") String src) {
+		ThumbnailCache.Thumbnail thumbnail = thumbnailCache.get(src);
+		if (thumbnail == null) {
+			return ResponseEntity.status(HttpStatus.FOUND).location(URI.create(src)).build();
+		}
+		return ResponseEntity.ok()
+				.eTag(thumbnail.key())
+				.cacheControl(cacheControl)
+				.contentType(MediaType.parseMediaType(thumbnail.contentType()))
+				.contentLength(thumbnail.size())
+				.body(new FileSystemResource(thumbnail.file()));
+	}
+
+	/**
+	 * 썸네일 캐시 상태 주소 설계 : http://localhost:8080/admin/thumbnails
+	 * 
+	 * @return 적중/원격 요청/대기/실패/삭제 수, 디스크 사용량
+	 */
+	@GetMapping("/admin/thumbnails")
+	public ThumbnailStatsDTO stats() {
+		return thumbnailCache.readStats();
+	}
+}
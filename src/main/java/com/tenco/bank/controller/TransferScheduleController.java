@@ -0,0 +1,78 @@
+package com.tenco.bank.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.SessionAttribute;
+
+import com.tenco.bank.dto.ScheduleDTO;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.model.TransferSchedule;
+import com.tenco.bank.repository.model.User;
+import com.tenco.bank.service.TransferScheduleService;
+import com.tenco.bank.utils.Define;
+
+@RestController // 데이터 반환 (JSON)
+@RequestMapping("/account/schedule")
+public class TransferScheduleController {
+
+	private final TransferScheduleService scheduleService;
+
+	@Autowired
+	public TransferScheduleController(TransferScheduleService scheduleService) {
+		this.scheduleService = scheduleService;
+	}
+
+	/**
+	 * 예약 이체 목록 주소 설계 : http://localhost:8080/account/schedule
+	 * 
+	 * @return 내 예약 이체 목록
+	 */
+	@GetMapping
+	public List<TransferSchedule> list(@SessionAttribute(Define.PRINCIPAL) User principal) {
+		return scheduleService.readScheduleListByUserId(principal.getId());
+	}
+
+	/**
+	 * 예약 이체 등록 주소 설계 : http://localhost:8080/account/schedule
+	 * 
+	 * @param dto
+	 * @return 등록된 예약
+	 */
+	@PostMapping
+	public TransferSchedule save(ScheduleDTO dto, @SessionAttribute(Define.PRINCIPAL) User principal) {
+		if (dto.getAmount() == null) {
+			throw new DataDeliveryException(Define.ENTER_YOUR_BALANCE, HttpStatus.BAD_REQUEST);
+		}
+		if (dto.getAmount().longValue() <= 0) {
+			throw new DataDeliveryException(Define.W_BALANCE_VALUE, HttpStatus.BAD_REQUEST);
+		}
+		if (dto.getWAccountNumber() == null || dto.getWAccountNumber().trim().isEmpty()) {
+			throw new DataDeliveryException(Define.ENTER_YOUR_ACCOUNT_NUMBER, HttpStatus.BAD_REQUEST);
+		}
+		if (dto.getDAccountNumber() == null || dto.getDAccountNumber().trim().isEmpty()) {
+			throw new DataDeliveryException(Define.ENTER_YOUR_ACCOUNT_NUMBER, HttpStatus.BAD_REQUEST);
+		}
+		if (dto.getPassword() == null || dto.getPassword().isEmpty()) {
+			throw new DataDeliveryException(Define.ENTER_YOUR_PASSWORD, HttpStatus.BAD_REQUEST);
+		}
+		return scheduleService.createSchedule(dto, principal.getId());
+	}
+
+	/**
+	 * 예약 이체 해지 주소 설계 : http://localhost:8080/account/schedule/1/cancel
+	 * 
+	 * @param scheduleId
+	 */
+	@PostMapping("/{scheduleId}/cancel")
+	public void cancel(@PathVariable(name = "scheduleId") Integer scheduleId,
+			@SessionAttribute(Define.PRINCIPAL) User principal) {
+		scheduleService.cancelSchedule(scheduleId, principal.getId());
+	}
+}
@@ -20,7 +20,6 @@ import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import com.mysql.cj.protocol.x.Ok;
 import com.tenco.bank.dto.KakaoProfile;
 import com.tenco.bank.dto.OAuthToken;
 import com.tenco.bank.dto.SignInDTO;
@@ -82,6 +81,21 @@ public class UserController {
 		return "redirect:/user/sign-in";
 	}
 
+	/**
+	 * username 사용 가능 여부 주소 설계 : http://localhost:8080/user/check-username?username=xxx
+	 * 
+	 * @param username
+	 * @return true 면 사용 가능
+	 */
+	@GetMapping("/check-username")
+	@ResponseBody
+	public boolean checkUsername(@RequestParam(name = "username") String username) {
+		if (username == null || username.isEmpty()) {
+			throw new DataDeliveryException(Define.ENTER_YOUR_USERNAME, HttpStatus.BAD_REQUEST);
+		}
+		return userService.isUsernameAvailable(username);
+	}
+
 	/*
 	 * 로그인 화면 요청 주소설계 : http://localhost:8080/user/sign-in
 	 */
@@ -0,0 +1,31 @@
+package com.tenco.bank.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tenco.bank.dto.UsernameFilterStatsDTO;
+import com.tenco.bank.service.UsernameFilter;
+
+@RestController // 데이터 반환 (JSON)
+@RequestMapping("/admin/username-filter")
+public class UsernameFilterController {
+
+	private final UsernameFilter usernameFilter;
+
+	@Autowired
+	public UsernameFilterController(UsernameFilter usernameFilter) {
+		this.usernameFilter = usernameFilter;
+	}
+
+	/**
+	 * username Bloom filter 상태 주소 설계 : http://localhost:8080/admin/username-filter
+	 * 
+	 * @return 원소 수, 오탐률 (추정/실측)
+	 */
+	@GetMapping
+	public UsernameFilterStatsDTO stats() {
+		return usernameFilter.readStats();
+	}
+}
@@ -0,0 +1,23 @@
+package com.tenco.bank.dto;
+
+import java.util.List;
+
+import com.tenco.bank.repository.model.AccountDashboard;
+import com.tenco.bank.utils.ValueFormatter;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 계좌 목록 화면 한 페이지 (계좌 id 기준 keyset 페이징)
+@Data
+@NoArgsConstructor
+public class AccountDashboardDTO {
+	private List<AccountDashboard> accounts;
+	private long totalBalance; // 사용자 전체 계좌 잔액 합계
+	private int accountCount; // 사용자 전체 계좌 수
+	private Integer nextAfterId; // 다음 페이지 시작 기준 (null 이면 마지막 페이지)
+
+	public String getTotalBalanceText() {
+		return ValueFormatter.formatWon(totalBalance);
+	}
+}
@@ -0,0 +1,20 @@
+package com.tenco.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// SSE 로 내려주는 잔액/거래 알림
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountEventDTO {
+	private String type; // deposit, withdrawal
+	private Integer accountId;
+	private String accountNumber;
+	private String counterparty; // 상대 계좌 번호 (ATM)
+	private Long amount;
+	private Long balance;
+	private String balanceText;
+	private Integer historyId;
+}
@@ -1,9 +1,25 @@
 package com.tenco.bank.dto;
 
+import com.tenco.bank.utils.Define;
+
 import lombok.Data;
 
 @Data
 public class DepositDTO {
 	private Long amount;
 	private String dAccountNumber;
+
+	// 입금 요청 유효성 검사 (첫 번째 오류, 계좌 존재 여부는 서비스에서 확인)
+	public ValidationResult validate() {
+		if (amount == null) {
+			return ValidationResult.invalid(Define.ENTER_YOUR_BALANCE);
+		}
+		if (amount <= 0) {
+			return ValidationResult.invalid(Define.D_BALANCE_VALUE);
+		}
+		if (dAccountNumber == null || dAccountNumber.trim().isEmpty()) {
+			return ValidationResult.invalid(Define.ENTER_YOUR_ACCOUNT_NUMBER);
+		}
+		return ValidationResult.VALID;
+	}
 }
@@ -0,0 +1,26 @@
+package com.tenco.bank.dto;
+
+import java.sql.Timestamp;
+
+import lombok.Data;
+
+// 거래 내역 검색 조건 (상담/운영용)
+@Data
+public class HistorySearchDTO {
+	private String accountNumber; // 조회 계좌 번호 (필수)
+	private String from; // yyyy-MM-dd (포함)
+	private String to; // yyyy-MM-dd (포함)
+	private Long minAmount;
+	private Long maxAmount;
+	private String counterparty; // 상대 계좌 번호
+	private String cursor; // keyset - 이전 페이지 마지막 행의 cursor (첫 페이지는 비움)
+	private Integer size;
+
+	// 서비스에서 채우는 값 (mapper 파라미터)
+	private Integer accountId;
+	private Integer counterpartyId;
+	private Timestamp fromTime;
+	private Timestamp toTime; // 미포함 (to 다음날 0시)
+	private Timestamp afterTimestamp; // cursor 의 created_at (나노초까지)
+	private Integer afterId; // cursor 의 id
+}
@@ -0,0 +1,34 @@
+package com.tenco.bank.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 대량 등록 결과 (행 단위 오류 포함)
+@Data
+@NoArgsConstructor
+public class ImportResultDTO {
+
+	private int totalRows;
+	private int successRows;
+	private long elapsedMillis;
+	private List<RowError> errors = new ArrayList<>();
+
+	public void addSuccess(int count) {
+		this.successRows += count;
+	}
+
+	public void addError(int line, String message) {
+		this.errors.add(new RowError(line, message));
+	}
+
+	@Data
+	@AllArgsConstructor
+	public static class RowError {
+		private int line; // CSV 행 번호 (1부터 시작, 헤더 포함)
+		private String message;
+	}
+}
@@ -0,0 +1,16 @@
+package com.tenco.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 입금 접수 확인 (저널 디스크 반영 완료, 계좌 반영은 비동기)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IntakeReceiptDTO {
+	private long firstSeq; // 접수 번호 (요청 순서대로 firstSeq ~ lastSeq)
+	private long lastSeq;
+	private int count;
+	private long receivedAt;
+}
@@ -0,0 +1,22 @@
+package com.tenco.bank.dto;
+
+import lombok.Data;
+
+// 입금 접수 저널 / 반영 상태
+@Data
+public class IntakeStatusDTO {
+	private boolean enabled;
+	private String journal;
+	private long lastSeq; // 저널에 쓴 마지막 접수 번호
+	private long durableSeq; // 디스크 반영(fsync)이 끝난 접수 번호
+	private long appliedSeq; // 모든 샤드에 반영된 접수 번호 (이하 번호는 처리 완료)
+	private long pending; // durableSeq - appliedSeq
+	private int segments;
+	private long accepted; // 시작 이후 접수 건수
+	private long forces; // 시작 이후 fsync 횟수
+	private double recordsPerForce; // group commit 효율 (accepted / forces)
+	private long applied; // 시작 이후 계좌에 반영한 건수
+	private long rejected; // 시작 이후 없는 계좌로 거절한 건수 (intake_reject_tb)
+	private long poisoned; // 시작 이후 재시도 해도 반영에 실패해서 거절한 건수 (intake_reject_tb)
+	private String lastDrainError;
+}
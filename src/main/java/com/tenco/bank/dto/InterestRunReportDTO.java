@@ -0,0 +1,17 @@
+package com.tenco.bank.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 일 이자 지급 실행 결과
+@Data
+@NoArgsConstructor
+public class InterestRunReportDTO {
+	private String businessDate;
+	private int chunksTotal;
+	private int chunksApplied; // 이번 실행에서 처리한 구간
+	private int chunksSkipped; // 이미 처리된 구간 (재실행)
+	private long accountsCredited;
+	private long elapsedMillis;
+	private double accountsPerSecond;
+}
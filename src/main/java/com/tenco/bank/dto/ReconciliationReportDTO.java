@@ -0,0 +1,30 @@
+package com.tenco.bank.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 잔액 대사(account_tb.balance <-> history_tb) 결과
+@Data
+@NoArgsConstructor
+public class ReconciliationReportDTO {
+
+	private long accountsChecked;
+	private long ledgerRows;
+	private long elapsedMillis;
+	private boolean truncated; // 보고 개수 제한으로 잘린 경우 true
+	private List<Mismatch> mismatches = new ArrayList<>();
+
+	@Data
+	@AllArgsConstructor
+	public static class Mismatch {
+		private Integer accountId;
+		private Integer firstDivergingHistoryId; // 잔액 체인이 처음 어긋난 거래 내역 id (없으면 null)
+		private Long expectedBalance; // 거래 내역으로 계산한 잔액
+		private Long actualBalance; // account_tb.balance
+		private String reason;
+	}
+}
@@ -0,0 +1,13 @@
+package com.tenco.bank.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 월 집계 다시 계산 결과
+@Data
+@NoArgsConstructor
+public class RollupRebuildReportDTO {
+	private int chunksTotal;
+	private long rowsWritten; // 새로 만든 (계좌, 년월) 행 수
+	private long elapsedMillis;
+}
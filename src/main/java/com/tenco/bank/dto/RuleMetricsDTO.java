@@ -0,0 +1,17 @@
+package com.tenco.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 이체 심사 규칙별 실행 지표
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RuleMetricsDTO {
+	private String rule;
+	private long calls;
+	private long hits; // 차단 수
+	private double avgMicros;
+	private double p99Micros; // 근사값 (2의 거듭제곱 구간 상한)
+}
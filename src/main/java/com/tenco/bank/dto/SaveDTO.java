@@ -2,6 +2,7 @@ package com.tenco.bank.dto;
 
 import com.tenco.bank.repository.model.Account;
 import com.tenco.bank.repository.model.User;
+import com.tenco.bank.utils.Define;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -29,4 +30,15 @@ public class SaveDTO {
 				.userId(userId)
 				.build();
 	}
+
+	// 계좌 생성 요청 유효성 검사 (계좌 번호는 서버에서 발급 하므로 검사 하지 않는다)
+	public ValidationResult validate() {
+		if (password == null || password.isEmpty()) {
+			return ValidationResult.invalid(Define.ENTER_YOUR_PASSWORD);
+		}
+		if (balance == null || balance <= 0) {
+			return ValidationResult.invalid(Define.ENTER_YOUR_BALANCE);
+		}
+		return ValidationResult.VALID;
+	}
 }
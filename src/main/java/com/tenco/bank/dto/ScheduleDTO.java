@@ -0,0 +1,14 @@
+package com.tenco.bank.dto;
+
+import lombok.Data;
+
+// 예약 이체 등록 요청
+@Data
+public class ScheduleDTO {
+	private Long amount; // 거래 금액
+	private String wAccountNumber; // 출금 계좌 번호
+	private String dAccountNumber; // 입금 계좌 번호
+	private String password; // 출금 계좌 비밀번호 (등록 시점에만 확인)
+	private String cycle; // ONCE, DAILY, MONTHLY
+	private String firstRunAt; // yyyy-MM-ddTHH:mm (첫 실행 시각)
+}
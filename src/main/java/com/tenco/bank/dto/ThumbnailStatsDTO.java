@@ -0,0 +1,17 @@
+package com.tenco.bank.dto;
+
+import lombok.Data;
+
+// 원격 썸네일 디스크 캐시 상태
+@Data
+public class ThumbnailStatsDTO {
+	private int entries; // 디스크에 받아 둔 썸네일 수
+	private long totalBytes;
+	private long maxBytes;
+	private int inFlight; // 지금 가져오는 중인 주소 수
+	private long hits;
+	private long misses; // 원격에서 가져온 수
+	private long coalesced; // 다른 요청이 가져오는 것을 기다린 수
+	private long fetchFailures; // 원본 주소로 보낸 수
+	private long evictions;
+}
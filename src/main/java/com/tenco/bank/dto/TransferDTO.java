@@ -1,5 +1,7 @@
 package com.tenco.bank.dto;
 
+import com.tenco.bank.utils.Define;
+
 import lombok.Data;
 
 @Data
@@ -9,4 +11,24 @@ public class TransferDTO {
 	private String wAccountNumber; //  출금 계좌 번호
 	private String dAccountNumber; // 입금 계좌 번호
 	private String password; // 출금 계좌 비밀번호 
+
+	// 이체 요청 유효성 검사 (첫 번째 오류)
+	public ValidationResult validate() {
+		if (amount == null) {
+			return ValidationResult.invalid(Define.ENTER_YOUR_BALANCE);
+		}
+		if (amount <= 0) {
+			return ValidationResult.invalid(Define.W_BALANCE_VALUE);
+		}
+		if (wAccountNumber == null || wAccountNumber.trim().isEmpty()) {
+			return ValidationResult.invalid(Define.ENTER_YOUR_ACCOUNT_NUMBER);
+		}
+		if (dAccountNumber == null || dAccountNumber.trim().isEmpty()) {
+			return ValidationResult.invalid(Define.ENTER_YOUR_ACCOUNT_NUMBER);
+		}
+		if (password == null || password.isEmpty()) {
+			return ValidationResult.invalid(Define.ENTER_YOUR_PASSWORD);
+		}
+		return ValidationResult.VALID;
+	}
 }
@@ -0,0 +1,21 @@
+package com.tenco.bank.dto;
+
+import lombok.Data;
+
+// 사용자 이름 Bloom filter 상태
+@Data
+public class UsernameFilterStatsDTO {
+	private boolean ready; // false 면 모든 조회가 DB 로 간다.
+	private long entries; // 필터에 넣은 이름 수
+	private long capacity; // 필터 생성시 예상 원소 수
+	private long bitSize;
+	private int hashCount;
+	private double expectedFpp; // 비트 채움 비율로 계산한 오탐률
+	private long queries;
+	private long definiteNegatives; // DB 조회 없이 응답한 수
+	private long falsePositives; // 필터는 있다고 했지만 DB 에 없던 수
+	private long falseNegatives; // 필터는 없다고 했지만 DB 에 있던 수 (다른 노드에서 등록된 이름)
+	private double observedFpp; // falsePositives / (falsePositives + definiteNegatives)
+	private long rebuilds;
+	private String lastRebuildAt;
+}
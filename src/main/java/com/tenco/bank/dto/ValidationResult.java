@@ -0,0 +1,57 @@
+package com.tenco.bank.dto;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.HttpStatus;
+
+import com.tenco.bank.handler.exception.BusinessException;
+
+/**
+ * DTO 유효성 검사 결과 (검사 자체는 예외를 던지지 않는다)
+ *
+ * 실패 결과는 메세지별로 미리 만든 BusinessException 을 가지고 있어서
+ * orThrow() 로 응답 처리를 GlobalControllerAdvice 에 넘겨도 스택 트레이스 비용이 없다.
+ */
+public class ValidationResult {
+
+	public static final ValidationResult VALID = new ValidationResult(null);
+
+	// 실패 결과도 메세지마다 하나 (거절된 요청마다 만들지 않도록)
+	private static final int MAX_CACHED = 256;
+	private static final ConcurrentHashMap<String, ValidationResult> INVALID = new ConcurrentHashMap<>();
+
+	private final BusinessException error;
+
+	private ValidationResult(BusinessException error) {
+		this.error = error;
+	}
+
+	public static ValidationResult invalid(String message) {
+		ValidationResult cached = INVALID.get(message);
+		if (cached != null) {
+			return cached;
+		}
+		ValidationResult created = new ValidationResult(BusinessException.of(message, HttpStatus.BAD_REQUEST));
+		if (INVALID.size() >= MAX_CACHED) {
+			return created;
+		}
+		ValidationResult previous = INVALID.putIfAbsent(message, created);
+		return previous == null ? created : previous;
+	}
+
+	public boolean isValid() {
+		return error == null;
+	}
+
+	// 실패 메세지 (성공이면 null)
+	public String getMessage() {
+		return error == null ? null : error.getMessage();
+	}
+
+	// 실패면 미리 만든 예외를 던진다.
+	public void orThrow() {
+		if (error != null) {
+			throw error;
+		}
+	}
+}
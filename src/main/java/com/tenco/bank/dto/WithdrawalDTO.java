@@ -1,5 +1,7 @@
 package com.tenco.bank.dto;
 
+import com.tenco.bank.utils.Define;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,4 +18,21 @@ public class WithdrawalDTO {
 	private Long amount;
 	private String wAccountNumber;
 	private String wAccountPassword;
+
+	// 출금 요청 유효성 검사 (첫 번째 오류)
+	public ValidationResult validate() {
+		if (amount == null) {
+			return ValidationResult.invalid(Define.ENTER_YOUR_BALANCE);
+		}
+		if (amount <= 0) {
+			return ValidationResult.invalid(Define.W_BALANCE_VALUE);
+		}
+		if (wAccountNumber == null) {
+			return ValidationResult.invalid(Define.ENTER_YOUR_ACCOUNT_NUMBER);
+		}
+		if (wAccountPassword == null || wAccountPassword.isEmpty()) {
+			return ValidationResult.invalid(Define.ENTER_YOUR_PASSWORD);
+		}
+		return ValidationResult.VALID;
+	}
 }
@@ -0,0 +1,155 @@
+package com.tenco.bank.event;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.tenco.bank.dto.AccountEventDTO;
+import com.tenco.bank.utils.ValueFormatter;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 사용자별 SSE 구독 관리 + 커밋된 거래 알림 전달 (단일 노드, 메모리 기반)
+ *
+ * - 대기중인 연결은 비동기 서블릿(SseEmitter)이라 스레드를 점유하지 않는다.
+ * - 전송은 구독자마다 가상 스레드에서 처리 한다.
+ * - 구독자 버퍼가 가득 차면(느린 소비자) 연결을 끊는다.
+ */
+@Component
+public class AccountEventHub {
+
+	private final ConcurrentHashMap<Integer, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+	private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+	private final long timeoutMillis;
+	private final int bufferSize;
+
+	public AccountEventHub(@Value("${sse.timeout-ms:1800000}") long timeoutMillis,
+			@Value("${sse.buffer-size:32}") int bufferSize) {
+		this.timeoutMillis = timeoutMillis;
+		this.bufferSize = bufferSize;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		senders.shutdownNow();
+		subscribers.values().forEach(set -> set.forEach(sub -> sub.emitter.complete()));
+		subscribers.clear();
+	}
+
+	/**
+	 * 구독 등록
+	 *
+	 * @param userId (principal id)
+	 * @return SseEmitter
+	 */
+	public SseEmitter subscribe(Integer userId) {
+		SseEmitter emitter = new SseEmitter(timeoutMillis);
+		Subscriber sub = new Subscriber(userId, emitter, new ArrayBlockingQueue<>(bufferSize));
+
+		subscribers.computeIfAbsent(userId, key -> ConcurrentHashMap.newKeySet()).add(sub);
+		emitter.onCompletion(() -> remove(sub));
+		emitter.onTimeout(() -> remove(sub));
+		emitter.onError(e -> remove(sub));
+
+		try {
+			// 응답 헤더를 바로 내려 보내기 위한 첫 메세지
+			emitter.send(SseEmitter.event().comment("connected"));
+		} catch (IOException e) {
+			remove(sub);
+		}
+		return emitter;
+	}
+
+	public int subscriberCount() {
+		return subscribers.values().stream().mapToInt(Set::size).sum();
+	}
+
+	// 커밋이 완료된 거래만 알린다. (롤백된 거래는 호출되지 않음)
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void onHistory(AccountHistoryEvent event) {
+		if (event.getWUserId() != null) {
+			publish(event.getWUserId(), new AccountEventDTO("withdrawal", event.getWAccountId(),
+					event.getWAccountNumber(), counterparty(event.getDAccountNumber()), event.getAmount(),
+					event.getWBalance(), ValueFormatter.formatWon(event.getWBalance()), event.getHistoryId()));
+		}
+		if (event.getDUserId() != null) {
+			publish(event.getDUserId(), new AccountEventDTO("deposit", event.getDAccountId(),
+					event.getDAccountNumber(), counterparty(event.getWAccountNumber()), event.getAmount(),
+					event.getDBalance(), ValueFormatter.formatWon(event.getDBalance()), event.getHistoryId()));
+		}
+	}
+
+	public void publish(Integer userId, AccountEventDTO dto) {
+		Set<Subscriber> set = subscribers.get(userId);
+		if (set == null) {
+			return;
+		}
+		for (Subscriber sub : set) {
+			if (sub.buffer.offer(dto) == false) {
+				// 느린 소비자 - 버퍼가 가득 차면 연결을 끊는다. (클라이언트가 재접속 후 새로고침)
+				remove(sub);
+				sub.emitter.complete();
+				continue;
+			}
+			if (sub.draining.compareAndSet(false, true)) {
+				senders.execute(() -> drain(sub));
+			}
+		}
+	}
+
+	private void drain(Subscriber sub) {
+		while (true) {
+			AccountEventDTO dto;
+			while ((dto = sub.buffer.poll()) != null) {
+				try {
+					sub.emitter.send(SseEmitter.event().name("account").data(dto));
+				} catch (IOException | IllegalStateException e) {
+					remove(sub);
+					return;
+				}
+			}
+			sub.draining.set(false);
+			// 종료 직전에 들어온 이벤트가 있으면 다시 처리
+			if (sub.buffer.isEmpty() || sub.draining.compareAndSet(false, true) == false) {
+				return;
+			}
+		}
+	}
+
+	private void remove(Subscriber sub) {
+		subscribers.computeIfPresent(sub.userId, (key, set) -> {
+			set.remove(sub);
+			return set.isEmpty() ? null : set;
+		});
+	}
+
+	private static String counterparty(String accountNumber) {
+		return accountNumber == null ? "ATM" : accountNumber;
+	}
+
+	// 구독자 한 명 (SSE 연결 하나)
+	private static final class Subscriber {
+		private final Integer userId;
+		private final SseEmitter emitter;
+		private final BlockingQueue<AccountEventDTO> buffer;
+		private final AtomicBoolean draining = new AtomicBoolean(false);
+
+		private Subscriber(Integer userId, SseEmitter emitter, BlockingQueue<AccountEventDTO> buffer) {
+			this.userId = userId;
+			this.emitter = emitter;
+			this.buffer = buffer;
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package com.tenco.bank.event;
+
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.repository.model.History;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 거래 내역 등록 이벤트 (AccountService 에서 발행)
+ * 
+ * 리스너는 @TransactionalEventListener(AFTER_COMMIT) 으로 받아야
+ * 커밋된 거래만 처리 할 수 있다.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class AccountHistoryEvent {
+
+	private final Integer historyId;
+	private final Long amount;
+
+	// 출금 계좌 (ATM 입금이면 null)
+	private final Integer wAccountId;
+	private final String wAccountNumber;
+	private final Integer wUserId;
+	private final Long wBalance;
+
+	// 입금 계좌 (ATM 출금이면 null)
+	private final Integer dAccountId;
+	private final String dAccountNumber;
+	private final Integer dUserId;
+	private final Long dBalance;
+
+	private final long occurredAt;
+
+	public static AccountHistoryEvent of(History history, Account wAccount, Account dAccount) {
+		return new AccountHistoryEvent(history.getId(), history.getAmount(),
+				wAccount == null ? null : wAccount.getId(),
+				wAccount == null ? null : wAccount.getNumber(),
+				wAccount == null ? null : wAccount.getUserId(),
+				history.getWBalance(),
+				dAccount == null ? null : dAccount.getId(),
+				dAccount == null ? null : dAccount.getNumber(),
+				dAccount == null ? null : dAccount.getUserId(),
+				history.getDBalance(),
+				System.currentTimeMillis());
+	}
+
+	/**
+	 * 샤드간 이체의 출금 쪽 (입금 계좌 알림은 입금 샤드 커밋 후 따로 발행)
+	 *
+	 * @param history  출금 쪽 거래 내역
+	 * @param wAccount
+	 * @param dAccount 상대 계좌 (id, 번호만 사용)
+	 * @return
+	 */
+	public static AccountHistoryEvent ofWithdrawalLeg(History history, Account wAccount, Account dAccount) {
+		return new AccountHistoryEvent(history.getId(), history.getAmount(),
+				wAccount.getId(), wAccount.getNumber(), wAccount.getUserId(), history.getWBalance(),
+				dAccount.getId(), dAccount.getNumber(), null, null,
+				System.currentTimeMillis());
+	}
+
+	// 샤드간 이체의 입금 쪽 (출금 쪽은 이미 발행 했으므로 출금 계좌는 번호만 - 특징/알림 중복 방지)
+	public static AccountHistoryEvent ofDepositLeg(History history, String wAccountNumber, Account dAccount) {
+		return new AccountHistoryEvent(history.getId(), history.getAmount(),
+				null, wAccountNumber, null, null,
+				dAccount.getId(), dAccount.getNumber(), dAccount.getUserId(), history.getDBalance(),
+				System.currentTimeMillis());
+	}
+}
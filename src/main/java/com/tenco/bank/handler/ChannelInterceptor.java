@@ -0,0 +1,35 @@
+package com.tenco.bank.handler;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.tenco.bank.handler.exception.UnAuthorizedException;
+import com.tenco.bank.repository.model.User;
+import com.tenco.bank.utils.Define;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+/**
+ * 입금 채널 주소(/intake/**) 권한 확인
+ * AuthInterceptor(로그인 확인) 다음에 동작 한다. role 이 CHANNEL(ATM, 현금 입금 채널 계정) 이나 ADMIN 이 아니면 컨트롤러로 보내지 않는다.
+ */
+@Component
+public class ChannelInterceptor implements HandlerInterceptor {
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+			throws Exception {
+		HttpSession session = request.getSession(false);
+		User principal = session == null ? null : (User) session.getAttribute(Define.PRINCIPAL);
+		if (principal == null) {
+			throw new UnAuthorizedException(Define.ENTER_YOUR_LOGIN, HttpStatus.UNAUTHORIZED);
+		}
+		if (principal.isChannel() == false && principal.isAdmin() == false) {
+			throw new UnAuthorizedException(Define.NOT_A_CHANNEL, HttpStatus.FORBIDDEN);
+		}
+		return true;
+	}
+}
@@ -0,0 +1,55 @@
+package com.tenco.bank.handler.exception;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.HttpStatus;
+
+import com.tenco.bank.utils.Define;
+
+/**
+ * 자주 발생하는 업무 오류 (잔액 부족, 비밀번호 불일치, 없는 계좌, 입력 누락 ...)
+ *
+ * 스택 트레이스를 만들지 않고 메세지마다 하나를 미리 만들어 재사용 한다. (불변이라 스레드간 공유 가능)
+ * DataDeliveryException 을 상속하므로 GlobalControllerAdvice 와 기존 catch 는 그대로 동작 한다.
+ * 메세지에 요청마다 다른 값(금액, 번호 등)이 들어가면 DataDeliveryException 을 사용 한다.
+ */
+public class BusinessException extends DataDeliveryException {
+
+	private static final int MAX_CACHED = 256;
+	private static final ConcurrentHashMap<String, BusinessException> CACHE = new ConcurrentHashMap<>();
+
+	public static final BusinessException NOT_EXIST_ACCOUNT = of(Define.NOT_EXIST_ACCOUNT, HttpStatus.BAD_REQUEST);
+	public static final BusinessException LACK_OF_BALANCE = of(Define.LACK_Of_BALANCE, HttpStatus.BAD_REQUEST);
+	public static final BusinessException FAIL_ACCOUNT_PASSWORD = of(Define.FAIL_ACCOUNT_PASSWROD,
+			HttpStatus.BAD_REQUEST);
+	public static final BusinessException NOT_ACCOUNT_OWNER = of(Define.NOT_ACCOUNT_OWNER, HttpStatus.BAD_REQUEST);
+	public static final BusinessException EXCEED_HOURLY_LIMIT = of(Define.EXCEED_HOURLY_LIMIT,
+			HttpStatus.BAD_REQUEST);
+	public static final BusinessException EXCEED_DAILY_LIMIT = of(Define.EXCEED_DAILY_LIMIT, HttpStatus.BAD_REQUEST);
+	public static final BusinessException SCHEDULE_ALREADY_RUN = of(Define.SCHEDULE_ALREADY_RUN, HttpStatus.CONFLICT);
+
+	private BusinessException(String message, HttpStatus status) {
+		super(message, status, false);
+	}
+
+	/**
+	 * 메세지 + 상태 코드별로 미리 만든(또는 처음 만든) 예외
+	 *
+	 * @param message Define 상수
+	 * @param status
+	 * @return
+	 */
+	public static BusinessException of(String message, HttpStatus status) {
+		String key = status.value() + ":" + message;
+		BusinessException cached = CACHE.get(key);
+		if (cached != null) {
+			return cached;
+		}
+		BusinessException created = new BusinessException(message, status);
+		if (CACHE.size() >= MAX_CACHED) {
+			return created; // 상수가 아닌 메세지로 잘못 호출 되어도 캐시가 커지지 않도록
+		}
+		BusinessException previous = CACHE.putIfAbsent(key, created);
+		return previous == null ? created : previous;
+	}
+}
@@ -14,4 +14,10 @@ public class DataDeliveryException extends RuntimeException {
 		this.status = status;
 	}
 
+	// 스택 트레이스/suppressed 없이 만들 때 사용 (BusinessException)
+	protected DataDeliveryException(String message, HttpStatus status, boolean writableStackTrace) {
+		super(message, null, false, writableStackTrace);
+		this.status = status;
+	}
+
 }
@@ -0,0 +1,25 @@
+package com.tenco.bank.intake;
+
+import java.sql.Timestamp;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 저널에 기록된 입금 명령 하나
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class DepositCommand {
+
+	private final long seq; // 저널 순번 (1 부터, 빈틈 없이 증가)
+	private final long receivedAt; // 접수 시각 (거래 내역 created_at 으로 사용)
+	private final long amount;
+	private final String accountNumber;
+
+	public Timestamp getReceivedAtTimestamp() {
+		return new Timestamp(receivedAt);
+	}
+}
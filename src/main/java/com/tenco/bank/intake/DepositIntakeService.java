@@ -0,0 +1,444 @@
+package com.tenco.bank.intake;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import com.tenco.bank.dto.DepositDTO;
+import com.tenco.bank.dto.IntakeReceiptDTO;
+import com.tenco.bank.dto.IntakeStatusDTO;
+import com.tenco.bank.event.AccountHistoryEvent;
+import com.tenco.bank.handler.exception.BusinessException;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.interfaces.IntakeRepository;
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.repository.model.AccountRollup;
+import com.tenco.bank.repository.model.History;
+import com.tenco.bank.service.AccountRollupService;
+import com.tenco.bank.shard.ShardRouter;
+import com.tenco.bank.utils.Define;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 대량 입금 접수 (ATM, 현금 입금 채널)
+ *
+ * 접수 : 요청을 검증한 뒤 로컬 저널(DepositJournal)에 기록하고 디스크 반영(group fsync)이 끝나면 접수 번호로 응답
+ * 반영 : drainer 스레드 하나가 저널을 batchSize 건씩 읽어 샤드마다 트랜잭션 하나로 반영
+ *   1. 저널 반영 위치 행 잠금 (intake_checkpoint_tb) - 반영 위치 이하 명령은 건너뜀
+ *   2. 입금 계좌 행 잠금 (id 순서)
+ *   3. 계좌별 합계 update 1회 + 거래 내역 다중 행 insert 1회 + 월 집계 (+ 없는 계좌는 intake_reject_tb)
+ *   4. 반영 위치 갱신 (같은 트랜잭션 - 장애 후 재시작해도 정확히 한 번 반영)
+ * 모든 샤드에 반영된 세그먼트는 삭제 한다.
+ * 같은 배치가 maxAttempts 번 실패하면 한 건씩 반영하고, 한 건도 maxAttempts 번 실패하면 intake_reject_tb 로 보낸다.
+ * (DB 연결 장애처럼 다시 시도하면 되는 오류는 횟수에 넣지 않는다)
+ *
+ * 저널은 노드 로컬 파일이므로 노드마다 intake.journal 이름을 다르게 설정 해야 한다.
+ * 시작시 저널 디렉터리의 journal.id 를 반영 위치 행(owner)에 남겨서 다른 노드가 같은 이름을 쓰면 시작하지 않는다.
+ */
+@Service
+public class DepositIntakeService {
+
+	private static final int MAX_NUMBER_LENGTH = 30; // account_tb.number
+	private static final int MAX_REASON_LENGTH = 200; // intake_reject_tb.reason
+	private static final String OWNER_FILE = "journal.id";
+
+	private final IntakeRepository intakeRepository;
+	private final ShardRouter shardRouter;
+	private final AccountRollupService accountRollupService;
+	private final ApplicationEventPublisher eventPublisher;
+	private final boolean enabled;
+	private final String journalName;
+	private final Path dir;
+	private final int segmentBytes;
+	private final int batchSize;
+	private final int maxRequestSize;
+	private final long ackTimeoutMs;
+	private final long drainIntervalMs;
+	private final int maxAttempts;
+
+	private volatile DepositJournal journal; // 비활성이거나 시작 전이면 null
+	private volatile boolean running;
+	private Thread drainer;
+	private DepositJournal.Position position; // drainer 스레드만 사용
+	private volatile long appliedSeq;
+	private volatile String lastDrainError;
+	private long failedSeq = -1; // 연속으로 실패한 배치의 첫 seq (drainer 스레드만 사용)
+	private int attempts;
+	private long narrowUntil; // 이 seq 까지는 한 건씩 반영 (실패한 배치 구간)
+
+	private final LongAdder accepted = new LongAdder();
+	private final LongAdder applied = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder poisoned = new LongAdder();
+
+	public DepositIntakeService(IntakeRepository intakeRepository, ShardRouter shardRouter,
+			AccountRollupService accountRollupService, ApplicationEventPublisher eventPublisher,
+			@Value("${intake.enabled:false}") boolean enabled,
+			@Value("${intake.journal:}") String journalName,
+			@Value("${intake.dir:./intake-journal}") String dir,
+			@Value("${intake.segment-bytes:67108864}") int segmentBytes,
+			@Value("${intake.batch-size:5000}") int batchSize,
+			@Value("${intake.max-request-size:1000}") int maxRequestSize,
+			@Value("${intake.ack-timeout-ms:5000}") long ackTimeoutMs,
+			@Value("${intake.drain-interval-ms:50}") long drainIntervalMs,
+			@Value("${intake.max-attempts:5}") int maxAttempts) {
+		this.intakeRepository = intakeRepository;
+		this.shardRouter = shardRouter;
+		this.accountRollupService = accountRollupService;
+		this.eventPublisher = eventPublisher;
+		this.enabled = enabled;
+		this.journalName = journalName;
+		this.dir = Path.of(dir);
+		this.segmentBytes = segmentBytes;
+		this.batchSize = batchSize;
+		this.maxRequestSize = maxRequestSize;
+		this.ackTimeoutMs = ackTimeoutMs;
+		this.drainIntervalMs = drainIntervalMs;
+		this.maxAttempts = maxAttempts;
+	}
+
+	// 저널 복구 + drainer 시작 (재시작이면 반영 안 된 명령부터 다시 반영)
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		if (!enabled) {
+			return;
+		}
+		if (journalName == null || journalName.isBlank()) {
+			throw new IllegalStateException("intake.journal 을 노드마다 다른 이름으로 지정 해야 합니다.");
+		}
+		String owner = ownerId();
+		long min = Long.MAX_VALUE;
+		long max = 0;
+		for (int shard : shardRouter.shards()) {
+			long done = shardRouter.inTransaction(shard, () -> {
+				Long seq = intakeRepository.findAppliedSeq(journalName);
+				if (seq == null) {
+					intakeRepository.insertCheckpoint(journalName, owner);
+					return 0L;
+				}
+				if (intakeRepository.claimOwner(journalName, owner) == 0
+						&& owner.equals(intakeRepository.findOwner(journalName)) == false) {
+					throw new IllegalStateException("다른 노드가 쓰고 있는 저널 이름 입니다. intake.journal 을 노드마다 다르게 지정 해야 합니다. : "
+							+ journalName + " (이 노드의 저널 디렉터리를 새로 만든 경우라면 intake_checkpoint_tb.owner 를 확인 후 정리)");
+				}
+				return seq;
+			});
+			min = Math.min(min, done);
+			max = Math.max(max, done);
+		}
+		try {
+			journal = DepositJournal.open(dir, segmentBytes, max);
+		} catch (IOException e) {
+			throw new IllegalStateException("입금 저널을 열 수 없습니다. : " + dir, e);
+		}
+		appliedSeq = min;
+		position = DepositJournal.Position.start(min);
+
+		running = true;
+		drainer = new Thread(this::drainLoop, "deposit-intake-drainer");
+		drainer.setDaemon(true);
+		drainer.start();
+	}
+
+	// 저널 디렉터리 id - 처음 시작할 때 만들고 디렉터리가 유지되는 동안 같은 값
+	private String ownerId() {
+		try {
+			Files.createDirectories(dir);
+			Path file = dir.resolve(OWNER_FILE);
+			if (Files.exists(file) == false) {
+				Files.writeString(file, UUID.randomUUID().toString(), StandardOpenOption.CREATE_NEW);
+			}
+			return Files.readString(file).trim();
+		} catch (IOException e) {
+			throw new IllegalStateException("입금 저널을 열 수 없습니다. : " + dir, e);
+		}
+	}
+
+	/**
+	 * 입금 접수 (저널 디스크 반영까지 대기)
+	 *
+	 * @param deposits 요청 순서대로 접수 번호를 붙인다.
+	 * @return 접수 번호 구간
+	 */
+	public IntakeReceiptDTO accept(List<DepositDTO> deposits) {
+		DepositJournal current = journal;
+		if (current == null) {
+			throw new DataDeliveryException(Define.INTAKE_DISABLED, HttpStatus.SERVICE_UNAVAILABLE);
+		}
+		if (deposits == null || deposits.isEmpty()) {
+			throw new DataDeliveryException(Define.INVALID_INPUT, HttpStatus.BAD_REQUEST);
+		}
+		if (deposits.size() > maxRequestSize) {
+			throw new DataDeliveryException(Define.INTAKE_TOO_MANY, HttpStatus.BAD_REQUEST);
+		}
+		for (DepositDTO deposit : deposits) {
+			validate(deposit);
+		}
+
+		long receivedAt = System.currentTimeMillis();
+		long lastSeq;
+		try {
+			lastSeq = current.append(deposits, receivedAt);
+			long firstSeq = lastSeq - deposits.size() + 1;
+			if (current.awaitDurable(lastSeq, ackTimeoutMs) == false) {
+				// 기록은 되었으므로 곧 반영될 수 있다. (접수 번호로 상태 확인)
+				throw new DataDeliveryException(Define.INTAKE_NOT_DURABLE + " (" + firstSeq + " ~ " + lastSeq + ")",
+						HttpStatus.SERVICE_UNAVAILABLE);
+			}
+			accepted.add(deposits.size());
+			return new IntakeReceiptDTO(firstSeq, lastSeq, deposits.size(), receivedAt);
+		} catch (IOException e) {
+			throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	// 계좌 존재 여부는 반영할 때 확인 (접수는 DB 를 조회하지 않는다)
+	private void validate(DepositDTO deposit) {
+		deposit.validate().orThrow();
+		if (deposit.getDAccountNumber().length() > MAX_NUMBER_LENGTH) {
+			throw BusinessException.of(Define.INVALID_INPUT, HttpStatus.BAD_REQUEST);
+		}
+	}
+
+	private void drainLoop() {
+		while (running) {
+			if (drain() == 0) {
+				try {
+					Thread.sleep(drainIntervalMs);
+				} catch (InterruptedException e) {
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * 디스크 반영이 끝난 명령을 batchSize 건까지 계좌에 반영
+	 * 실패하면 읽기 위치를 그대로 두고 다음 주기에 다시 반영 한다. (반영된 샤드는 반영 위치로 건너뜀)
+	 * 같은 배치가 maxAttempts 번 실패하면 그 구간은 한 건씩, 한 건이 maxAttempts 번 실패하면 거절 기록 후 넘어간다.
+	 *
+	 * @return 읽은 명령 수
+	 */
+	private int drain() {
+		DepositJournal current = journal;
+		List<DepositCommand> commands = List.of();
+		try {
+			DepositJournal.Chunk chunk = current.read(position, appliedSeq < narrowUntil ? 1 : batchSize);
+			commands = chunk.commands();
+			if (commands.isEmpty()) {
+				position = chunk.next();
+				return 0;
+			}
+			try {
+				apply(commands);
+			} catch (RuntimeException e) {
+				if (countFailure(commands, e) == false) {
+					throw e;
+				}
+				// 한 건이 계속 실패 - 거절 기록으로 반영 위치를 넘긴다.
+				reject(commands.get(0), e);
+			}
+			position = chunk.next();
+			appliedSeq = commands.get(commands.size() - 1).getSeq();
+			current.release(appliedSeq);
+			lastDrainError = null;
+			return commands.size();
+		} catch (RuntimeException e) {
+			lastDrainError = e.getClass().getSimpleName() + " : " + e.getMessage();
+			return 0;
+		}
+	}
+
+	// 실패 횟수 집계, 한 건짜리 배치가 maxAttempts 번 실패 했으면 true
+	private boolean countFailure(List<DepositCommand> commands, RuntimeException e) {
+		if (isRetryable(e)) {
+			return false;
+		}
+		long first = commands.get(0).getSeq();
+		if (first != failedSeq) {
+			failedSeq = first;
+			attempts = 0;
+		}
+		if (++attempts < maxAttempts) {
+			return false;
+		}
+		attempts = 0;
+		if (commands.size() > 1) {
+			// 어떤 명령이 문제인지 모르므로 이 구간은 한 건씩 반영
+			narrowUntil = commands.get(commands.size() - 1).getSeq();
+			return false;
+		}
+		return true;
+	}
+
+	// DB 연결/일시 장애 - 명령 문제가 아니므로 거절하지 않고 계속 다시 시도
+	private boolean isRetryable(RuntimeException e) {
+		return e instanceof TransientDataAccessException || e instanceof RecoverableDataAccessException
+				|| e instanceof DataAccessResourceFailureException || e instanceof CannotCreateTransactionException;
+	}
+
+	// 명령 하나를 거절 기록 (명령의 샤드, 샤드를 알 수 없으면 샤드 0) + 모든 샤드 반영 위치를 명령 seq 로
+	private void reject(DepositCommand command, RuntimeException cause) {
+		String reason = Define.INTAKE_APPLY_FAILED + " : " + cause.getClass().getSimpleName() + " : " + cause.getMessage();
+		if (reason.length() > MAX_REASON_LENGTH) {
+			reason = reason.substring(0, MAX_REASON_LENGTH);
+		}
+		String rejectReason = reason;
+		int target;
+		try {
+			target = Math.max(ShardRouter.GLOBAL, shardRouter.shardOfNumber(command.getAccountNumber()));
+		} catch (RuntimeException e) {
+			target = ShardRouter.GLOBAL;
+		}
+		for (int shard : shardRouter.shards()) {
+			boolean here = shard == target;
+			shardRouter.inTransaction(shard, () -> {
+				Long done = intakeRepository.findAppliedSeqForUpdate(journalName);
+				if (done != null && done >= command.getSeq()) {
+					return null;
+				}
+				if (here) {
+					intakeRepository.insertRejects(journalName, List.of(command), rejectReason);
+				}
+				return intakeRepository.updateAppliedSeq(journalName, command.getSeq());
+			});
+		}
+		poisoned.increment();
+	}
+
+	// 샤드별로 나눠서 반영 (명령이 없는 샤드도 반영 위치는 올린다 - 세그먼트 삭제 기준)
+	private void apply(List<DepositCommand> commands) {
+		long maxSeq = commands.get(commands.size() - 1).getSeq();
+		Map<Integer, List<DepositCommand>> byShard = new HashMap<>();
+		for (DepositCommand command : commands) {
+			int shard = shardRouter.shardOfNumber(command.getAccountNumber());
+			// 없는 계좌는 샤드 0 에서 거절 기록
+			byShard.computeIfAbsent(shard < 0 ? ShardRouter.GLOBAL : shard, key -> new ArrayList<>()).add(command);
+		}
+		for (int shard : shardRouter.shards()) {
+			List<DepositCommand> group = byShard.getOrDefault(shard, List.of());
+			int[] counts = shardRouter.inTransaction(shard, () -> applyShard(group, maxSeq));
+			applied.add(counts[0]);
+			rejected.add(counts[1]);
+		}
+	}
+
+	// 샤드 트랜잭션 하나 - {반영 건수, 거절 건수}
+	private int[] applyShard(List<DepositCommand> group, long maxSeq) {
+		Long done = intakeRepository.findAppliedSeqForUpdate(journalName);
+		long from = done == null ? 0 : done;
+		List<DepositCommand> todo = group.stream().filter(command -> command.getSeq() > from).toList();
+
+		List<History> histories = new ArrayList<>();
+		List<AccountRollup> rollups = new ArrayList<>();
+		List<Account> depositAccounts = new ArrayList<>();
+		List<DepositCommand> rejects = new ArrayList<>();
+		if (todo.isEmpty() == false) {
+			List<String> numbers = todo.stream().map(DepositCommand::getAccountNumber).distinct().toList();
+			Map<String, Account> accounts = new HashMap<>();
+			for (Account account : intakeRepository.findByNumbersForUpdate(numbers)) {
+				accounts.put(account.getNumber(), account);
+			}
+
+			// 접수 순서대로 잔액을 누적해서 거래 내역 d_balance 를 계산
+			// 분할 계좌는 슬롯 잔액을 잠그지 않아 정확한 잔액을 모르므로 null (HotAccountService.credit 과 같음)
+			Map<Integer, Long> sums = new LinkedHashMap<>();
+			for (DepositCommand command : todo) {
+				Account account = accounts.get(command.getAccountNumber());
+				if (account == null) {
+					rejects.add(command);
+					continue;
+				}
+				account.deposit(command.getAmount());
+				sums.merge(account.getId(), command.getAmount(), Long::sum);
+				histories.add(History.builder()
+						.amount(command.getAmount())
+						.dBalance(account.isHot() ? null : account.getBalance())
+						.dAccountId(account.getId())
+						.createdAt(command.getReceivedAtTimestamp())
+						.build());
+				// 거래 내역 created_at 이 접수 시각이므로 년월도 접수 시각 기준 (계좌 행을 잠갔으므로 slot 0)
+				rollups.add(AccountRollup.in(account.getId(),
+						AccountRollup.periodOf(command.getReceivedAtTimestamp().toLocalDateTime().toLocalDate()), 0,
+						command.getAmount()));
+				depositAccounts.add(account);
+			}
+
+			if (sums.isEmpty() == false) {
+				intakeRepository.addBalances(sums);
+				intakeRepository.insertDepositHistories(histories);
+				accountRollupService.recordAll(rollups);
+			}
+			if (rejects.isEmpty() == false) {
+				intakeRepository.insertRejects(journalName, rejects, Define.NOT_EXIST_ACCOUNT);
+			}
+		}
+		intakeRepository.updateAppliedSeq(journalName, maxSeq);
+
+		// 커밋 이후에 리스너(SSE 알림 등)가 처리 한다.
+		for (int i = 0; i < histories.size(); i++) {
+			eventPublisher.publishEvent(AccountHistoryEvent.of(histories.get(i), null, depositAccounts.get(i)));
+		}
+		return new int[] { histories.size(), rejects.size() };
+	}
+
+	public IntakeStatusDTO readStatus() {
+		IntakeStatusDTO status = new IntakeStatusDTO();
+		status.setEnabled(enabled);
+		status.setJournal(journalName);
+		DepositJournal current = journal;
+		if (current == null) {
+			return status;
+		}
+		long durable = current.durableSeq();
+		long forces = current.forceCount();
+		status.setLastSeq(current.lastSeq());
+		status.setDurableSeq(durable);
+		status.setAppliedSeq(appliedSeq);
+		status.setPending(Math.max(0, durable - appliedSeq));
+		status.setSegments(current.segmentCount());
+		status.setAccepted(accepted.sum());
+		status.setForces(forces);
+		status.setRecordsPerForce(forces == 0 ? 0 : (double) accepted.sum() / forces);
+		status.setApplied(applied.sum());
+		status.setRejected(rejected.sum());
+		status.setPoisoned(poisoned.sum());
+		status.setLastDrainError(lastDrainError);
+		return status;
+	}
+
+	// 반영 중인 배치는 마치고 멈춘다. (남은 명령은 다음 시작시 반영)
+	@PreDestroy
+	public void stop() throws IOException, InterruptedException {
+		running = false;
+		if (drainer != null) {
+			drainer.join(); // 반영 중인 JDBC 호출은 끊지 않는다.
+		}
+		if (journal != null) {
+			journal.close();
+		}
+	}
+}
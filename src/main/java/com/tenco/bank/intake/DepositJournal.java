@@ -0,0 +1,514 @@
+package com.tenco.bank.intake;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import com.tenco.bank.dto.DepositDTO;
+
+/**
+ * 입금 접수 저널 (메모리 매핑 세그먼트 파일)
+ *
+ * 레코드 : [본문 길이 int][crc32 int][seq long][접수 시각 long][금액 long][계좌 번호 길이 short][계좌 번호 UTF-8]
+ * - 세그먼트 파일은 segmentBytes 크기로 매핑 하고, 다 차면 다음 세그먼트로 넘어간다. (파일명 = 첫 seq)
+ * - seq 는 1 부터 빈틈 없이 증가 한다. 재시작시 길이 0, crc 불일치, seq 불연속 위치를 기록의 끝으로 본다.
+ * - fsync(force)는 flusher 스레드 하나가 모아서 한다. (group commit)
+ *   append 한 쪽은 awaitDurable 로 자기 seq 까지 force 될 때까지 기다린 뒤 응답 한다.
+ * - 읽기는 force 가 끝난 레코드까지만 돌려준다. (DB 에 반영된 seq 가 재시작 후 저널에서 사라지지 않도록)
+ */
+public class DepositJournal implements Closeable {
+
+	private static final int HEADER_BYTES = 8; // 본문 길이 + crc32
+	private static final int FIXED_BODY_BYTES = 8 + 8 + 8 + 2;
+	private static final String PREFIX = "deposit-";
+	private static final String SUFFIX = ".log";
+
+	private final Path dir;
+	private final int segmentBytes;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition appended = lock.newCondition();
+	private final Condition forced = lock.newCondition();
+
+	// 아래 필드는 lock 으로 보호
+	private final List<Segment> segments = new ArrayList<>();
+	private Segment active;
+	private long lastSeq;
+	private long durableSeq;
+	private boolean closed;
+	private Throwable failure; // force 실패 (이후 접수는 모두 실패)
+
+	private final Thread flusher;
+	private final LongAdder forceCount = new LongAdder();
+
+	private DepositJournal(Path dir, int segmentBytes) {
+		this.dir = dir;
+		this.segmentBytes = segmentBytes;
+		this.flusher = new Thread(this::flushLoop, "deposit-journal-flusher");
+		this.flusher.setDaemon(true);
+	}
+
+	/**
+	 * 저널 열기 (기존 세그먼트를 읽어 마지막 seq 와 이어 쓸 위치를 복구)
+	 *
+	 * @param dir
+	 * @param segmentBytes 새 세그먼트 크기
+	 * @param minLastSeq   DB 에 이미 반영된 seq (저널 파일이 없어져도 seq 를 다시 쓰지 않도록)
+	 * @return
+	 * @throws IOException
+	 */
+	public static DepositJournal open(Path dir, int segmentBytes, long minLastSeq) throws IOException {
+		DepositJournal journal = new DepositJournal(dir, segmentBytes);
+		journal.recover(minLastSeq);
+		journal.flusher.start();
+		return journal;
+	}
+
+	private void recover(long minLastSeq) throws IOException {
+		Files.createDirectories(dir);
+		List<Path> files;
+		try (Stream<Path> list = Files.list(dir)) {
+			files = list.filter(path -> {
+				String name = path.getFileName().toString();
+				return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+			}).sorted((a, b) -> Long.compare(firstSeqOf(a), firstSeqOf(b))).toList();
+		}
+
+		for (Path path : files) {
+			long firstSeq = firstSeqOf(path);
+			if (active != null && firstSeq != active.lastSeq + 1) {
+				if (firstSeq - 1 > minLastSeq) {
+					// 앞 세그먼트 중간이 깨졌거나 파일이 빠짐 - 반영 안 된 입금이 있을 수 있으므로 자동으로 버리지 않는다.
+					throw new IllegalStateException("입금 저널 세그먼트가 이어지지 않습니다. : " + path);
+				}
+				// 이전에 삭제하지 못한 세그먼트 (모두 DB 에 반영됨)
+				segments.forEach(Segment::delete);
+				segments.clear();
+			}
+			Segment segment = Segment.map(path, firstSeq, segmentBytes);
+			segment.scan();
+			segments.add(segment);
+			active = segment;
+		}
+
+		long recovered = active == null ? 0 : active.lastSeq;
+		if (active == null || minLastSeq > recovered) {
+			// 저널이 없거나 DB 반영 위치보다 뒤쳐짐 - 반영된 seq 다음부터 새 세그먼트
+			lastSeq = Math.max(recovered, minLastSeq);
+			active = Segment.create(dir, lastSeq + 1, segmentBytes);
+			segments.add(active);
+			forceDirectory();
+		} else {
+			lastSeq = recovered;
+		}
+		// 재시작 전에 쓴 레코드는 페이지 캐시에 있거나 이미 디스크에 있으므로 지금 한 번 force 한다.
+		for (Segment segment : segments) {
+			segment.buffer.force();
+			segment.forcedPosition = segment.position;
+		}
+		durableSeq = lastSeq;
+	}
+
+	/**
+	 * 입금 명령 기록 (디스크 반영 전, 메모리 매핑 영역에 쓰기만 한다)
+	 *
+	 * @param deposits
+	 * @param receivedAt 접수 시각
+	 * @return 마지막 seq (첫 seq = 마지막 seq - 건수 + 1)
+	 * @throws IOException
+	 */
+	public long append(List<DepositDTO> deposits, long receivedAt) throws IOException {
+		lock.lock();
+		try {
+			checkWritable();
+			for (DepositDTO deposit : deposits) {
+				byte[] number = deposit.getDAccountNumber().getBytes(StandardCharsets.UTF_8);
+				int bodyBytes = FIXED_BODY_BYTES + number.length;
+				int recordBytes = HEADER_BYTES + bodyBytes;
+				if (recordBytes > segmentBytes) {
+					throw new IllegalArgumentException("레코드가 세그먼트보다 큽니다.");
+				}
+				if (active.position + recordBytes > active.capacity) {
+					roll();
+				}
+
+				long seq = lastSeq + 1;
+				ByteBuffer body = ByteBuffer.allocate(bodyBytes);
+				body.putLong(seq).putLong(receivedAt).putLong(deposit.getAmount())
+						.putShort((short) number.length).put(number);
+				CRC32 crc = new CRC32();
+				crc.update(body.array());
+
+				int offset = active.position;
+				active.buffer.put(offset + HEADER_BYTES, body.array());
+				active.buffer.putInt(offset + 4, (int) crc.getValue());
+				active.buffer.putInt(offset, bodyBytes); // 길이는 마지막에 쓴다.
+				active.position = offset + recordBytes;
+				active.lastSeq = seq;
+				lastSeq = seq;
+			}
+			appended.signal();
+			return lastSeq;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * seq 까지 디스크 반영(force)될 때까지 대기
+	 *
+	 * @param seq
+	 * @param timeoutMillis
+	 * @return 제한 시간 안에 반영 되었으면 true
+	 * @throws IOException          force 실패
+	 * @throws InterruptedException
+	 */
+	public boolean awaitDurable(long seq, long timeoutMillis) throws IOException, InterruptedException {
+		long nanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		lock.lock();
+		try {
+			while (durableSeq < seq) {
+				if (failure != null) {
+					throw new IOException("입금 저널 디스크 반영 실패", failure);
+				}
+				if (nanos <= 0) {
+					return false;
+				}
+				nanos = forced.awaitNanos(nanos);
+			}
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// 현재 세그먼트를 닫고(전체 force) 다음 세그먼트로 넘어간다. (lock 안에서 호출)
+	private void roll() throws IOException {
+		active.buffer.force();
+		active.forcedPosition = active.position;
+		active = Segment.create(dir, lastSeq + 1, segmentBytes);
+		segments.add(active);
+		forceDirectory();
+	}
+
+	// group commit - 쓰는 동안 쌓인 레코드를 다음 force 한 번으로 반영
+	private void flushLoop() {
+		while (true) {
+			Segment segment;
+			long target;
+			int from;
+			int to;
+			lock.lock();
+			try {
+				while (!closed && durableSeq == lastSeq) {
+					appended.awaitUninterruptibly();
+				}
+				if (durableSeq == lastSeq) {
+					return; // 닫힘
+				}
+				segment = active;
+				target = lastSeq;
+				from = segment.forcedPosition;
+				to = segment.position;
+			} finally {
+				lock.unlock();
+			}
+
+			try {
+				if (to > from) {
+					segment.buffer.force(from, to - from);
+					segment.forcedPosition = to;
+				}
+				forceCount.increment();
+			} catch (RuntimeException e) {
+				lock.lock();
+				try {
+					failure = e;
+					forced.signalAll();
+				} finally {
+					lock.unlock();
+				}
+				return;
+			}
+
+			lock.lock();
+			try {
+				durableSeq = target;
+				forced.signalAll();
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * position 다음부터 디스크 반영이 끝난 레코드를 limit 건까지 읽기
+	 *
+	 * @param from  이전 읽기 결과의 위치 (처음이면 start(이미 반영된 seq))
+	 * @param limit
+	 * @return 읽은 명령 + 다음 읽기 위치 (반영에 성공 했을 때만 다음 위치로 넘어간다)
+	 */
+	public Chunk read(Position from, int limit) {
+		List<Segment> snapshot;
+		long durable;
+		lock.lock();
+		try {
+			snapshot = new ArrayList<>(segments);
+			durable = durableSeq;
+		} finally {
+			lock.unlock();
+		}
+
+		int index = indexOf(snapshot, from);
+		int offset = snapshot.get(index).firstSeq == from.segmentFirstSeq ? from.offset : 0;
+		long seq = from.seq;
+		// 세그먼트 처음이면 이미 읽은 세그먼트는 통째로 건너뜀
+		while (offset == 0 && index + 1 < snapshot.size() && snapshot.get(index + 1).firstSeq <= seq + 1) {
+			index++;
+		}
+
+		List<DepositCommand> commands = new ArrayList<>();
+		// seq 가 빈틈 없이 증가하므로 seq < durable 이면 다음 레코드는 반영(force)이 끝난 레코드
+		while (commands.size() < limit && seq < durable) {
+			Segment segment = snapshot.get(index);
+			int bodyBytes = offset + HEADER_BYTES <= segment.capacity ? segment.buffer.getInt(offset) : 0;
+			if (bodyBytes <= 0) {
+				if (index + 1 >= snapshot.size()) {
+					break;
+				}
+				index++;
+				offset = 0;
+				continue;
+			}
+			DepositCommand command = segment.decode(offset);
+			offset += HEADER_BYTES + bodyBytes;
+			if (command.getSeq() > seq) {
+				commands.add(command);
+				seq = command.getSeq();
+			}
+		}
+		return new Chunk(commands, new Position(snapshot.get(index).firstSeq, offset, seq));
+	}
+
+	// 위치의 세그먼트 (이미 삭제 되었으면 seq 다음 레코드가 있을 수 있는 가장 앞 세그먼트)
+	private int indexOf(List<Segment> snapshot, Position position) {
+		int index = 0;
+		for (int i = 0; i < snapshot.size(); i++) {
+			if (snapshot.get(i).firstSeq == position.segmentFirstSeq) {
+				return i;
+			}
+			if (snapshot.get(i).firstSeq <= position.seq + 1) {
+				index = i;
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * seq 까지 DB 에 반영된 세그먼트 삭제 (쓰고 있는 세그먼트는 남긴다)
+	 *
+	 * @param appliedSeq 모든 샤드에 반영된 seq
+	 * @return 삭제한 세그먼트 수
+	 */
+	public int release(long appliedSeq) {
+		List<Segment> removed = new ArrayList<>();
+		lock.lock();
+		try {
+			while (segments.size() > 1 && segments.get(1).firstSeq - 1 <= appliedSeq) {
+				removed.add(segments.remove(0));
+			}
+		} finally {
+			lock.unlock();
+		}
+		for (Segment segment : removed) {
+			segment.delete();
+		}
+		return removed.size();
+	}
+
+	public long lastSeq() {
+		lock.lock();
+		try {
+			return lastSeq;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public long durableSeq() {
+		lock.lock();
+		try {
+			return durableSeq;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public int segmentCount() {
+		lock.lock();
+		try {
+			return segments.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public long forceCount() {
+		return forceCount.sum();
+	}
+
+	// 남은 레코드를 force 한 뒤 닫는다.
+	@Override
+	public void close() throws IOException {
+		lock.lock();
+		try {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			appended.signalAll();
+		} finally {
+			lock.unlock();
+		}
+		try {
+			flusher.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		for (Segment segment : segments) {
+			segment.channel.close();
+		}
+	}
+
+	private void checkWritable() throws IOException {
+		if (closed) {
+			throw new IOException("입금 저널이 닫혔습니다.");
+		}
+		if (failure != null) {
+			throw new IOException("입금 저널 디스크 반영 실패", failure);
+		}
+	}
+
+	// 새 세그먼트 파일 이름이 재시작 후에도 남도록 디렉터리도 반영 (디렉터리를 열 수 없는 OS 는 건너뜀)
+	private void forceDirectory() {
+		try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+			channel.force(true);
+		} catch (IOException e) {
+			// Windows 는 디렉터리 채널을 열 수 없다.
+		}
+	}
+
+	private static long firstSeqOf(Path path) {
+		String name = path.getFileName().toString();
+		return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+	}
+
+	/**
+	 * 읽기 위치 (세그먼트 첫 seq + 세그먼트 안 offset + 마지막으로 읽은 seq)
+	 */
+	public record Position(long segmentFirstSeq, int offset, long seq) {
+
+		// 처음 읽기 - seq 까지는 이미 반영된 것으로 보고 건너뜀
+		public static Position start(long appliedSeq) {
+			return new Position(-1, 0, appliedSeq);
+		}
+	}
+
+	/**
+	 * 한 번에 읽은 명령과 다음 읽기 위치
+	 */
+	public record Chunk(List<DepositCommand> commands, Position next) {
+	}
+
+	// 세그먼트 파일 하나
+	private static final class Segment {
+		private final Path path;
+		private final long firstSeq;
+		private final FileChannel channel;
+		private final MappedByteBuffer buffer;
+		private final int capacity;
+		private int position; // 다음 레코드를 쓸 위치 (저널 lock)
+		private long lastSeq; // 마지막 레코드 seq (비어 있으면 firstSeq - 1)
+		private volatile int forcedPosition;
+
+		private Segment(Path path, long firstSeq, FileChannel channel, int capacity) throws IOException {
+			this.path = path;
+			this.firstSeq = firstSeq;
+			this.channel = channel;
+			this.capacity = capacity;
+			this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+			this.lastSeq = firstSeq - 1;
+		}
+
+		private static Segment create(Path dir, long firstSeq, int segmentBytes) throws IOException {
+			Path path = dir.resolve(String.format("%s%020d%s", PREFIX, firstSeq, SUFFIX));
+			FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+			return new Segment(path, firstSeq, channel, segmentBytes);
+		}
+
+		// 기존 세그먼트 (파일 크기 그대로, 만들다 멈춘 빈 파일이면 segmentBytes)
+		private static Segment map(Path path, long firstSeq, int segmentBytes) throws IOException {
+			FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			long size = channel.size();
+			return new Segment(path, firstSeq, channel, size < HEADER_BYTES ? segmentBytes : (int) size);
+		}
+
+		// 처음부터 올바른 레코드를 따라가서 이어 쓸 위치와 마지막 seq 복구
+		private void scan() {
+			int offset = 0;
+			long expected = firstSeq;
+			while (offset + HEADER_BYTES + FIXED_BODY_BYTES <= capacity) {
+				int bodyBytes = buffer.getInt(offset);
+				if (bodyBytes < FIXED_BODY_BYTES || offset + HEADER_BYTES + bodyBytes > capacity) {
+					break;
+				}
+				byte[] body = new byte[bodyBytes];
+				buffer.get(offset + HEADER_BYTES, body);
+				CRC32 crc = new CRC32();
+				crc.update(body);
+				if ((int) crc.getValue() != buffer.getInt(offset + 4)
+						|| ByteBuffer.wrap(body).getLong() != expected) {
+					break; // 쓰다 만 레코드 또는 이전에 잘린 뒤 남은 레코드
+				}
+				lastSeq = expected++;
+				offset += HEADER_BYTES + bodyBytes;
+			}
+			position = offset;
+		}
+
+		private DepositCommand decode(int offset) {
+			int at = offset + HEADER_BYTES;
+			long seq = buffer.getLong(at);
+			long receivedAt = buffer.getLong(at + 8);
+			long amount = buffer.getLong(at + 16);
+			byte[] number = new byte[buffer.getShort(at + 24)];
+			buffer.get(at + 26, number);
+			return new DepositCommand(seq, receivedAt, amount, new String(number, StandardCharsets.UTF_8));
+		}
+
+		// 매핑 해제는 GC 에 맡긴다. (Windows 는 매핑이 남아 있으면 삭제가 실패 - 다음 시작시 건너뛰고 다시 삭제)
+		private void delete() {
+			try {
+				channel.close();
+				Files.deleteIfExists(path);
+			} catch (IOException e) {
+				// 다음 release 나 재시작 후 다시 시도
+			}
+		}
+	}
+}
@@ -0,0 +1,16 @@
+package com.tenco.bank.repository.interfaces;
+
+import java.util.Map;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+// 계좌 번호 -> 샤드 디렉터리 (샤드 0), account_directory.xml 파일을 매칭 시킨다.
+@Mapper
+public interface AccountDirectoryRepository {
+
+	public Integer findShard(@Param("number") String number);
+
+	// 계좌 번호 -> 샤드 (다중 행 insert)
+	public int insertAll(@Param("entries") Map<String, Integer> entries);
+}
@@ -0,0 +1,17 @@
+package com.tenco.bank.repository.interfaces;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+// AccountNumberSequenceRepository, account_sequence.xml 파일을 매칭 시킨다.
+@Mapper
+public interface AccountNumberSequenceRepository {
+
+	// 행 잠금(for update) 후 현재 값을 가져온다 - 반드시 트랜잭션 안에서 호출
+	public Long findNextValForUpdate(@Param("name") String name);
+
+	// 시퀀스 행이 없을 때 시작 값으로 만든다. (동시에 만들면 한 쪽은 DuplicateKeyException)
+	public int insert(@Param("name") String name, @Param("nextVal") long nextVal);
+
+	public int updateNextVal(@Param("name") String name, @Param("nextVal") long nextVal);
+}
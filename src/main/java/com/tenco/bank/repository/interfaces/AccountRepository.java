@@ -6,10 +6,14 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
 import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.repository.model.AccountDashboard;
+import com.tenco.bank.repository.model.AccountDetail;
 
 @Mapper
 public interface AccountRepository {
 	public int insert(Account account);
+	// 대량 등록 (생성된 id 는 각 Account 객체에 채워진다)
+	public int insertAll(List<Account> accounts);
 	public int updateById(Account account);
 	public int deleteById(Integer id);
 
@@ -19,6 +23,27 @@ public interface AccountRepository {
 	public List<Account> findByUserId(@Param("userId") Integer principalId);
 	// --> account id 값으로 계좌 정보 조회
 	public Account findByNumber(@Param("number") String id);
+	// 출금 - 잔액을 읽고 updateById 로 쓸 때까지 계좌 행 잠금 (동시 입출금의 갱신 유실 방지)
+	public Account findByNumberForUpdate(@Param("number") String number);
 	
 	public Account findByAccountId(Integer accountId);
+
+	// 대사(reconciliation)/배치 작업용 - id 구간 단위 조회
+	public Integer findMaxId();
+	public List<Account> findByIdRange(@Param("lo") int lo, @Param("hi") int hi);
+
+	// 잔액 분할 계좌 관련 (이체/입금은 잔액을 바꿀 계좌 행을 이것으로 잠근다)
+	public Account findByIdForUpdate(Integer id);
+	public int addBalance(@Param("id") Integer id, @Param("amount") long amount);
+	public int updateHotSlots(@Param("id") Integer id, @Param("hotSlots") int hotSlots);
+	public List<Integer> findHotAccountIds();
+
+	// 계좌 목록 화면 - 계좌 + 최근 거래 내역 recentSize 건 + 전체 합계 (afterId 다음부터 size 개)
+	public List<AccountDashboard> findDashboardByUserId(@Param("userId") Integer userId,
+			@Param("afterId") Integer afterId, @Param("size") int size, @Param("recentSize") int recentSize);
+	public AccountDashboard findBalanceSummaryByUserId(@Param("userId") Integer userId);
+
+	// 계좌 상세 화면 - 계좌 + 거래 내역 한 페이지 + 전체 건수 (userId 소유가 아니면 거래 내역은 비어 있음)
+	public AccountDetail findDetailPage(@Param("type") String type, @Param("accountId") Integer accountId,
+			@Param("userId") Integer userId, @Param("limit") int limit, @Param("offset") int offset);
 }
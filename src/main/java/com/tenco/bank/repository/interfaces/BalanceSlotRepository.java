@@ -0,0 +1,27 @@
+package com.tenco.bank.repository.interfaces;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+// BalanceSlotRepository, balance_slot.xml 파일을 매칭 시킨다.
+@Mapper
+public interface BalanceSlotRepository {
+
+	// 슬롯 하나만 갱신 (해당 슬롯 행만 잠김)
+	public int credit(@Param("accountId") Integer accountId, @Param("slot") int slot, @Param("amount") long amount);
+
+	// 잠금 없는 합계 조회
+	public Long sumByAccountId(@Param("accountId") Integer accountId);
+
+	// 정리(consolidation) 전 모든 슬롯 잠금
+	public List<Long> findBalancesForUpdate(@Param("accountId") Integer accountId);
+
+	public int resetByAccountId(@Param("accountId") Integer accountId);
+
+	// 슬롯 수 줄이기 - fromSlot 이상 번호 삭제 (정리 후 잔액 0 인 슬롯)
+	public int deleteFromSlot(@Param("accountId") Integer accountId, @Param("fromSlot") int fromSlot);
+
+	public int insertSlots(@Param("accountId") Integer accountId, @Param("slots") List<Integer> slots);
+}
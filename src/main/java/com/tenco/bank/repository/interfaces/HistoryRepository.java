@@ -1,12 +1,18 @@
 package com.tenco.bank.repository.interfaces;
 
+import java.sql.Timestamp;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
+import com.tenco.bank.dto.HistorySearchDTO;
 import com.tenco.bank.repository.model.History;
 import com.tenco.bank.repository.model.HistoryAccount;
+import com.tenco.bank.repository.model.LedgerEntry;
+import com.tenco.bank.repository.model.WithdrawalTotals;
 
 // HistoryRepository, history.xml 파일을 매칭 시킨다.
 @Mapper
@@ -33,4 +39,27 @@ public interface HistoryRepository {
 	public int countByAccountIdAndType(@Param("type")String type, 
 			@Param("accountId")Integer accountId);
 
+	// 대사 스냅샷 시작 - 계좌, 슬롯, 거래 내역을 한 문장에서 읽어 세 테이블의 읽기 시점을 맞춘다.
+	public int openLedgerSnapshot();
+
+	// 계좌 id 구간의 거래 내역을 (계좌, 거래 id) 순서로 한 줄씩 전달 (결과를 List 로 모으지 않음)
+	public void streamLedgerByAccountRange(@Param("lo") int lo, @Param("hi") int hi,
+			ResultHandler<LedgerEntry> handler);
+
+	// 출금 한도 - since 이후 출금 내역을 한 줄씩 전달 (시작시 윈도우 재구성)
+	public void streamWithdrawalsSince(@Param("since") Timestamp since, ResultHandler<History> handler);
+
+	// 출금 한도 - SQL 모드 (다중 노드) 계좌 출금 합계 (excludeId : 합계에서 뺄 거래 내역, 없으면 null)
+	public WithdrawalTotals sumWithdrawals(@Param("accountId") Integer accountId,
+			@Param("hourSince") Timestamp hourSince, @Param("daySince") Timestamp daySince,
+			@Param("excludeId") Integer excludeId);
+
+	// 거래 내역 검색 - 조건에 맞는 행을 (created_at, id) 역순으로 한 줄씩 전달
+	public void streamSearch(HistorySearchDTO search, ResultHandler<HistoryAccount> handler);
+
+	// 거래 내역 검색 쿼리 출금 쪽, 입금 쪽 실행 계획 (테스트에서 인덱스 사용 확인)
+	public List<Map<String, Object>> explainSearchWithdrawals(HistorySearchDTO search);
+
+	public List<Map<String, Object>> explainSearchDeposits(HistorySearchDTO search);
+
 }
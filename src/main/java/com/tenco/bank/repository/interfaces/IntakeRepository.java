@@ -0,0 +1,43 @@
+package com.tenco.bank.repository.interfaces;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import com.tenco.bank.intake.DepositCommand;
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.repository.model.History;
+
+// IntakeRepository, intake.xml 파일을 매칭 시킨다.
+@Mapper
+public interface IntakeRepository {
+
+	// 저널 반영 위치 (각 샤드) - 행 잠금으로 같은 저널의 반영을 직렬화, 없으면 null
+	public Long findAppliedSeqForUpdate(@Param("journal") String journal);
+
+	public Long findAppliedSeq(@Param("journal") String journal);
+
+	public int insertCheckpoint(@Param("journal") String journal, @Param("owner") String owner);
+
+	// 저널을 쓰는 노드 id (이전 버전에서 만든 행은 null)
+	public String findOwner(@Param("journal") String journal);
+
+	// owner 가 없는 행만 차지
+	public int claimOwner(@Param("journal") String journal, @Param("owner") String owner);
+
+	public int updateAppliedSeq(@Param("journal") String journal, @Param("appliedSeq") long appliedSeq);
+
+	// 입금 계좌 행 잠금 (id 순서로 잠가서 다른 배치/이체와 교착 방지)
+	public List<Account> findByNumbersForUpdate(@Param("numbers") List<String> numbers);
+
+	// 계좌별 합계를 update 한 번으로 반영 (계좌 id -> 입금 합계)
+	public int addBalances(@Param("sums") Map<Integer, Long> sums);
+
+	// 입금 거래 내역 다중 행 insert (created_at = 접수 시각)
+	public int insertDepositHistories(List<History> histories);
+
+	// 없는 계좌로 접수된 입금, 재시도 해도 반영에 실패한 입금 (반영 위치 갱신과 같은 트랜잭션 - 재반영시 중복 키 없음)
+	public int insertRejects(@Param("journal") String journal, @Param("commands") List<DepositCommand> commands, @Param("reason") String reason);
+}
@@ -0,0 +1,49 @@
+package com.tenco.bank.repository.interfaces;
+
+import java.sql.Date;
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+// InterestRepository, interest.xml 파일을 매칭 시킨다.
+@Mapper
+public interface InterestRepository {
+
+	// 기준일 실행 등록 - 이미 있으면 중복 키 예외 (먼저 등록한 구간 크기를 사용)
+	// 체크포인트가 이미 있는 기준일은 그 구간 크기로 등록 한다.
+	public int insertRun(@Param("businessDate") Date businessDate, @Param("chunkSize") int chunkSize);
+
+	// 기준일의 구간 크기 (실행 등록 전이면 null)
+	public Integer findRunChunkSize(@Param("businessDate") Date businessDate);
+
+	// 모든 구간 지급 완료 표시
+	public int completeRun(@Param("businessDate") Date businessDate);
+
+	// 지급 완료된 기준일이면 1, 아니면 0
+	public int countCompletedRun(@Param("businessDate") Date businessDate);
+
+	// 구간 점유 - 같은 기준일/구간이 이미 있으면 중복 키 예외 (멱등성)
+	public int insertCheckpoint(@Param("businessDate") Date businessDate, @Param("lo") int lo, @Param("hi") int hi);
+
+	public int updateCheckpoint(@Param("businessDate") Date businessDate, @Param("lo") int lo,
+			@Param("credited") int credited);
+
+	public List<Integer> findDoneChunkStarts(@Param("businessDate") Date businessDate);
+
+	// 구간 계좌 행 잠금 (이자 계산 중 잔액 변경 방지)
+	public List<Integer> lockAccountRange(@Param("lo") int lo, @Param("hi") int hi);
+
+	// 구간 전체 이자 거래 내역을 insert ... select 한 번으로 등록
+	public int insertInterestHistory(@Param("lo") int lo, @Param("hi") int hi, @Param("rateBps") int rateBps);
+
+	// 이자 입금 월 집계 - 없는 행을 만든 뒤 한 번에 증가 (applyInterest 전에 호출)
+	public int insertInterestRollups(@Param("lo") int lo, @Param("hi") int hi, @Param("rateBps") int rateBps,
+			@Param("period") int period);
+
+	public int addInterestRollups(@Param("lo") int lo, @Param("hi") int hi, @Param("rateBps") int rateBps,
+			@Param("period") int period);
+
+	// 구간 전체 잔액에 이자 반영 (update 한 번)
+	public int applyInterest(@Param("lo") int lo, @Param("hi") int hi, @Param("rateBps") int rateBps);
+}
@@ -0,0 +1,33 @@
+package com.tenco.bank.repository.interfaces;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import com.tenco.bank.repository.model.AccountRollup;
+
+// RollupRepository, rollup.xml 파일을 매칭 시킨다.
+@Mapper
+public interface RollupRepository {
+
+	// 증가분 반영 - 행이 없으면 0 (insertDelta 로 만든다)
+	public int addDelta(AccountRollup delta);
+
+	// 행이 이미 있으면 중복 키 예외
+	public int insertDelta(AccountRollup delta);
+
+	// 계좌 월별 집계 (슬롯 합산, 최근 월 먼저)
+	public List<AccountRollup> findByAccountId(@Param("accountId") Integer accountId,
+			@Param("fromPeriod") int fromPeriod, @Param("toPeriod") int toPeriod);
+
+	// 다시 계산 - 구간 계좌 행, 분할 슬롯 행 잠금 (다시 계산하는 동안 거래 반영 방지)
+	public List<Integer> lockAccountRange(@Param("lo") int lo, @Param("hi") int hi);
+
+	public List<Long> lockSlotRange(@Param("lo") int lo, @Param("hi") int hi);
+
+	public int deleteRange(@Param("lo") int lo, @Param("hi") int hi);
+
+	// 구간 계좌의 거래 내역을 년월별로 묶어서 insert ... select 한 번으로 등록
+	public int rebuildRange(@Param("lo") int lo, @Param("hi") int hi);
+}
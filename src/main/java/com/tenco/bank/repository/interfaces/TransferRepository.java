@@ -0,0 +1,17 @@
+package com.tenco.bank.repository.interfaces;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import com.tenco.bank.repository.model.TransferResult;
+
+// TransferRepository, transfer.xml 파일을 매칭 시킨다.
+@Mapper
+public interface TransferRepository {
+
+	// 이체 프로시저 호출 (DB 왕복 한 번)
+	public TransferResult transfer(@Param("wAccountNumber") String wAccountNumber,
+			@Param("dAccountNumber") String dAccountNumber, @Param("amount") long amount,
+			@Param("password") String password, @Param("checkPassword") boolean checkPassword,
+			@Param("userId") Integer userId, @Param("period") int period);
+}
@@ -0,0 +1,38 @@
+package com.tenco.bank.repository.interfaces;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import com.tenco.bank.repository.model.TransferSaga;
+
+// TransferSagaRepository, transfer_saga.xml 파일을 매칭 시킨다.
+@Mapper
+public interface TransferSagaRepository {
+
+	// saga 진행 상태 (샤드 0)
+	public int insert(TransferSaga saga);
+
+	// 현재 상태가 from 일 때만 변경 (다른 노드가 먼저 진행 시켰으면 0)
+	public int updateStatus(@Param("id") Integer id, @Param("from") String from, @Param("to") String to,
+			@Param("reason") String reason);
+
+	// before 이후로 진행이 없는 미완료 saga
+	public List<TransferSaga> findStale(@Param("before") Timestamp before, @Param("limit") int limit);
+
+	// 단계 기록 (단계를 반영하는 샤드) - 같은 단계가 이미 있으면 중복 키 예외
+	public int insertStep(@Param("sagaId") Integer sagaId, @Param("step") String step,
+			@Param("aborted") boolean aborted);
+
+	// 단계 기록이 없으면 null
+	public Boolean findStepAborted(@Param("sagaId") Integer sagaId, @Param("step") String step);
+
+	// 단계에서 쓴(REFUND 는 취소한) 거래 내역 id 기록
+	public int updateStepHistory(@Param("sagaId") Integer sagaId, @Param("step") String step,
+			@Param("historyId") Integer historyId);
+
+	// 단계 기록이 없거나 거래 내역 id 가 없으면 null
+	public Integer findStepHistoryId(@Param("sagaId") Integer sagaId, @Param("step") String step);
+}
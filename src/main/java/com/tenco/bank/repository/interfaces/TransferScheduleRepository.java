@@ -0,0 +1,40 @@
+package com.tenco.bank.repository.interfaces;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import com.tenco.bank.repository.model.TransferSchedule;
+
+// TransferScheduleRepository, transfer_schedule.xml 파일을 매칭 시킨다.
+@Mapper
+public interface TransferScheduleRepository {
+
+	public int insert(TransferSchedule schedule);
+
+	public TransferSchedule findById(Integer id);
+
+	public List<TransferSchedule> findByUserId(@Param("userId") Integer userId);
+
+	// 실행 시각이 지난 예약을 잠근다. (다른 노드가 잠근 행은 건너뜀 - skip locked)
+	public List<TransferSchedule> findDueForUpdate(@Param("limit") int limit);
+
+	public int markClaimed(@Param("ids") List<Integer> ids, @Param("claimedBy") String claimedBy,
+			@Param("claimedUntil") Timestamp claimedUntil);
+
+	// 실행 완료 처리 (점유한 노드만 갱신 가능)
+	public int complete(TransferSchedule schedule);
+
+	// 실행하지 못한 예약을 다시 대기 상태로 돌려 놓는다.
+	public int release(@Param("id") Integer id, @Param("claimedBy") String claimedBy);
+
+	public int cancel(@Param("id") Integer id, @Param("userId") Integer userId);
+
+	// 실행 표시 (출금 계좌 샤드, 이체와 같은 트랜잭션) - (예약, 실행 시각) PK 라 두 번째 insert 는 DuplicateKeyException
+	public int insertExecution(@Param("scheduleId") Integer scheduleId, @Param("runAt") Timestamp runAt);
+
+	public int insertRun(@Param("scheduleId") Integer scheduleId, @Param("success") boolean success,
+			@Param("message") String message);
+}
@@ -4,6 +4,7 @@ import java.util.List;
 
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import com.tenco.bank.repository.model.User;
 
@@ -14,6 +15,8 @@ import com.tenco.bank.repository.model.User;
 public interface UserRepository {
 	
 	public int insert(User user);
+	// 대량 등록 (생성된 id 는 각 User 객체에 채워진다)
+	public int insertAll(List<User> users);
 	public int updateById(User user);
 	public int deleteById(Integer id);
 	public User findById(Integer id);
@@ -24,4 +27,7 @@ public interface UserRepository {
 	public User findByUsernameAndPassword(@Param("username") String username, @Param("password") String password);
 	
 	public User findByUsername(@Param("username") String username);
+
+	// username Bloom filter 생성 - 전체 username 을 한 줄씩 전달 (결과를 List 로 모으지 않음)
+	public void streamUsernames(ResultHandler<String> handler);
 }
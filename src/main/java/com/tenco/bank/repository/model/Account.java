@@ -1,11 +1,9 @@
 package com.tenco.bank.repository.model;
 
 import java.sql.Timestamp;
+import java.util.Objects;
 
-import org.springframework.http.HttpStatus;
-
-import com.tenco.bank.handler.exception.DataDeliveryException;
-import com.tenco.bank.utils.Define;
+import com.tenco.bank.handler.exception.BusinessException;
 import com.tenco.bank.utils.ValueFormatter;
 
 import lombok.AllArgsConstructor;
@@ -27,6 +25,7 @@ public class Account extends ValueFormatter{
 	private Long balance;
 	private Integer userId;
 	private Timestamp createdAt;
+	private Integer hotSlots; // 0 보다 크면 잔액을 슬롯에 나눠서 관리하는 계좌
 
 	// 출금 기능
 	public void withdraw(Long amount) {
@@ -41,24 +40,34 @@ public class Account extends ValueFormatter{
 	// 패스워드 체크
 	public void checkPassword(String password) {
 		if(this.password.equals(password) == false) {
-			throw new DataDeliveryException(Define.FAIL_ACCOUNT_PASSWROD, HttpStatus.BAD_REQUEST);
+			throw BusinessException.FAIL_ACCOUNT_PASSWORD;
 		} 
 	}
 	
 	// 잔액 여부 확인
 	public void checkBalance(Long amount) {
 		if(this.balance < amount) {
-			throw new DataDeliveryException(Define.LACK_Of_BALANCE, HttpStatus.BAD_REQUEST);
+			throw BusinessException.LACK_OF_BALANCE;
 		}
 	}
 	
 	
 	// 계좌 소유자 확인 기능
 	public void checkOwner(Integer userId) {
-		if(this.userId != userId) {
-			throw new DataDeliveryException(Define.NOT_ACCOUNT_OWNER,HttpStatus.BAD_REQUEST );
+		if(Objects.equals(this.userId, userId) == false) {
+			throw BusinessException.NOT_ACCOUNT_OWNER;
 		} 
 		
 	}
+
+	// 입금이 몰리는 계좌 여부 (잔액 분할 슬롯 사용)
+	public boolean isHot() {
+		return hotSlots != null && hotSlots > 0;
+	}
+
+	// 화면 출력용 잔액 (1,000원)
+	public String getBalanceText() {
+		return formatWon(balance);
+	}
 	
 }
@@ -0,0 +1,31 @@
+package com.tenco.bank.repository.model;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.tenco.bank.utils.ValueFormatter;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+// 계좌 목록 화면 - 계좌 한 개 + 최근 거래 내역 (중첩 resultMap 으로 한 번에 조회)
+@Data
+@EqualsAndHashCode(callSuper = false)
+@NoArgsConstructor
+public class AccountDashboard extends ValueFormatter {
+	private Integer id;
+	private String number;
+	private Long balance;
+	private Timestamp createdAt;
+	private List<HistoryAccount> recentHistories = new ArrayList<>();
+
+	// 사용자 전체 계좌 기준 값 (페이지와 무관, 모든 행에 같은 값)
+	private Long totalBalance;
+	private Integer accountCount;
+
+	public String getBalanceText() {
+		return formatWon(balance);
+	}
+}
@@ -0,0 +1,19 @@
+package com.tenco.bank.repository.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 계좌 상세 화면 - 계좌 + 거래 내역 한 페이지 + 전체 건수 (중첩 resultMap 으로 한 번에 조회)
+@Data
+@NoArgsConstructor
+public class AccountDetail {
+	private Integer accountId;
+	private Account account;
+	private List<HistoryAccount> histories = new ArrayList<>();
+
+	// 거래 유형 조건의 전체 건수 (페이지 자르기 전에 계산, 페이지가 비어 있으면 null)
+	private Integer totalRecords;
+}
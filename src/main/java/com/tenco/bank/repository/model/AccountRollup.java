@@ -0,0 +1,52 @@
+package com.tenco.bank.repository.model;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 계좌 월 집계 (account_rollup_tb 한 행 또는 반영할 증가분)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountRollup {
+
+	private Integer accountId;
+	private Integer period; // yyyyMM
+	private Integer slot;
+	private long inAmount;
+	private int inCount;
+	private long maxIn;
+	private long outAmount;
+	private int outCount;
+	private long maxOut;
+
+	public static int periodOf(LocalDate date) {
+		return date.getYear() * 100 + date.getMonthValue();
+	}
+
+	public static AccountRollup in(Integer accountId, int period, int slot, long amount) {
+		return AccountRollup.builder().accountId(accountId).period(period).slot(slot)
+				.inAmount(amount).inCount(1).maxIn(amount).build();
+	}
+
+	public static AccountRollup out(Integer accountId, int period, int slot, long amount) {
+		return AccountRollup.builder().accountId(accountId).period(period).slot(slot)
+				.outAmount(amount).outCount(1).maxOut(amount).build();
+	}
+
+	// 같은 (계좌, 년월, 슬롯) 증가분 합치기
+	public void merge(AccountRollup other) {
+		inAmount += other.inAmount;
+		inCount += other.inCount;
+		maxIn = Math.max(maxIn, other.maxIn);
+		outAmount += other.outAmount;
+		outCount += other.outCount;
+		maxOut = Math.max(maxOut, other.maxOut);
+	}
+}
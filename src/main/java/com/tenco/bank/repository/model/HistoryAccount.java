@@ -22,5 +22,18 @@ public class HistoryAccount extends ValueFormatter{
 	private String sender;
 	private String receiver;
 	private Timestamp createdAt;
-	
+
+	// JSP 에서 행마다 한 번씩만 호출 한다. (${history.createdAtText} ...)
+	public String getCreatedAtText() {
+		return formatTimestamp(createdAt);
+	}
+
+	public String getAmountText() {
+		return formatWon(amount);
+	}
+
+	public String getBalanceText() {
+		return formatWon(balance);
+	}
+
 }
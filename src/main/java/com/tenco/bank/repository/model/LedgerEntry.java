@@ -0,0 +1,17 @@
+package com.tenco.bank.repository.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 계좌 기준으로 펼친 거래 내역 한 줄 (이체 1건 = 출금 계좌 1줄 + 입금 계좌 1줄)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerEntry {
+	private Integer accountId;
+	private Integer historyId;
+	private Long amount;
+	private Long balance; // 거래 후 잔액 (w_balance 또는 d_balance)
+	private String direction; // W : 출금, D : 입금
+}
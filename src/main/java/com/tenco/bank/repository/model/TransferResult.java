@@ -0,0 +1,30 @@
+package com.tenco.bank.repository.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 이체 프로시저(transfer_proc) 결과 한 행
+ */
+@Data
+@NoArgsConstructor
+public class TransferResult {
+
+	public static final int OK = 0;
+	public static final int NOT_EXIST_W_ACCOUNT = 1;
+	public static final int NOT_EXIST_D_ACCOUNT = 2;
+	public static final int NOT_ACCOUNT_OWNER = 3;
+	public static final int FAIL_ACCOUNT_PASSWORD = 4;
+	public static final int LACK_OF_BALANCE = 5;
+	public static final int SAME_ACCOUNT = 6;
+	public static final int HOT_ACCOUNT = 7; // 잔액 분할 계좌 - 아무 것도 바꾸지 않음
+
+	private int resultCode;
+	private Integer historyId;
+	private Integer wAccountId;
+	private Integer wUserId;
+	private Long wBalance; // 출금 후 잔액
+	private Integer dAccountId;
+	private Integer dUserId;
+	private Long dBalance; // 입금 후 잔액
+}
@@ -0,0 +1,31 @@
+package com.tenco.bank.repository.model;
+
+import java.sql.Timestamp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// 샤드간 이체 진행 상태 (transfer_saga_tb, 샤드 0)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class TransferSaga {
+	private Integer id;
+	private Integer userId;
+	private String wAccountNumber;
+	private String dAccountNumber;
+	private Integer wAccountId;
+	private Integer dAccountId;
+	private Integer wShard;
+	private Integer dShard;
+	private Long amount;
+	private String status; // STARTED, DEBITED, DONE, COMPENSATED, FAILED
+	private String reason;
+	private Timestamp createdAt;
+	private Timestamp updatedAt;
+}
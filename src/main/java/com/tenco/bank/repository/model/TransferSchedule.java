@@ -0,0 +1,31 @@
+package com.tenco.bank.repository.model;
+
+import java.sql.Timestamp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class TransferSchedule {
+	private Integer id;
+	private Integer userId;
+	private String wAccountNumber;
+	private String dAccountNumber;
+	private Long amount;
+	private String cycle; // ONCE, DAILY, MONTHLY
+	private Integer dayOfMonth;
+	private Timestamp nextRunAt;
+	private String status; // ACTIVE, RUNNING, DONE, FAILED, CANCELLED
+	private String claimedBy;
+	private Timestamp claimedUntil;
+	private Timestamp lastRunAt;
+	private String lastResult;
+	private Timestamp createdAt;
+}
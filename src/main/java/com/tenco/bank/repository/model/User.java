@@ -1,7 +1,11 @@
 package com.tenco.bank.repository.model;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 
+import com.tenco.bank.utils.Define;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -23,13 +27,24 @@ public class User {
 	private String originFileName;
 	private String uploadFileName;
 	private Timestamp createdAt;
+	private String role; // USER, ADMIN, CHANNEL
+	
+	public boolean isAdmin() {
+		return Define.ROLE_ADMIN.equals(role);
+	}
+	
+	// ATM, 현금 입금 채널 계정 (입금 접수 /intake/**)
+	public boolean isChannel() {
+		return Define.ROLE_CHANNEL.equals(role);
+	}
 	
 	public String setUpUserImage() {
 		String img = "";
 		if(uploadFileName == null) {
 			img ="https://picsum.photos/id/1/350"; 
 		} else if(fullname.contains("OAuth_")) {
-			img = uploadFileName;
+			// 카카오 썸네일은 서버에 한 번 받아 둔 것을 내려준다. (ThumbnailCache)
+			img = "/images/thumbnails?src=" + URLEncoder.encode(uploadFileName, StandardCharsets.UTF_8);
 		} else {
 			img = "/images/uploads/" + uploadFileName;
 		}
@@ -0,0 +1,14 @@
+package com.tenco.bank.repository.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 계좌 출금 합계 (최근 1시간, 최근 1일)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WithdrawalTotals {
+	private Long hourly;
+	private Long daily;
+}
@@ -0,0 +1,172 @@
+package com.tenco.bank.repository.procedure;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Objects;
+
+import org.h2.tools.SimpleResultSet;
+
+import com.tenco.bank.repository.model.TransferResult;
+
+/**
+ * 이체 프로시저 H2 버전 (create alias transfer_proc, db/transfer_procedure_h2.sql)
+ *
+ * H2 는 저장 프로시저 문법이 없어서 자바 함수로 만든다. DB 안에서 호출한 쪽 세션(트랜잭션)으로 실행 되고
+ * 검사 순서와 결과 행은 db/transfer_procedure_mysql.sql 과 같다.
+ */
+public final class H2TransferProcedure {
+
+	private H2TransferProcedure() {
+	}
+
+	public static ResultSet transfer(Connection conn, String wNumber, String dNumber, long amount, String password,
+			boolean checkPassword, Integer userId, int period) throws SQLException {
+		SimpleResultSet result = new SimpleResultSet();
+		result.addColumn("result_code", Types.INTEGER, 10, 0);
+		result.addColumn("history_id", Types.INTEGER, 10, 0);
+		result.addColumn("w_account_id", Types.INTEGER, 10, 0);
+		result.addColumn("w_user_id", Types.INTEGER, 10, 0);
+		result.addColumn("w_balance", Types.BIGINT, 19, 0);
+		result.addColumn("d_account_id", Types.INTEGER, 10, 0);
+		result.addColumn("d_user_id", Types.INTEGER, 10, 0);
+		result.addColumn("d_balance", Types.BIGINT, 19, 0);
+		if ("jdbc:columnlist:connection".equals(conn.getMetaData().getURL())) {
+			return result; // 컬럼 목록만 묻는 호출
+		}
+
+		Integer wId = findId(conn, wNumber);
+		Integer dId = findId(conn, dNumber);
+		if (wId == null) {
+			result.addRow(TransferResult.NOT_EXIST_W_ACCOUNT, null, null, null, null, null, null, null);
+			return result;
+		}
+		if (dId == null) {
+			result.addRow(TransferResult.NOT_EXIST_D_ACCOUNT, null, wId, null, null, null, null, null);
+			return result;
+		}
+
+		// 계좌 id 순서로 잠근다. (교착 방지)
+		Object[] w;
+		Object[] d;
+		if (dId < wId) {
+			d = lock(conn, dId);
+			w = lock(conn, wId);
+		} else {
+			w = lock(conn, wId);
+			d = lock(conn, dId);
+		}
+		Integer wUserId = (Integer) w[0];
+		long wBalance = (Long) w[2];
+		Integer dUserId = (Integer) d[0];
+		long dBalance = (Long) d[2];
+
+		int code;
+		Integer historyId = null;
+		if ((Integer) w[3] > 0 || (Integer) d[3] > 0) {
+			code = TransferResult.HOT_ACCOUNT;
+		} else if (Objects.equals(wUserId, userId) == false) {
+			code = TransferResult.NOT_ACCOUNT_OWNER;
+		} else if (checkPassword && Objects.equals(w[1], password) == false) {
+			code = TransferResult.FAIL_ACCOUNT_PASSWORD;
+		} else if (wBalance < amount) {
+			code = TransferResult.LACK_OF_BALANCE;
+		} else if (wId.equals(dId)) {
+			code = TransferResult.SAME_ACCOUNT;
+		} else {
+			code = TransferResult.OK;
+			wBalance -= amount;
+			dBalance += amount;
+			updateBalance(conn, wId, wBalance);
+			updateBalance(conn, dId, dBalance);
+			historyId = insertHistory(conn, amount, wBalance, dBalance, wId, dId);
+			addRollup(conn, wId, period, 0, 0, amount, 1);
+			addRollup(conn, dId, period, amount, 1, 0, 0);
+		}
+		result.addRow(code, historyId, wId, wUserId, wBalance, dId, dUserId, dBalance);
+		return result;
+	}
+
+	private static Integer findId(Connection conn, String number) throws SQLException {
+		try (PreparedStatement ps = conn.prepareStatement("select id from account_tb where number = ?")) {
+			ps.setString(1, number);
+			try (ResultSet rs = ps.executeQuery()) {
+				return rs.next() ? rs.getInt(1) : null;
+			}
+		}
+	}
+
+	// [user_id, password, balance, hot_slots]
+	private static Object[] lock(Connection conn, int id) throws SQLException {
+		try (PreparedStatement ps = conn.prepareStatement(
+				"select user_id, password, balance, hot_slots from account_tb where id = ? for update")) {
+			ps.setInt(1, id);
+			try (ResultSet rs = ps.executeQuery()) {
+				rs.next();
+				return new Object[] { rs.getInt(1), rs.getString(2), rs.getLong(3), rs.getInt(4) };
+			}
+		}
+	}
+
+	private static void updateBalance(Connection conn, int id, long balance) throws SQLException {
+		try (PreparedStatement ps = conn.prepareStatement("update account_tb set balance = ? where id = ?")) {
+			ps.setLong(1, balance);
+			ps.setInt(2, id);
+			ps.executeUpdate();
+		}
+	}
+
+	private static int insertHistory(Connection conn, long amount, long wBalance, long dBalance, int wId, int dId)
+			throws SQLException {
+		try (PreparedStatement ps = conn.prepareStatement(
+				"insert into history_tb(amount, w_balance, d_balance, w_account_id, d_account_id) values(?, ?, ?, ?, ?)",
+				Statement.RETURN_GENERATED_KEYS)) {
+			ps.setLong(1, amount);
+			ps.setLong(2, wBalance);
+			ps.setLong(3, dBalance);
+			ps.setInt(4, wId);
+			ps.setInt(5, dId);
+			ps.executeUpdate();
+			try (ResultSet keys = ps.getGeneratedKeys()) {
+				keys.next();
+				return keys.getInt(1);
+			}
+		}
+	}
+
+	// 계좌 행을 잠근 상태라서 같은 계좌의 집계 행을 동시에 만들 일이 없다. (update 후 없으면 insert)
+	private static void addRollup(Connection conn, int accountId, int period, long inAmount, int inCount,
+			long outAmount, int outCount) throws SQLException {
+		try (PreparedStatement ps = conn.prepareStatement("update account_rollup_tb "
+				+ "set in_amount = in_amount + ?, in_count = in_count + ?, max_in = greatest(max_in, ?), "
+				+ "out_amount = out_amount + ?, out_count = out_count + ?, max_out = greatest(max_out, ?) "
+				+ "where account_id = ? and period = ? and slot = 0")) {
+			ps.setLong(1, inAmount);
+			ps.setInt(2, inCount);
+			ps.setLong(3, inAmount);
+			ps.setLong(4, outAmount);
+			ps.setInt(5, outCount);
+			ps.setLong(6, outAmount);
+			ps.setInt(7, accountId);
+			ps.setInt(8, period);
+			if (ps.executeUpdate() > 0) {
+				return;
+			}
+		}
+		try (PreparedStatement ps = conn.prepareStatement("insert into account_rollup_tb(account_id, period, slot, "
+				+ "in_amount, in_count, max_in, out_amount, out_count, max_out) values(?, ?, 0, ?, ?, ?, ?, ?, ?)")) {
+			ps.setInt(1, accountId);
+			ps.setInt(2, period);
+			ps.setLong(3, inAmount);
+			ps.setInt(4, inCount);
+			ps.setLong(5, inAmount);
+			ps.setLong(6, outAmount);
+			ps.setInt(7, outCount);
+			ps.setLong(8, outAmount);
+			ps.executeUpdate();
+		}
+	}
+}
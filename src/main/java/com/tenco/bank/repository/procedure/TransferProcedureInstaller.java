@@ -0,0 +1,140 @@
+package com.tenco.bank.repository.procedure;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HexFormat;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import com.tenco.bank.shard.ShardRouter;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * 이체 프로시저 설치 (transfer.mode=procedure 일 때만, 샤드마다)
+ *
+ * MySQL 은 db/transfer_procedure_mysql.sql ($$ 구분자), H2 는 자바 함수 alias (db/transfer_procedure_h2.sql)
+ * 스크립트 내용의 hash 를 프로시저 주석에 버전으로 남기고, 설치된 버전이 다를 때만 지우고 다시 만든다.
+ * (시작할 때마다 지우면 그 사이에 들어온 다른 노드의 이체가 실패 한다.)
+ */
+@Component
+@ConditionalOnProperty(name = "transfer.mode", havingValue = "procedure")
+public class TransferProcedureInstaller {
+
+	private static final String MYSQL_SCRIPT = "db/transfer_procedure_mysql.sql";
+	private static final String H2_SCRIPT = "db/transfer_procedure_h2.sql";
+	// 여러 노드가 같이 시작해도 한 노드만 설치 (MySQL named lock)
+	private static final String LOCK_NAME = "transfer_proc_install";
+	private static final int LOCK_TIMEOUT_SECONDS = 30;
+
+	private final DataSource dataSource;
+	private final ShardRouter shardRouter;
+
+	public TransferProcedureInstaller(DataSource dataSource, ShardRouter shardRouter) {
+		this.dataSource = dataSource;
+		this.shardRouter = shardRouter;
+	}
+
+	@PostConstruct
+	public void install() {
+		for (int shard : shardRouter.shards()) {
+			shardRouter.query(shard, () -> {
+				// 잠금, 버전 확인, 설치를 같은 연결에서
+				Connection conn = DataSourceUtils.getConnection(dataSource);
+				try {
+					install(conn);
+				} catch (SQLException e) {
+					throw new IllegalStateException("이체 프로시저를 설치할 수 없습니다. (샤드 " + shard + ")", e);
+				} finally {
+					DataSourceUtils.releaseConnection(conn, dataSource);
+				}
+				return null;
+			});
+		}
+	}
+
+	private void install(Connection conn) throws SQLException {
+		boolean h2 = isH2(conn);
+		Resource script = new ClassPathResource(h2 ? H2_SCRIPT : MYSQL_SCRIPT);
+		String version = versionOf(script);
+		if (!h2) {
+			lock(conn);
+		}
+		try {
+			if (version.equals(installedVersion(conn, h2))) {
+				return;
+			}
+			ResourceDatabasePopulator populator = new ResourceDatabasePopulator(script);
+			if (!h2) {
+				populator.setSeparator("$$");
+			}
+			populator.populate(conn);
+			try (Statement stmt = conn.createStatement()) {
+				stmt.execute(h2 ? "comment on alias transfer_proc is '" + version + "'"
+						: "alter procedure transfer_proc comment '" + version + "'");
+			}
+		} finally {
+			if (!h2) {
+				unlock(conn);
+			}
+		}
+	}
+
+	private String installedVersion(Connection conn, boolean h2) throws SQLException {
+		String sql = h2
+				? "select remarks from information_schema.routines"
+						+ " where routine_schema = current_schema and routine_name = 'transfer_proc'"
+				: "select routine_comment from information_schema.routines"
+						+ " where routine_schema = database() and routine_name = 'transfer_proc'";
+		try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+			return rs.next() ? rs.getString(1) : null;
+		}
+	}
+
+	private void lock(Connection conn) throws SQLException {
+		try (PreparedStatement stmt = conn.prepareStatement("select get_lock(?, ?)")) {
+			stmt.setString(1, LOCK_NAME);
+			stmt.setInt(2, LOCK_TIMEOUT_SECONDS);
+			try (ResultSet rs = stmt.executeQuery()) {
+				if (!rs.next() || rs.getInt(1) != 1) {
+					throw new SQLException("이체 프로시저 설치 잠금을 얻지 못했습니다.");
+				}
+			}
+		}
+	}
+
+	private void unlock(Connection conn) throws SQLException {
+		try (PreparedStatement stmt = conn.prepareStatement("select release_lock(?)")) {
+			stmt.setString(1, LOCK_NAME);
+			stmt.executeQuery().close();
+		}
+	}
+
+	private boolean isH2(Connection conn) throws SQLException {
+		return "H2".equalsIgnoreCase(conn.getMetaData().getDatabaseProductName());
+	}
+
+	// 스크립트 sha-256 앞 16자리
+	static String versionOf(Resource script) {
+		try (InputStream in = script.getInputStream()) {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(in.readAllBytes());
+			return HexFormat.of().formatHex(digest, 0, 8);
+		} catch (IOException | NoSuchAlgorithmException e) {
+			throw new IllegalStateException(script.getDescription() + " 를 읽을 수 없습니다.", e);
+		}
+	}
+}
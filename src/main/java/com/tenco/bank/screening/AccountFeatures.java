@@ -0,0 +1,84 @@
+package com.tenco.bank.screening;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.tenco.bank.utils.SlidingWindow;
+
+/**
+ * 계좌 하나의 최근 출금 특징 (커밋된 거래로 증분 갱신)
+ * 
+ * - 최근 10분 출금 합계 / 이체 건수 (10초 x 60칸)
+ * - 최근 수취 계좌 (최대 MAX_PAYEES 개, 처음 본 시각)
+ * - 출금 금액 평균 (지수 이동 평균)
+ */
+public class AccountFeatures {
+
+	public static final long SHORT_WINDOW_MILLIS = 10 * 60_000L;
+	private static final int MAX_PAYEES = 64;
+	private static final double ALPHA = 0.1; // 이동 평균 가중치
+
+	private final SlidingWindow outflow = new SlidingWindow(10_000L, 60);
+	private final SlidingWindow transfers = new SlidingWindow(10_000L, 60);
+
+	// 수취 계좌 id -> 처음 본 시각 (오래된 것부터 제거)
+	private final Map<Integer, Long> payees = new LinkedHashMap<>(16, 0.75f, false) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, Long> eldest) {
+			return size() > MAX_PAYEES;
+		}
+	};
+
+	private long outflowCount;
+	private double averageAmount;
+	private long lastActivity;
+
+	// 커밋된 출금/이체 반영
+	public synchronized void record(Integer payeeId, long amount, long time) {
+		outflow.add(time, amount);
+		if (payeeId != null) {
+			transfers.add(time, 1);
+			payees.putIfAbsent(payeeId, time);
+		}
+		outflowCount++;
+		averageAmount = outflowCount == 1 ? amount : averageAmount + ALPHA * (amount - averageAmount);
+		lastActivity = Math.max(lastActivity, time);
+	}
+
+	public synchronized long lastActivity() {
+		return lastActivity;
+	}
+
+	public synchronized long recentOutflow(long now) {
+		return outflow.total(now);
+	}
+
+	public synchronized long recentTransferCount(long now) {
+		return transfers.total(now);
+	}
+
+	// 최근 window 동안 처음 이체한 수취 계좌 수
+	public synchronized int newPayeesSince(long since) {
+		int count = 0;
+		for (Long firstSeen : payees.values()) {
+			if (firstSeen >= since) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	public synchronized boolean isKnownPayee(Integer payeeId) {
+		return payees.containsKey(payeeId);
+	}
+
+	public synchronized long outflowCount() {
+		return outflowCount;
+	}
+
+	public synchronized double averageAmount() {
+		return averageAmount;
+	}
+}
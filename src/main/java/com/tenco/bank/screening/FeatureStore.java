@@ -0,0 +1,70 @@
+package com.tenco.bank.screening;
+
+import java.sql.Timestamp;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.tenco.bank.event.AccountHistoryEvent;
+import com.tenco.bank.repository.interfaces.HistoryRepository;
+import com.tenco.bank.repository.model.History;
+import com.tenco.bank.shard.ShardRouter;
+
+// 계좌별 특징 저장소 - 커밋된 거래 내역으로만 갱신 한다.
+@Component
+public class FeatureStore {
+
+	private static final long WARM_UP_MILLIS = 24 * 60 * 60_000L;
+
+	private final HistoryRepository historyRepository;
+	private final ShardRouter shardRouter;
+	private final ConcurrentHashMap<Integer, AccountFeatures> features = new ConcurrentHashMap<>();
+
+	public FeatureStore(HistoryRepository historyRepository, ShardRouter shardRouter) {
+		this.historyRepository = historyRepository;
+		this.shardRouter = shardRouter;
+	}
+
+	// 시작시 최근 1일 출금 내역으로 특징을 채워 둔다.
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		Timestamp since = new Timestamp(System.currentTimeMillis() - WARM_UP_MILLIS);
+		for (int shard : shardRouter.shards()) {
+			shardRouter.query(shard, () -> {
+				historyRepository.streamWithdrawalsSince(since, resultContext -> {
+					History history = resultContext.getResultObject();
+					of(history.getWAccountId()).record(history.getDAccountId(), history.getAmount(),
+							history.getCreatedAt().getTime());
+				});
+				return null;
+			});
+		}
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void onHistory(AccountHistoryEvent event) {
+		if (event.getWAccountId() != null) {
+			of(event.getWAccountId()).record(event.getDAccountId(), event.getAmount(), event.getOccurredAt());
+		}
+	}
+
+	public AccountFeatures of(Integer accountId) {
+		return features.computeIfAbsent(accountId, key -> new AccountFeatures());
+	}
+
+	// 최근 1일 동안 출금이 없는 계좌 정리 (메모리 회수)
+	@Scheduled(fixedDelay = 10 * 60_000L)
+	public void evictIdle() {
+		long since = System.currentTimeMillis() - WARM_UP_MILLIS;
+		features.values().removeIf(f -> f.lastActivity() < since);
+	}
+
+	public int size() {
+		return features.size();
+	}
+}
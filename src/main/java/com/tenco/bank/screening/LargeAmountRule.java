@@ -0,0 +1,39 @@
+package com.tenco.bank.screening;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// 평소 출금 금액 대비 큰 금액 (이력이 충분한 계좌만)
+@Component
+public class LargeAmountRule implements ScreeningRule {
+
+	private final double multiplier;
+	private final int minHistory;
+	private final long minAmount;
+
+	public LargeAmountRule(@Value("${screening.large-amount-multiplier:20}") double multiplier,
+			@Value("${screening.large-amount-min-history:5}") int minHistory,
+			@Value("${screening.large-amount-min:1000000}") long minAmount) {
+		this.multiplier = multiplier;
+		this.minHistory = minHistory;
+		this.minAmount = minAmount;
+	}
+
+	@Override
+	public String name() {
+		return "large-amount";
+	}
+
+	@Override
+	public int cost() {
+		return 10;
+	}
+
+	@Override
+	public String evaluate(TransferContext context, AccountFeatures features) {
+		if (context.getAmount() < minAmount || features.outflowCount() < minHistory) {
+			return null;
+		}
+		return context.getAmount() > features.averageAmount() * multiplier ? "평소 대비 고액 이체" : null;
+	}
+}
@@ -0,0 +1,34 @@
+package com.tenco.bank.screening;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// 짧은 시간에 처음 보는 수취 계좌가 많아지는 경우
+@Component
+public class NewPayeeBurstRule implements ScreeningRule {
+
+	private final int maxNewPayees;
+
+	public NewPayeeBurstRule(@Value("${screening.max-new-payees:5}") int maxNewPayees) {
+		this.maxNewPayees = maxNewPayees;
+	}
+
+	@Override
+	public String name() {
+		return "new-payee-burst";
+	}
+
+	@Override
+	public int cost() {
+		return 20;
+	}
+
+	@Override
+	public String evaluate(TransferContext context, AccountFeatures features) {
+		if (features.isKnownPayee(context.getDAccountId())) {
+			return null;
+		}
+		int newPayees = features.newPayeesSince(context.getNow() - AccountFeatures.SHORT_WINDOW_MILLIS) + 1;
+		return newPayees > maxNewPayees ? "단시간 신규 수취 계좌 과다" : null;
+	}
+}
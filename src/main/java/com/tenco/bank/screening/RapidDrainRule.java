@@ -0,0 +1,44 @@
+package com.tenco.bank.screening;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// 짧은 시간에 여러 번 나눠서 잔액 대부분을 빼내는 경우
+@Component
+public class RapidDrainRule implements ScreeningRule {
+
+	private final double drainRatio;
+	private final int minTransfers;
+
+	public RapidDrainRule(@Value("${screening.drain-ratio:0.9}") double drainRatio,
+			@Value("${screening.drain-min-transfers:3}") int minTransfers) {
+		this.drainRatio = drainRatio;
+		this.minTransfers = minTransfers;
+	}
+
+	@Override
+	public String name() {
+		return "rapid-drain";
+	}
+
+	@Override
+	public int cost() {
+		return 30;
+	}
+
+	@Override
+	public String evaluate(TransferContext context, AccountFeatures features) {
+		long now = context.getNow();
+		if (features.recentTransferCount(now) + 1 < minTransfers) {
+			return null;
+		}
+		long recent = features.recentOutflow(now);
+		// 최근 10분 시작 시점 잔액 대비 빠져나간 비율
+		long startBalance = context.getWBalance() + recent;
+		if (startBalance <= 0) {
+			return null;
+		}
+		double drained = (double) (recent + context.getAmount()) / startBalance;
+		return drained >= drainRatio ? "단시간 잔액 소진 패턴" : null;
+	}
+}
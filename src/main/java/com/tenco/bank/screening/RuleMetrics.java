@@ -0,0 +1,62 @@
+package com.tenco.bank.screening;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.tenco.bank.dto.RuleMetricsDTO;
+
+/**
+ * 규칙 하나의 실행 지표 (호출 수, 차단 수, 소요 시간 분포)
+ * 소요 시간은 2의 거듭제곱 나노초 구간 히스토그램으로 모아 p99 를 근사 한다.
+ */
+public class RuleMetrics {
+
+	private static final int BUCKETS = 48;
+
+	private final String name;
+	private final LongAdder calls = new LongAdder();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+	public RuleMetrics(String name) {
+		this.name = name;
+	}
+
+	public void record(long nanos, boolean hit) {
+		calls.increment();
+		totalNanos.add(nanos);
+		if (hit) {
+			hits.increment();
+		}
+		int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(nanos, 1)));
+		histogram.incrementAndGet(bucket);
+	}
+
+	// 구간 상한으로 근사한 백분위 (나노초)
+	private long percentile(double p) {
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			total += histogram.get(i);
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long target = (long) Math.ceil(total * p);
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += histogram.get(i);
+			if (seen >= target) {
+				return 1L << i;
+			}
+		}
+		return 1L << (BUCKETS - 1);
+	}
+
+	public RuleMetricsDTO snapshot() {
+		long count = calls.sum();
+		return new RuleMetricsDTO(name, count, hits.sum(),
+				count == 0 ? 0 : totalNanos.sum() / count / 1000.0,
+				percentile(0.99) / 1000.0);
+	}
+}
@@ -0,0 +1,23 @@
+package com.tenco.bank.screening;
+
+/**
+ * 이체 심사 규칙
+ * 
+ * 구현체를 @Component 로 등록하면 TransferScreeningService 가 cost 오름차순으로 실행 한다.
+ * (가벼운 규칙 먼저, 하나라도 걸리면 이후 규칙은 실행하지 않음)
+ */
+public interface ScreeningRule {
+
+	// 지표 이름
+	String name();
+
+	// 상대 비용 (작을수록 먼저 실행)
+	int cost();
+
+	/**
+	 * @param context  이번 이체
+	 * @param features 출금 계좌의 최근 거래 특징
+	 * @return 차단 사유, 통과면 null
+	 */
+	String evaluate(TransferContext context, AccountFeatures features);
+}
@@ -0,0 +1,15 @@
+package com.tenco.bank.screening;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 심사 대상 이체 한 건
+@Getter
+@AllArgsConstructor
+public class TransferContext {
+	private final Integer wAccountId;
+	private final Integer dAccountId;
+	private final long amount;
+	private final long wBalance; // 이체 전 출금 계좌 잔액
+	private final long now;
+}
@@ -0,0 +1,81 @@
+package com.tenco.bank.screening;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.tenco.bank.dto.RuleMetricsDTO;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.utils.Define;
+
+/**
+ * 이체 커밋 전 이상 거래 심사
+ *
+ * - 규칙은 메모리 특징(FeatureStore)만 사용하므로 DB 조회가 없다.
+ * - cost 가 낮은 규칙부터 실행하고 하나라도 걸리면 바로 차단 한다.
+ * - 규칙별 호출 수/차단 수/평균, p99 소요 시간을 기록 한다.
+ */
+@Service
+public class TransferScreeningService {
+
+	private final FeatureStore featureStore;
+	private final List<ScreeningRule> rules;
+	private final List<RuleMetrics> metrics;
+	private final RuleMetrics total = new RuleMetrics("total");
+	private final boolean enabled;
+
+	public TransferScreeningService(FeatureStore featureStore, List<ScreeningRule> rules,
+			@Value("${screening.enabled:true}") boolean enabled) {
+		this.featureStore = featureStore;
+		this.enabled = enabled;
+		this.rules = new ArrayList<>(rules);
+		this.rules.sort(Comparator.comparingInt(ScreeningRule::cost));
+		this.metrics = new ArrayList<>(this.rules.size());
+		for (ScreeningRule rule : this.rules) {
+			metrics.add(new RuleMetrics(rule.name()));
+		}
+	}
+
+	/**
+	 * 이체 심사 (AccountService 이체 트랜잭션 안에서 호출)
+	 *
+	 * @param wAccount 출금 계좌 (이체 전 잔액)
+	 * @param dAccount 입금 계좌
+	 * @param amount
+	 */
+	public void screen(Account wAccount, Account dAccount, long amount) {
+		if (!enabled) {
+			return;
+		}
+		long start = System.nanoTime();
+		TransferContext context = new TransferContext(wAccount.getId(), dAccount.getId(), amount,
+				wAccount.getBalance(), System.currentTimeMillis());
+		AccountFeatures features = featureStore.of(wAccount.getId());
+
+		String reason = null;
+		for (int i = 0; i < rules.size() && reason == null; i++) {
+			long ruleStart = System.nanoTime();
+			reason = rules.get(i).evaluate(context, features);
+			metrics.get(i).record(System.nanoTime() - ruleStart, reason != null);
+		}
+		total.record(System.nanoTime() - start, reason != null);
+
+		if (reason != null) {
+			throw new DataDeliveryException(Define.SUSPICIOUS_TRANSFER + " (" + reason + ")", HttpStatus.BAD_REQUEST);
+		}
+	}
+
+	public List<RuleMetricsDTO> readMetrics() {
+		List<RuleMetricsDTO> list = new ArrayList<>(metrics.size() + 1);
+		for (RuleMetrics metric : metrics) {
+			list.add(metric.snapshot());
+		}
+		list.add(total.snapshot());
+		return list;
+	}
+}
@@ -0,0 +1,140 @@
+package com.tenco.bank.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.interfaces.AccountNumberSequenceRepository;
+import com.tenco.bank.utils.Define;
+
+/**
+ * 서버 측 계좌 번호 발급기 (hi/lo 방식)
+ *
+ * 시퀀스 테이블에서 blockSize 만큼의 번호 구간을 노드별로 예약하고,
+ * 예약된 구간 안에서는 DB 접근 없이 메모리(AtomicLong)에서 번호를 꺼낸다.
+ * 마지막 자리에는 Luhn 체크 디지트를 붙인다.
+ */
+@Service
+public class AccountNumberAllocator {
+
+	private static final String SEQUENCE_NAME = "account";
+
+	private final AccountNumberSequenceRepository sequenceRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final int blockSize;
+	private final long startValue;
+
+	// 현재 노드가 예약해 둔 번호 구간
+	private final AtomicReference<Block> current = new AtomicReference<>(Block.EMPTY);
+
+	public AccountNumberAllocator(AccountNumberSequenceRepository sequenceRepository,
+			PlatformTransactionManager transactionManager,
+			@Value("${account-number.block-size:100}") int blockSize,
+			@Value("${account-number.start:100000000}") long startValue) {
+		this.sequenceRepository = sequenceRepository;
+		this.blockSize = blockSize;
+		this.startValue = startValue;
+		// 블록 예약은 계좌 생성 트랜잭션과 분리해서 바로 커밋 한다. (잠금 유지 시간 최소화)
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	/**
+	 * 새 계좌 번호 발급
+	 *
+	 * @return 본번호 + 체크 디지트
+	 */
+	public String nextAccountNumber() {
+		return withCheckDigit(nextValue());
+	}
+
+	private long nextValue() {
+		while (true) {
+			Block block = current.get();
+			long value = block.cursor.getAndIncrement();
+			if (value < block.end) {
+				return value;
+			}
+			// 구간 소진 - 한 스레드만 새 블록을 예약하고 나머지는 대기 후 재시도
+			synchronized (this) {
+				if (current.get() == block) {
+					current.set(reserveBlock());
+				}
+			}
+		}
+	}
+
+	private Block reserveBlock() {
+		Long start = reserve();
+		if (start == null) {
+			// 시퀀스 행이 없는 DB (스키마만 만든 MySQL, 샤드 스키마 초기화) - 시작 값으로 만들고 다시 예약
+			try {
+				transactionTemplate.executeWithoutResult(status -> sequenceRepository.insert(SEQUENCE_NAME, startValue));
+			} catch (DuplicateKeyException e) {
+				// 다른 노드가 먼저 만들었다.
+			}
+			start = reserve();
+		}
+		if (start == null) {
+			throw new DataDeliveryException(Define.FAIL_TO_CREATE_ACCOUNT, HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+		return new Block(start, start + blockSize);
+	}
+
+	private Long reserve() {
+		return transactionTemplate.execute(status -> {
+			Long nextVal = sequenceRepository.findNextValForUpdate(SEQUENCE_NAME);
+			if (nextVal == null) {
+				return null;
+			}
+			sequenceRepository.updateNextVal(SEQUENCE_NAME, nextVal + blockSize);
+			return nextVal;
+		});
+	}
+
+	/**
+	 * Luhn 체크 디지트를 붙인다. (오타 한 자리 / 인접 자리 바뀜 검출)
+	 *
+	 * @param value
+	 * @return
+	 */
+	public static String withCheckDigit(long value) {
+		String body = Long.toString(value);
+		int sum = 0;
+		boolean doubleIt = true;
+		for (int i = body.length() - 1; i >= 0; i--) {
+			int digit = body.charAt(i) - '0';
+			if (doubleIt) {
+				digit *= 2;
+				if (digit > 9) {
+					digit -= 9;
+				}
+			}
+			sum += digit;
+			doubleIt = !doubleIt;
+		}
+		int check = (10 - (sum % 10)) % 10;
+		return body + check;
+	}
+
+	// 예약된 번호 구간 [cursor, end)
+	private static final class Block {
+		private static final Block EMPTY = new Block(0, 0);
+
+		private final AtomicLong cursor;
+		private final long end;
+
+		private Block(long start, long end) {
+			this.cursor = new AtomicLong(start);
+			this.end = end;
+		}
+	}
+}
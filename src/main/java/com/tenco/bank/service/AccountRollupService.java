@@ -0,0 +1,184 @@
+package com.tenco.bank.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.tenco.bank.dto.RollupRebuildReportDTO;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.interfaces.AccountRepository;
+import com.tenco.bank.repository.interfaces.RollupRepository;
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.repository.model.AccountRollup;
+import com.tenco.bank.repository.model.History;
+import com.tenco.bank.shard.ShardRouter;
+import com.tenco.bank.utils.Define;
+
+/**
+ * 계좌별 월 입출금 집계 (합계, 건수, 최대 금액)
+ *
+ * - 거래 내역을 insert 하는 트랜잭션에서 record / recordAll 로 같이 증가 시킨다. (커밋/롤백을 같이 함)
+ * - 조회는 (계좌, 년월) PK 범위만 읽으므로 거래 내역 수와 무관 하다.
+ * - 잔액 분할 계좌의 입금은 계좌 행을 잠그지 않으므로 집계도 슬롯 중 하나에 쌓는다. (조회시 합산)
+ * - rebuild : 샤드별 계좌 id 구간을 병렬 작업자가 트랜잭션 하나씩으로 history_tb 에서 다시 계산
+ *   (구간 계좌 행, 분할 슬롯 행을 잠가서 다시 계산하는 동안의 거래와 섞이지 않게 한다)
+ * 년월은 증가시는 애플리케이션 시각, 다시 계산시는 created_at 으로 정한다. (DB 와 같은 시간대 사용 전제)
+ */
+@Service
+public class AccountRollupService {
+
+	private final RollupRepository rollupRepository;
+	private final AccountRepository accountRepository;
+	private final ShardRouter shardRouter;
+	private final int chunkSize;
+	private final int workers;
+	private final int maxMonths;
+
+	public AccountRollupService(RollupRepository rollupRepository, AccountRepository accountRepository,
+			ShardRouter shardRouter,
+			@Value("${rollup.chunk-size:5000}") int chunkSize,
+			@Value("${rollup.workers:4}") int workers,
+			@Value("${rollup.max-months:36}") int maxMonths) {
+		this.rollupRepository = rollupRepository;
+		this.accountRepository = accountRepository;
+		this.shardRouter = shardRouter;
+		this.chunkSize = chunkSize;
+		this.workers = workers;
+		this.maxMonths = maxMonths;
+	}
+
+	/**
+	 * 거래 내역 한 건 반영 (호출하는 쪽 트랜잭션에 참여)
+	 *
+	 * @param history
+	 * @param wAccount 출금 계좌, 이 샤드의 출금이 아니면 null
+	 * @param dAccount 입금 계좌, 이 샤드의 입금이 아니면 null
+	 */
+	public void record(History history, Account wAccount, Account dAccount) {
+		int period = AccountRollup.periodOf(LocalDate.now());
+		List<AccountRollup> deltas = new ArrayList<>(2);
+		if (wAccount != null) {
+			deltas.add(AccountRollup.out(wAccount.getId(), period, 0, history.getAmount()));
+		}
+		if (dAccount != null) {
+			int slot = dAccount.isHot() ? ThreadLocalRandom.current().nextInt(dAccount.getHotSlots()) : 0;
+			deltas.add(AccountRollup.in(dAccount.getId(), period, slot, history.getAmount()));
+		}
+		recordAll(deltas);
+	}
+
+	/**
+	 * 여러 건 반영 (호출하는 쪽 트랜잭션에 참여) - 같은 행 증가분은 합쳐서 행마다 update 한 번
+	 * 행 잠금 순서를 맞추기 위해 (계좌, 년월, 슬롯) 순서로 반영 한다.
+	 *
+	 * @param deltas
+	 */
+	public void recordAll(Collection<AccountRollup> deltas) {
+		Map<String, AccountRollup> merged = new LinkedHashMap<>();
+		for (AccountRollup delta : deltas) {
+			String key = delta.getAccountId() + ":" + delta.getPeriod() + ":" + delta.getSlot();
+			AccountRollup current = merged.putIfAbsent(key, delta);
+			if (current != null) {
+				current.merge(delta);
+			}
+		}
+		List<AccountRollup> ordered = new ArrayList<>(merged.values());
+		ordered.sort(Comparator.comparing(AccountRollup::getAccountId).thenComparing(AccountRollup::getPeriod)
+				.thenComparing(AccountRollup::getSlot));
+		for (AccountRollup delta : ordered) {
+			if (rollupRepository.addDelta(delta) == 1) {
+				continue;
+			}
+			try {
+				rollupRepository.insertDelta(delta);
+			} catch (DuplicateKeyException e) {
+				// 동시에 다른 트랜잭션이 먼저 만든 행
+				rollupRepository.addDelta(delta);
+			}
+		}
+	}
+
+	/**
+	 * 계좌 월별 집계
+	 *
+	 * @param accountId
+	 * @param from      시작 년월 (포함)
+	 * @param to        끝 년월 (포함)
+	 * @return 최근 월 먼저, 거래가 없는 달은 없음
+	 */
+	public List<AccountRollup> readMonthly(Integer accountId, YearMonth from, YearMonth to) {
+		if (from.isAfter(to) || from.plusMonths(maxMonths).isBefore(to.plusMonths(1))) {
+			throw new DataDeliveryException(Define.INVALID_SEARCH_CONDITION, HttpStatus.BAD_REQUEST);
+		}
+		int shard = shardRouter.shardOfAccountId(accountId);
+		int fromPeriod = AccountRollup.periodOf(from.atDay(1));
+		int toPeriod = AccountRollup.periodOf(to.atDay(1));
+		return shardRouter.query(shard, () -> rollupRepository.findByAccountId(accountId, fromPeriod, toPeriod));
+	}
+
+	/**
+	 * 전체 다시 계산 (이미 있는 집계는 구간 단위로 지우고 다시 만든다)
+	 *
+	 * @return 처리 결과
+	 */
+	public RollupRebuildReportDTO rebuild() {
+		long start = System.currentTimeMillis();
+		RollupRebuildReportDTO report = new RollupRebuildReportDTO();
+
+		ExecutorService pool = Executors.newFixedThreadPool(workers);
+		List<Future<Integer>> futures = new ArrayList<>();
+		try {
+			for (int shard : shardRouter.shards()) {
+				Integer maxId = shardRouter.query(shard, accountRepository::findMaxId);
+				if (maxId == null) {
+					continue;
+				}
+				for (int lo = shardRouter.firstAccountId(shard); lo <= maxId; lo += chunkSize) {
+					report.setChunksTotal(report.getChunksTotal() + 1);
+					int chunkShard = shard;
+					int chunkLo = lo;
+					int chunkHi = lo + chunkSize - 1;
+					futures.add(pool.submit(() -> rebuildChunk(chunkShard, chunkLo, chunkHi)));
+				}
+			}
+			for (Future<Integer> future : futures) {
+				report.setRowsWritten(report.getRowsWritten() + future.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
+		} catch (ExecutionException e) {
+			// 실패한 구간은 롤백 되어 이전 집계가 그대로 남는다. (다시 실행하면 된다)
+			throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
+		} finally {
+			pool.shutdown();
+		}
+		report.setElapsedMillis(System.currentTimeMillis() - start);
+		return report;
+	}
+
+	// 구간 하나 (샤드 트랜잭션 하나) - 계좌 행 -> 슬롯 행 순서로 잠근다. (잔액 분할 정리와 같은 순서)
+	private int rebuildChunk(int shard, int lo, int hi) {
+		return shardRouter.inTransaction(shard, () -> {
+			rollupRepository.lockAccountRange(lo, hi);
+			rollupRepository.lockSlotRange(lo, hi);
+			rollupRepository.deleteRange(lo, hi);
+			return rollupRepository.rebuildRange(lo, hi);
+		});
+	}
+}
@@ -1,26 +1,41 @@
 package com.tenco.bank.service;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.tenco.bank.dto.AccountDashboardDTO;
 import com.tenco.bank.dto.DepositDTO;
 import com.tenco.bank.dto.SaveDTO;
 import com.tenco.bank.dto.TransferDTO;
 import com.tenco.bank.dto.WithdrawalDTO;
+import com.tenco.bank.event.AccountHistoryEvent;
+import com.tenco.bank.handler.exception.BusinessException;
 import com.tenco.bank.handler.exception.DataDeliveryException;
 import com.tenco.bank.handler.exception.RedirectException;
 import com.tenco.bank.repository.interfaces.AccountRepository;
 import com.tenco.bank.repository.interfaces.HistoryRepository;
+import com.tenco.bank.repository.interfaces.TransferRepository;
 import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.repository.model.AccountDashboard;
+import com.tenco.bank.repository.model.AccountDetail;
+import com.tenco.bank.repository.model.AccountRollup;
 import com.tenco.bank.repository.model.History;
 import com.tenco.bank.repository.model.HistoryAccount;
+import com.tenco.bank.repository.model.TransferResult;
+import com.tenco.bank.repository.model.TransferSchedule;
 import com.tenco.bank.repository.model.User;
+import com.tenco.bank.screening.TransferScreeningService;
+import com.tenco.bank.shard.ShardRouter;
 import com.tenco.bank.utils.Define;
 
 @Service
@@ -28,11 +43,44 @@ public class AccountService {
 
 	private final AccountRepository accountRepository;
 	private final HistoryRepository historyRepository;
+	private final TransferRepository transferRepository;
+	private final AccountNumberAllocator accountNumberAllocator;
+	private final HotAccountService hotAccountService;
+	private final WithdrawalLimitService withdrawalLimitService;
+	private final TransferScreeningService transferScreeningService;
+	private final TransferSagaService transferSagaService;
+	private final TransferScheduleService transferScheduleService;
+	private final AccountRollupService accountRollupService;
+	private final ShardRouter shardRouter;
+	private final ApplicationEventPublisher eventPublisher;
+
+	// 계좌 목록 화면 - 페이지당 계좌 수, 계좌별 최근 거래 내역 수
+	@Value("${dashboard.page-size:50}")
+	private int dashboardPageSize;
+	@Value("${dashboard.recent-size:3}")
+	private int dashboardRecentSize;
+	// 같은 샤드 이체 방식 - statements : 쿼리 여러 번 (기본), procedure : 이체 프로시저 호출 한 번
+	@Value("${transfer.mode:statements}")
+	private String transferMode;
 
 	@Autowired // 생략 가능 - DI 처리
-	public AccountService(AccountRepository accountRepository, HistoryRepository historyRepository) {
+	public AccountService(AccountRepository accountRepository, HistoryRepository historyRepository,
+			TransferRepository transferRepository, AccountNumberAllocator accountNumberAllocator, HotAccountService hotAccountService,
+			WithdrawalLimitService withdrawalLimitService, TransferScreeningService transferScreeningService,
+			TransferSagaService transferSagaService, TransferScheduleService transferScheduleService,
+			AccountRollupService accountRollupService, ShardRouter shardRouter, ApplicationEventPublisher eventPublisher) {
 		this.accountRepository = accountRepository;
 		this.historyRepository = historyRepository;
+		this.transferRepository = transferRepository;
+		this.accountNumberAllocator = accountNumberAllocator;
+		this.hotAccountService = hotAccountService;
+		this.withdrawalLimitService = withdrawalLimitService;
+		this.transferScreeningService = transferScreeningService;
+		this.transferSagaService = transferSagaService;
+		this.transferScheduleService = transferScheduleService;
+		this.accountRollupService = accountRollupService;
+		this.shardRouter = shardRouter;
+		this.eventPublisher = eventPublisher;
 	}
 
 	/**
@@ -45,6 +93,12 @@ public class AccountService {
 	public void createAccount(SaveDTO dto, Integer principalId) {
 
 		int result = 0;
+		// 계좌 번호는 서버에서 발급 한다. (사용자 입력 번호 중복 충돌 방지)
+		dto.setNumber(accountNumberAllocator.nextAccountNumber());
+		// 샤드를 정해서 계좌 디렉터리에 먼저 등록 후 그 샤드에 insert
+		int shard = shardRouter.chooseShard(dto.getNumber());
+		shardRouter.register(Map.of(dto.getNumber(), shard));
+		shardRouter.bind(shard);
 		try {
 			result = accountRepository.insert(dto.toAccount(principalId));
 		} catch (DataAccessException e) {
@@ -58,11 +112,66 @@ public class AccountService {
 
 	}
 	
+	/**
+	 * 계좌 목록 화면 한 페이지 (계좌 + 계좌별 최근 거래 내역 + 전체 잔액 합계를 쿼리 한 번으로 조회)
+	 * 
+	 * @param userId
+	 * @param afterId 이전 페이지 마지막 계좌 id (첫 페이지는 null)
+	 * @return
+	 */
+	public AccountDashboardDTO readDashboard(Integer userId, Integer afterId) {
+		AccountDashboardDTO dashboard = new AccountDashboardDTO();
+		List<AccountDashboard> rows = new ArrayList<>();
+		boolean singleShard = shardRouter.shards().size() == 1;
+		try {
+			// 한 개 더 조회해서 다음 페이지 여부 판단
+			// 샤드별 계좌 id 구간이 샤드 순서라서 afterId 의 샤드부터 차례로 채운다.
+			int fromShard = afterId == null ? ShardRouter.GLOBAL : shardRouter.shardOfAccountId(afterId);
+			for (int shard : shardRouter.shards()) {
+				if (shard < fromShard || rows.size() > dashboardPageSize) {
+					continue;
+				}
+				Integer after = shard == fromShard ? afterId : null;
+				int size = dashboardPageSize + 1 - rows.size();
+				rows.addAll(shardRouter.query(shard,
+						() -> accountRepository.findDashboardByUserId(userId, after, size, dashboardRecentSize)));
+			}
+			if (rows.isEmpty() || !singleShard) {
+				// 샤드가 여러 개면 합계는 샤드별 합계를 더한다.
+				long totalBalance = 0;
+				int accountCount = 0;
+				for (int shard : shardRouter.shards()) {
+					AccountDashboard summary = shardRouter.query(shard,
+							() -> accountRepository.findBalanceSummaryByUserId(userId));
+					totalBalance += summary.getTotalBalance() == null ? 0 : summary.getTotalBalance();
+					accountCount += summary.getAccountCount() == null ? 0 : summary.getAccountCount();
+				}
+				dashboard.setTotalBalance(totalBalance);
+				dashboard.setAccountCount(accountCount);
+			}
+		} catch (DataAccessException e) {
+			throw new DataDeliveryException("잘못된 처리 입니다.", HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+
+		if (rows.size() > dashboardPageSize) {
+			rows = rows.subList(0, dashboardPageSize);
+			dashboard.setNextAfterId(rows.get(rows.size() - 1).getId());
+		}
+		if (!rows.isEmpty() && singleShard) {
+			dashboard.setTotalBalance(rows.get(0).getTotalBalance());
+			dashboard.setAccountCount(rows.get(0).getAccountCount());
+		}
+		dashboard.setAccounts(rows);
+		return dashboard;
+	}
+
 	public List<Account> readAccountListByUserId(Integer userId) {
-		List<Account> accountListEntity = null;
+		List<Account> accountListEntity = new ArrayList<>();
 
 		try {
-			accountListEntity = accountRepository.findByUserId(userId);
+			for (int shard : shardRouter.shards()) {
+				accountListEntity.addAll(shardRouter.query(shard, () -> accountRepository.findByUserId(userId)));
+			}
 		} catch (DataAccessException e) {
 			throw new DataDeliveryException("잘못된 처리 입니다.", HttpStatus.INTERNAL_SERVER_ERROR);
 		} catch (Exception e) {
@@ -82,11 +191,16 @@ public class AccountService {
 	// 7. 트랜잭션 처리
 	@Transactional
 	public void updateAccountWithdraw(WithdrawalDTO dto, Integer principalId) {
+		bindShardOfNumber(dto.getWAccountNumber());
 		// 1.
-		// 퍼시스턴스 계층에서 긁어 냈기 때문에 Entity를 붙임
-		Account accountEntity = accountRepository.findByNumber(dto.getWAccountNumber());
+		// 퍼시스턴스 계층에서 긁어 냈기 때문에 Entity를 붙임 (updateById 까지 계좌 행 잠금)
+		Account accountEntity = accountRepository.findByNumberForUpdate(dto.getWAccountNumber());
 		if (accountEntity == null) {
-			throw new DataDeliveryException(Define.NOT_EXIST_ACCOUNT, HttpStatus.BAD_REQUEST);
+			throw BusinessException.NOT_EXIST_ACCOUNT;
+		}
+		// 1.5 잔액 분할 계좌라면 슬롯 잔액을 먼저 합친다. (계좌 행 잠금)
+		if (accountEntity.isHot()) {
+			accountEntity.setBalance(hotAccountService.consolidate(accountEntity.getId()));
 		}
 
 		// 2.
@@ -98,6 +212,9 @@ public class AccountService {
 		// 4.
 		accountEntity.checkBalance(dto.getAmount());
 
+		// 4.5 출금 한도 (1시간 / 1일)
+		withdrawalLimitService.checkAndReserve(accountEntity.getId(), dto.getAmount());
+
 		// 5. 출금 기능
 		// accountEntity 객체의 잔액을 변경하고 업데이트 처리해야 한다.
 		accountEntity.withdraw(dto.getAmount());
@@ -116,6 +233,9 @@ public class AccountService {
 		if (rowResultCount != 1) {
 			throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
 		}
+		accountRollupService.record(history, accountEntity, null);
+		// 커밋 이후에 리스너(SSE 알림 등)가 처리 한다.
+		eventPublisher.publishEvent(AccountHistoryEvent.of(history, accountEntity, null));
 	}
 
 	// 입금 기능 만들기
@@ -125,14 +245,22 @@ public class AccountService {
 	// 4. 거래 내역 등록 -- insert(history)
 	@Transactional
 	public void updateAccountDeposit(DepositDTO dto, Integer principalId) {
+		bindShardOfNumber(dto.getDAccountNumber());
 		Account accountEntity = accountRepository.findByNumber(dto.getDAccountNumber());
 
 		if (accountEntity == null) {
-			throw new DataDeliveryException(Define.NOT_EXIST_ACCOUNT, HttpStatus.BAD_REQUEST);
+			throw BusinessException.NOT_EXIST_ACCOUNT;
 		}
 		accountEntity.checkBalance(dto.getAmount());
-		accountEntity.deposit(dto.getAmount());
-		accountRepository.updateById(accountEntity);
+		if (accountEntity.isHot()) {
+			// 잔액 분할 계좌는 계좌 행 대신 임의의 슬롯 하나만 갱신
+			accountEntity.setBalance(hotAccountService.credit(accountEntity, dto.getAmount()));
+		} else {
+			// 계좌 행을 잠그고 다시 읽은 잔액에 더한다. (동시 입출금의 갱신 유실 방지)
+			accountEntity = lock(accountEntity);
+			accountEntity.deposit(dto.getAmount());
+			accountRepository.updateById(accountEntity);
+		}
 
 		History history = new History();
 		history.setAmount(dto.getAmount());
@@ -144,6 +272,9 @@ public class AccountService {
 		if (rowResultCount != 1) {
 			throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
 		}
+		accountRollupService.record(history, null, accountEntity);
+		// 커밋 이후에 리스너(SSE 알림 등)가 처리 한다.
+		eventPublisher.publishEvent(AccountHistoryEvent.of(history, null, accountEntity));
 	}
 
 	// 이체 기능 만들기
@@ -160,6 +291,43 @@ public class AccountService {
 	// 11. 트랜잭션 처리
 	@Transactional
 	public void updateAccountTransfer(TransferDTO dto, Integer pricipalId) {
+		transfer(dto, pricipalId, true, null);
+	}
+
+	/**
+	 * 예약 이체 실행 (비밀번호는 예약 등록 시점에 확인 했으므로 다시 확인하지 않는다)
+	 * 출금과 같은 트랜잭션에서 (예약, 실행 시각) 실행 표시를 남기므로 같은 실행 시각으로는 한 번만 출금 된다.
+	 * 
+	 * @param dto
+	 * @param schedule 점유한 예약 (userId = 예약을 등록한 사용자 id, nextRunAt = 이번 실행 시각)
+	 * @throws DataDeliveryException 이미 실행한 실행 시각이면 BusinessException.SCHEDULE_ALREADY_RUN
+	 */
+	@Transactional
+	public void updateAccountTransferBySchedule(TransferDTO dto, TransferSchedule schedule) {
+		transfer(dto, schedule.getUserId(), false, schedule);
+	}
+
+	// schedule : 예약 이체면 실행 표시를 남길 예약, 아니면 null
+	private void transfer(TransferDTO dto, Integer pricipalId, boolean checkPassword, TransferSchedule schedule) {
+		// 0. 샤드 확인 - 샤드가 다르면 saga 로 처리 (출금, 입금을 각 샤드에서 따로 커밋)
+		int wShard = shardRouter.shardOfNumber(dto.getWAccountNumber());
+		int dShard = shardRouter.shardOfNumber(dto.getDAccountNumber());
+		if (wShard < 0 || dShard < 0) {
+			throw BusinessException.NOT_EXIST_ACCOUNT;
+		}
+		if (wShard != dShard) {
+			transferSagaService.transfer(dto, pricipalId, checkPassword, wShard, dShard, schedule);
+			return;
+		}
+		shardRouter.bind(wShard);
+		if (schedule != null) {
+			transferScheduleService.markExecuted(schedule);
+		}
+		// 프로시저 방식 - 잔액 분할 계좌가 끼어 있으면 아무 것도 바꾸지 않고 돌아오므로 아래 방식으로 처리
+		if ("procedure".equals(transferMode) && transferByProcedure(dto, pricipalId, checkPassword)) {
+			return;
+		}
+
 		// 출금 계좌
 		Account wAccountEntity = accountRepository.findByNumber(dto.getWAccountNumber());
 		// 입금 계좌
@@ -167,30 +335,53 @@ public class AccountService {
 
 		// 1.
 		if (wAccountEntity == null) {
-			throw new DataDeliveryException(Define.NOT_EXIST_ACCOUNT, HttpStatus.BAD_REQUEST);
+			throw BusinessException.NOT_EXIST_ACCOUNT;
 		}
 		// 2.
 		if (dAccountEntity == null) {
-			throw new DataDeliveryException(Define.NOT_EXIST_ACCOUNT, HttpStatus.BAD_REQUEST);
+			throw BusinessException.NOT_EXIST_ACCOUNT;
+		}
+		// 2.1 잔액을 바꿀 계좌 행을 id 순서로 잠그고 다시 읽는다. (교착 방지)
+		// 잔액 분할 입금 계좌는 슬롯만 갱신하므로 잠그지 않는다.
+		if (dAccountEntity.isHot() == false && dAccountEntity.getId() < wAccountEntity.getId()) {
+			dAccountEntity = lock(dAccountEntity);
+		}
+		wAccountEntity = lock(wAccountEntity);
+		if (dAccountEntity.isHot() == false && dAccountEntity.getId() > wAccountEntity.getId()) {
+			dAccountEntity = lock(dAccountEntity);
+		}
+		// 2.5 출금 계좌가 잔액 분할 계좌라면 슬롯 잔액을 먼저 합친다.
+		if (wAccountEntity.isHot()) {
+			wAccountEntity.setBalance(hotAccountService.consolidate(wAccountEntity.getId()));
 		}
 		// 3. 본인 소유 확인
 		wAccountEntity.checkOwner(pricipalId);
 		// 4. 비밀 번호 확인
-		wAccountEntity.checkPassword(dto.getPassword());
+		if (checkPassword) {
+			wAccountEntity.checkPassword(dto.getPassword());
+		}
 
 		// 5. 잔액 여부 확인
 		if (wAccountEntity.getBalance() < dto.getAmount()) {
-			throw new DataDeliveryException(Define.LACK_Of_BALANCE, HttpStatus.BAD_REQUEST);
+			throw BusinessException.LACK_OF_BALANCE;
 		}
 		// 5.5 자신한테 입금 불가
 		if (wAccountEntity.getNumber().trim().equals(dAccountEntity.getNumber())
 				|| wAccountEntity.getNumber() == dAccountEntity.getNumber()) {
 			throw new DataDeliveryException("본인 계좌에는 이체가 불가능 합니다", HttpStatus.BAD_REQUEST);
 		}
+		// 5.6 출금 한도 (1시간 / 1일)
+		withdrawalLimitService.checkAndReserve(wAccountEntity.getId(), dto.getAmount());
+		// 5.7 이상 거래 심사 (메모리 특징 기반, DB 조회 없음)
+		transferScreeningService.screen(wAccountEntity, dAccountEntity, dto.getAmount());
 		// 6. 입금 계좌 상태값 변경
-		dAccountEntity.deposit(dto.getAmount());
-		// 7 입금 계좌 update
-		accountRepository.updateById(dAccountEntity);
+		// 7 입금 계좌 update (잔액 분할 계좌는 슬롯 하나만 갱신)
+		if (dAccountEntity.isHot()) {
+			dAccountEntity.setBalance(hotAccountService.credit(dAccountEntity, dto.getAmount()));
+		} else {
+			dAccountEntity.deposit(dto.getAmount());
+			accountRepository.updateById(dAccountEntity);
+		}
 		// 8 출금 계좌 상태값 변경
 		wAccountEntity.withdraw(dto.getAmount());
 		// 9 출금 계좌 update
@@ -203,6 +394,56 @@ public class AccountService {
 		if (rowResultCount != 1) {
 			throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
 		}
+		accountRollupService.record(history, wAccountEntity, dAccountEntity);
+		// 커밋 이후에 리스너(SSE 알림 등)가 처리 한다.
+		eventPublisher.publishEvent(AccountHistoryEvent.of(history, wAccountEntity, dAccountEntity));
+	}
+
+	/**
+	 * 이체 프로시저 호출 한 번으로 조회, 검사, 양쪽 잔액, 거래 내역, 월 집계를 처리 (DB 왕복 1 번)
+	 * 출금 한도와 이상 거래 심사는 호출 후 같은 트랜잭션에서 한다. (예외가 나면 프로시저 변경도 롤백)
+	 * 프로시저가 넣은 거래 내역은 이미 출금 합계에 들어가므로 SQL 모드 한도 검사에서는 뺀다.
+	 * 
+	 * @return false 면 잔액 분할 계좌라서 처리하지 않음
+	 */
+	private boolean transferByProcedure(TransferDTO dto, Integer pricipalId, boolean checkPassword) {
+		TransferResult result = transferRepository.transfer(dto.getWAccountNumber(), dto.getDAccountNumber(),
+				dto.getAmount(), dto.getPassword(), checkPassword, pricipalId, AccountRollup.periodOf(LocalDate.now()));
+		switch (result.getResultCode()) {
+		case TransferResult.OK:
+			break;
+		case TransferResult.HOT_ACCOUNT:
+			return false;
+		case TransferResult.NOT_EXIST_W_ACCOUNT:
+		case TransferResult.NOT_EXIST_D_ACCOUNT:
+			throw BusinessException.NOT_EXIST_ACCOUNT;
+		case TransferResult.NOT_ACCOUNT_OWNER:
+			throw BusinessException.NOT_ACCOUNT_OWNER;
+		case TransferResult.FAIL_ACCOUNT_PASSWORD:
+			throw BusinessException.FAIL_ACCOUNT_PASSWORD;
+		case TransferResult.LACK_OF_BALANCE:
+			throw BusinessException.LACK_OF_BALANCE;
+		case TransferResult.SAME_ACCOUNT:
+			throw new DataDeliveryException("본인 계좌에는 이체가 불가능 합니다", HttpStatus.BAD_REQUEST);
+		default:
+			throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+
+		Account wAccountEntity = Account.builder().id(result.getWAccountId()).number(dto.getWAccountNumber())
+				.userId(result.getWUserId()).balance(result.getWBalance()).hotSlots(0).build();
+		Account dAccountEntity = Account.builder().id(result.getDAccountId()).number(dto.getDAccountNumber())
+				.userId(result.getDUserId()).balance(result.getDBalance()).hotSlots(0).build();
+		withdrawalLimitService.checkAndReserve(wAccountEntity.getId(), dto.getAmount(), result.getHistoryId());
+		// 심사는 출금 전 잔액 기준
+		wAccountEntity.deposit(dto.getAmount());
+		transferScreeningService.screen(wAccountEntity, dAccountEntity, dto.getAmount());
+		wAccountEntity.withdraw(dto.getAmount());
+
+		History history = History.builder().id(result.getHistoryId()).amount(dto.getAmount())
+				.wAccountId(wAccountEntity.getId()).dAccountId(dAccountEntity.getId())
+				.wBalance(wAccountEntity.getBalance()).dBalance(dAccountEntity.getBalance()).build();
+		eventPublisher.publishEvent(AccountHistoryEvent.of(history, wAccountEntity, dAccountEntity));
+		return true;
 	}
 
 	/**
@@ -212,14 +453,45 @@ public class AccountService {
 	 * @return
 	 */
 	public Account readAccountById(Integer accountId) {
-		Account accountEntity = accountRepository.findByAccountId(accountId);
+		int shard = shardRouter.shardOfAccountId(accountId);
+		Account accountEntity = shard < 0 ? null
+				: shardRouter.query(shard, () -> accountRepository.findByAccountId(accountId));
 		if (accountEntity == null) {
-			throw new DataDeliveryException(Define.NOT_EXIST_ACCOUNT, HttpStatus.BAD_REQUEST);
+			throw BusinessException.NOT_EXIST_ACCOUNT;
 		}
 
 		return accountEntity;
 	}
 
+	/**
+	 * 계좌 상세 화면 (계좌 + 거래 내역 한 페이지 + 전체 건수를 쿼리 한 번으로 조회)
+	 * 
+	 * @param type        = [all, deposit, withdrawal]
+	 * @param accountId   (pk)
+	 * @param principalId 소유자가 아니면 거래 내역을 읽지 않고 예외
+	 * @param page        1 부터
+	 * @param size
+	 * @return
+	 */
+	public AccountDetail readAccountDetail(String type, Integer accountId, Integer principalId, int page, int size) {
+		if (page < 1 || size < 1) {
+			throw new DataDeliveryException(Define.INVALID_INPUT, HttpStatus.BAD_REQUEST);
+		}
+		int shard = shardRouter.shardOfAccountId(accountId);
+		AccountDetail detail = shard < 0 ? null
+				: shardRouter.query(shard,
+						() -> accountRepository.findDetailPage(type, accountId, principalId, size, (page - 1) * size));
+		if (detail == null) {
+			throw BusinessException.NOT_EXIST_ACCOUNT;
+		}
+		detail.getAccount().checkOwner(principalId);
+		if (detail.getTotalRecords() == null) {
+			// 빈 페이지 - 첫 페이지면 거래 내역이 없는 것이고, 범위를 벗어난 페이지면 건수만 따로 조회
+			detail.setTotalRecords(page == 1 ? 0 : countHistoryByAccountIdAndType(type, accountId));
+		}
+		return detail;
+	}
+
 	/**
 	 * 단일 계좌 거래 내역 조회
 	 * 
@@ -232,14 +504,41 @@ public class AccountService {
 		List<HistoryAccount> list = new ArrayList<>();
 		int limit = size;
 		int offset = (page - 1) * size;
-		list = historyRepository.findByAccountIdAndTypeOfHistory(type, accountId, limit, offset);
+		int shard = shardRouter.shardOfAccountId(accountId);
+		if (shard < 0) {
+			return list;
+		}
+		list = shardRouter.query(shard,
+				() -> historyRepository.findByAccountIdAndTypeOfHistory(type, accountId, limit, offset));
 		return list;
 
 	}
 	
 	// 해당 계좌와 거래 유형에 따른 전체 레코드 수를 반환하는 메서드
 	public int countHistoryByAccountIdAndType(String type, Integer accountId) {
-		return historyRepository.countByAccountIdAndType(type, accountId);
+		int shard = shardRouter.shardOfAccountId(accountId);
+		if (shard < 0) {
+			return 0;
+		}
+		return shardRouter.query(shard, () -> historyRepository.countByAccountIdAndType(type, accountId));
+	}
+
+	// 계좌 행 잠금 후 다시 읽은 계좌 (잠금 없이 읽은 잔액으로 updateById 하지 않도록)
+	private Account lock(Account account) {
+		Account locked = accountRepository.findByIdForUpdate(account.getId());
+		if (locked == null) {
+			throw BusinessException.NOT_EXIST_ACCOUNT;
+		}
+		return locked;
+	}
+
+	// 계좌 번호의 샤드로 현재 트랜잭션 고정 (첫 쿼리 전에 호출)
+	private void bindShardOfNumber(String number) {
+		int shard = shardRouter.shardOfNumber(number);
+		if (shard < 0) {
+			throw BusinessException.NOT_EXIST_ACCOUNT;
+		}
+		shardRouter.bind(shard);
 	}
 
 }
@@ -0,0 +1,132 @@
+package com.tenco.bank.service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.tenco.bank.dto.HistorySearchDTO;
+import com.tenco.bank.handler.exception.BusinessException;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.interfaces.AccountRepository;
+import com.tenco.bank.repository.interfaces.HistoryRepository;
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.repository.model.HistoryAccount;
+import com.tenco.bank.shard.ShardRouter;
+import com.tenco.bank.utils.Define;
+
+/**
+ * 거래 내역 검색 (기간, 금액 범위, 상대 계좌)
+ *
+ * - 계좌 번호는 먼저 id 로 바꿔서 history_tb 인덱스만으로 거른다.
+ * - 결과는 (created_at, id) 역순 keyset 페이징, 행은 List 로 모으지 않고 한 줄씩 전달 한다.
+ *   다음 페이지 위치는 나노초까지 담은 cursor 로 주고 받는다. (cursorOf)
+ * - 샤딩을 사용하면 검색 계좌의 샤드에서만 조회 한다. (계좌의 거래 내역은 모두 그 샤드에 있음)
+ */
+@Service
+public class HistorySearchService {
+
+	private final AccountRepository accountRepository;
+	private final HistoryRepository historyRepository;
+	private final ShardRouter shardRouter;
+	private final int defaultSize;
+	private final int maxSize;
+
+	public HistorySearchService(AccountRepository accountRepository, HistoryRepository historyRepository,
+			ShardRouter shardRouter,
+			@Value("${history-search.default-size:100}") int defaultSize,
+			@Value("${history-search.max-size:1000}") int maxSize) {
+		this.accountRepository = accountRepository;
+		this.historyRepository = historyRepository;
+		this.shardRouter = shardRouter;
+		this.defaultSize = defaultSize;
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * 검색 조건 확인 후 mapper 파라미터 채우기 (응답을 쓰기 전에 호출해서 오류를 먼저 돌려준다)
+	 *
+	 * @param search
+	 * @return 결과가 없을 것이 확실하면 false (상대 계좌가 없는 경우)
+	 */
+	public boolean prepare(HistorySearchDTO search) {
+		if (search.getAccountNumber() == null || search.getAccountNumber().isEmpty()) {
+			throw new DataDeliveryException(Define.ENTER_YOUR_ACCOUNT_NUMBER, HttpStatus.BAD_REQUEST);
+		}
+		Account account = shardRouter.queryByNumber(search.getAccountNumber(), accountRepository::findByNumber);
+		if (account == null) {
+			throw BusinessException.NOT_EXIST_ACCOUNT;
+		}
+		search.setAccountId(account.getId());
+
+		if (search.getMinAmount() != null && search.getMaxAmount() != null
+				&& search.getMinAmount() > search.getMaxAmount()) {
+			throw new DataDeliveryException(Define.INVALID_SEARCH_CONDITION, HttpStatus.BAD_REQUEST);
+		}
+		try {
+			if (search.getFrom() != null && !search.getFrom().isEmpty()) {
+				search.setFromTime(Timestamp.valueOf(LocalDate.parse(search.getFrom()).atStartOfDay()));
+			}
+			if (search.getTo() != null && !search.getTo().isEmpty()) {
+				search.setToTime(Timestamp.valueOf(LocalDate.parse(search.getTo()).plusDays(1).atStartOfDay()));
+			}
+			if (search.getCursor() != null && !search.getCursor().isEmpty()) {
+				readCursor(search);
+			}
+		} catch (DateTimeParseException | IllegalArgumentException | IndexOutOfBoundsException e) {
+			throw new DataDeliveryException(Define.INVALID_SEARCH_CONDITION, HttpStatus.BAD_REQUEST);
+		}
+
+		int size = search.getSize() == null ? defaultSize : search.getSize();
+		search.setSize(Math.max(1, Math.min(size, maxSize)));
+
+		if (search.getCounterparty() != null && !search.getCounterparty().isEmpty()) {
+			Account counterparty = shardRouter.queryByNumber(search.getCounterparty(), accountRepository::findByNumber);
+			if (counterparty == null) {
+				return false;
+			}
+			search.setCounterpartyId(counterparty.getId());
+		}
+		return true;
+	}
+
+	// prepare 가 끝난 조건으로 검색 결과를 한 줄씩 전달
+	public void stream(HistorySearchDTO search, ResultHandler<HistoryAccount> handler) {
+		shardRouter.query(shardRouter.shardOfAccountId(search.getAccountId()), () -> {
+			historyRepository.streamSearch(search, handler);
+			return null;
+		});
+	}
+
+	/**
+	 * 다음 페이지 조회용 cursor - 행의 (created_at, id) 를 나노초까지 담는다.
+	 * 화면 표시용 createdAtText 는 초 단위라서 같은 초의 행이 건너뛰어지므로 keyset 에 쓰지 않는다.
+	 *
+	 * @param row
+	 * @return base64url (초.나노초.id)
+	 */
+	public String cursorOf(HistoryAccount row) {
+		Timestamp createdAt = row.getCreatedAt();
+		String raw = Math.floorDiv(createdAt.getTime(), 1000L) + "." + createdAt.getNanos() + "." + row.getId();
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	// cursorOf 의 반대 (형식이 틀리면 IllegalArgumentException, IndexOutOfBoundsException)
+	private void readCursor(HistorySearchDTO search) {
+		String raw = new String(Base64.getUrlDecoder().decode(search.getCursor()), StandardCharsets.US_ASCII);
+		String[] parts = raw.split("\\.");
+		if (parts.length != 3) {
+			throw new IllegalArgumentException(raw);
+		}
+		Timestamp afterTimestamp = new Timestamp(Long.parseLong(parts[0]) * 1000L);
+		afterTimestamp.setNanos(Integer.parseInt(parts[1]));
+		search.setAfterTimestamp(afterTimestamp);
+		search.setAfterId(Integer.valueOf(parts[2]));
+	}
+}
@@ -0,0 +1,143 @@
+package com.tenco.bank.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tenco.bank.handler.exception.BusinessException;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.interfaces.AccountRepository;
+import com.tenco.bank.repository.interfaces.BalanceSlotRepository;
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.shard.ShardRouter;
+import com.tenco.bank.utils.Define;
+
+/**
+ * 입금이 몰리는 계좌(가맹점, 모계좌)의 잔액 분할 처리
+ *
+ * - 입금 : 임의의 슬롯 하나만 갱신 -> 계좌 행 잠금 경합이 슬롯 수 만큼 분산 된다.
+ *   잠금 없이는 정확한 거래 후 잔액을 알 수 없으므로 거래 내역의 입금 후 잔액(d_balance)은 null 로 남긴다.
+ * - 출금 : 계좌 행과 모든 슬롯을 잠그고 슬롯 잔액을 계좌로 합친 뒤 일반 출금과 같이 처리
+ * - 조회 : account_tb.balance + 슬롯 합계
+ * - 주기적으로 슬롯 잔액을 계좌 잔액으로 정리(consolidation) 한다.
+ */
+@Service
+public class HotAccountService {
+
+	private final AccountRepository accountRepository;
+	private final BalanceSlotRepository balanceSlotRepository;
+	private final ShardRouter shardRouter;
+
+	@Autowired
+	public HotAccountService(AccountRepository accountRepository, BalanceSlotRepository balanceSlotRepository,
+			ShardRouter shardRouter) {
+		this.accountRepository = accountRepository;
+		this.balanceSlotRepository = balanceSlotRepository;
+		this.shardRouter = shardRouter;
+	}
+
+	/**
+	 * 분할 계좌 입금 (호출하는 쪽 트랜잭션에 참여)
+	 * 조회 이후 슬롯 수가 바뀌어(changeSlots) 고른 슬롯이 없으면 계좌 행 잠금을 기다린 뒤 바뀐 슬롯 수로 다시 처리 한다.
+	 *
+	 * @param account findByNumber 로 조회한 계좌 (balance = 슬롯 제외 잔액)
+	 * @param amount
+	 * @return 입금 후 잔액 (거래 내역 기록용), 슬롯에 입금 했으면 null
+	 */
+	public Long credit(Account account, long amount) {
+		int slot = ThreadLocalRandom.current().nextInt(account.getHotSlots());
+		if (balanceSlotRepository.credit(account.getId(), slot, amount) == 1) {
+			return null;
+		}
+
+		Account locked = accountRepository.findByIdForUpdate(account.getId());
+		if (locked == null) {
+			throw BusinessException.NOT_EXIST_ACCOUNT;
+		}
+		int result;
+		Long balance = null;
+		if (locked.isHot()) {
+			slot = ThreadLocalRandom.current().nextInt(locked.getHotSlots());
+			result = balanceSlotRepository.credit(locked.getId(), slot, amount);
+		} else {
+			// 일반 계좌로 전환 됨 - 계좌 행을 잠갔으므로 정확한 잔액을 기록할 수 있다.
+			result = accountRepository.addBalance(locked.getId(), amount);
+			balance = locked.getBalance() + amount;
+		}
+		if (result != 1) {
+			throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+		return balance;
+	}
+
+	/**
+	 * 슬롯 잔액을 계좌 잔액으로 합친다. (호출하는 쪽 트랜잭션에 참여)
+	 * 계좌 행 -> 슬롯 순서로 잠근다. (입금은 슬롯 행만 잠그므로 교착 없음)
+	 *
+	 * @param accountId
+	 * @return 합친 후 계좌 잔액
+	 */
+	public long consolidate(Integer accountId) {
+		Account locked = accountRepository.findByIdForUpdate(accountId);
+		if (locked == null) {
+			throw BusinessException.NOT_EXIST_ACCOUNT;
+		}
+		long sum = 0;
+		for (Long balance : balanceSlotRepository.findBalancesForUpdate(accountId)) {
+			sum += balance;
+		}
+		if (sum != 0) {
+			balanceSlotRepository.resetByAccountId(accountId);
+			accountRepository.addBalance(accountId, sum);
+		}
+		return locked.getBalance() + sum;
+	}
+
+	/**
+	 * 분할 슬롯 수 변경 (0 이면 일반 계좌로 전환)
+	 * 계좌 행과 모든 슬롯을 잠그고 합친 뒤에 슬롯을 줄이거나 늘린다.
+	 * 바뀌기 전 슬롯 수로 고른 입금은 잠금이 풀린 뒤 없어진 슬롯이면 credit 에서 다시 처리 된다.
+	 *
+	 * @param accountId
+	 * @param slots
+	 */
+	@Transactional
+	public void changeSlots(Integer accountId, int slots) {
+		if (slots < 0) {
+			throw new DataDeliveryException(Define.INVALID_INPUT, HttpStatus.BAD_REQUEST);
+		}
+		int shard = shardRouter.shardOfAccountId(accountId);
+		if (shard < 0) {
+			throw BusinessException.NOT_EXIST_ACCOUNT;
+		}
+		shardRouter.bind(shard);
+		consolidate(accountId);
+		int current = accountRepository.findByIdForUpdate(accountId).getHotSlots();
+		if (slots < current) {
+			balanceSlotRepository.deleteFromSlot(accountId, slots);
+		} else if (slots > current) {
+			List<Integer> slotNumbers = new ArrayList<>(slots - current);
+			for (int i = current; i < slots; i++) {
+				slotNumbers.add(i);
+			}
+			balanceSlotRepository.insertSlots(accountId, slotNumbers);
+		}
+		accountRepository.updateHotSlots(accountId, slots);
+	}
+
+	// 주기적 정리 - 샤드별로 계좌 하나씩 짧은 트랜잭션으로 처리 (같은 클래스 호출이라 @Transactional 대신 새 트랜잭션)
+	@Scheduled(fixedDelayString = "${hot-account.consolidate-interval-ms:60000}")
+	public void consolidateAll() {
+		for (int shard : shardRouter.shards()) {
+			for (Integer accountId : shardRouter.query(shard, accountRepository::findHotAccountIds)) {
+				shardRouter.inTransaction(shard, () -> consolidate(accountId));
+			}
+		}
+	}
+}
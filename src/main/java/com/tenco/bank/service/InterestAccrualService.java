@@ -0,0 +1,202 @@
+package com.tenco.bank.service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.tenco.bank.dto.InterestRunReportDTO;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.interfaces.AccountRepository;
+import com.tenco.bank.repository.interfaces.InterestRepository;
+import com.tenco.bank.repository.model.AccountRollup;
+import com.tenco.bank.shard.ShardRouter;
+import com.tenco.bank.utils.Define;
+
+/**
+ * 일 이자 지급 배치
+ *
+ * 계좌 id 공간을 chunkSize 구간으로 나눠 병렬 작업자가 구간 하나를 트랜잭션 하나로 처리 한다.
+ * 1. 체크포인트 insert (기준일 + 구간 PK, 이미 있으면 처리된 구간이므로 건너뜀)
+ * 2. 구간 계좌 행 잠금
+ * 3. 구간 전체 이자 거래 내역 insert ... select (다중 행 1회)
+ * 4. 구간 월 집계 insert/update (각 1회)
+ * 5. 구간 전체 잔액 update (1회)
+ * 같은 기준일로 다시 실행해도 완료된 구간은 처리되지 않는다. (멱등성)
+ * 구간 경계는 기준일의 첫 실행에서 interest_run_tb 에 고정한 구간 크기를 쓴다. (chunk-size 설정이 바뀌어도 구간이 겹치지 않음)
+ * 오늘 이후 기준일, 모든 구간을 지급 완료한 기준일은 거절 한다.
+ * 샤딩을 사용하면 샤드마다 자기 계좌 id 구간을 같은 방식으로 처리 한다. (체크포인트도 샤드별)
+ */
+@Service
+public class InterestAccrualService {
+
+	private final AccountRepository accountRepository;
+	private final InterestRepository interestRepository;
+	private final HotAccountService hotAccountService;
+	private final ShardRouter shardRouter;
+	private final int chunkSize;
+	private final int workers;
+	private final int rateBps;
+
+	public InterestAccrualService(AccountRepository accountRepository, InterestRepository interestRepository,
+			HotAccountService hotAccountService, ShardRouter shardRouter,
+			@Value("${interest.chunk-size:5000}") int chunkSize,
+			@Value("${interest.workers:4}") int workers,
+			@Value("${interest.rate-bps:100}") int rateBps) {
+		this.accountRepository = accountRepository;
+		this.interestRepository = interestRepository;
+		this.hotAccountService = hotAccountService;
+		this.shardRouter = shardRouter;
+		this.chunkSize = chunkSize;
+		this.workers = workers;
+		this.rateBps = rateBps;
+	}
+
+	// 매일 00:10 에 오늘 기준일로 실행 (다른 노드가 이미 끝냈으면 건너뜀)
+	@Scheduled(cron = "${interest.cron:0 10 0 * * *}")
+	public void accrueToday() {
+		LocalDate today = LocalDate.now();
+		if (isAccrued(Date.valueOf(today)) == false) {
+			accrue(today);
+		}
+	}
+
+	/**
+	 * 기준일 이자 지급
+	 *
+	 * @param businessDate 오늘 이전(오늘 포함), 지급 완료 전인 기준일
+	 * @return 처리 결과 (처리량 포함)
+	 */
+	public InterestRunReportDTO accrue(LocalDate businessDate) {
+		long start = System.currentTimeMillis();
+		Date date = Date.valueOf(businessDate);
+		if (businessDate.isAfter(LocalDate.now())) {
+			throw new DataDeliveryException(Define.INTEREST_FUTURE_DATE, HttpStatus.BAD_REQUEST);
+		}
+		if (isAccrued(date)) {
+			throw new DataDeliveryException(Define.INTEREST_ALREADY_ACCRUED, HttpStatus.BAD_REQUEST);
+		}
+
+		InterestRunReportDTO report = new InterestRunReportDTO();
+		report.setBusinessDate(businessDate.toString());
+
+		ExecutorService pool = Executors.newFixedThreadPool(workers);
+		List<Future<Integer>> futures = new ArrayList<>();
+		try {
+			for (int shard : shardRouter.shards()) {
+				Integer maxId = shardRouter.query(shard, accountRepository::findMaxId);
+				if (maxId == null) {
+					continue;
+				}
+				// 이미 처리된 구간 (재시작 지점)
+				Set<Integer> done = new HashSet<>(
+						shardRouter.query(shard, () -> interestRepository.findDoneChunkStarts(date)));
+				List<Integer> hotAccountIds = shardRouter.query(shard, accountRepository::findHotAccountIds);
+				int runChunkSize = runChunkSize(shard, date);
+
+				// 구간 경계는 maxId 와 무관하게 샤드 첫 id 부터 고정 (재실행시 같은 구간)
+				for (int lo = shardRouter.firstAccountId(shard); lo <= maxId; lo += runChunkSize) {
+					report.setChunksTotal(report.getChunksTotal() + 1);
+					if (done.contains(lo)) {
+						report.setChunksSkipped(report.getChunksSkipped() + 1);
+						continue;
+					}
+					int chunkShard = shard;
+					int chunkLo = lo;
+					int chunkHi = lo + runChunkSize - 1;
+					futures.add(pool.submit(() -> accrueChunk(chunkShard, date, chunkLo, chunkHi, hotAccountIds)));
+				}
+			}
+			for (Future<Integer> future : futures) {
+				Integer credited = future.get();
+				if (credited == null) {
+					// 다른 작업자/노드가 먼저 처리한 구간
+					report.setChunksSkipped(report.getChunksSkipped() + 1);
+				} else {
+					report.setChunksApplied(report.getChunksApplied() + 1);
+					report.setAccountsCredited(report.getAccountsCredited() + credited);
+				}
+			}
+			// 실패한 구간이 없으면 기준일 지급 완료
+			for (int shard : shardRouter.shards()) {
+				shardRouter.inTransaction(shard, () -> interestRepository.completeRun(date));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
+		} catch (ExecutionException e) {
+			// 실패한 구간은 롤백 되었으므로 같은 기준일로 다시 실행하면 이어서 처리 된다.
+			throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
+		} finally {
+			pool.shutdown();
+		}
+
+		long elapsed = System.currentTimeMillis() - start;
+		report.setElapsedMillis(elapsed);
+		report.setAccountsPerSecond(elapsed == 0 ? report.getAccountsCredited()
+				: report.getAccountsCredited() * 1000.0 / elapsed);
+		return report;
+	}
+
+	// 모든 샤드에서 지급 완료된 기준일인지
+	private boolean isAccrued(Date date) {
+		for (int shard : shardRouter.shards()) {
+			if (shardRouter.query(shard, () -> interestRepository.countCompletedRun(date)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// 기준일의 구간 크기 - 첫 실행이면 지금 설정으로 등록 (동시에 등록하면 먼저 등록한 값)
+	private int runChunkSize(int shard, Date date) {
+		Integer size = shardRouter.query(shard, () -> interestRepository.findRunChunkSize(date));
+		if (size != null) {
+			return size;
+		}
+		try {
+			shardRouter.inTransaction(shard, () -> interestRepository.insertRun(date, chunkSize));
+		} catch (DuplicateKeyException e) {
+			// 다른 노드가 먼저 등록
+		}
+		return shardRouter.query(shard, () -> interestRepository.findRunChunkSize(date));
+	}
+
+	// 구간 하나 처리 (샤드 트랜잭션 하나), 이미 처리된 구간이면 null
+	private Integer accrueChunk(int shard, Date date, int lo, int hi, List<Integer> hotAccountIds) {
+		try {
+			return shardRouter.inTransaction(shard, () -> {
+				interestRepository.insertCheckpoint(date, lo, hi);
+				interestRepository.lockAccountRange(lo, hi);
+				// 잔액 분할 계좌는 슬롯 잔액을 먼저 합친다.
+				for (Integer hotId : hotAccountIds) {
+					if (hotId >= lo && hotId <= hi) {
+						hotAccountService.consolidate(hotId);
+					}
+				}
+				int credited = interestRepository.insertInterestHistory(lo, hi, rateBps);
+				// 거래 내역 created_at 이 now() 이므로 집계 년월도 지급 시점 기준
+				int period = AccountRollup.periodOf(LocalDate.now());
+				interestRepository.insertInterestRollups(lo, hi, rateBps, period);
+				interestRepository.addInterestRollups(lo, hi, rateBps, period);
+				interestRepository.applyInterest(lo, hi, rateBps);
+				interestRepository.updateCheckpoint(date, lo, credited);
+				return credited;
+			});
+		} catch (DuplicateKeyException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,236 @@
+package com.tenco.bank.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.tenco.bank.dto.ReconciliationReportDTO;
+import com.tenco.bank.dto.ReconciliationReportDTO.Mismatch;
+import com.tenco.bank.repository.interfaces.AccountRepository;
+import com.tenco.bank.repository.interfaces.BalanceSlotRepository;
+import com.tenco.bank.repository.interfaces.HistoryRepository;
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.repository.model.LedgerEntry;
+import com.tenco.bank.shard.ShardRouter;
+
+/**
+ * 잔액 대사(reconciliation) 작업
+ *
+ * 계좌 id 공간을 rangeSize 단위 구간으로 나눠 ForkJoinPool 에서 병렬로 검사 한다.
+ * 구간마다 거래 내역을 (계좌, 거래 id) 순으로 한 줄씩 읽으면서
+ * 1. 잔액 체인 : 이전 거래 후 잔액 -/+ 거래 금액 = 이번 거래 후 잔액
+ * 2. 최종 잔액 : 마지막 거래 후 잔액 = account_tb.balance
+ * 를 확인 한다. 메모리는 구간 하나의 계좌 잔액 + 보고 개수(maxMismatches)로 제한 된다.
+ * 구간 하나는 읽기 전용 REPEATABLE READ 트랜잭션 안에서 읽는다. (대사 중 이체가 커밋 되어도 계좌와 거래 내역이 같은 시점)
+ * 잔액 분할 계좌는 account_tb.balance + 슬롯 합계를 실제 잔액으로 보고, 잔액 기록이 없는 입금은 금액만큼 이어서 계산 한다.
+ * (분할을 해제한 계좌의 예전 슬롯 입금도 같으므로 지금 분할 계좌인지와 관계 없이 입금 쪽은 금액만큼 이어서 계산)
+ * 샤딩을 사용하면 샤드마다 자기 계좌 id 구간만 검사 한다. (샤드간 이체는 각 샤드에 자기 쪽 거래 내역만 있음)
+ */
+@Service
+public class ReconciliationService {
+
+	private final AccountRepository accountRepository;
+	private final HistoryRepository historyRepository;
+	private final BalanceSlotRepository balanceSlotRepository;
+	private final ShardRouter shardRouter;
+	private final int rangeSize;
+	private final int parallelism;
+	private final int maxMismatches;
+
+	public ReconciliationService(AccountRepository accountRepository, HistoryRepository historyRepository,
+			BalanceSlotRepository balanceSlotRepository, ShardRouter shardRouter,
+			@Value("${reconciliation.range-size:1000}") int rangeSize,
+			@Value("${reconciliation.parallelism:4}") int parallelism,
+			@Value("${reconciliation.max-mismatches:1000}") int maxMismatches) {
+		this.accountRepository = accountRepository;
+		this.historyRepository = historyRepository;
+		this.balanceSlotRepository = balanceSlotRepository;
+		this.shardRouter = shardRouter;
+		this.rangeSize = rangeSize;
+		this.parallelism = parallelism;
+		this.maxMismatches = maxMismatches;
+	}
+
+	/**
+	 * 전체 계좌 대사 실행
+	 *
+	 * @return 결과 (불일치 계좌와 처음 어긋난 거래 내역 id)
+	 */
+	public ReconciliationReportDTO reconcile() {
+		long start = System.currentTimeMillis();
+
+		Context ctx = new Context();
+		// DB 커넥션을 사용하므로 병렬도는 커넥션 풀 크기 이하로 설정한다.
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			for (int shard : shardRouter.shards()) {
+				Integer maxId = shardRouter.query(shard, accountRepository::findMaxId);
+				if (maxId != null) {
+					pool.invoke(new RangeTask(shard, shardRouter.firstAccountId(shard), maxId, ctx));
+				}
+			}
+		} finally {
+			pool.shutdown();
+		}
+
+		ReconciliationReportDTO report = new ReconciliationReportDTO();
+		report.setAccountsChecked(ctx.accounts.sum());
+		report.setLedgerRows(ctx.rows.sum());
+		report.getMismatches().addAll(ctx.mismatches);
+		report.getMismatches().sort((a, b) -> Integer.compare(a.getAccountId(), b.getAccountId()));
+		report.setTruncated(ctx.truncated.get());
+		report.setElapsedMillis(System.currentTimeMillis() - start);
+		return report;
+	}
+
+	// 구간 하나 검사 (계좌 잔액은 구간 단위로만 메모리에 올린다)
+	private void reconcileRange(int shard, int lo, int hi, Context ctx) {
+		// 계좌, 슬롯, 거래 내역을 한 스냅샷에서 읽는다.
+		shardRouter.snapshot(shard, () -> {
+			reconcileRange(lo, hi, ctx);
+			return null;
+		});
+	}
+
+	private void reconcileRange(int lo, int hi, Context ctx) {
+		historyRepository.openLedgerSnapshot();
+		List<Account> accounts = accountRepository.findByIdRange(lo, hi);
+		if (accounts.isEmpty()) {
+			return;
+		}
+		Map<Integer, Long> balances = new HashMap<>(accounts.size() * 2);
+		for (Account account : accounts) {
+			long balance = account.getBalance();
+			if (account.isHot()) {
+				balance += balanceSlotRepository.sumByAccountId(account.getId());
+			}
+			balances.put(account.getId(), balance);
+		}
+		ctx.accounts.add(accounts.size());
+
+		ChainChecker checker = new ChainChecker(balances, ctx);
+		historyRepository.streamLedgerByAccountRange(lo, hi,
+				resultContext -> checker.accept(resultContext.getResultObject()));
+		checker.finish();
+	}
+
+	// 계좌 하나의 잔액 체인 상태 (정렬된 스트림이라 현재 계좌 상태만 유지)
+	private class ChainChecker {
+		private final Map<Integer, Long> balances;
+		private final Context ctx;
+
+		private Integer accountId;
+		private Long lastBalance;
+		private Integer lastHistoryId;
+		private Integer firstDivergingId;
+		private Long expectedAtDivergence;
+
+		private ChainChecker(Map<Integer, Long> balances, Context ctx) {
+			this.balances = balances;
+			this.ctx = ctx;
+		}
+
+		private void accept(LedgerEntry entry) {
+			ctx.rows.increment();
+			if (accountId == null || accountId.equals(entry.getAccountId()) == false) {
+				finish();
+				accountId = entry.getAccountId();
+				lastBalance = null;
+				firstDivergingId = null;
+				expectedAtDivergence = null;
+			}
+
+			if (entry.getBalance() == null && "D".equals(entry.getDirection())) {
+				// 분할 계좌 입금은 거래 후 잔액을 기록하지 않는다. -> 금액만큼 이어서 계산
+				if (lastBalance != null) {
+					lastBalance = lastBalance + entry.getAmount();
+				}
+			} else if (entry.getBalance() == null) {
+				// 잔액 기록이 없는 출금 (샤드간 이체의 입금 쪽 행은 출금 계좌가 다른 샤드 구간이라 여기 오지 않는다.)
+				if (firstDivergingId == null) {
+					firstDivergingId = entry.getHistoryId();
+				}
+			} else if (lastBalance != null && firstDivergingId == null) {
+				long expected = "W".equals(entry.getDirection()) ? lastBalance - entry.getAmount()
+						: lastBalance + entry.getAmount();
+				if (expected != entry.getBalance()) {
+					firstDivergingId = entry.getHistoryId();
+					expectedAtDivergence = expected;
+				}
+			}
+			if (entry.getBalance() != null) {
+				lastBalance = entry.getBalance();
+			}
+			lastHistoryId = entry.getHistoryId();
+		}
+
+		// 현재 계좌 검사 마무리
+		private void finish() {
+			if (accountId == null) {
+				return;
+			}
+			Long actual = balances.get(accountId);
+			if (actual == null) {
+				report(new Mismatch(accountId, firstDivergingId, lastBalance, null, "계좌 없는 거래 내역"));
+			} else if (firstDivergingId != null) {
+				report(new Mismatch(accountId, firstDivergingId, expectedAtDivergence, actual, "잔액 체인 불일치"));
+			} else if (lastBalance != null && lastBalance.equals(actual) == false) {
+				report(new Mismatch(accountId, lastHistoryId, lastBalance, actual, "최종 잔액 불일치"));
+			}
+			accountId = null;
+		}
+
+		private void report(Mismatch mismatch) {
+			if (ctx.reported.incrementAndGet() > maxMismatches) {
+				ctx.truncated.set(true);
+				return;
+			}
+			ctx.mismatches.add(mismatch);
+		}
+	}
+
+	// 계좌 id 구간을 반으로 나눠가며 병렬 처리
+	private class RangeTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final int shard;
+		private final int lo;
+		private final int hi;
+		private final Context ctx;
+
+		private RangeTask(int shard, int lo, int hi, Context ctx) {
+			this.shard = shard;
+			this.lo = lo;
+			this.hi = hi;
+			this.ctx = ctx;
+		}
+
+		@Override
+		protected void compute() {
+			if (hi - lo + 1 <= rangeSize) {
+				reconcileRange(shard, lo, hi, ctx);
+				return;
+			}
+			int mid = lo + (hi - lo) / 2;
+			invokeAll(new RangeTask(shard, lo, mid, ctx), new RangeTask(shard, mid + 1, hi, ctx));
+		}
+	}
+
+	// 작업 전체에서 공유하는 집계
+	private static class Context {
+		private final LongAdder accounts = new LongAdder();
+		private final LongAdder rows = new LongAdder();
+		private final AtomicInteger reported = new AtomicInteger();
+		private final AtomicBoolean truncated = new AtomicBoolean(false);
+		private final ConcurrentLinkedQueue<Mismatch> mismatches = new ConcurrentLinkedQueue<>();
+	}
+}
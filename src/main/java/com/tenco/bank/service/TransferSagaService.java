@@ -0,0 +1,320 @@
+package com.tenco.bank.service;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.tenco.bank.dto.TransferDTO;
+import com.tenco.bank.event.AccountHistoryEvent;
+import com.tenco.bank.handler.exception.BusinessException;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.interfaces.AccountRepository;
+import com.tenco.bank.repository.interfaces.HistoryRepository;
+import com.tenco.bank.repository.interfaces.TransferSagaRepository;
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.repository.model.History;
+import com.tenco.bank.repository.model.TransferSaga;
+import com.tenco.bank.repository.model.TransferSchedule;
+import com.tenco.bank.screening.TransferScreeningService;
+import com.tenco.bank.shard.ShardRouter;
+import com.tenco.bank.utils.Define;
+
+/**
+ * 샤드가 다른 계좌 사이의 이체 (saga)
+ *
+ * 샤드마다 트랜잭션이 따로라서 한 번에 커밋할 수 없으므로 단계별로 커밋하고 진행 상태를 샤드 0 에 남긴다.
+ * 1. STARTED : saga 등록 (샤드 0)
+ * 2. DEBITED : 출금 샤드 트랜잭션 - 검사(소유, 비밀번호, 잔액, 한도, 이상 거래) + 출금 + 거래 내역(출금 쪽)
+ * 3. DONE    : 입금 샤드 트랜잭션 - 입금 + 거래 내역(입금 쪽)
+ *    COMPENSATED : 입금이 업무 오류로 실패하면 출금 샤드에서 출금 취소(환불)
+ *    FAILED      : 출금 전에 실패 (반영된 것 없음)
+ * 단계마다 같은 트랜잭션에서 transfer_saga_step_tb(saga_id, step) 를 insert 하므로
+ * 요청 스레드와 복구 작업이 겹치거나 재시도 해도 단계는 한 번만 반영 된다.
+ * 시작시, 그리고 주기적으로 진행이 멈춘 saga(STARTED, DEBITED)를 이어서 처리 한다.
+ */
+@Service
+public class TransferSagaService {
+
+	private static final String STARTED = "STARTED";
+	private static final String DEBITED = "DEBITED";
+	private static final String DONE = "DONE";
+	private static final String COMPENSATED = "COMPENSATED";
+	private static final String FAILED = "FAILED";
+
+	private static final String STEP_DEBIT = "DEBIT";
+	private static final String STEP_CREDIT = "CREDIT";
+	private static final String STEP_REFUND = "REFUND";
+
+	private final ShardRouter shardRouter;
+	private final TransferSagaRepository sagaRepository;
+	private final AccountRepository accountRepository;
+	private final HistoryRepository historyRepository;
+	private final HotAccountService hotAccountService;
+	private final WithdrawalLimitService withdrawalLimitService;
+	private final TransferScreeningService transferScreeningService;
+	private final TransferScheduleService transferScheduleService;
+	private final AccountRollupService accountRollupService;
+	private final ApplicationEventPublisher eventPublisher;
+	private final long staleMillis;
+	private final int recoveryBatch;
+
+	public TransferSagaService(ShardRouter shardRouter, TransferSagaRepository sagaRepository,
+			AccountRepository accountRepository, HistoryRepository historyRepository,
+			HotAccountService hotAccountService, WithdrawalLimitService withdrawalLimitService,
+			TransferScreeningService transferScreeningService, TransferScheduleService transferScheduleService,
+			AccountRollupService accountRollupService, ApplicationEventPublisher eventPublisher,
+			@Value("${saga.stale-ms:60000}") long staleMillis,
+			@Value("${saga.recovery-batch:100}") int recoveryBatch) {
+		this.shardRouter = shardRouter;
+		this.sagaRepository = sagaRepository;
+		this.accountRepository = accountRepository;
+		this.historyRepository = historyRepository;
+		this.hotAccountService = hotAccountService;
+		this.withdrawalLimitService = withdrawalLimitService;
+		this.transferScreeningService = transferScreeningService;
+		this.transferScheduleService = transferScheduleService;
+		this.accountRollupService = accountRollupService;
+		this.eventPublisher = eventPublisher;
+		this.staleMillis = staleMillis;
+		this.recoveryBatch = recoveryBatch;
+	}
+
+	/**
+	 * 샤드간 이체 실행 (호출한 쪽 트랜잭션과 무관하게 단계별로 커밋)
+	 *
+	 * @param dto
+	 * @param principalId
+	 * @param checkPassword 예약 이체는 등록 시점에 확인 했으므로 false
+	 * @param wShard
+	 * @param dShard
+	 * @param schedule      예약 이체면 출금 단계에서 실행 표시를 남길 예약, 아니면 null
+	 */
+	public void transfer(TransferDTO dto, Integer principalId, boolean checkPassword, int wShard, int dShard,
+			TransferSchedule schedule) {
+		Account wAccountEntity = shardRouter.query(wShard, () -> accountRepository.findByNumber(dto.getWAccountNumber()));
+		Account dAccountEntity = shardRouter.query(dShard, () -> accountRepository.findByNumber(dto.getDAccountNumber()));
+		if (wAccountEntity == null || dAccountEntity == null) {
+			throw BusinessException.NOT_EXIST_ACCOUNT;
+		}
+		// 잔액, 한도 등은 출금 단계에서 잠근 뒤 다시 확인 한다. 여기서는 saga 를 만들기 전에 걸러낼 것만
+		wAccountEntity.checkOwner(principalId);
+		if (checkPassword) {
+			wAccountEntity.checkPassword(dto.getPassword());
+		}
+
+		TransferSaga saga = TransferSaga.builder()
+				.userId(principalId)
+				.wAccountNumber(wAccountEntity.getNumber())
+				.dAccountNumber(dAccountEntity.getNumber())
+				.wAccountId(wAccountEntity.getId())
+				.dAccountId(dAccountEntity.getId())
+				.wShard(wShard)
+				.dShard(dShard)
+				.amount(dto.getAmount())
+				.status(STARTED)
+				.build();
+		shardRouter.inTransaction(ShardRouter.GLOBAL, () -> sagaRepository.insert(saga));
+
+		try {
+			shardRouter.inTransaction(wShard, () -> debit(saga, dAccountEntity, schedule));
+		} catch (DataDeliveryException e) {
+			// 출금 트랜잭션이 롤백 되었으므로 반영된 것이 없다.
+			changeStatus(saga, STARTED, FAILED, e.getMessage());
+			throw e;
+		} catch (RuntimeException e) {
+			// 출금 커밋 여부를 알 수 없음 - 복구 작업이 출금 샤드의 단계 기록으로 판단 한다.
+			throw new DataDeliveryException(Define.TRANSFER_IN_PROGRESS, HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+
+		String result;
+		try {
+			changeStatus(saga, STARTED, DEBITED, null);
+			result = completeDebited(saga);
+		} catch (RuntimeException e) {
+			// 출금은 끝났고 입금이 DB 오류로 멈춤 - 복구 작업이 이어서 처리
+			throw new DataDeliveryException(Define.TRANSFER_IN_PROGRESS, HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+		if (COMPENSATED.equals(result)) {
+			throw new DataDeliveryException(Define.TRANSFER_CANCELLED, HttpStatus.BAD_REQUEST);
+		}
+	}
+
+	// 재시작 후 멈춘 saga 이어서 처리
+	@EventListener(ApplicationReadyEvent.class)
+	public void recoverOnStartup() {
+		recover();
+	}
+
+	// staleMillis 동안 진행이 없는 미완료 saga 를 이어서 처리 한다.
+	@Scheduled(fixedDelayString = "${saga.recovery-interval-ms:30000}")
+	public void recover() {
+		if (!shardRouter.isEnabled()) {
+			return;
+		}
+		Timestamp before = new Timestamp(System.currentTimeMillis() - staleMillis);
+		List<TransferSaga> stale = shardRouter.query(ShardRouter.GLOBAL,
+				() -> sagaRepository.findStale(before, recoveryBatch));
+		for (TransferSaga saga : stale) {
+			try {
+				recoverOne(saga);
+			} catch (RuntimeException e) {
+				// 샤드 장애 등 - 다음 주기에 다시 시도
+			}
+		}
+	}
+
+	private void recoverOne(TransferSaga saga) {
+		if (STARTED.equals(saga.getStatus())) {
+			// 출금 단계 기록을 "중단" 으로 먼저 차지 해 본다.
+			// 이미 기록이 있으면 출금이 커밋된 것 (또는 이전 복구가 중단 시킨 것)
+			Boolean aborted = shardRouter.inTransaction(saga.getWShard(),
+					() -> insertStep(saga, STEP_DEBIT, true) ? Boolean.TRUE
+							: sagaRepository.findStepAborted(saga.getId(), STEP_DEBIT));
+			if (Boolean.TRUE.equals(aborted)) {
+				changeStatus(saga, STARTED, FAILED, Define.FAILED_PROCESSING);
+				return;
+			}
+			changeStatus(saga, STARTED, DEBITED, null);
+		}
+		completeDebited(saga);
+	}
+
+	// 입금 단계, 업무 오류(입금 계좌 없음 등)면 출금 취소
+	private String completeDebited(TransferSaga saga) {
+		try {
+			shardRouter.inTransaction(saga.getDShard(), () -> credit(saga));
+		} catch (DataDeliveryException e) {
+			shardRouter.inTransaction(saga.getWShard(), () -> refund(saga));
+			changeStatus(saga, DEBITED, COMPENSATED, e.getMessage());
+			return COMPENSATED;
+		}
+		changeStatus(saga, DEBITED, DONE, null);
+		return DONE;
+	}
+
+	// 출금 샤드 트랜잭션 - 같은 샤드 이체(AccountService)와 같은 순서로 검사
+	private History debit(TransferSaga saga, Account dAccountEntity, TransferSchedule schedule) {
+		if (!insertStep(saga, STEP_DEBIT, false)) {
+			// 복구 작업이 이미 중단 시킨 saga
+			throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+		if (schedule != null) {
+			transferScheduleService.markExecuted(schedule);
+		}
+		Account wAccountEntity = accountRepository.findByNumberForUpdate(saga.getWAccountNumber());
+		if (wAccountEntity == null) {
+			throw BusinessException.NOT_EXIST_ACCOUNT;
+		}
+		if (wAccountEntity.isHot()) {
+			wAccountEntity.setBalance(hotAccountService.consolidate(wAccountEntity.getId()));
+		}
+		if (wAccountEntity.getBalance() < saga.getAmount()) {
+			throw BusinessException.LACK_OF_BALANCE;
+		}
+		withdrawalLimitService.checkAndReserve(wAccountEntity.getId(), saga.getAmount());
+		transferScreeningService.screen(wAccountEntity, dAccountEntity, saga.getAmount());
+
+		wAccountEntity.withdraw(saga.getAmount());
+		accountRepository.updateById(wAccountEntity);
+
+		// 출금 쪽 거래 내역 (입금 쪽 잔액은 입금 샤드에 따로 기록)
+		History history = History.builder().amount(saga.getAmount()).wAccountId(wAccountEntity.getId())
+				.dAccountId(saga.getDAccountId()).wBalance(wAccountEntity.getBalance()).dBalance(null).build();
+		if (historyRepository.insert(history) != 1) {
+			throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+		// 출금 취소시 한도에서 뺄 거래 내역
+		sagaRepository.updateStepHistory(saga.getId(), STEP_DEBIT, history.getId());
+		accountRollupService.record(history, wAccountEntity, null);
+		eventPublisher.publishEvent(AccountHistoryEvent.ofWithdrawalLeg(history, wAccountEntity, dAccountEntity));
+		return history;
+	}
+
+	// 입금 샤드 트랜잭션 (이미 입금 했으면 아무 것도 하지 않음)
+	private History credit(TransferSaga saga) {
+		if (!insertStep(saga, STEP_CREDIT, false)) {
+			return null;
+		}
+		Account dAccountEntity = accountRepository.findByNumber(saga.getDAccountNumber());
+		if (dAccountEntity == null) {
+			throw BusinessException.NOT_EXIST_ACCOUNT;
+		}
+		deposit(dAccountEntity, saga.getAmount());
+
+		History history = History.builder().amount(saga.getAmount()).wAccountId(saga.getWAccountId())
+				.dAccountId(dAccountEntity.getId()).wBalance(null).dBalance(dAccountEntity.getBalance()).build();
+		if (historyRepository.insert(history) != 1) {
+			throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+		accountRollupService.record(history, null, dAccountEntity);
+		eventPublisher.publishEvent(AccountHistoryEvent.ofDepositLeg(history, saga.getWAccountNumber(), dAccountEntity));
+		return history;
+	}
+
+	// 출금 취소 - 출금 샤드에 입금 거래 내역으로 되돌리고 출금 한도도 돌려준다. (이미 취소 했으면 아무 것도 하지 않음)
+	private History refund(TransferSaga saga) {
+		if (!insertStep(saga, STEP_REFUND, false)) {
+			return null;
+		}
+		Account wAccountEntity = accountRepository.findByNumber(saga.getWAccountNumber());
+		if (wAccountEntity == null) {
+			throw new DataDeliveryException(Define.NOT_EXIST_ACCOUNT, HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+		deposit(wAccountEntity, saga.getAmount());
+
+		// REFUND 단계에 취소한 출금 거래 내역을 남기면 한도 합계(sql 모드, 재시작시 재구성)에서 빠진다.
+		Integer debitHistoryId = sagaRepository.findStepHistoryId(saga.getId(), STEP_DEBIT);
+		if (debitHistoryId != null) {
+			sagaRepository.updateStepHistory(saga.getId(), STEP_REFUND, debitHistoryId);
+			History debitHistory = historyRepository.findById(debitHistoryId);
+			withdrawalLimitService.release(wAccountEntity.getId(), saga.getAmount(), debitHistory.getCreatedAt());
+		}
+
+		History history = History.builder().amount(saga.getAmount()).wAccountId(null)
+				.dAccountId(wAccountEntity.getId()).wBalance(null).dBalance(wAccountEntity.getBalance()).build();
+		if (historyRepository.insert(history) != 1) {
+			throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+		accountRollupService.record(history, null, wAccountEntity);
+		eventPublisher.publishEvent(AccountHistoryEvent.of(history, null, wAccountEntity));
+		return history;
+	}
+
+	// 잔액 분할 계좌가 아니면 계좌 행을 잠그고 다시 읽은 잔액에 더한다. (동시 입출금의 갱신 유실 방지)
+	private void deposit(Account account, long amount) {
+		if (account.isHot()) {
+			account.setBalance(hotAccountService.credit(account, amount));
+			return;
+		}
+		Account locked = accountRepository.findByIdForUpdate(account.getId());
+		if (locked == null) {
+			throw BusinessException.NOT_EXIST_ACCOUNT;
+		}
+		locked.deposit(amount);
+		accountRepository.updateById(locked);
+		account.setBalance(locked.getBalance());
+	}
+
+	// 단계 기록, 이미 있으면 false
+	private boolean insertStep(TransferSaga saga, String step, boolean aborted) {
+		try {
+			sagaRepository.insertStep(saga.getId(), step, aborted);
+			return true;
+		} catch (DuplicateKeyException e) {
+			return false;
+		}
+	}
+
+	private void changeStatus(TransferSaga saga, String from, String to, String reason) {
+		shardRouter.inTransaction(ShardRouter.GLOBAL, () -> sagaRepository.updateStatus(saga.getId(), from, to, reason));
+		saga.setStatus(to);
+	}
+}
@@ -0,0 +1,130 @@
+package com.tenco.bank.service;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.tenco.bank.dto.TransferDTO;
+import com.tenco.bank.handler.exception.BusinessException;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.model.TransferSchedule;
+import com.tenco.bank.utils.Define;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 예약 이체 실행기
+ *
+ * - pollInterval 마다 실행 시각이 지난 예약을 batchSize 건씩 점유 (skip locked)
+ * - 점유한 예약은 가상 스레드에서 AccountService 이체 로직으로 실행
+ * - 동시 실행 수(maxConcurrency)를 넘게 점유하지 않는다. (백프레셔)
+ * - 커넥션 부족/일시적 DB 오류는 실패로 기록하지 않고 반납 후 backoff 동안 점유를 멈춘다.
+ * - 출금과 같은 트랜잭션에 (예약, 실행 시각) 실행 표시를 남긴다. 이체 커밋 후 완료 기록 전에 죽거나 점유가 만료되어
+ *   다시 실행 되면 이체 없이 완료만 기록 한다. (SCHEDULE_ALREADY_RUN)
+ */
+@Component
+public class TransferScheduleDispatcher {
+
+	private final TransferScheduleService scheduleService;
+	private final AccountService accountService;
+	private final String nodeId;
+	private final int batchSize;
+	private final long leaseMillis;
+	private final long backoffMillis;
+
+	private final Semaphore permits;
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+	private volatile long backoffUntil;
+
+	public TransferScheduleDispatcher(TransferScheduleService scheduleService, AccountService accountService,
+			@Value("${scheduler.node-id:${random.uuid}}") String nodeId,
+			@Value("${scheduler.batch-size:100}") int batchSize,
+			@Value("${scheduler.max-concurrency:8}") int maxConcurrency,
+			@Value("${scheduler.lease-ms:300000}") long leaseMillis,
+			@Value("${scheduler.backoff-ms:5000}") long backoffMillis) {
+		this.scheduleService = scheduleService;
+		this.accountService = accountService;
+		this.nodeId = nodeId;
+		this.batchSize = batchSize;
+		this.leaseMillis = leaseMillis;
+		this.backoffMillis = backoffMillis;
+		this.permits = new Semaphore(maxConcurrency);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	@Scheduled(fixedDelayString = "${scheduler.poll-interval-ms:1000}")
+	public void dispatch() {
+		if (System.currentTimeMillis() < backoffUntil) {
+			return;
+		}
+		// 남은 실행 자리만큼만 가져온다.
+		int capacity = Math.min(batchSize, permits.availablePermits());
+		if (capacity <= 0) {
+			return;
+		}
+
+		List<TransferSchedule> claimed;
+		try {
+			claimed = scheduleService.claimDue(nodeId, capacity, leaseMillis);
+		} catch (TransientDataAccessException | DataAccessResourceFailureException e) {
+			backoff();
+			return;
+		}
+
+		for (TransferSchedule schedule : claimed) {
+			permits.acquireUninterruptibly();
+			executor.execute(() -> {
+				try {
+					run(schedule);
+				} finally {
+					permits.release();
+				}
+			});
+		}
+	}
+
+	private void run(TransferSchedule schedule) {
+		TransferDTO dto = new TransferDTO();
+		dto.setAmount(schedule.getAmount());
+		dto.setWAccountNumber(schedule.getWAccountNumber());
+		dto.setDAccountNumber(schedule.getDAccountNumber());
+
+		try {
+			accountService.updateAccountTransferBySchedule(dto, schedule);
+			scheduleService.complete(schedule, true, "정상 처리");
+		} catch (DataDeliveryException e) {
+			if (e == BusinessException.SCHEDULE_ALREADY_RUN) {
+				// 이전 실행이 이체를 커밋하고 완료 기록 전에 멈춤 - 이체는 끝났으므로 완료만 기록
+				scheduleService.complete(schedule, true, e.getMessage());
+				return;
+			}
+			// 잔액 부족 등 업무 오류 - 결과 기록 후 다음 주기로
+			scheduleService.complete(schedule, false, e.getMessage());
+		} catch (TransientDataAccessException | DataAccessResourceFailureException e) {
+			// DB 포화 - 실패로 보지 않고 반납 (점유 만료 후에도 다시 가져갈 수 있음)
+			backoff();
+			try {
+				scheduleService.release(schedule);
+			} catch (RuntimeException ignore) {
+				// 반납도 실패하면 점유 만료(lease) 후 다시 실행 된다.
+			}
+		} catch (RuntimeException e) {
+			scheduleService.complete(schedule, false, Define.UNKNOWN);
+		}
+	}
+
+	private void backoff() {
+		backoffUntil = System.currentTimeMillis() + backoffMillis;
+	}
+}
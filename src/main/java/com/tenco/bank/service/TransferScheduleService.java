@@ -0,0 +1,180 @@
+package com.tenco.bank.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tenco.bank.dto.ScheduleDTO;
+import com.tenco.bank.handler.exception.BusinessException;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.interfaces.AccountRepository;
+import com.tenco.bank.repository.interfaces.TransferScheduleRepository;
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.repository.model.TransferSchedule;
+import com.tenco.bank.shard.ShardRouter;
+import com.tenco.bank.utils.Define;
+
+@Service
+public class TransferScheduleService {
+
+	private final TransferScheduleRepository scheduleRepository;
+	private final AccountRepository accountRepository;
+	private final ShardRouter shardRouter;
+
+	@Autowired
+	public TransferScheduleService(TransferScheduleRepository scheduleRepository,
+			AccountRepository accountRepository, ShardRouter shardRouter) {
+		this.scheduleRepository = scheduleRepository;
+		this.accountRepository = accountRepository;
+		this.shardRouter = shardRouter;
+	}
+
+	/**
+	 * 예약 이체 등록
+	 * 1. 출금/입금 계좌 존재 여부 확인
+	 * 2. 출금 계좌 본인 소유, 비밀번호 확인 (실행 시점에는 다시 확인하지 않음)
+	 * 3. 주기, 첫 실행 시각 확인 후 등록
+	 *
+	 * @param dto
+	 * @param principalId
+	 * @return 등록된 예약
+	 */
+	@Transactional
+	public TransferSchedule createSchedule(ScheduleDTO dto, Integer principalId) {
+		// 계좌는 각 계좌의 샤드에서 조회 (예약은 샤드 0 에 저장)
+		Account wAccountEntity = shardRouter.queryByNumber(dto.getWAccountNumber(), accountRepository::findByNumber);
+		if (wAccountEntity == null
+				|| shardRouter.queryByNumber(dto.getDAccountNumber(), accountRepository::findByNumber) == null) {
+			throw BusinessException.NOT_EXIST_ACCOUNT;
+		}
+		wAccountEntity.checkOwner(principalId);
+		wAccountEntity.checkPassword(dto.getPassword());
+
+		String cycle = dto.getCycle() == null ? "" : dto.getCycle().toUpperCase();
+		if (!cycle.equals("ONCE") && !cycle.equals("DAILY") && !cycle.equals("MONTHLY")) {
+			throw new DataDeliveryException(Define.INVALID_SCHEDULE_CYCLE, HttpStatus.BAD_REQUEST);
+		}
+
+		LocalDateTime firstRunAt;
+		try {
+			firstRunAt = LocalDateTime.parse(dto.getFirstRunAt());
+		} catch (DateTimeParseException | NullPointerException e) {
+			throw new DataDeliveryException(Define.INVALID_SCHEDULE_TIME, HttpStatus.BAD_REQUEST);
+		}
+
+		TransferSchedule schedule = TransferSchedule.builder()
+				.userId(principalId)
+				.wAccountNumber(dto.getWAccountNumber())
+				.dAccountNumber(dto.getDAccountNumber())
+				.amount(dto.getAmount())
+				.cycle(cycle)
+				.dayOfMonth(firstRunAt.getDayOfMonth())
+				.nextRunAt(Timestamp.valueOf(firstRunAt))
+				.build();
+
+		if (scheduleRepository.insert(schedule) != 1) {
+			throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+		return schedule;
+	}
+
+	public List<TransferSchedule> readScheduleListByUserId(Integer userId) {
+		return scheduleRepository.findByUserId(userId);
+	}
+
+	@Transactional
+	public void cancelSchedule(Integer scheduleId, Integer principalId) {
+		if (scheduleRepository.cancel(scheduleId, principalId) != 1) {
+			throw new DataDeliveryException(Define.NOT_EXIST_SCHEDULE, HttpStatus.BAD_REQUEST);
+		}
+	}
+
+	/**
+	 * 실행 시각이 지난 예약을 최대 limit 건 점유 한다.
+	 * skip locked 로 다른 노드가 잠근 행은 건너뛰므로 여러 노드가 나눠서 처리 할 수 있다.
+	 *
+	 * @param nodeId
+	 * @param limit
+	 * @param leaseMillis 점유 유지 시간 (지나면 다른 노드가 다시 가져갈 수 있음)
+	 * @return 점유한 예약 목록
+	 */
+	@Transactional
+	public List<TransferSchedule> claimDue(String nodeId, int limit, long leaseMillis) {
+		List<TransferSchedule> due = scheduleRepository.findDueForUpdate(limit);
+		if (due.isEmpty()) {
+			return due;
+		}
+		List<Integer> ids = new ArrayList<>(due.size());
+		for (TransferSchedule schedule : due) {
+			ids.add(schedule.getId());
+			schedule.setClaimedBy(nodeId);
+		}
+		scheduleRepository.markClaimed(ids, nodeId, new Timestamp(System.currentTimeMillis() + leaseMillis));
+		return due;
+	}
+
+	/**
+	 * 실행 표시 (출금 계좌 샤드의 이체 트랜잭션에 참여)
+	 * 이체가 커밋된 뒤 complete 전에 노드가 죽거나 점유가 만료되면 다른 노드가 같은 실행 시각으로 다시 실행 한다.
+	 * 이 때 실행 표시가 이미 있으므로 이체는 롤백 되고 complete 만 다시 한다.
+	 *
+	 * @param schedule 점유한 예약 (nextRunAt = 이번 실행 시각)
+	 */
+	public void markExecuted(TransferSchedule schedule) {
+		try {
+			scheduleRepository.insertExecution(schedule.getId(), schedule.getNextRunAt());
+		} catch (DuplicateKeyException e) {
+			throw BusinessException.SCHEDULE_ALREADY_RUN;
+		}
+	}
+
+	/**
+	 * 실행 결과 기록 + 다음 실행 시각 계산
+	 *
+	 * @param schedule
+	 * @param success
+	 * @param message
+	 * @return 점유를 잃었으면(점유 만료 후 다른 노드가 가져감) false - 아무 것도 기록하지 않는다.
+	 */
+	@Transactional
+	public boolean complete(TransferSchedule schedule, boolean success, String message) {
+		LocalDateTime current = schedule.getNextRunAt().toLocalDateTime();
+		switch (schedule.getCycle()) {
+		case "DAILY":
+			schedule.setNextRunAt(Timestamp.valueOf(current.plusDays(1)));
+			schedule.setStatus("ACTIVE");
+			break;
+		case "MONTHLY":
+			// 31일 예약은 말일로 맞춘다. (plusMonths 가 말일 보정)
+			LocalDateTime next = current.plusMonths(1);
+			int day = Math.min(schedule.getDayOfMonth(), next.toLocalDate().lengthOfMonth());
+			schedule.setNextRunAt(Timestamp.valueOf(next.withDayOfMonth(day)));
+			schedule.setStatus("ACTIVE");
+			break;
+		default:
+			schedule.setStatus(success ? "DONE" : "FAILED");
+			break;
+		}
+		schedule.setLastResult(message);
+		if (scheduleRepository.complete(schedule) != 1) {
+			// 지금 점유한 노드가 같은 실행 시각으로 다시 실행하고 (실행 표시로 이체는 한 번만) 결과를 기록 한다.
+			return false;
+		}
+		scheduleRepository.insertRun(schedule.getId(), success, message);
+		return true;
+	}
+
+	// DB 가 바빠서 실행하지 못한 예약은 다시 대기 상태로
+	@Transactional
+	public void release(TransferSchedule schedule) {
+		scheduleRepository.release(schedule.getId(), schedule.getClaimedBy());
+	}
+}
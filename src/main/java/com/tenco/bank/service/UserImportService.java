@@ -0,0 +1,333 @@
+package com.tenco.bank.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tenco.bank.dto.ImportResultDTO;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.interfaces.AccountRepository;
+import com.tenco.bank.repository.interfaces.UserRepository;
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.repository.model.User;
+import com.tenco.bank.shard.ShardRouter;
+import com.tenco.bank.utils.Define;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 고객 대량 등록(CSV) 서비스
+ *
+ * CSV 형식 : username,password,fullname[,accountPassword,balance]
+ * - 파일 전체를 메모리에 올리지 않고 chunkSize 행씩 읽어서 처리 한다.
+ * - 비밀번호 해시(BCrypt)는 ForkJoinPool 에서 병렬로 처리 한다.
+ * - user_tb, account_tb 는 청크마다 다중 행 insert 로 등록 한다.
+ * - 청크 insert 가 실패하면 해당 청크만 행 단위로 다시 시도해서 실패 행을 보고 한다.
+ *   (중복 username 은 중복 이름, 그 외는 DB 가 알려준 원인으로 보고)
+ * - 샤딩을 사용하면 샤드 0 이 아닌 계좌는 사용자 트랜잭션이 커밋된 뒤에 샤드별 트랜잭션으로 등록 한다.
+ *   (사용자가 롤백 되면 계좌도 만들지 않는다. 계좌 등록이 실패하면 사용자만 남고 해당 행을 계좌 등록 실패로 보고)
+ */
+@Service
+public class UserImportService {
+
+	private final UserRepository userRepository;
+	private final AccountRepository accountRepository;
+	private final AccountNumberAllocator accountNumberAllocator;
+	private final PasswordEncoder passwordEncoder;
+	private final UsernameFilter usernameFilter;
+	private final ShardRouter shardRouter;
+	private final TransactionTemplate transactionTemplate;
+	private final int chunkSize;
+
+	// 해시 작업 전용 풀 (요청 스레드, 공용 풀과 분리)
+	private final ForkJoinPool hashPool;
+
+	public UserImportService(UserRepository userRepository, AccountRepository accountRepository,
+			AccountNumberAllocator accountNumberAllocator, PasswordEncoder passwordEncoder,
+			UsernameFilter usernameFilter, ShardRouter shardRouter, PlatformTransactionManager transactionManager,
+			@Value("${import.chunk-size:1000}") int chunkSize) {
+		this.userRepository = userRepository;
+		this.accountRepository = accountRepository;
+		this.accountNumberAllocator = accountNumberAllocator;
+		this.passwordEncoder = passwordEncoder;
+		this.usernameFilter = usernameFilter;
+		this.shardRouter = shardRouter;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.chunkSize = chunkSize;
+		this.hashPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		hashPool.shutdown();
+	}
+
+	/**
+	 * CSV 스트림을 읽어서 사용자와 계좌를 등록 한다.
+	 *
+	 * @param in CSV 입력 (UTF-8)
+	 * @return 처리 결과 (행 단위 오류 포함)
+	 */
+	public ImportResultDTO importUsers(InputStream in) {
+		ImportResultDTO result = new ImportResultDTO();
+		long start = System.currentTimeMillis();
+
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+			List<ImportRow> chunk = new ArrayList<>(chunkSize);
+			String line;
+			int lineNumber = 0;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				if (line.isBlank() || (lineNumber == 1 && line.startsWith("username"))) {
+					continue; // 빈 줄, 헤더 생략
+				}
+				result.setTotalRows(result.getTotalRows() + 1);
+
+				ImportRow row = parse(lineNumber, line, result);
+				if (row == null) {
+					continue;
+				}
+				chunk.add(row);
+				if (chunk.size() == chunkSize) {
+					importChunk(chunk, result);
+					chunk = new ArrayList<>(chunkSize);
+				}
+			}
+			if (!chunk.isEmpty()) {
+				importChunk(chunk, result);
+			}
+		} catch (IOException e) {
+			throw new DataDeliveryException("파일을 읽는 중에 오류가 발생했습니다.", HttpStatus.BAD_REQUEST);
+		}
+
+		result.setElapsedMillis(System.currentTimeMillis() - start);
+		return result;
+	}
+
+	// 한 행 파싱 + 유효성 검사, 실패시 오류를 기록하고 null 반환
+	private ImportRow parse(int lineNumber, String line, ImportResultDTO result) {
+		List<String> cols = splitCsv(line);
+		if (cols.size() != 3 && cols.size() != 5) {
+			result.addError(lineNumber, Define.INVALID_INPUT);
+			return null;
+		}
+		ImportRow row = new ImportRow();
+		row.line = lineNumber;
+		row.username = cols.get(0);
+		row.password = cols.get(1);
+		row.fullname = cols.get(2);
+
+		if (row.username.isEmpty()) {
+			result.addError(lineNumber, Define.ENTER_YOUR_USERNAME);
+			return null;
+		}
+		if (row.password.isEmpty()) {
+			result.addError(lineNumber, Define.ENTER_YOUR_PASSWORD);
+			return null;
+		}
+		if (row.fullname.isEmpty()) {
+			result.addError(lineNumber, Define.ENTER_YOUR_FULLNAME);
+			return null;
+		}
+
+		if (cols.size() == 5) {
+			row.accountPassword = cols.get(3);
+			if (row.accountPassword.isEmpty()) {
+				result.addError(lineNumber, Define.ENTER_YOUR_PASSWORD);
+				return null;
+			}
+			try {
+				row.balance = Long.parseLong(cols.get(4));
+			} catch (NumberFormatException e) {
+				result.addError(lineNumber, Define.ENTER_YOUR_BALANCE);
+				return null;
+			}
+			if (row.balance < 0) {
+				result.addError(lineNumber, Define.ENTER_YOUR_BALANCE);
+				return null;
+			}
+		}
+		return row;
+	}
+
+	private void importChunk(List<ImportRow> chunk, ImportResultDTO result) {
+		hashPasswords(chunk);
+		Map<Integer, List<ImportRow>> remote;
+		try {
+			remote = transactionTemplate.execute(status -> insertRows(chunk));
+		} catch (DataAccessException e) {
+			// 청크 단위 실패 (중복 username 등) - 행 단위로 다시 시도해서 실패 행을 찾는다.
+			for (ImportRow row : chunk) {
+				try {
+					Map<Integer, List<ImportRow>> rowRemote = transactionTemplate.execute(status -> insertRows(List.of(row)));
+					result.addSuccess(1 - insertRemoteAccounts(rowRemote, result));
+				} catch (DataAccessException ex) {
+					result.addError(row.line, reasonOf(ex));
+				}
+			}
+			return;
+		}
+		result.addSuccess(chunk.size() - insertRemoteAccounts(remote, result));
+	}
+
+	// 행 단위 실패 사유
+	private static String reasonOf(DataAccessException e) {
+		if (e instanceof DuplicateKeyException) {
+			return "중복 이름을 사용할 수 없습니다.";
+		}
+		return Define.INVALID_INPUT + " " + causeOf(e);
+	}
+
+	// DB 오류 메시지 첫 줄 (SQL 문 제외)
+	private static String causeOf(DataAccessException e) {
+		String message = String.valueOf(e.getMostSpecificCause().getMessage());
+		int end = message.indexOf(';');
+		int newline = message.indexOf('\n');
+		if (newline >= 0 && (end < 0 || newline < end)) {
+			end = newline;
+		}
+		message = end < 0 ? message : message.substring(0, end);
+		return message.length() > 150 ? message.substring(0, 150) : message;
+	}
+
+	// BCrypt 해시는 CPU 작업이므로 병렬로 처리 한다.
+	private void hashPasswords(List<ImportRow> chunk) {
+		try {
+			hashPool.submit(() -> chunk.parallelStream().forEach(row -> {
+				if (row.hashPassword == null) {
+					row.hashPassword = passwordEncoder.encode(row.password);
+				}
+			})).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
+		} catch (ExecutionException e) {
+			throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	// 사용자 + 샤드 0 계좌 등록 (호출한 쪽 트랜잭션), 다른 샤드 계좌는 샤드별로 모아서 반환
+	private Map<Integer, List<ImportRow>> insertRows(List<ImportRow> rows) {
+		List<User> users = new ArrayList<>(rows.size());
+		for (ImportRow row : rows) {
+			users.add(User.builder()
+					.username(row.username)
+					.password(row.hashPassword)
+					.fullname(row.fullname)
+					.build());
+		}
+		userRepository.insertAll(users);
+		for (User user : users) {
+			usernameFilter.add(user.getUsername());
+		}
+
+		// 생성된 user id 로 계좌 등록 (샤드 0 계좌는 사용자와 같은 트랜잭션)
+		Map<String, Integer> numberToShard = new HashMap<>();
+		List<Account> local = new ArrayList<>();
+		Map<Integer, List<ImportRow>> remote = new HashMap<>();
+		for (int i = 0; i < rows.size(); i++) {
+			ImportRow row = rows.get(i);
+			if (row.accountPassword == null) {
+				continue;
+			}
+			row.account = Account.builder()
+					.number(accountNumberAllocator.nextAccountNumber())
+					.password(row.accountPassword)
+					.balance(row.balance)
+					.userId(users.get(i).getId())
+					.build();
+			int shard = shardRouter.chooseShard(row.account.getNumber());
+			numberToShard.put(row.account.getNumber(), shard);
+			if (shard == ShardRouter.GLOBAL) {
+				local.add(row.account);
+			} else {
+				remote.computeIfAbsent(shard, key -> new ArrayList<>()).add(row);
+			}
+		}
+		// 디렉터리는 먼저 커밋 된다. 계좌 insert 가 안 되면 디렉터리만 남고 조회시 계좌 없음으로 처리 된다.
+		shardRouter.register(numberToShard);
+		if (!local.isEmpty()) {
+			accountRepository.insertAll(local);
+		}
+		return remote;
+	}
+
+	/**
+	 * 사용자 트랜잭션 커밋 후 다른 샤드 계좌 등록
+	 *
+	 * @return 계좌 등록에 실패한 행 수 (오류로 보고 - 사용자는 이미 등록 됨)
+	 */
+	private int insertRemoteAccounts(Map<Integer, List<ImportRow>> remote, ImportResultDTO result) {
+		int failed = 0;
+		for (Map.Entry<Integer, List<ImportRow>> entry : remote.entrySet()) {
+			List<ImportRow> rows = entry.getValue();
+			List<Account> accounts = new ArrayList<>(rows.size());
+			for (ImportRow row : rows) {
+				accounts.add(row.account);
+			}
+			try {
+				shardRouter.inTransaction(entry.getKey(), () -> accountRepository.insertAll(accounts));
+			} catch (DataAccessException e) {
+				for (ImportRow row : rows) {
+					result.addError(row.line, Define.FAIL_TO_CREATE_ACCOUNT + " " + causeOf(e));
+				}
+				failed += rows.size();
+			}
+		}
+		return failed;
+	}
+
+	// 큰따옴표로 감싼 값("a,b")을 지원하는 간단한 CSV 분리
+	private static List<String> splitCsv(String line) {
+		List<String> cols = new ArrayList<>(5);
+		StringBuilder sb = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char ch = line.charAt(i);
+			if (ch == '"') {
+				if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					sb.append('"');
+					i++;
+				} else {
+					quoted = !quoted;
+				}
+			} else if (ch == ',' && !quoted) {
+				cols.add(sb.toString().trim());
+				sb.setLength(0);
+			} else {
+				sb.append(ch);
+			}
+		}
+		cols.add(sb.toString().trim());
+		return cols;
+	}
+
+	// CSV 한 행
+	private static class ImportRow {
+		private int line;
+		private String username;
+		private String password;
+		private String hashPassword;
+		private String fullname;
+		private String accountPassword;
+		private Long balance;
+		private Account account; // 등록할 계좌 (계좌 정보가 있는 행만)
+	}
+}
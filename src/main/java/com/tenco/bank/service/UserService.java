@@ -32,6 +32,8 @@ public class UserService {
 	private final UserRepository userRepository;
 	@Autowired
 	private final PasswordEncoder passwordEncoder;
+	@Autowired
+	private final UsernameFilter usernameFilter;
 
 	// 초기 파라미터 가져오는 방법
 	@Value("${file.upload-dir}")
@@ -55,6 +57,8 @@ public class UserService {
 			dto.setPassword(hashPwd);
 
 			result = userRepository.insert(dto.toUser());
+			// 커밋 전에 추가 (롤백 되어도 오탐으로만 남는다)
+			usernameFilter.add(dto.getUsername());
 
 		} catch (DataAccessException e) {
 			throw new DataDeliveryException("중복 이름을 사용할 수 없습니다.", HttpStatus.INTERNAL_SERVER_ERROR);
@@ -142,10 +146,37 @@ public class UserService {
 	
 	/**
 	 * username 사용자 존재 여부 조회
+	 * 항상 DB 를 조회 한다. (Bloom filter 는 다른 노드나 DB 에서 직접 등록된 이름을 모른다)
 	 * @param SignUpDTO
 	 * @return User, null
 	 */
 	public User searcUsername(String username) {
-		return userRepository.findByUsername(username);
+		boolean hint = usernameFilter.mightContain(username);
+		User user = userRepository.findByUsername(username);
+		if (user == null && hint) {
+			usernameFilter.reportFalsePositive();
+		} else if (user != null && hint == false) {
+			// 필터가 모르는 이름 - 이 노드의 필터에 넣어 둔다.
+			usernameFilter.reportFalseNegative(username);
+		}
+		return user;
+	}
+
+	/**
+	 * 회원 가입 화면 - username 사용 가능 여부 (입력할 때마다 호출)
+	 * Bloom filter 에서 확실히 없는 이름이면 DB 를 조회하지 않는다.
+	 * 화면 안내용 힌트일 뿐이며, 실제 중복은 가입시 user_tb 의 unique 제약으로 막는다.
+	 * @param username
+	 * @return true 면 사용 가능
+	 */
+	public boolean isUsernameAvailable(String username) {
+		if (usernameFilter.mightContain(username) == false) {
+			return true;
+		}
+		User user = userRepository.findByUsername(username);
+		if (user == null) {
+			usernameFilter.reportFalsePositive();
+		}
+		return user == null;
 	}
 }
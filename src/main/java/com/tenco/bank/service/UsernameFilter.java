@@ -0,0 +1,167 @@
+package com.tenco.bank.service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.tenco.bank.dto.UsernameFilterStatsDTO;
+import com.tenco.bank.repository.interfaces.UserRepository;
+import com.tenco.bank.utils.BloomFilter;
+
+/**
+ * 사용 중인 username Bloom filter
+ *
+ * - 시작시 user_tb 의 username 을 한 줄씩 읽어서 만든다. (만들기 전에는 항상 DB 조회)
+ * - 회원 등록시 insert 와 같이 추가 한다. (롤백된 이름은 오탐으로만 남는다)
+ * - 노드마다 따로 가지므로 다른 노드에서 가입했거나 DB 에 직접 넣은 이름은 모른다. (거짓 음성)
+ *   그래서 회원 가입 화면의 사용 가능 여부 힌트에만 "확실히 없음" 을 쓰고,
+ *   로그인/소셜 가입 등 실제 판단은 항상 DB 를 조회 한다. (UserService.searcUsername)
+ * - 원소 수가 예상치를 넘거나 오탐률이 목표를 넘으면 백그라운드에서 더 큰 필터로 다시 만든다.
+ *   다시 만드는 동안 추가된 이름은 현재 필터와 새 필터 모두에 넣는다.
+ */
+@Component
+public class UsernameFilter {
+
+	private final UserRepository userRepository;
+	private final double targetFpp;
+	private final long minCapacity;
+
+	private volatile BloomFilter current; // null 이면 아직 준비 전
+	private BloomFilter building; // 다시 만드는 중인 필터 (this 로 보호)
+	private final AtomicLong entries = new AtomicLong();
+	private final AtomicLong buildingEntries = new AtomicLong();
+
+	private final LongAdder queries = new LongAdder();
+	private final LongAdder definiteNegatives = new LongAdder();
+	private final LongAdder falsePositives = new LongAdder();
+	private final LongAdder falseNegatives = new LongAdder();
+	private final LongAdder rebuilds = new LongAdder();
+	private volatile LocalDateTime lastRebuildAt;
+
+	public UsernameFilter(UserRepository userRepository,
+			@Value("${username-filter.fpp:0.01}") double targetFpp,
+			@Value("${username-filter.min-capacity:100000}") long minCapacity) {
+		this.userRepository = userRepository;
+		this.targetFpp = targetFpp;
+		this.minCapacity = minCapacity;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void init() {
+		rebuild();
+	}
+
+	/**
+	 * @param username
+	 * @return false 면 확실히 없는 이름 (DB 조회 불필요)
+	 */
+	public boolean mightContain(String username) {
+		BloomFilter filter = current;
+		if (filter == null) {
+			return true;
+		}
+		queries.increment();
+		if (filter.mightContain(username)) {
+			return true;
+		}
+		definiteNegatives.increment();
+		return false;
+	}
+
+	// 필터는 있다고 했지만 DB 조회 결과 없었던 경우 (오탐 집계)
+	public void reportFalsePositive() {
+		if (current != null) {
+			falsePositives.increment();
+		}
+	}
+
+	// 필터는 없다고 했지만 DB 에 있었던 경우 (다른 노드 등록 등) - 집계 후 필터에 추가
+	public void reportFalseNegative(String username) {
+		if (current != null) {
+			falseNegatives.increment();
+		}
+		add(username);
+	}
+
+	public synchronized void add(String username) {
+		if (current != null) {
+			current.add(username);
+			entries.incrementAndGet();
+		}
+		if (building != null) {
+			building.add(username);
+			buildingEntries.incrementAndGet();
+		}
+	}
+
+	// 예상 원소 수의 75% 를 넘었거나 오탐률이 목표를 넘으면 다시 만든다.
+	@Scheduled(fixedDelayString = "${username-filter.check-interval-ms:60000}")
+	public void rebuildIfNeeded() {
+		BloomFilter filter = current;
+		if (filter == null) {
+			return;
+		}
+		if (entries.get() > filter.expectedInsertions() * 3 / 4 || filter.expectedFpp() > targetFpp) {
+			rebuild();
+		}
+	}
+
+	// user_tb 를 스트리밍 해서 새 필터를 만든 뒤 교체 (조회는 교체 전까지 기존 필터 사용)
+	private void rebuild() {
+		long capacity = Math.max(minCapacity, entries.get() * 2);
+		BloomFilter next = new BloomFilter(capacity, targetFpp);
+		synchronized (this) {
+			building = next;
+			buildingEntries.set(0);
+		}
+		try {
+			userRepository.streamUsernames(resultContext -> {
+				next.add(resultContext.getResultObject());
+				buildingEntries.incrementAndGet();
+			});
+			synchronized (this) {
+				current = next;
+				entries.set(buildingEntries.get());
+			}
+			queries.reset();
+			definiteNegatives.reset();
+			falsePositives.reset();
+			falseNegatives.reset();
+			rebuilds.increment();
+			lastRebuildAt = LocalDateTime.now();
+		} finally {
+			synchronized (this) {
+				building = null;
+			}
+		}
+	}
+
+	public UsernameFilterStatsDTO readStats() {
+		UsernameFilterStatsDTO stats = new UsernameFilterStatsDTO();
+		BloomFilter filter = current;
+		stats.setReady(filter != null);
+		if (filter != null) {
+			stats.setCapacity(filter.expectedInsertions());
+			stats.setBitSize(filter.bitSize());
+			stats.setHashCount(filter.hashCount());
+			stats.setExpectedFpp(filter.expectedFpp());
+		}
+		stats.setEntries(entries.get());
+		stats.setQueries(queries.sum());
+		long negatives = definiteNegatives.sum();
+		long fp = falsePositives.sum();
+		stats.setDefiniteNegatives(negatives);
+		stats.setFalsePositives(fp);
+		stats.setFalseNegatives(falseNegatives.sum());
+		stats.setObservedFpp(fp + negatives == 0 ? 0 : (double) fp / (fp + negatives));
+		stats.setRebuilds(rebuilds.sum());
+		stats.setLastRebuildAt(lastRebuildAt == null ? null : lastRebuildAt.toString());
+		return stats;
+	}
+}
@@ -0,0 +1,219 @@
+package com.tenco.bank.service;
+
+import java.sql.Timestamp;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.tenco.bank.handler.exception.BusinessException;
+import com.tenco.bank.repository.interfaces.AccountRepository;
+import com.tenco.bank.repository.interfaces.HistoryRepository;
+import com.tenco.bank.repository.model.History;
+import com.tenco.bank.repository.model.WithdrawalTotals;
+import com.tenco.bank.shard.ShardRouter;
+import com.tenco.bank.utils.SlidingWindow;
+
+/**
+ * 계좌별 출금/이체 한도 (최근 1시간, 최근 1일)
+ *
+ * memory 모드 (단일 노드)
+ * - 계좌마다 1분 x 60칸, 15분 x 96칸 슬라이딩 윈도우(long 배열)로 출금 합계를 유지
+ * - 시작시 최근 1일 출금 내역으로 윈도우를 재구성
+ * - 검사 통과 금액은 pending 으로 잡아 두었다가 커밋 후 윈도우에 반영 (롤백이면 취소)
+ * - 샤드간 이체의 출금이 취소(환불)되면 출금 시각의 칸에서 다시 뺀다.
+ *
+ * sql 모드 (다중 노드)
+ * - 계좌 행을 잠근 뒤 history_tb 에서 합계를 조회해서 검사 (노드간 일관성 보장)
+ */
+@Service
+public class WithdrawalLimitService {
+
+	private static final long MINUTE = 60_000L;
+	private static final long HOUR = 60 * MINUTE;
+	private static final long DAY = 24 * HOUR;
+
+	private final HistoryRepository historyRepository;
+	private final AccountRepository accountRepository;
+	private final ShardRouter shardRouter;
+	private final long hourlyLimit;
+	private final long dailyLimit;
+	private final boolean sqlMode;
+
+	private final ConcurrentHashMap<Integer, AccountWindow> windows = new ConcurrentHashMap<>();
+
+	public WithdrawalLimitService(HistoryRepository historyRepository, AccountRepository accountRepository,
+			ShardRouter shardRouter,
+			@Value("${limits.hourly:1000000}") long hourlyLimit,
+			@Value("${limits.daily:5000000}") long dailyLimit,
+			@Value("${limits.mode:memory}") String mode) {
+		this.historyRepository = historyRepository;
+		this.accountRepository = accountRepository;
+		this.shardRouter = shardRouter;
+		this.hourlyLimit = hourlyLimit;
+		this.dailyLimit = dailyLimit;
+		this.sqlMode = "sql".equalsIgnoreCase(mode);
+	}
+
+	// 시작시 최근 1일 출금 내역으로 윈도우 재구성
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		if (sqlMode) {
+			return;
+		}
+		Timestamp since = new Timestamp(System.currentTimeMillis() - DAY);
+		for (int shard : shardRouter.shards()) {
+			shardRouter.query(shard, () -> {
+				historyRepository.streamWithdrawalsSince(since, resultContext -> {
+					History history = resultContext.getResultObject();
+					windowOf(history.getWAccountId()).record(history.getCreatedAt().getTime(), history.getAmount());
+				});
+				return null;
+			});
+		}
+	}
+
+	/**
+	 * 한도 검사 (AccountService 트랜잭션 안에서 호출)
+	 *
+	 * @param accountId 출금 계좌 id
+	 * @param amount
+	 */
+	public void checkAndReserve(Integer accountId, long amount) {
+		checkAndReserve(accountId, amount, null);
+	}
+
+	/**
+	 * 한도 검사 - 이 출금의 거래 내역이 이미 들어간 뒤에 검사하는 경우 (이체 프로시저)
+	 *
+	 * @param accountId 출금 계좌 id
+	 * @param amount
+	 * @param recordedHistoryId 이 출금으로 이미 넣은 거래 내역 id (SQL 모드 합계에서 제외), 없으면 null
+	 */
+	public void checkAndReserve(Integer accountId, long amount, Integer recordedHistoryId) {
+		if (sqlMode) {
+			checkBySql(accountId, amount, recordedHistoryId);
+			return;
+		}
+
+		long now = System.currentTimeMillis();
+		AccountWindow window = windowOf(accountId);
+		// 정리(evict)된 윈도우를 잡았다면 새 윈도우로 다시 시도
+		while (window.reserve(now, amount) == false) {
+			window = windowOf(accountId);
+		}
+		AccountWindow reserved = window;
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					reserved.complete(System.currentTimeMillis(), amount, status == STATUS_COMMITTED);
+				}
+			});
+		} else {
+			reserved.complete(now, amount, true);
+		}
+	}
+
+	/**
+	 * 취소된 출금을 한도에서 뺀다. (환불 트랜잭션 안에서 호출, 커밋 후 반영)
+	 * sql 모드는 합계 조회에서 환불된 출금을 제외 하므로 할 일이 없다.
+	 *
+	 * @param accountId 출금 계좌 id
+	 * @param amount
+	 * @param debitedAt 취소한 출금 거래 내역의 시각
+	 */
+	public void release(Integer accountId, long amount, Timestamp debitedAt) {
+		if (sqlMode) {
+			return;
+		}
+		long time = debitedAt.getTime();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					windowOf(accountId).record(time, -amount);
+				}
+			});
+		} else {
+			windowOf(accountId).record(time, -amount);
+		}
+	}
+
+	// 다중 노드 - 계좌 행 잠금으로 같은 계좌의 검사를 직렬화 한 뒤 DB 합계로 검사
+	private void checkBySql(Integer accountId, long amount, Integer recordedHistoryId) {
+		long now = System.currentTimeMillis();
+		accountRepository.findByIdForUpdate(accountId);
+		WithdrawalTotals totals = historyRepository.sumWithdrawals(accountId, new Timestamp(now - HOUR),
+				new Timestamp(now - DAY), recordedHistoryId);
+		if (totals.getHourly() + amount > hourlyLimit) {
+			throw BusinessException.EXCEED_HOURLY_LIMIT;
+		}
+		if (totals.getDaily() + amount > dailyLimit) {
+			throw BusinessException.EXCEED_DAILY_LIMIT;
+		}
+	}
+
+	// 최근 1일 동안 출금이 없는 계좌의 윈도우 정리 (메모리 회수)
+	@Scheduled(fixedDelay = 10 * 60_000L)
+	public void evictIdle() {
+		long now = System.currentTimeMillis();
+		windows.forEach((accountId, window) -> {
+			if (window.tryEvict(now)) {
+				windows.remove(accountId, window);
+			}
+		});
+	}
+
+	private AccountWindow windowOf(Integer accountId) {
+		return windows.computeIfAbsent(accountId, key -> new AccountWindow());
+	}
+
+	// 계좌 하나의 출금 윈도우 (1시간 / 1일)
+	private class AccountWindow {
+		private final SlidingWindow hourly = new SlidingWindow(MINUTE, 60);
+		private final SlidingWindow daily = new SlidingWindow(15 * MINUTE, 96);
+		private long pending; // 검사는 통과 했지만 아직 커밋되지 않은 금액
+		private boolean evicted;
+
+		// 정리된 윈도우면 false (호출한 쪽에서 새 윈도우로 재시도)
+		private synchronized boolean reserve(long now, long amount) {
+			if (evicted) {
+				return false;
+			}
+			if (hourly.total(now) + pending + amount > hourlyLimit) {
+				throw BusinessException.EXCEED_HOURLY_LIMIT;
+			}
+			if (daily.total(now) + pending + amount > dailyLimit) {
+				throw BusinessException.EXCEED_DAILY_LIMIT;
+			}
+			pending += amount;
+			return true;
+		}
+
+		private synchronized void complete(long time, long amount, boolean committed) {
+			pending -= amount;
+			if (committed) {
+				record(time, amount);
+			}
+		}
+
+		private synchronized void record(long time, long amount) {
+			hourly.add(time, amount);
+			daily.add(time, amount);
+		}
+
+		private synchronized boolean tryEvict(long now) {
+			if (pending == 0 && daily.total(now) == 0) {
+				evicted = true;
+			}
+			return evicted;
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package com.tenco.bank.shard;
+
+/**
+ * 현재 스레드가 사용할 샤드 번호 (ShardRoutingDataSource 가 커넥션을 꺼낼 때 참조)
+ *
+ * 직접 쓰지 말고 ShardRouter 의 bind / query / inTransaction 을 통해서 사용한다.
+ * (값 복원을 빠뜨리면 다른 요청이 엉뚱한 샤드로 간다)
+ */
+public final class ShardContext {
+
+	private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+	private ShardContext() {
+	}
+
+	// 지정된 샤드가 없으면 null (샤드 0 사용)
+	public static Integer get() {
+		return CURRENT.get();
+	}
+
+	public static void set(int shard) {
+		CURRENT.set(shard);
+	}
+
+	// 이전 값으로 되돌린다. (null 이면 제거)
+	public static void restore(Integer previous) {
+		if (previous == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(previous);
+		}
+	}
+}
@@ -0,0 +1,266 @@
+package com.tenco.bank.shard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tenco.bank.repository.interfaces.AccountDirectoryRepository;
+
+/**
+ * 계좌 샤드 라우팅 (account_tb, history_tb, 잔액 분할 슬롯, 이자 체크포인트)
+ *
+ * - 샤드 0 : 전역 테이블(user, 계좌 번호 시퀀스, 예약 이체, 계좌 디렉터리, 이체 saga) + 샤드 0 계좌
+ * - 계좌 id : 샤드 i 는 i * accountIdSpan + 1 ~ (i + 1) * accountIdSpan 구간을 쓴다. (id 만으로 샤드 계산)
+ * - 계좌 번호 : 계좌 디렉터리(account_directory_tb)에서 찾고 메모리에 캐시 한다. (번호 -> 샤드는 바뀌지 않음)
+ * - 새 계좌 : 번호 해시로 샤드를 정한다.
+ *
+ * sharding.enabled=false 면 모든 샤드 번호가 0 이고 query 는 호출한 쪽 트랜잭션에서 그대로 실행 된다.
+ */
+@Component
+public class ShardRouter {
+
+	public static final int GLOBAL = 0;
+
+	// 트랜잭션에 고정된 샤드 (TransactionSynchronizationManager 리소스 키)
+	private static final Object BOUND_SHARD = new Object();
+
+	private final AccountDirectoryRepository directoryRepository;
+	private final TransactionTemplate newTransaction;
+	private final TransactionTemplate noTransaction;
+	private final TransactionTemplate snapshotTransaction;
+	private final boolean enabled;
+	private final int accountIdSpan;
+	private final int directoryCacheSize;
+	private final List<Integer> shards;
+
+	private final ConcurrentHashMap<String, Integer> directoryCache = new ConcurrentHashMap<>();
+
+	public ShardRouter(AccountDirectoryRepository directoryRepository, PlatformTransactionManager transactionManager,
+			ShardingProperties properties) {
+		this.directoryRepository = directoryRepository;
+		this.newTransaction = new TransactionTemplate(transactionManager);
+		this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.noTransaction = new TransactionTemplate(transactionManager);
+		this.noTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+		this.snapshotTransaction = new TransactionTemplate(transactionManager);
+		this.snapshotTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+		this.snapshotTransaction.setReadOnly(true);
+		this.enabled = properties.isEnabled();
+		this.accountIdSpan = properties.getAccountIdSpan();
+		this.directoryCacheSize = properties.getDirectoryCacheSize();
+
+		int count = enabled ? Math.max(1, properties.getShards().size()) : 1;
+		List<Integer> list = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			list.add(i);
+		}
+		this.shards = Collections.unmodifiableList(list);
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	// 전체 샤드 번호 (비활성이면 [0])
+	public List<Integer> shards() {
+		return shards;
+	}
+
+	// 샤드의 첫 계좌 id (배치 작업의 id 구간 시작)
+	public int firstAccountId(int shard) {
+		return shard * accountIdSpan + 1;
+	}
+
+	/**
+	 * 계좌 id 로 샤드 계산
+	 *
+	 * @param accountId
+	 * @return 샤드 번호, 없는 샤드 구간이면 -1
+	 */
+	public int shardOfAccountId(Integer accountId) {
+		if (!enabled) {
+			return GLOBAL;
+		}
+		if (accountId == null || accountId < 1) {
+			return -1;
+		}
+		int shard = (accountId - 1) / accountIdSpan;
+		return shard < shards.size() ? shard : -1;
+	}
+
+	/**
+	 * 계좌 번호로 샤드 조회 (디렉터리 캐시 -> 샤드 0 조회)
+	 * 트랜잭션 밖에서 조회하므로 호출한 쪽 트랜잭션의 샤드에 영향을 주지 않는다.
+	 *
+	 * @param number
+	 * @return 샤드 번호, 없는 계좌면 -1
+	 */
+	public int shardOfNumber(String number) {
+		if (!enabled) {
+			return GLOBAL;
+		}
+		if (number == null) {
+			return -1;
+		}
+		Integer shard = directoryCache.get(number);
+		if (shard == null) {
+			shard = query(GLOBAL, () -> directoryRepository.findShard(number));
+			if (shard == null) {
+				return -1; // 없는 계좌는 캐시 하지 않는다. (곧 만들어질 수 있음)
+			}
+			cache(number, shard);
+		}
+		return shard;
+	}
+
+	/**
+	 * 계좌 번호의 샤드에서 조회 (없는 계좌면 null)
+	 *
+	 * @param number
+	 * @param finder 예) accountRepository::findByNumber
+	 * @return
+	 */
+	public <T> T queryByNumber(String number, Function<String, T> finder) {
+		int shard = shardOfNumber(number);
+		if (shard < 0) {
+			return null;
+		}
+		return query(shard, () -> finder.apply(number));
+	}
+
+	// 새 계좌 번호를 둘 샤드
+	public int chooseShard(String number) {
+		if (!enabled) {
+			return GLOBAL;
+		}
+		return Math.floorMod(number.hashCode(), shards.size());
+	}
+
+	/**
+	 * 계좌 디렉터리 등록 (샤드 0, 별도 트랜잭션으로 바로 커밋)
+	 * 계좌 insert 보다 먼저 등록 한다. 계좌 insert 가 실패하면 디렉터리만 남지만 조회시 계좌 없음으로 처리 된다.
+	 *
+	 * @param numberToShard 계좌 번호 -> 샤드
+	 */
+	public void register(Map<String, Integer> numberToShard) {
+		if (!enabled || numberToShard.isEmpty()) {
+			return;
+		}
+		inTransaction(GLOBAL, () -> directoryRepository.insertAll(numberToShard));
+		numberToShard.forEach(this::cache);
+	}
+
+	/**
+	 * 현재 트랜잭션을 샤드에 고정 한다. 트랜잭션의 첫 쿼리 전에 호출 해야 한다.
+	 * 트랜잭션이 끝나면(또는 중첩 트랜잭션으로 잠시 중단되면) 이전 샤드로 돌아간다.
+	 *
+	 * @param shard
+	 */
+	public void bind(int shard) {
+		if (!enabled) {
+			return;
+		}
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			throw new IllegalStateException("트랜잭션 안에서만 샤드를 고정할 수 있습니다.");
+		}
+		Integer bound = (Integer) TransactionSynchronizationManager.getResource(BOUND_SHARD);
+		if (bound != null) {
+			if (bound != shard) {
+				throw new IllegalStateException("한 트랜잭션에서 여러 샤드를 사용할 수 없습니다.");
+			}
+			return;
+		}
+
+		Integer previous = ShardContext.get();
+		ShardContext.set(shard);
+		TransactionSynchronizationManager.bindResource(BOUND_SHARD, shard);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void suspend() {
+				TransactionSynchronizationManager.unbindResource(BOUND_SHARD);
+				ShardContext.restore(previous);
+			}
+
+			@Override
+			public void resume() {
+				TransactionSynchronizationManager.bindResource(BOUND_SHARD, shard);
+				ShardContext.set(shard);
+			}
+
+			@Override
+			public void afterCompletion(int status) {
+				TransactionSynchronizationManager.unbindResourceIfPossible(BOUND_SHARD);
+				ShardContext.restore(previous);
+			}
+		});
+	}
+
+	/**
+	 * 샤드 하나에서 트랜잭션 없이 실행 (호출한 쪽 트랜잭션은 잠시 중단)
+	 * 비활성이면 호출한 쪽 트랜잭션에서 그대로 실행 한다.
+	 *
+	 * @param shard
+	 * @param work
+	 * @return
+	 */
+	public <T> T query(int shard, Supplier<T> work) {
+		if (!enabled) {
+			return work.get();
+		}
+		return noTransaction.execute(status -> runOn(shard, work));
+	}
+
+	/**
+	 * 샤드 하나에서 새 트랜잭션으로 실행 후 커밋
+	 *
+	 * @param shard
+	 * @param work
+	 * @return
+	 */
+	public <T> T inTransaction(int shard, Supplier<T> work) {
+		return newTransaction.execute(status -> runOn(shard, work));
+	}
+
+	/**
+	 * 샤드 하나에서 읽기 전용 REPEATABLE READ 트랜잭션으로 실행
+	 * 여러 번 조회해도 같은 시점의 데이터를 읽는다. (InnoDB 일관된 읽기 스냅샷)
+	 * 샤딩 비활성이어도 항상 새 트랜잭션으로 실행 한다.
+	 *
+	 * @param shard
+	 * @param work
+	 * @return
+	 */
+	public <T> T snapshot(int shard, Supplier<T> work) {
+		return snapshotTransaction.execute(status -> runOn(shard, work));
+	}
+
+	// 트랜잭션 중단(suspend)이 끝난 뒤에 샤드를 지정해야 하므로 템플릿 콜백 안에서 호출
+	private <T> T runOn(int shard, Supplier<T> work) {
+		Integer previous = ShardContext.get();
+		ShardContext.set(shard);
+		try {
+			return work.get();
+		} finally {
+			ShardContext.restore(previous);
+		}
+	}
+
+	private void cache(String number, Integer shard) {
+		if (directoryCache.size() >= directoryCacheSize) {
+			directoryCache.clear(); // 번호 -> 샤드는 불변이라 비워도 다시 조회하면 된다.
+		}
+		directoryCache.put(number, shard);
+	}
+}
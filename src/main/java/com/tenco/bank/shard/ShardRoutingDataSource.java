@@ -0,0 +1,34 @@
+package com.tenco.bank.shard;
+
+import java.io.Closeable;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * ShardContext 의 샤드 번호로 커넥션을 꺼낼 DataSource 를 고른다.
+ *
+ * 트랜잭션은 시작할 때가 아니라 첫 쿼리에서 커넥션을 꺼내야 하므로
+ * LazyConnectionDataSourceProxy 로 감싸서 사용한다. (ShardingConfig)
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		Integer shard = ShardContext.get();
+		return shard == null ? ShardRouter.GLOBAL : shard;
+	}
+
+	// 종료시 샤드별 커넥션 풀 정리
+	@Override
+	public void close() {
+		for (DataSource dataSource : getResolvedDataSources().values()) {
+			if (dataSource instanceof HikariDataSource hikari) {
+				hikari.close();
+			}
+		}
+	}
+}
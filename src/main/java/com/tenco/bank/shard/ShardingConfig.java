@@ -0,0 +1,113 @@
+package com.tenco.bank.shard;
+
+import java.sql.DatabaseMetaData;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * 샤딩 DataSource 구성 (sharding.enabled=true 일 때만)
+ *
+ * - 샤드마다 커넥션 풀(Hikari)을 만들고 ShardRoutingDataSource 로 묶는다.
+ * - 트랜잭션 시작 시점이 아니라 첫 쿼리에서 샤드를 고르도록 LazyConnectionDataSourceProxy 로 감싼다.
+ * - sharding.init-schema=true 면 샤드마다 스키마를 만들고 계좌 id 시작 값을 샤드 구간으로 맞춘다.
+ *   (spring.sql.init 은 샤드 0 에만 실행 되므로 never 로 둔다)
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+	@Bean
+	@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+	public ShardRoutingDataSource shardRoutingDataSource(ShardingProperties properties) {
+		List<ShardingProperties.Shard> shards = properties.getShards();
+		if (shards.isEmpty()) {
+			throw new IllegalStateException("sharding.shards 설정이 없습니다.");
+		}
+		if ((long) shards.size() * properties.getAccountIdSpan() > Integer.MAX_VALUE) {
+			throw new IllegalStateException("샤드 수 x sharding.account-id-span 이 계좌 id 범위를 넘습니다.");
+		}
+
+		Map<Object, Object> targets = new HashMap<>();
+		for (int shard = 0; shard < shards.size(); shard++) {
+			ShardingProperties.Shard config = shards.get(shard);
+			DataSourceBuilder<HikariDataSource> builder = DataSourceBuilder.create()
+					.type(HikariDataSource.class)
+					.url(config.getUrl())
+					.username(config.getUsername())
+					.password(config.getPassword());
+			if (config.getDriverClassName() != null) {
+				builder.driverClassName(config.getDriverClassName()); // 없으면 url 로 드라이버 결정
+			}
+			HikariDataSource dataSource = builder.build();
+			dataSource.setPoolName("shard-" + shard);
+			dataSource.setMaximumPoolSize(config.getMaximumPoolSize());
+			if (properties.isInitSchema()) {
+				initSchema(shard, dataSource, properties.getAccountIdSpan());
+			}
+			targets.put(shard, dataSource);
+		}
+
+		ShardRoutingDataSource routing = new ShardRoutingDataSource();
+		routing.setTargetDataSources(targets);
+		routing.setDefaultTargetDataSource(targets.get(ShardRouter.GLOBAL));
+		routing.setLenientFallback(false);
+		return routing;
+	}
+
+	@Bean
+	@Primary
+	@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+	public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+		return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+	}
+
+	// 샤드 스키마 생성 + 계좌 id 구간 시작 값 (샤드 0 은 기존 데이터와 계좌 디렉터리도 채운다)
+	private void initSchema(int shard, DataSource dataSource, int accountIdSpan) {
+		ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource("db/table.sql"));
+		if (shard == ShardRouter.GLOBAL) {
+			populator.addScript(new ClassPathResource("db/data.sql"));
+		}
+		populator.execute(dataSource);
+
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		if (shard == ShardRouter.GLOBAL) {
+			jdbcTemplate.update("insert into account_directory_tb(number, shard) "
+					+ "select a.number, 0 from account_tb as a "
+					+ "where not exists (select 1 from account_directory_tb as d where d.number = a.number)");
+			return;
+		}
+		long start = (long) shard * accountIdSpan + 1;
+		if (isH2(dataSource)) {
+			jdbcTemplate.execute("alter table account_tb alter column id restart with " + start);
+		} else {
+			jdbcTemplate.execute("alter table account_tb auto_increment = " + start);
+		}
+	}
+
+	private boolean isH2(DataSource dataSource) {
+		try {
+			String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+			return "H2".equalsIgnoreCase(product);
+		} catch (MetaDataAccessException e) {
+			throw new IllegalStateException("샤드 DB 정보를 읽을 수 없습니다.", e);
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package com.tenco.bank.shard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * 샤딩 설정 (application.yml sharding.*)
+ *
+ * shards 의 순서가 샤드 번호 (0 번 샤드는 전역 테이블도 가진다)
+ */
+@Data
+@ConfigurationProperties(prefix = "sharding")
+public class ShardingProperties {
+
+	private boolean enabled;
+	private int accountIdSpan = 100_000_000;
+	private int directoryCacheSize = 1_000_000;
+	private boolean initSchema;
+	private List<Shard> shards = new ArrayList<>();
+
+	@Data
+	public static class Shard {
+		private String url;
+		private String username;
+		private String password;
+		private String driverClassName;
+		private int maximumPoolSize = 10;
+	}
+}
@@ -0,0 +1,67 @@
+package com.tenco.bank.thumbnail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * RestTemplate 으로 썸네일 가져오기
+ *
+ * - 리다이렉트는 따라가지 않는다. (허용 호스트 밖으로 나가지 않도록)
+ * - maxBytes 를 넘으면 끝까지 읽지 않고 실패 처리 한다.
+ */
+@Component
+public class RestTemplateThumbnailClient implements ThumbnailClient {
+
+	private final RestTemplate restTemplate;
+
+	public RestTemplateThumbnailClient(@Value("${thumbnail.connect-timeout-ms:2000}") long connectTimeoutMs,
+			@Value("${thumbnail.read-timeout-ms:5000}") long readTimeoutMs) {
+		SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory() {
+			@Override
+			protected void prepareConnection(HttpURLConnection connection, String httpMethod) throws IOException {
+				super.prepareConnection(connection, httpMethod);
+				connection.setInstanceFollowRedirects(false);
+			}
+		};
+		factory.setConnectTimeout(Duration.ofMillis(connectTimeoutMs));
+		factory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+		this.restTemplate = new RestTemplate(factory);
+	}
+
+	@Override
+	public Image fetch(URI url, int maxBytes) throws IOException {
+		try {
+			return restTemplate.execute(url, HttpMethod.GET, request -> request.getHeaders().setAccept(
+					List.of(MediaType.parseMediaType("image/*"))), response -> {
+				if (response.getStatusCode().is2xxSuccessful() == false) {
+					throw new IOException("썸네일 응답 코드 " + response.getStatusCode().value());
+				}
+				if (response.getHeaders().getContentLength() > maxBytes) {
+					throw new IOException("썸네일 크기 초과 " + response.getHeaders().getContentLength());
+				}
+				MediaType contentType = response.getHeaders().getContentType();
+				try (InputStream in = response.getBody()) {
+					byte[] body = in.readNBytes(maxBytes + 1);
+					if (body.length > maxBytes) {
+						throw new IOException("썸네일 크기 초과");
+					}
+					return new Image(body, contentType == null ? null : contentType.toString());
+				}
+			});
+		} catch (RestClientException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+	}
+}
@@ -0,0 +1,293 @@
+package com.tenco.bank.thumbnail;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.tenco.bank.dto.ThumbnailStatsDTO;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.utils.Define;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 원격(카카오) 프로필 썸네일 디스크 캐시
+ *
+ * - 주소의 sha-256 을 키로 {dir}/{key}.{확장자} 에 한 번만 받아 둔다.
+ * - 전체 크기가 max-bytes 를 넘으면 오래 사용하지 않은 것부터 지운다. (접근 순서 LinkedHashMap)
+ * - 같은 주소를 동시에 요청하면 한 요청만 가져오고 나머지는 그 결과를 기다린다.
+ * - 시작시 디렉터리를 읽어 목록을 다시 만든다. (재시작 후에는 받은 시각 순서로 시작)
+ * - allowed-hosts 밖의 주소는 가져오지 않는다.
+ */
+@Slf4j
+@Service
+public class ThumbnailCache {
+
+	private static final Map<String, String> EXTENSIONS = Map.of(
+			"image/jpeg", "jpg",
+			"image/png", "png",
+			"image/gif", "gif",
+			"image/webp", "webp");
+
+	private final ThumbnailClient client;
+	private final Path dir;
+	private final long maxBytes;
+	private final int maxImageBytes;
+	private final List<String> allowedHosts;
+	private final long waitTimeoutMs;
+
+	private final LinkedHashMap<String, Thumbnail> index = new LinkedHashMap<>(16, 0.75f, true); // this 로 보호
+	private long totalBytes; // this 로 보호
+	private final Map<String, CompletableFuture<Thumbnail>> inFlight = new ConcurrentHashMap<>();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder coalesced = new LongAdder();
+	private final LongAdder fetchFailures = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	public ThumbnailCache(ThumbnailClient client,
+			@Value("${thumbnail.dir:./thumbnail-cache}") String dir,
+			@Value("${thumbnail.max-bytes:104857600}") long maxBytes,
+			@Value("${thumbnail.max-image-bytes:1048576}") int maxImageBytes,
+			@Value("${thumbnail.allowed-hosts:kakaocdn.net}") List<String> allowedHosts,
+			@Value("${thumbnail.connect-timeout-ms:2000}") long connectTimeoutMs,
+			@Value("${thumbnail.read-timeout-ms:5000}") long readTimeoutMs) {
+		this.client = client;
+		this.dir = Path.of(dir);
+		this.maxBytes = maxBytes;
+		this.maxImageBytes = maxImageBytes;
+		this.allowedHosts = allowedHosts;
+		this.waitTimeoutMs = connectTimeoutMs + readTimeoutMs;
+	}
+
+	@PostConstruct
+	public void load() throws IOException {
+		Files.createDirectories(dir);
+		List<Path> files = new ArrayList<>();
+		try (Stream<Path> list = Files.list(dir)) {
+			list.forEach(files::add);
+		}
+		files.sort(Comparator.comparingLong(ThumbnailCache::lastModified));
+		synchronized (this) {
+			for (Path file : files) {
+				String name = file.getFileName().toString();
+				int dot = name.lastIndexOf('.');
+				String contentType = dot < 0 ? null : contentTypeOf(name.substring(dot + 1));
+				if (contentType == null) {
+					Files.deleteIfExists(file); // 받다가 멈춘 임시 파일
+					continue;
+				}
+				long size = Files.size(file);
+				index.put(name.substring(0, dot), new Thumbnail(name.substring(0, dot), file, size, contentType));
+				totalBytes += size;
+			}
+			evict();
+		}
+	}
+
+	/**
+	 * @param url 원격 썸네일 주소
+	 * @return 캐시된 썸네일, 가져오지 못했으면 null (호출한 쪽에서 원본 주소로 보낸다)
+	 */
+	public Thumbnail get(String url) {
+		URI uri = parse(url);
+		String key = keyOf(uri);
+		Thumbnail cached = lookup(key);
+		if (cached != null) {
+			hits.increment();
+			return cached;
+		}
+
+		CompletableFuture<Thumbnail> mine = new CompletableFuture<>();
+		CompletableFuture<Thumbnail> running = inFlight.putIfAbsent(key, mine);
+		if (running != null) {
+			coalesced.increment();
+			return await(running);
+		}
+		try {
+			// 앞선 요청이 방금 끝나서 목록에 들어갔을 수 있다.
+			cached = lookup(key);
+			if (cached == null) {
+				misses.increment();
+				cached = download(key, uri);
+			}
+			mine.complete(cached);
+			return cached;
+		} catch (IOException | RuntimeException e) {
+			fetchFailures.increment();
+			log.warn("썸네일 가져오기 실패 : {} {}", uri, e.toString());
+			mine.complete(null);
+			return null;
+		} finally {
+			inFlight.remove(key, mine);
+		}
+	}
+
+	public ThumbnailStatsDTO readStats() {
+		ThumbnailStatsDTO stats = new ThumbnailStatsDTO();
+		synchronized (this) {
+			stats.setEntries(index.size());
+			stats.setTotalBytes(totalBytes);
+		}
+		stats.setMaxBytes(maxBytes);
+		stats.setInFlight(inFlight.size());
+		stats.setHits(hits.sum());
+		stats.setMisses(misses.sum());
+		stats.setCoalesced(coalesced.sum());
+		stats.setFetchFailures(fetchFailures.sum());
+		stats.setEvictions(evictions.sum());
+		return stats;
+	}
+
+	// 허용 호스트의 http(s) 주소만 (그 외는 잘못된 요청)
+	private URI parse(String url) {
+		try {
+			URI uri = new URI(url);
+			String scheme = uri.getScheme();
+			String host = uri.getHost();
+			if (("http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme)) && host != null
+					&& uri.getUserInfo() == null && isAllowed(host.toLowerCase())) {
+				return uri;
+			}
+		} catch (URISyntaxException e) {
+			// 아래에서 처리
+		}
+		throw new DataDeliveryException(Define.INVALID_THUMBNAIL_URL, HttpStatus.BAD_REQUEST);
+	}
+
+	private boolean isAllowed(String host) {
+		for (String allowed : allowedHosts) {
+			if (host.equals(allowed) || host.endsWith("." + allowed)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private synchronized Thumbnail lookup(String key) {
+		Thumbnail thumbnail = index.get(key);
+		if (thumbnail != null && Files.exists(thumbnail.file()) == false) {
+			index.remove(key); // 밖에서 지워진 파일
+			totalBytes -= thumbnail.size();
+			return null;
+		}
+		return thumbnail;
+	}
+
+	private Thumbnail await(CompletableFuture<Thumbnail> running) {
+		try {
+			return running.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		} catch (ExecutionException | TimeoutException e) {
+			return null;
+		}
+	}
+
+	// 임시 파일에 받고 이름을 바꿔서 넣는다. (반쯤 쓰인 파일을 내려주지 않도록)
+	private Thumbnail download(String key, URI uri) throws IOException {
+		ThumbnailClient.Image image = client.fetch(uri, maxImageBytes);
+		String contentType = image.contentType() == null ? null
+				: image.contentType().split(";")[0].trim().toLowerCase();
+		String extension = contentType == null ? null : EXTENSIONS.get(contentType);
+		if (extension == null) {
+			throw new IOException("이미지가 아닌 응답 " + image.contentType());
+		}
+		Path temp = Files.createTempFile(dir, key, ".tmp");
+		Path file = dir.resolve(key + "." + extension);
+		try {
+			Files.write(temp, image.body());
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+
+		Thumbnail thumbnail = new Thumbnail(key, file, image.body().length, contentType);
+		synchronized (this) {
+			Thumbnail old = index.put(key, thumbnail);
+			if (old != null) {
+				totalBytes -= old.size();
+			}
+			totalBytes += thumbnail.size();
+			evict();
+		}
+		return thumbnail;
+	}
+
+	// 오래 사용하지 않은 것부터 (방금 넣은 하나는 남긴다) - this 로 보호
+	private void evict() {
+		Iterator<Thumbnail> eldest = index.values().iterator();
+		while (totalBytes > maxBytes && index.size() > 1) {
+			Thumbnail thumbnail = eldest.next();
+			eldest.remove();
+			totalBytes -= thumbnail.size();
+			evictions.increment();
+			try {
+				Files.deleteIfExists(thumbnail.file());
+			} catch (IOException e) {
+				// 내려주는 중이라 못 지운 파일은 다음 시작시 목록에 다시 잡힌다.
+			}
+		}
+	}
+
+	private static String keyOf(URI uri) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(uri.toString().getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String contentTypeOf(String extension) {
+		for (Map.Entry<String, String> entry : EXTENSIONS.entrySet()) {
+			if (entry.getValue().equals(extension)) {
+				return entry.getKey();
+			}
+		}
+		return null;
+	}
+
+	private static long lastModified(Path file) {
+		try {
+			return Files.getLastModifiedTime(file).toMillis();
+		} catch (IOException e) {
+			return 0;
+		}
+	}
+
+	/**
+	 * 디스크에 받아 둔 썸네일
+	 *
+	 * @param key 주소의 sha-256 (ETag 로 사용)
+	 */
+	public record Thumbnail(String key, Path file, long size, String contentType) {
+	}
+}
@@ -0,0 +1,23 @@
+package com.tenco.bank.thumbnail;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * 원격 썸네일 가져오기
+ *
+ * 기본 구현은 RestTemplateThumbnailClient, 테스트에서는 로컬 stub 구현을 @Primary 빈으로 등록해서 바꿔 쓴다.
+ */
+public interface ThumbnailClient {
+
+	/**
+	 * @param url      원격 이미지 주소 (허용 호스트 검사는 ThumbnailCache 에서 끝난 상태)
+	 * @param maxBytes 본문이 이보다 크면 실패
+	 * @return 이미지 본문과 Content-Type
+	 * @throws IOException 응답이 2xx 가 아니거나 읽기 실패, 크기 초과
+	 */
+	Image fetch(URI url, int maxBytes) throws IOException;
+
+	record Image(byte[] body, String contentType) {
+	}
+}
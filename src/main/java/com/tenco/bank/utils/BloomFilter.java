@@ -0,0 +1,95 @@
+package com.tenco.bank.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 문자열 Bloom filter (스레드 안전)
+ *
+ * - mightContain 이 false 면 확실히 없는 값, true 면 있을 수도 있는 값
+ * - 비트 배열은 AtomicLongArray 라 add / mightContain 을 잠금 없이 동시에 호출 할 수 있다.
+ * - 해시 함수 k 개는 64비트 해시 하나를 둘로 나눠 h1 + i * h2 로 만든다. (double hashing)
+ */
+public class BloomFilter {
+
+	private final AtomicLongArray bits;
+	private final long bitSize;
+	private final int hashCount;
+	private final long expectedInsertions;
+
+	/**
+	 * @param expectedInsertions 예상 원소 수
+	 * @param fpp                목표 오탐률 (예: 0.01)
+	 */
+	public BloomFilter(long expectedInsertions, double fpp) {
+		long n = Math.max(1, expectedInsertions);
+		long m = (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+		this.bitSize = Math.max(64, (m + 63) / 64 * 64);
+		this.hashCount = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+		this.bits = new AtomicLongArray((int) (bitSize / 64));
+		this.expectedInsertions = n;
+	}
+
+	public void add(String value) {
+		long hash = hash64(value);
+		long h1 = hash;
+		long h2 = hash >>> 32 | hash << 32;
+		for (int i = 0; i < hashCount; i++) {
+			long index = Math.floorMod(h1 + i * h2, bitSize);
+			int word = (int) (index >>> 6);
+			long mask = 1L << index;
+			long current = bits.get(word);
+			while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+				current = bits.get(word);
+			}
+		}
+	}
+
+	public boolean mightContain(String value) {
+		long hash = hash64(value);
+		long h1 = hash;
+		long h2 = hash >>> 32 | hash << 32;
+		for (int i = 0; i < hashCount; i++) {
+			long index = Math.floorMod(h1 + i * h2, bitSize);
+			if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// 현재 채워진 비트 비율로 계산한 오탐률 추정값 (fill ratio ^ k)
+	public double expectedFpp() {
+		long set = 0;
+		for (int i = 0; i < bits.length(); i++) {
+			set += Long.bitCount(bits.get(i));
+		}
+		return Math.pow((double) set / bitSize, hashCount);
+	}
+
+	public long bitSize() {
+		return bitSize;
+	}
+
+	public int hashCount() {
+		return hashCount;
+	}
+
+	public long expectedInsertions() {
+		return expectedInsertions;
+	}
+
+	// FNV-1a 64 + murmur3 fmix64 (char 단위)
+	private static long hash64(String value) {
+		long h = 0xcbf29ce484222325L;
+		for (int i = 0; i < value.length(); i++) {
+			h ^= value.charAt(i);
+			h *= 0x100000001b3L;
+		}
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+}
@@ -4,6 +4,9 @@ package com.tenco.bank.utils;
 public class Define {
 	//  상수
 	public static final String PRINCIPAL = "principal";
+	public static final String ROLE_USER = "USER";
+	public static final String ROLE_ADMIN = "ADMIN";
+	public static final String ROLE_CHANNEL = "CHANNEL";
 	
 	// 이미지 관련
 	public static final String UPLOAD_FILE_DERECTORY = "C:\\work_spring\\upload/";
@@ -16,6 +19,24 @@ public class Define {
 	public static final String FAIL_ACCOUNT_PASSWROD = "계좌 비밀번호가 틀렸습니다.";
 	public static final String LACK_Of_BALANCE = "출금 잔액이 부족 합니다.";
 	public static final String NOT_ACCOUNT_OWNER = "계좌 소유자가 아닙니다.";
+	public static final String EXCEED_HOURLY_LIMIT = "1시간 출금 한도를 초과 했습니다.";
+	public static final String EXCEED_DAILY_LIMIT = "1일 출금 한도를 초과 했습니다.";
+	public static final String SUSPICIOUS_TRANSFER = "이상 거래로 의심되어 이체가 차단 되었습니다.";
+	public static final String INVALID_SEARCH_CONDITION = "검색 조건을 확인해 주세요.";
+	public static final String TRANSFER_IN_PROGRESS = "이체를 처리 중 입니다. 잠시 후 거래 내역을 확인해 주세요.";
+	public static final String TRANSFER_CANCELLED = "입금 처리에 실패해서 출금이 취소 되었습니다.";
+	public static final String INTAKE_DISABLED = "입금 접수를 사용할 수 없습니다.";
+	public static final String INTAKE_TOO_MANY = "한 번에 접수할 수 있는 입금 건수를 초과 했습니다.";
+	public static final String INTAKE_APPLY_FAILED = "재시도 해도 반영에 실패한 입금";
+	public static final String INTAKE_NOT_DURABLE = "입금 접수 확인이 지연 되었습니다. 접수 번호로 처리 결과를 확인해 주세요.";
+
+	//  Schedule
+	public static final String NOT_EXIST_SCHEDULE = "존재하는 예약 이체가 없습니다.";
+	public static final String INVALID_SCHEDULE_CYCLE = "이체 주기는 ONCE, DAILY, MONTHLY 중 하나 입니다.";
+	public static final String INVALID_SCHEDULE_TIME = "첫 실행 시각을 확인해 주세요.";
+	public static final String INTEREST_FUTURE_DATE = "오늘 이후 기준일로는 이자를 지급할 수 없습니다.";
+	public static final String INTEREST_ALREADY_ACCRUED = "이미 이자를 지급한 기준일 입니다.";
+	public static final String SCHEDULE_ALREADY_RUN = "이미 이체한 예약 실행 시각 입니다.";
 	
 
 	//  User
@@ -31,7 +52,10 @@ public class Define {
 	// etc 
 	public static final String FAIL_TO_CREATE_USER = "회원가입 실패.";
 	public static final String NOT_AN_AUTHENTICATED_USER = "인증된 사용자가 아닙니다.";
+	public static final String NOT_AN_ADMIN = "관리자만 사용할 수 있습니다.";
+	public static final String NOT_A_CHANNEL = "입금 채널 계정만 사용할 수 있습니다.";
 	public static final String INVALID_INPUT = "잘못된 입력입니다.";
+	public static final String INVALID_THUMBNAIL_URL = "가져올 수 없는 이미지 주소 입니다.";
 	public static final String UNKNOWN = "알 수 없는 동작입니다";
 	public static final String FAILED_PROCESSING = "정상 처리 되지 않았습니다.";
 }	
@@ -0,0 +1,59 @@
+package com.tenco.bank.utils;
+
+import java.util.Arrays;
+
+/**
+ * 시간 구간(bucket) 단위 슬라이딩 윈도우 합계
+ * 
+ * bucketCount 개의 long 배열을 원형으로 재사용 한다. (계좌 하나당 고정 크기)
+ * 동기화는 사용하는 쪽에서 처리 한다.
+ */
+public class SlidingWindow {
+
+	private final long bucketMillis;
+	private final long[] sums;
+	private final long[] bucketIds; // 각 칸에 들어있는 구간 번호 (time / bucketMillis)
+
+	public SlidingWindow(long bucketMillis, int bucketCount) {
+		this.bucketMillis = bucketMillis;
+		this.sums = new long[bucketCount];
+		this.bucketIds = new long[bucketCount];
+		Arrays.fill(bucketIds, Long.MIN_VALUE);
+	}
+
+	// 시각 time 에 value 추가 (윈도우 밖의 과거 값은 무시)
+	public void add(long time, long value) {
+		long bucketId = time / bucketMillis;
+		long current = System.currentTimeMillis() / bucketMillis;
+		if (current - bucketId >= sums.length) {
+			return;
+		}
+		int index = (int) Math.floorMod(bucketId, (long) sums.length);
+		if (bucketIds[index] > bucketId) {
+			return; // 더 최근 구간이 이미 자리를 쓰고 있음
+		}
+		if (bucketIds[index] != bucketId) {
+			bucketIds[index] = bucketId;
+			sums[index] = 0;
+		}
+		sums[index] += value;
+	}
+
+	// now 기준 최근 (bucketMillis * bucketCount) 동안의 합계
+	public long total(long now) {
+		long current = now / bucketMillis;
+		long total = 0;
+		for (int i = 0; i < sums.length; i++) {
+			long age = current - bucketIds[i];
+			if (age >= 0 && age < sums.length) {
+				total += sums[i];
+			}
+		}
+		return total;
+	}
+
+	// 윈도우 전체 길이
+	public long windowMillis() {
+		return bucketMillis * sums.length;
+	}
+}
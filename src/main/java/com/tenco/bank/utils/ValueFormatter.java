@@ -1,21 +1,78 @@
 package com.tenco.bank.utils;
 
 import java.sql.Timestamp;
-import java.text.DecimalFormat;
-import java.text.SimpleDateFormat;
+import java.time.format.DateTimeFormatter;
 
 public abstract class ValueFormatter {
-	
+
+	// 시간 포맷 - DateTimeFormatter 는 불변 객체라서 스레드간 공유가 가능하다.
+	private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+	// long 최대 자리수(19) + 콤마(6) + 부호(1) + "원"(1)
+	private static final int WON_BUFFER_SIZE = 27;
+
+	// 요청 스레드마다 버퍼를 하나씩 재사용한다. (매 호출마다 포맷 객체를 생성하지 않음)
+	private static final ThreadLocal<char[]> WON_BUFFER = ThreadLocal.withInitial(() -> new char[WON_BUFFER_SIZE]);
+	private static final ThreadLocal<StringBuilder> DATE_BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(19));
+
 	// 시간 포맷
 	public String timestampToString(Timestamp timestamp) {
-		SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-		return sdf.format(timestamp);
-
+		return formatTimestamp(timestamp);
 	}
 
 	public String formatKoreanWon(Long amount) {
-		DecimalFormat df = new DecimalFormat("#,###");
-		String formatNumber = df.format(amount);
-		return formatNumber + "원";
+		return formatWon(amount);
+	}
+
+	/**
+	 * Timestamp -> yyyy-MM-dd HH:mm:ss
+	 *
+	 * @param timestamp
+	 * @return 포맷된 문자열, null 이면 빈 문자열
+	 */
+	public static String formatTimestamp(Timestamp timestamp) {
+		if (timestamp == null) {
+			return "";
+		}
+		StringBuilder sb = DATE_BUFFER.get();
+		sb.setLength(0);
+		DATE_TIME_FORMATTER.formatTo(timestamp.toLocalDateTime(), sb);
+		return sb.toString();
+	}
+
+	/**
+	 * 금액 -> 1,234,567원 (세 자리마다 콤마)
+	 *
+	 * @param amount
+	 * @return 포맷된 문자열, null 이면 빈 문자열
+	 */
+	public static String formatWon(Long amount) {
+		if (amount == null) {
+			return "";
+		}
+		char[] buf = WON_BUFFER.get();
+		int pos = buf.length;
+		buf[--pos] = '원';
+
+		long value = amount.longValue();
+		boolean negative = value < 0;
+		// Long.MIN_VALUE 도 처리할 수 있도록 음수 상태로 자리수를 꺼낸다.
+		if (!negative) {
+			value = -value;
+		}
+		int digits = 0;
+		do {
+			if (digits > 0 && digits % 3 == 0) {
+				buf[--pos] = ',';
+			}
+			buf[--pos] = (char) ('0' - (value % 10));
+			value /= 10;
+			digits++;
+		} while (value != 0);
+
+		if (negative) {
+			buf[--pos] = '-';
+		}
+		return new String(buf, pos, buf.length - pos);
 	}
 }
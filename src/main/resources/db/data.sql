@@ -30,4 +30,4 @@ values(100, 800, 1, now());
 -- 3. ATM 기기에서 입금
 -- 1111 계좌로 500원만 입금하는 히스토리를 만들어 보세요
 insert into history_tb(amount, d_balance, d_account_id, created_at)
-values(500, 1300, 1, now());
\ No newline at end of file
+values(500, 1300, 1, now());
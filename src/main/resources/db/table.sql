@@ -3,8 +3,13 @@ create table user_tb(
     username varchar(50) not null unique, 
 	password varchar(100) not null, 
 	fullname varchar(50) not null, 
-    created_at timestamp not null default now()
+	origin_file_name varchar(200) comment '프로필 이미지 원본 파일 명',
+	upload_file_name varchar(200) comment '프로필 이미지 저장 파일 명 (카카오 사용자는 썸네일 주소)',
+    created_at timestamp not null default now(),
+	role varchar(10) not null default 'USER' comment 'USER, ADMIN (관리자 화면 /admin/**), CHANNEL (입금 접수 /intake/**)'
 ); 
+-- 관리자 지정 : update user_tb set role = 'ADMIN' where username = '...';
+-- ATM/입금 채널 계정 지정 : update user_tb set role = 'CHANNEL' where username = '...';
 
 create table account_tb(
 	id int auto_increment primary key, 
@@ -12,7 +17,8 @@ create table account_tb(
     password varchar(30) not null, 
     balance bigint not null comment '계좌잔액', 
     created_at timestamp not null default now(), 
-	user_id int 
+	user_id int,
+	hot_slots int not null default 0 comment '잔액 분할 슬롯 수 (0 이면 일반 계좌)'
 );
 
 create table history_tb(
@@ -23,4 +29,174 @@ create table history_tb(
     w_balance bigint comment '출금 요청 후 계좌 잔액',
     d_balance bigint comment '입금 요청 후 계좌 잔액', 
     created_at timestamp not null default now() 
-);
\ No newline at end of file
+);
+
+-- 계좌 번호 발급용 시퀀스 (hi/lo 방식으로 블록 단위 예약)
+create table account_number_seq_tb(
+	name varchar(30) primary key comment '시퀀스 이름',
+	next_val bigint not null comment '다음에 예약할 블록의 시작 값'
+);
+-- 서버에서 발급하는 계좌 번호 시작 값 (행이 없으면 AccountNumberAllocator 가 account-number.start 로 만든다)
+insert into account_number_seq_tb(name, next_val)
+values('account', 100000000);
+
+
+-- 계좌별 거래 내역 조회용 인덱스
+create index idx_history_w_account on history_tb(w_account_id, id);
+create index idx_history_d_account on history_tb(d_account_id, id);
+
+
+-- 입금이 몰리는 계좌(가맹점, 모계좌)의 잔액 분할 슬롯
+-- 실제 잔액 = account_tb.balance + sum(slot.balance)
+create table account_balance_slot_tb(
+	account_id int not null comment '계좌 ID',
+	slot int not null comment '슬롯 번호 (0 ~ hot_slots-1)',
+	balance bigint not null default 0 comment '슬롯 잔액',
+	primary key(account_id, slot)
+);
+
+
+-- 예약/자동 이체
+create table transfer_schedule_tb(
+	id int auto_increment primary key,
+	user_id int not null comment '등록한 사용자 ID',
+	w_account_number varchar(30) not null comment '출금 계좌 번호',
+	d_account_number varchar(30) not null comment '입금 계좌 번호',
+	amount bigint not null comment '이체 금액',
+	cycle varchar(10) not null comment 'ONCE, DAILY, MONTHLY',
+	day_of_month int comment '매월 이체일 (MONTHLY)',
+	next_run_at timestamp not null comment '다음 실행 시각',
+	status varchar(10) not null default 'ACTIVE' comment 'ACTIVE, RUNNING, DONE, FAILED, CANCELLED',
+	claimed_by varchar(50) comment '실행 중인 노드',
+	claimed_until timestamp null comment '실행 점유 만료 시각',
+	last_run_at timestamp null,
+	last_result varchar(200),
+	created_at timestamp not null default now()
+);
+-- 실행 대상 조회 (상태 + 시간 순)
+create index idx_schedule_due on transfer_schedule_tb(status, next_run_at);
+create index idx_schedule_user on transfer_schedule_tb(user_id);
+
+-- 예약 이체 실행 결과
+create table transfer_schedule_run_tb(
+	id int auto_increment primary key,
+	schedule_id int not null,
+	success boolean not null,
+	message varchar(200),
+	created_at timestamp not null default now()
+);
+create index idx_schedule_run on transfer_schedule_run_tb(schedule_id, id);
+
+-- 예약 이체 실행 표시 (출금 계좌 샤드) - 출금과 같은 트랜잭션에서 insert
+-- 완료 기록 전에 노드가 죽거나 점유가 만료되어 다른 노드가 다시 실행해도 같은 실행 시각으로는 한 번만 출금 된다.
+create table transfer_schedule_exec_tb(
+	schedule_id int not null,
+	run_at timestamp not null comment '실행한 예약 시각 (next_run_at)',
+	created_at timestamp not null default now(),
+	primary key(schedule_id, run_at)
+);
+
+
+-- 일 이자 지급 실행 (기준일별, 각 샤드) - 첫 실행의 구간 크기로 고정해서 설정이 바뀌어도 재실행시 같은 구간 경계를 쓴다.
+create table interest_run_tb(
+	business_date date primary key comment '이자 기준일',
+	chunk_size int not null comment '이 기준일의 계좌 id 구간 크기',
+	completed_at timestamp null comment '모든 구간 지급 완료 시각 (이후 같은 기준일은 거절)',
+	created_at timestamp not null default now()
+);
+
+-- 일 이자 지급 체크포인트 (영업일 + 계좌 id 구간 단위, 재실행시 완료 구간은 건너뜀)
+create table interest_checkpoint_tb(
+	business_date date not null comment '이자 기준일',
+	chunk_lo int not null comment '계좌 id 구간 시작',
+	chunk_hi int not null comment '계좌 id 구간 끝',
+	credited int not null default 0 comment '이자 지급 계좌 수',
+	created_at timestamp not null default now(),
+	primary key(business_date, chunk_lo)
+);
+
+
+-- 출금 한도 계산용 (계좌별 최근 출금 합계, 시작시 한도 윈도우 재구성)
+-- 거래 내역 검색용 (계좌 + 기간 + 금액, 기간 역순 keyset) - amount 까지 포함해서 금액 조건도 인덱스에서 거른다.
+create index idx_history_w_account_created on history_tb(w_account_id, created_at, amount);
+create index idx_history_d_account_created on history_tb(d_account_id, created_at, amount);
+create index idx_history_created on history_tb(created_at);
+
+
+-- 샤딩 (sharding.enabled=true) --------------------------------------------
+-- 계좌 번호 -> 샤드 디렉터리 (샤드 0)
+-- 단일 DB 에서 샤딩으로 옮길 때는 기존 계좌를 먼저 등록 한다.
+--   insert into account_directory_tb(number, shard) select number, 0 from account_tb;
+-- 샤드 i (1 이상) 의 계좌 id 는 i * sharding.account-id-span + 1 부터 시작 해야 한다.
+--   alter table account_tb auto_increment = (i * span + 1);
+create table account_directory_tb(
+	number varchar(30) primary key comment '계좌 번호',
+	shard int not null comment '계좌가 있는 샤드'
+);
+
+-- 샤드간 이체 진행 상태 (샤드 0) - 출금 -> 입금, 입금 실패시 출금 취소
+create table transfer_saga_tb(
+	id int auto_increment primary key,
+	user_id int not null comment '이체 요청 사용자 ID',
+	w_account_number varchar(30) not null,
+	d_account_number varchar(30) not null,
+	w_account_id int not null,
+	d_account_id int not null,
+	w_shard int not null,
+	d_shard int not null,
+	amount bigint not null,
+	status varchar(12) not null comment 'STARTED, DEBITED, DONE, COMPENSATED, FAILED',
+	reason varchar(200),
+	created_at timestamp not null default now(),
+	updated_at timestamp not null default now()
+);
+-- 복구 대상 조회 (미완료 + 오래 멈춘 saga)
+create index idx_saga_status on transfer_saga_tb(status, updated_at);
+
+-- saga 단계 기록 (각 샤드) - 단계 반영과 같은 트랜잭션에서 insert (PK 로 단계당 한 번만 반영)
+create table transfer_saga_step_tb(
+	saga_id int not null,
+	step varchar(10) not null comment 'DEBIT, CREDIT, REFUND',
+	aborted boolean not null default false comment '복구 작업이 출금 전에 중단 시킨 표시',
+	history_id int comment 'DEBIT : 출금 거래 내역 ID, REFUND : 취소한 출금 거래 내역 ID',
+	created_at timestamp not null default now(),
+	primary key(saga_id, step)
+);
+-- 출금 한도 합계에서 취소된 출금 제외 (step = 'REFUND' and history_id = h.id)
+create index idx_saga_step_history on transfer_saga_step_tb(history_id, step);
+
+-- 입금 접수 저널 반영 위치 (각 샤드) - 배치 반영과 같은 트랜잭션에서 갱신 (재시작 후 정확히 한 번 반영)
+create table intake_checkpoint_tb(
+	journal varchar(50) primary key comment '저널 이름 (노드마다 다르게)',
+	applied_seq bigint not null comment '이 샤드에 반영된 마지막 저널 seq',
+	owner varchar(36) comment '저널을 쓰는 노드 (저널 디렉터리의 journal.id) - 다른 노드가 같은 이름을 쓰면 시작 실패',
+	updated_at timestamp not null default now()
+);
+
+-- 없는 계좌로 접수된 입금, 재시도 해도 반영에 실패한 입금 (각 샤드, 샤드를 알 수 없으면 샤드 0)
+create table intake_reject_tb(
+	journal varchar(50) not null,
+	journal_seq bigint not null,
+	account_number varchar(30) not null,
+	amount bigint not null,
+	reason varchar(200),
+	received_at timestamp not null,
+	created_at timestamp not null default now(),
+	primary key(journal, journal_seq)
+);
+
+-- 계좌별 월 집계 (각 샤드) - 거래 내역 insert 와 같은 트랜잭션에서 증가
+-- 잔액 분할 계좌의 입금은 슬롯별 행에 나눠 쌓는다. (조회시 slot 합산, 일반 계좌는 slot 0 하나)
+-- 기존 거래 내역이 있는 DB 는 테이블 생성 후 /admin/rollups/rebuild 를 한 번 실행 한다.
+create table account_rollup_tb(
+	account_id int not null comment '계좌 ID',
+	period int not null comment '년월 (yyyyMM)',
+	slot int not null default 0 comment '집계 분할 슬롯',
+	in_amount bigint not null default 0 comment '입금 합계',
+	in_count int not null default 0 comment '입금 건수',
+	max_in bigint not null default 0 comment '최대 입금 금액',
+	out_amount bigint not null default 0 comment '출금 합계',
+	out_count int not null default 0 comment '출금 건수',
+	max_out bigint not null default 0 comment '최대 출금 금액',
+	primary key(account_id, period, slot)
+);
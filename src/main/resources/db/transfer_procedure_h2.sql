@@ -0,0 +1,4 @@
+-- 이체 프로시저 (transfer.mode=procedure, H2) - 자바 함수를 DB 안에서 실행 (transfer_procedure_mysql.sql 과 같은 결과)
+-- H2 alias 는 create or replace 가 없어서 지우고 다시 만든다. (TransferProcedureInstaller 가 버전이 다를 때만 실행)
+drop alias if exists transfer_proc;
+create alias transfer_proc for 'com.tenco.bank.repository.procedure.H2TransferProcedure.transfer';
@@ -0,0 +1,81 @@
+-- 이체 프로시저 (transfer.mode=procedure, MySQL) - TransferProcedureInstaller 가 $$ 구분자로 실행 한다.
+-- MySQL 은 create or replace procedure 가 없어서 지우고 다시 만든다. (TransferProcedureInstaller 가 버전이 다를 때만 실행)
+-- 조회, 검사, 양쪽 잔액 변경, 거래 내역, 월 집계를 호출 한 번으로 처리 (호출하는 쪽 트랜잭션에 참여, 커밋하지 않음)
+-- result_code : 0 성공, 1 출금 계좌 없음, 2 입금 계좌 없음, 3 소유자 아님, 4 비밀번호 틀림, 5 잔액 부족,
+--               6 같은 계좌, 7 잔액 분할 계좌 (변경 없음 - 문장 방식으로 처리)
+-- H2 버전 : com.tenco.bank.repository.procedure.H2TransferProcedure (같은 순서로 검사)
+drop procedure if exists transfer_proc $$
+
+create procedure transfer_proc(
+	in p_w_number varchar(30),
+	in p_d_number varchar(30),
+	in p_amount bigint,
+	in p_password varchar(30),
+	in p_check_password boolean,
+	in p_user_id int,
+	in p_period int)
+begin
+	declare v_code int default 0;
+	declare v_w_id int;
+	declare v_d_id int;
+	declare v_w_user int;
+	declare v_d_user int;
+	declare v_w_password varchar(30);
+	declare v_w_balance bigint;
+	declare v_d_balance bigint;
+	declare v_w_hot int;
+	declare v_d_hot int;
+	declare v_history_id int;
+
+	select id into v_w_id from account_tb where number = p_w_number;
+	select id into v_d_id from account_tb where number = p_d_number;
+
+	if v_w_id is null then
+		set v_code = 1;
+	elseif v_d_id is null then
+		set v_code = 2;
+	else
+		-- 계좌 id 순서로 잠근다. (교착 방지)
+		if v_d_id < v_w_id then
+			select balance into v_d_balance from account_tb where id = v_d_id for update;
+		end if;
+		select user_id, password, balance, hot_slots into v_w_user, v_w_password, v_w_balance, v_w_hot
+		from account_tb where id = v_w_id for update;
+		select user_id, balance, hot_slots into v_d_user, v_d_balance, v_d_hot
+		from account_tb where id = v_d_id for update;
+
+		if v_w_hot > 0 or v_d_hot > 0 then
+			set v_code = 7;
+		elseif not (v_w_user <=> p_user_id) then
+			set v_code = 3;
+		elseif p_check_password and not (v_w_password <=> p_password) then
+			set v_code = 4;
+		elseif v_w_balance < p_amount then
+			set v_code = 5;
+		elseif v_w_id = v_d_id then
+			set v_code = 6;
+		else
+			set v_w_balance = v_w_balance - p_amount;
+			set v_d_balance = v_d_balance + p_amount;
+			update account_tb set balance = v_w_balance where id = v_w_id;
+			update account_tb set balance = v_d_balance where id = v_d_id;
+
+			insert into history_tb(amount, w_balance, d_balance, w_account_id, d_account_id)
+			values(p_amount, v_w_balance, v_d_balance, v_w_id, v_d_id);
+			set v_history_id = last_insert_id();
+
+			insert into account_rollup_tb(account_id, period, slot, out_amount, out_count, max_out)
+			values(v_w_id, p_period, 0, p_amount, 1, p_amount)
+			on duplicate key update out_amount = out_amount + p_amount, out_count = out_count + 1,
+				max_out = greatest(max_out, p_amount);
+			insert into account_rollup_tb(account_id, period, slot, in_amount, in_count, max_in)
+			values(v_d_id, p_period, 0, p_amount, 1, p_amount)
+			on duplicate key update in_amount = in_amount + p_amount, in_count = in_count + 1,
+				max_in = greatest(max_in, p_amount);
+		end if;
+	end if;
+
+	select v_code as result_code, v_history_id as history_id,
+		v_w_id as w_account_id, v_w_user as w_user_id, v_w_balance as w_balance,
+		v_d_id as d_account_id, v_d_user as d_user_id, v_d_balance as d_balance;
+end $$
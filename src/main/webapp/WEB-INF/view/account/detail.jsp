@@ -10,7 +10,7 @@
 	
 	<div class="bg-light p-md-5">
 		<div class="user--box">
-			${principal.username}님 계좌<br> 계좌 번호 : ${account.number}<br> 잔액 : ${account.balance} 원
+			${principal.username}님 계좌<br> 계좌 번호 : ${account.number}<br> 잔액 : <span id="account-balance">${account.balanceText}</span>
 		</div>
 		<br>
 		
@@ -33,11 +33,11 @@
 			<tbody>
 				<c:forEach var ="history" items="${historyList}">
 				<tr>
-					<th>${history.timestampToString(history.createdAt)}</th>
+					<th>${history.createdAtText}</th>
 					<th>${history.sender}</th>
 					<th>${history.receiver}</th>
-					<th>${history.formatKoreanWon(history.amount)}</th>
-					<th>${history.formatKoreanWon(history.balance)}</th>
+					<th>${history.amountText}</th>
+					<th>${history.balanceText}</th>
 				</tr>
 				
 				</c:forEach>
@@ -66,6 +66,19 @@
 			</ul>
 		</div>
 	</div>
+	<%-- 이 계좌에 거래가 커밋되면 잔액 갱신 (SSE) --%>
+	<script>
+		if (window.EventSource) {
+			const source = new EventSource('/account/stream');
+			source.addEventListener('account', function(e) {
+				const data = JSON.parse(e.data);
+				// 잔액 분할 계좌 입금은 거래 후 잔액이 없다.
+				if (data.accountId == '${account.id}' && data.balanceText) {
+					document.getElementById('account-balance').textContent = data.balanceText;
+				}
+			});
+		}
+	</script>
 	 
 </div>
 <!-- end of col-sm- -->
@@ -16,17 +16,35 @@
 					<tr>
 						<th>계좌 번호</th>
 						<th>잔액</th>
+						<th>최근 거래</th>
 					</tr>
 				</thead>
 				<tbody>
 					<c:forEach  var="account"   items="${accountList}">
 						<tr>
 							<td><a href="/account/detail/${account.id}?type=all">${account.number}</a></td>
-							<td>${account.balance}</td>
+							<td id="balance-${account.id}">${account.balanceText}</td>
+							<td>
+								<c:forEach var="history" items="${account.recentHistories}">
+									<div class="small">${history.createdAtText} ${history.sender} &rarr; ${history.receiver} ${history.amountText}</div>
+								</c:forEach>
+							</td>
 						</tr>
 					</c:forEach>
 				</tbody>	
+				<tfoot>
+					<tr>
+						<th>전체 ${dashboard.accountCount}개 계좌</th>
+						<th>${dashboard.totalBalanceText}</th>
+						<th></th>
+					</tr>
+				</tfoot>
 			</table>
+			<c:if test="${dashboard.nextAfterId != null}">
+				<div class="d-flex justify-content-end">
+					<a class="btn btn-outline-primary" href="/account/list?after=${dashboard.nextAfterId}">다음</a>
+				</div>
+			</c:if>
 					
 		</c:when>
 		<c:otherwise>
@@ -36,7 +54,20 @@
 		</c:otherwise>
 	</c:choose>
 		
-		
+	<%-- 입금/이체가 커밋되면 잔액을 바로 갱신 (SSE) --%>
+	<script>
+		if (window.EventSource) {
+			const source = new EventSource('/account/stream');
+			source.addEventListener('account', function(e) {
+				const data = JSON.parse(e.data);
+				const cell = document.getElementById('balance-' + data.accountId);
+				// 잔액 분할 계좌 입금은 거래 후 잔액이 없다.
+				if (cell && data.balanceText) {
+					cell.textContent = data.balanceText;
+				}
+			});
+		}
+	</script>
 </div>
 <!-- end of col-sm-8  -->
 </div>
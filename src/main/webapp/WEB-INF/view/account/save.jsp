@@ -12,9 +12,7 @@
 		insert into account_tb(number, password, balance, user_id, created_at)
 	 -->
 	<form action="/account/save" method="post">
-		<div class="form-group">
-			<label for="number">number:</label> <input type="text" class="form-control" placeholder="Enter number" id="number" name="number" value="1002-1234">
-		</div>
+		<%-- 계좌 번호는 서버에서 자동 발급 됩니다. --%>
 		<div class="form-group">
 			<label for="pwd">Password:</label> <input type="password" class="form-control" placeholder="Enter password" id="pwd" name="password" value="1234">
 		</div>
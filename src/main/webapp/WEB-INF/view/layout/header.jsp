@@ -7,8 +7,8 @@
 <title>myBank</title>
 <meta charset="utf-8">
 <meta name="viewport" content="width=device-width, initial-scale=1">
-<link rel="stylesheet" href="/css/common.css">
-<link rel="icon" href="/favicon.ico" type="image/x-icon">
+<link rel="stylesheet" href="${assets.url('/css/common.css')}">
+<link rel="icon" href="${assets.url('/favicon.ico')}" type="image/x-icon">
 <link rel="stylesheet" href="https://cdn.jsdelivr.net/npm/bootstrap@4.6.2/dist/css/bootstrap.min.css">
 <script src="https://cdn.jsdelivr.net/npm/jquery@3.7.1/dist/jquery.slim.min.js"></script>
 <script src="https://cdn.jsdelivr.net/npm/popper.js@1.16.1/dist/umd/popper.min.js"></script>
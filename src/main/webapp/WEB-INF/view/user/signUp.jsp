@@ -12,6 +12,7 @@
 		<div class="form-group">
 			<label for="username">username:</label> 
 			<input type="text" class="form-control" placeholder="Enter username" id="username" name="username" value="야스오1">
+			<small id="username-check" class="form-text"></small>
 		</div>
 		<div class="form-group">
 			<label for="pwd">Password:</label> 
@@ -29,7 +30,7 @@
 			<button type="submit" class="btn btn-primary mt-md-4">회원가입</button>
 		</div>
 		<div>
-			<a href="https://kauth.kakao.com/oauth/authorize?response_type=code&client_id=5c02dbc5884a250128050da5f324c46b&redirect_uri=http://localhost:8080/user/kakao"><img alt="소셜로그인이미지" src="/images/kakao_login_small.png"></a>
+			<a href="https://kauth.kakao.com/oauth/authorize?response_type=code&client_id=5c02dbc5884a250128050da5f324c46b&redirect_uri=http://localhost:8080/user/kakao"><img alt="소셜로그인이미지" src="${assets.url('/images/kakao_login_small.png')}"></a>
 		</div>
 </form>
 </div>
@@ -44,6 +45,23 @@ $(".custom-file-input").on("change", function() {
   let fileName = $(this).val().split("\\").pop();
   $(this).siblings(".custom-file-label").addClass("selected").html(fileName);
 });
+
+// username 사용 가능 여부 (입력할 때마다 확인)
+$("#username").on("input", function() {
+  let username = $(this).val();
+  if (username === "") {
+    $("#username-check").text("");
+    return;
+  }
+  fetch("/user/check-username?username=" + encodeURIComponent(username))
+    .then(response => response.json())
+    .then(available => {
+      $("#username-check")
+        .text(available ? "사용 가능한 username 입니다." : "이미 사용 중인 username 입니다.")
+        .toggleClass("text-success", available)
+        .toggleClass("text-danger", !available);
+    });
+});
 </script>
 <!-- footer.jsp  -->
 <%@ include file="/WEB-INF/view/layout/footer.jsp"%>
@@ -0,0 +1,43 @@
+package com.tenco.bank.config;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+// gradle fingerprintAssets 가 만든 목록 (processResources 전에 실행) 으로 hash URL 과 캐시 헤더 확인
+@SpringBootTest
+@AutoConfigureMockMvc
+class AssetManifestTest {
+
+	@Autowired
+	private AssetManifest assetManifest;
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void hashedUrlIsCachedAsImmutable() throws Exception {
+		String url = assetManifest.url("/css/common.css");
+		assertTrue(url.matches("/css/common\\.[0-9a-f]{8}\\.css"), url);
+
+		mockMvc.perform(get(url))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"))
+				.andExpect(content().string(containsString("{")));
+	}
+
+	// 목록에 없는 파일은 원래 경로 그대로
+	@Test
+	void unknownPathIsUnchanged() {
+		assertEquals("/js/none.js", assetManifest.url("/js/none.js"));
+	}
+}
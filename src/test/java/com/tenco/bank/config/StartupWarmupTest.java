@@ -0,0 +1,47 @@
+package com.tenco.bank.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.mapper.MapperFactoryBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ResolvableType;
+
+import com.tenco.bank.repository.interfaces.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+
+@SpringBootTest
+class StartupWarmupTest {
+
+	@Autowired
+	private SqlSessionFactory sqlSessionFactory;
+	@Autowired
+	private DataSource dataSource;
+	@Autowired
+	private ConfigurableListableBeanFactory beanFactory;
+
+	// 준비 단계가 끝나면 미뤄진 매핑 구문이 없고, 요청한 만큼 커넥션이 풀에 있다.
+	@Test
+	void warmupCompletesStatementsAndFillsPool() throws Exception {
+		new StartupWarmup(sqlSessionFactory, dataSource, true, 3).run(null);
+
+		org.apache.ibatis.session.Configuration configuration = sqlSessionFactory.getConfiguration();
+		assertTrue(configuration.getIncompleteStatements().isEmpty());
+		assertTrue(configuration.getIncompleteResultMaps().isEmpty());
+		assertTrue(((HikariDataSource) dataSource).getHikariPoolMXBean().getTotalConnections() >= 3);
+	}
+
+	// AOT 생성 코드가 mapper 인터페이스를 Class 로 받도록 빈 정의가 채워져 있다. (MyBatisAotConfig)
+	@Test
+	void mapperDefinitionsCarryInterfaceType() {
+		ResolvableType type = beanFactory.getMergedBeanDefinition("userRepository").getResolvableType();
+		assertEquals(ResolvableType.forClassWithGenerics(MapperFactoryBean.class, UserRepository.class).toString(),
+				type.toString());
+	}
+}
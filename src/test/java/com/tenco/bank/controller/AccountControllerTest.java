@@ -0,0 +1,55 @@
+package com.tenco.bank.controller;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.tenco.bank.repository.model.User;
+import com.tenco.bank.utils.Define;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AccountControllerTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// 페이지 번호, 크기가 1 보다 작으면 쿼리 전에 거절하고, 크기는 최대값으로 자른다.
+	@Test
+	void detailRejectsInvalidPaging() throws Exception {
+		jdbcTemplate.update("insert into user_tb(username, password, fullname) values('detail-paging', '1234', 'paging')");
+		Integer userId = jdbcTemplate.queryForObject("select id from user_tb where username = 'detail-paging'",
+				Integer.class);
+		jdbcTemplate.update("insert into account_tb(number, password, balance, user_id) values('detail-paging', '1234',"
+				+ " 0, ?)", userId);
+		Integer accountId = jdbcTemplate.queryForObject("select id from account_tb where number = 'detail-paging'",
+				Integer.class);
+		MockHttpSession session = new MockHttpSession();
+		session.setAttribute(Define.PRINCIPAL, User.builder().id(userId).username("detail-paging").build());
+		String url = "/account/detail/" + accountId;
+
+		mockMvc.perform(get(url).session(session).param("type", "all").param("page", "0"))
+				.andExpect(content().string(containsString(Define.INVALID_INPUT)));
+		mockMvc.perform(get(url).session(session).param("type", "all").param("size", "0"))
+				.andExpect(content().string(containsString(Define.INVALID_INPUT)));
+		mockMvc.perform(get(url).session(session).param("type", "all").param("page", "2147483647").param("size", "100"))
+				.andExpect(content().string(containsString(Define.INVALID_INPUT)));
+
+		mockMvc.perform(get(url).session(session).param("type", "all").param("size", "5000"))
+				.andExpect(view().name("account/detail"))
+				.andExpect(model().attribute("size", 100))
+				.andExpect(model().attribute("totalPages", 0));
+	}
+}
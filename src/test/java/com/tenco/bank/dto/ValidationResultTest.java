@@ -0,0 +1,68 @@
+package com.tenco.bank.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.tenco.bank.handler.exception.BusinessException;
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.utils.Define;
+
+class ValidationResultTest {
+
+	@Test
+	void withdrawalReportsFirstError() {
+		assertEquals(Define.ENTER_YOUR_BALANCE, WithdrawalDTO.builder().build().validate().getMessage());
+		assertEquals(Define.W_BALANCE_VALUE, WithdrawalDTO.builder().amount(0L).build().validate().getMessage());
+		assertEquals(Define.ENTER_YOUR_ACCOUNT_NUMBER, WithdrawalDTO.builder().amount(1L).build().validate().getMessage());
+		assertEquals(Define.ENTER_YOUR_PASSWORD,
+				WithdrawalDTO.builder().amount(1L).wAccountNumber("1111").wAccountPassword("").build().validate().getMessage());
+		assertTrue(WithdrawalDTO.builder().amount(1L).wAccountNumber("1111").wAccountPassword("1234").build().validate()
+				.isValid());
+	}
+
+	@Test
+	void depositTransferAndSave() {
+		DepositDTO deposit = new DepositDTO();
+		deposit.setAmount(-1L);
+		assertEquals(Define.D_BALANCE_VALUE, deposit.validate().getMessage());
+		deposit.setAmount(1L);
+		deposit.setDAccountNumber(" ");
+		assertEquals(Define.ENTER_YOUR_ACCOUNT_NUMBER, deposit.validate().getMessage());
+
+		TransferDTO transfer = new TransferDTO();
+		transfer.setAmount(1L);
+		transfer.setWAccountNumber("1111");
+		transfer.setDAccountNumber("2222");
+		assertEquals(Define.ENTER_YOUR_PASSWORD, transfer.validate().getMessage());
+		transfer.setPassword("1234");
+		assertSame(ValidationResult.VALID, transfer.validate());
+
+		assertEquals(Define.ENTER_YOUR_BALANCE, SaveDTO.builder().password("1234").balance(0L).build().validate()
+				.getMessage());
+		assertNull(SaveDTO.builder().password("1234").balance(1L).build().validate().getMessage());
+	}
+
+	// 거절은 메세지마다 미리 만든 결과/예외를 재사용하고, 스택 트레이스를 만들지 않는다.
+	@Test
+	void rejectionsAreSharedAndStackless() {
+		ValidationResult first = WithdrawalDTO.builder().amount(-1L).build().validate();
+		ValidationResult second = WithdrawalDTO.builder().amount(-5L).build().validate();
+		assertSame(first, second);
+
+		BusinessException thrown = assertThrows(BusinessException.class, first::orThrow);
+		assertSame(thrown, assertThrows(BusinessException.class, second::orThrow));
+		assertEquals(0, thrown.getStackTrace().length);
+
+		Account account = Account.builder().balance(10L).password("1234").userId(1).build();
+		assertSame(BusinessException.LACK_OF_BALANCE, assertThrows(BusinessException.class, () -> account.checkBalance(11L)));
+		assertSame(BusinessException.FAIL_ACCOUNT_PASSWORD,
+				assertThrows(BusinessException.class, () -> account.checkPassword("0000")));
+		assertSame(BusinessException.NOT_ACCOUNT_OWNER, assertThrows(BusinessException.class, () -> account.checkOwner(2)));
+		assertEquals(0, BusinessException.LACK_OF_BALANCE.getStackTrace().length);
+	}
+}
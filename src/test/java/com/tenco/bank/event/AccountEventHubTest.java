@@ -0,0 +1,115 @@
+package com.tenco.bank.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tenco.bank.dto.DepositDTO;
+import com.tenco.bank.dto.TransferDTO;
+import com.tenco.bank.repository.model.User;
+import com.tenco.bank.service.AccountService;
+import com.tenco.bank.utils.Define;
+
+// 커밋된 거래만 계좌 주인의 SSE 연결로 전달 된다.
+@SpringBootTest
+@AutoConfigureMockMvc
+class AccountEventHubTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private AccountService accountService;
+	@Autowired
+	private AccountEventHub hub;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void pushesCommittedTransfersToBothOwners() throws Exception {
+		Integer sender = user("sse-sender");
+		Integer receiver = user("sse-receiver");
+		account("sse-w", sender);
+		account("sse-d", receiver);
+		int before = hub.subscriberCount();
+		MockHttpServletResponse senderStream = subscribe(sender);
+		MockHttpServletResponse receiverStream = subscribe(receiver);
+		assertEquals(before + 2, hub.subscriberCount());
+
+		TransferDTO transfer = new TransferDTO();
+		transfer.setAmount(300L);
+		transfer.setWAccountNumber("sse-w");
+		transfer.setDAccountNumber("sse-d");
+		transfer.setPassword("1234");
+		accountService.updateAccountTransfer(transfer, sender);
+
+		String sent = await(senderStream, "\"type\":\"withdrawal\"");
+		assertTrue(sent.contains("\"counterparty\":\"sse-d\""), sent);
+		assertTrue(sent.contains("\"balance\":700"), sent);
+		String received = await(receiverStream, "\"type\":\"deposit\"");
+		assertTrue(received.contains("\"counterparty\":\"sse-w\""), received);
+		assertTrue(received.contains("\"balance\":1300"), received);
+	}
+
+	@Test
+	void rolledBackDepositIsNotPushed() throws Exception {
+		Integer owner = user("sse-rollback");
+		account("sse-rollback-a", owner);
+		MockHttpServletResponse stream = subscribe(owner);
+
+		DepositDTO deposit = new DepositDTO();
+		deposit.setAmount(100L);
+		deposit.setDAccountNumber("sse-rollback-a");
+		transactionTemplate.executeWithoutResult(status -> {
+			accountService.updateAccountDeposit(deposit, owner);
+			status.setRollbackOnly();
+		});
+		deposit.setAmount(200L);
+		accountService.updateAccountDeposit(deposit, owner);
+
+		String body = await(stream, "\"amount\":200");
+		assertFalse(body.contains("\"amount\":100,"), body);
+	}
+
+	private MockHttpServletResponse subscribe(Integer userId) throws Exception {
+		MockHttpSession session = new MockHttpSession();
+		session.setAttribute(Define.PRINCIPAL, User.builder().id(userId).username("sse").fullname("sse").build());
+		return mockMvc.perform(get("/account/stream").session(session)).andExpect(request().asyncStarted())
+				.andReturn().getResponse();
+	}
+
+	// 전송은 가상 스레드에서 비동기로 처리 된다.
+	private String await(MockHttpServletResponse response, String expected) throws Exception {
+		for (int i = 0; i < 100; i++) {
+			String body = response.getContentAsString();
+			if (body.contains(expected)) {
+				return body;
+			}
+			Thread.sleep(20);
+		}
+		throw new AssertionError(expected + " not in " + response.getContentAsString());
+	}
+
+	private Integer user(String username) {
+		jdbcTemplate.update("insert into user_tb(username, password, fullname) values(?, '1234', ?)", username, username);
+		return jdbcTemplate.queryForObject("select id from user_tb where username = ?", Integer.class, username);
+	}
+
+	private void account(String number, Integer userId) {
+		jdbcTemplate.update("insert into account_tb(number, password, balance, user_id) values(?, '1234', 1000, ?)",
+				number, userId);
+	}
+}
@@ -0,0 +1,54 @@
+package com.tenco.bank.handler;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.tenco.bank.repository.model.User;
+import com.tenco.bank.utils.Define;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AdminInterceptorTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void anonymousIsSentToSignIn() throws Exception {
+		mockMvc.perform(get("/admin/screening/metrics"))
+				.andExpect(content().string(containsString("로그인 먼저 해주세요")));
+	}
+
+	@Test
+	void customerCannotUseAdminEndpoints() throws Exception {
+		MockHttpSession session = sessionOf(Define.ROLE_USER);
+		mockMvc.perform(get("/admin/screening/metrics").session(session))
+				.andExpect(content().string(containsString(Define.NOT_AN_ADMIN)));
+		mockMvc.perform(post("/admin/reconciliation").session(session))
+				.andExpect(content().string(containsString(Define.NOT_AN_ADMIN)));
+		mockMvc.perform(post("/admin/rollups/rebuild").session(session))
+				.andExpect(content().string(containsString(Define.NOT_AN_ADMIN)));
+	}
+
+	@Test
+	void adminCanUseAdminEndpoints() throws Exception {
+		mockMvc.perform(get("/admin/screening/metrics").session(sessionOf(Define.ROLE_ADMIN)))
+				.andExpect(jsonPath("$").isArray());
+	}
+
+	private static MockHttpSession sessionOf(String role) {
+		MockHttpSession session = new MockHttpSession();
+		session.setAttribute(Define.PRINCIPAL, User.builder().id(1).username("길동").fullname("고").role(role).build());
+		return session;
+	}
+}
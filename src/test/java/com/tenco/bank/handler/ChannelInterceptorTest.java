@@ -0,0 +1,58 @@
+package com.tenco.bank.handler;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.tenco.bank.repository.model.User;
+import com.tenco.bank.utils.Define;
+
+// 입금 접수는 채널 계정이나 관리자만 (테스트 설정은 접수 비활성이라 통과하면 INTAKE_DISABLED)
+@SpringBootTest
+@AutoConfigureMockMvc
+class ChannelInterceptorTest {
+
+	private static final String BODY = "[{\"amount\":1000,\"dAccountNumber\":\"1111\"}]";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void customerCannotPostDeposits() throws Exception {
+		mockMvc.perform(post("/intake/deposits").session(sessionOf(Define.ROLE_USER))
+				.contentType(MediaType.APPLICATION_JSON).content(BODY))
+				.andExpect(content().string(containsString(Define.NOT_A_CHANNEL)));
+	}
+
+	@Test
+	void channelAndAdminCanPostDeposits() throws Exception {
+		mockMvc.perform(post("/intake/deposits").session(sessionOf(Define.ROLE_CHANNEL))
+				.contentType(MediaType.APPLICATION_JSON).content(BODY))
+				.andExpect(content().string(containsString(Define.INTAKE_DISABLED)));
+		mockMvc.perform(post("/intake/deposits").session(sessionOf(Define.ROLE_ADMIN))
+				.contentType(MediaType.APPLICATION_JSON).content(BODY))
+				.andExpect(content().string(containsString(Define.INTAKE_DISABLED)));
+	}
+
+	// 채널 계정은 관리자 화면(저널 상태 포함)을 쓸 수 없다.
+	@Test
+	void channelCannotUseAdminEndpoints() throws Exception {
+		mockMvc.perform(get("/admin/intake").session(sessionOf(Define.ROLE_CHANNEL)))
+				.andExpect(content().string(containsString(Define.NOT_AN_ADMIN)));
+	}
+
+	private static MockHttpSession sessionOf(String role) {
+		MockHttpSession session = new MockHttpSession();
+		session.setAttribute(Define.PRINCIPAL, User.builder().id(1).username("atm").fullname("atm").role(role).build());
+		return session;
+	}
+}
@@ -0,0 +1,106 @@
+package com.tenco.bank.intake;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.tenco.bank.dto.DepositDTO;
+import com.tenco.bank.dto.IntakeReceiptDTO;
+import com.tenco.bank.repository.interfaces.IntakeRepository;
+import com.tenco.bank.service.AccountRollupService;
+import com.tenco.bank.shard.ShardRouter;
+import com.tenco.bank.utils.Define;
+
+@SpringBootTest(properties = { "intake.enabled=true", "intake.journal=test-node",
+		"intake.dir=build/test/intake-journal/${random.uuid}", "intake.max-attempts=2", "intake.drain-interval-ms=10" })
+class DepositIntakeServiceTest {
+
+	@Autowired
+	private DepositIntakeService depositIntakeService;
+	@Autowired
+	private IntakeRepository intakeRepository;
+	@Autowired
+	private ShardRouter shardRouter;
+	@Autowired
+	private AccountRollupService accountRollupService;
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// 계속 실패하는 명령 하나 때문에 배치 전체가 멈추지 않는다. (한 건씩 나눠서 그 명령만 거절)
+	@Test
+	void poisonCommandIsRejectedAndRestApplied() throws Exception {
+		account("intake-ok", 0);
+		account("intake-poison", Long.MAX_VALUE - 5); // 입금하면 bigint 범위 초과
+
+		IntakeReceiptDTO receipt = depositIntakeService.accept(List.of(deposit("intake-ok", 10), deposit("intake-poison", 10),
+				deposit("intake-ok", 20)));
+		awaitApplied(receipt.getLastSeq());
+
+		assertEquals(30L, balanceOf("intake-ok"));
+		assertEquals(Long.MAX_VALUE - 5, balanceOf("intake-poison"));
+		String reason = jdbcTemplate.queryForObject(
+				"select reason from intake_reject_tb where journal = 'test-node' and journal_seq = ?", String.class,
+				receipt.getFirstSeq() + 1);
+		assertTrue(reason.startsWith(Define.INTAKE_APPLY_FAILED), reason);
+		assertEquals(1L, depositIntakeService.readStatus().getPoisoned());
+
+		// 뒤에 접수된 입금은 다시 배치로 반영 된다.
+		IntakeReceiptDTO next = depositIntakeService.accept(List.of(deposit("intake-ok", 5)));
+		awaitApplied(next.getLastSeq());
+		assertEquals(35L, balanceOf("intake-ok"));
+	}
+
+	@Test
+	void journalNameIsRequired() {
+		DepositIntakeService blank = service("", "build/test/intake-journal/blank");
+		assertThrows(IllegalStateException.class, blank::start);
+	}
+
+	// 다른 노드(다른 저널 디렉터리)가 같은 저널 이름으로 시작하면 반영 위치를 같이 쓰지 않도록 시작하지 않는다.
+	@Test
+	void sameJournalNameOnAnotherNodeFailsStartup() {
+		DepositIntakeService otherNode = service("test-node", "build/test/intake-journal/other-node-" + System.nanoTime());
+		IllegalStateException e = assertThrows(IllegalStateException.class, otherNode::start);
+		assertTrue(e.getMessage().contains("test-node"), e.getMessage());
+	}
+
+	private DepositIntakeService service(String journal, String dir) {
+		return new DepositIntakeService(intakeRepository, shardRouter, accountRollupService, eventPublisher, true, journal,
+				dir, 1 << 20, 100, 100, 1000, 10, 2);
+	}
+
+	private void awaitApplied(long seq) throws InterruptedException {
+		for (int i = 0; i < 500; i++) {
+			if (depositIntakeService.readStatus().getAppliedSeq() >= seq) {
+				return;
+			}
+			Thread.sleep(20);
+		}
+		throw new AssertionError("not applied : " + seq + " " + depositIntakeService.readStatus());
+	}
+
+	private DepositDTO deposit(String number, long amount) {
+		DepositDTO dto = new DepositDTO();
+		dto.setAmount(amount);
+		dto.setDAccountNumber(number);
+		return dto;
+	}
+
+	private void account(String number, long balance) {
+		jdbcTemplate.update("insert into account_tb(number, password, balance) values(?, '1234', ?)", number, balance);
+	}
+
+	private long balanceOf(String number) {
+		return jdbcTemplate.queryForObject("select balance from account_tb where number = ?", Long.class, number);
+	}
+}
@@ -0,0 +1,71 @@
+package com.tenco.bank.repository.procedure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.tenco.bank.dto.TransferDTO;
+import com.tenco.bank.service.AccountService;
+
+@SpringBootTest(properties = "transfer.mode=procedure")
+class TransferProcedureInstallerTest {
+
+	private static final String PROCEDURE = "com.tenco.bank.repository.procedure.H2TransferProcedure.transfer";
+
+	@Autowired
+	private TransferProcedureInstaller installer;
+	@Autowired
+	private AccountService accountService;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// 버전이 같으면 그대로 두고, 다르면 다시 만든다.
+	@Test
+	void reinstallsOnlyWhenVersionChanges() {
+		String version = TransferProcedureInstaller.versionOf(new ClassPathResource("db/transfer_procedure_h2.sql"));
+		assertEquals(version, column("remarks"));
+		assertEquals(PROCEDURE, column("external_name"));
+
+		// 같은 버전 : 다른 노드가 쓰는 중인 프로시저를 지우지 않는다.
+		jdbcTemplate.execute("drop alias transfer_proc");
+		jdbcTemplate.execute("create alias transfer_proc for 'java.lang.Math.abs(int)'");
+		jdbcTemplate.execute("comment on alias transfer_proc is '" + version + "'");
+		installer.install();
+		assertEquals("java.lang.Math.abs(int)", column("external_name"));
+
+		// 스크립트가 바뀌면 (버전이 다르면) 다시 만든다.
+		jdbcTemplate.execute("comment on alias transfer_proc is 'old'");
+		installer.install();
+		assertEquals(PROCEDURE, column("external_name"));
+		assertEquals(version, column("remarks"));
+	}
+
+	@Test
+	void transferRunsThroughProcedure() {
+		jdbcTemplate.update("insert into user_tb(username, password, fullname) values('proc-user', '1234', 'proc')");
+		Integer userId = jdbcTemplate.queryForObject("select id from user_tb where username = 'proc-user'", Integer.class);
+		jdbcTemplate.update("insert into account_tb(number, password, balance, user_id) values('proc-w', '1234', 1000, ?)",
+				userId);
+		jdbcTemplate.update("insert into account_tb(number, password, balance, user_id) values('proc-d', '1234', 0, ?)",
+				userId);
+		TransferDTO dto = new TransferDTO();
+		dto.setAmount(300L);
+		dto.setWAccountNumber("proc-w");
+		dto.setDAccountNumber("proc-d");
+		dto.setPassword("1234");
+
+		accountService.updateAccountTransfer(dto, userId);
+
+		assertEquals(700L, jdbcTemplate.queryForObject("select balance from account_tb where number = 'proc-w'", Long.class));
+		assertEquals(300L, jdbcTemplate.queryForObject("select balance from account_tb where number = 'proc-d'", Long.class));
+	}
+
+	private String column(String name) {
+		return jdbcTemplate.queryForObject("select " + name + " from information_schema.routines"
+				+ " where routine_schema = current_schema and routine_name = 'transfer_proc'", String.class);
+	}
+}
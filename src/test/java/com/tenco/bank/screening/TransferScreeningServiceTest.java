@@ -0,0 +1,95 @@
+package com.tenco.bank.screening;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.tenco.bank.dto.RuleMetricsDTO;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.model.Account;
+
+// 규칙은 메모리 특징만 보므로 DB 없이 확인 한다.
+class TransferScreeningServiceTest {
+
+	private FeatureStore featureStore;
+	private TransferScreeningService screening;
+	private long now;
+
+	@BeforeEach
+	void setUp() {
+		featureStore = new FeatureStore(null, null);
+		// 등록 순서와 상관없이 cost 순서 (고액 -> 신규 수취 -> 잔액 소진) 로 실행
+		screening = new TransferScreeningService(featureStore, List.of(new RapidDrainRule(0.9, 3),
+				new NewPayeeBurstRule(5), new LargeAmountRule(20, 5, 1_000_000L)), true);
+		now = System.currentTimeMillis();
+	}
+
+	@Test
+	void blocksLargeAmountAgainstHistory() {
+		for (int i = 0; i < 5; i++) {
+			featureStore.of(1).record(100, 100_000L, now - 3_600_000L);
+		}
+		assertDoesNotThrow(() -> screening.screen(account(1, 100_000_000L), account(100, 0L), 2_000_000L));
+		assertBlocked("평소 대비 고액 이체", () -> screening.screen(account(1, 100_000_000L), account(100, 0L), 2_000_001L));
+	}
+
+	@Test
+	void blocksBurstOfNewPayees() {
+		for (int payee = 100; payee < 105; payee++) {
+			featureStore.of(1).record(payee, 1_000L, now);
+		}
+		// 이미 보낸 적 있는 계좌는 통과, 6 번째 새 계좌는 차단
+		assertDoesNotThrow(() -> screening.screen(account(1, 10_000_000L), account(104, 0L), 1_000L));
+		assertBlocked("단시간 신규 수취 계좌 과다", () -> screening.screen(account(1, 10_000_000L), account(105, 0L), 1_000L));
+	}
+
+	@Test
+	void blocksRapidDrain() {
+		featureStore.of(1).record(100, 400_000L, now);
+		featureStore.of(1).record(100, 400_000L, now);
+		// 10분 전 잔액 1,000,000 에서 800,000 이 빠졌고, 이번 100,000 까지 90%
+		assertBlocked("단시간 잔액 소진 패턴", () -> screening.screen(account(1, 200_000L), account(100, 0L), 100_000L));
+		assertDoesNotThrow(() -> screening.screen(account(1, 200_000L), account(100, 0L), 99_999L));
+	}
+
+	// 앞 규칙에 걸리면 뒤 규칙은 실행하지 않고, 규칙별로 지표가 쌓인다.
+	@Test
+	void shortCircuitsAndRecordsMetrics() {
+		for (int i = 0; i < 5; i++) {
+			featureStore.of(1).record(100 + i, 100_000L, now);
+		}
+		assertBlocked("평소 대비 고액 이체", () -> screening.screen(account(1, 100_000_000L), account(200, 0L), 5_000_000L));
+
+		List<RuleMetricsDTO> metrics = screening.readMetrics();
+		assertEquals(List.of("large-amount", "new-payee-burst", "rapid-drain", "total"),
+				metrics.stream().map(RuleMetricsDTO::getRule).toList());
+		assertEquals(1, metrics.get(0).getCalls());
+		assertEquals(1, metrics.get(0).getHits());
+		assertEquals(0, metrics.get(1).getCalls());
+		assertEquals(0, metrics.get(2).getCalls());
+		assertEquals(1, metrics.get(3).getHits());
+		assertTrue(metrics.get(3).getP99Micros() > 0);
+	}
+
+	@Test
+	void disabledScreeningPassesEverything() {
+		TransferScreeningService disabled = new TransferScreeningService(featureStore,
+				List.of(new NewPayeeBurstRule(0)), false);
+		assertDoesNotThrow(() -> disabled.screen(account(1, 0L), account(2, 0L), 1L));
+	}
+
+	private void assertBlocked(String reason, Runnable transfer) {
+		DataDeliveryException e = assertThrows(DataDeliveryException.class, transfer::run);
+		assertTrue(e.getMessage().endsWith("(" + reason + ")"), e.getMessage());
+	}
+
+	private Account account(int id, long balance) {
+		return Account.builder().id(id).balance(balance).build();
+	}
+}
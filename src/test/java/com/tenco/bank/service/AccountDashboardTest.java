@@ -0,0 +1,84 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.tenco.bank.dto.AccountDashboardDTO;
+import com.tenco.bank.repository.model.AccountDashboard;
+import com.tenco.bank.repository.model.HistoryAccount;
+
+@SpringBootTest(properties = { "dashboard.page-size=2", "dashboard.recent-size=2" })
+class AccountDashboardTest {
+
+	@Autowired
+	private AccountService accountService;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// 계좌별 최근 내역 recent-size 건, 계좌 id 순 페이징, 합계는 페이지와 무관하게 전체 계좌 기준
+	@Test
+	void pagesAccountsWithRecentHistory() {
+		jdbcTemplate.update("insert into user_tb(username, password, fullname) values('dash-user', '1234', 'dash')");
+		Integer userId = jdbcTemplate.queryForObject("select id from user_tb where username = 'dash-user'", Integer.class);
+		int a = account("dash-a", 1_000L, userId);
+		int b = account("dash-b", 2_000L, userId);
+		int c = account("dash-c", 3_000L, userId);
+		for (int i = 1; i <= 3; i++) {
+			jdbcTemplate.update("insert into history_tb(amount, w_balance, d_balance, w_account_id, d_account_id)"
+					+ " values(?, ?, ?, ?, ?)", i, 1_000L - i, 2_000L + i, a, b);
+		}
+		jdbcTemplate.update("insert into history_tb(amount, w_balance, d_balance, w_account_id, d_account_id)"
+				+ " values(10, null, 3010, null, ?)", c);
+
+		AccountDashboardDTO first = accountService.readDashboard(userId, null);
+		assertEquals(List.of("dash-a", "dash-b"), first.getAccounts().stream().map(AccountDashboard::getNumber).toList());
+		assertEquals(6_000L, first.getTotalBalance());
+		assertEquals(3, first.getAccountCount());
+		assertEquals(b, first.getNextAfterId());
+		List<HistoryAccount> recentOfA = first.getAccounts().get(0).getRecentHistories();
+		assertEquals(List.of(3L, 2L), recentOfA.stream().map(HistoryAccount::getAmount).toList());
+		assertEquals(997L, recentOfA.get(0).getBalance()); // 출금 쪽은 w_balance
+		assertEquals(2_003L, first.getAccounts().get(1).getRecentHistories().get(0).getBalance()); // 입금 쪽은 d_balance
+
+		AccountDashboardDTO second = accountService.readDashboard(userId, first.getNextAfterId());
+		assertEquals(List.of("dash-c"), second.getAccounts().stream().map(AccountDashboard::getNumber).toList());
+		assertEquals("ATM", second.getAccounts().get(0).getRecentHistories().get(0).getSender());
+		assertEquals(6_000L, second.getTotalBalance());
+		assertNull(second.getNextAfterId());
+	}
+
+	// 출금/입금 쪽을 각각 최근 recent-size 건까지만 읽어도 합친 결과는 두 쪽을 통틀어 최근 recent-size 건
+	@Test
+	void recentHistoryMergesBothSides() {
+		jdbcTemplate.update("insert into user_tb(username, password, fullname) values('dash-mix', '1234', 'mix')");
+		Integer userId = jdbcTemplate.queryForObject("select id from user_tb where username = 'dash-mix'", Integer.class);
+		int a = account("dash-mix-a", 1_000L, userId);
+		int b = account("dash-mix-b", 1_000L, null);
+		// a 기준 : 출금 1, 2, 3 / 입금 4, 5 / 출금 6 (id 순)
+		long[] amounts = { 1, 2, 3, 4, 5, 6 };
+		for (long amount : amounts) {
+			boolean deposit = amount == 4 || amount == 5;
+			jdbcTemplate.update("insert into history_tb(amount, w_balance, d_balance, w_account_id, d_account_id)"
+					+ " values(?, ?, ?, ?, ?)", amount, 100 + amount, 200 + amount, deposit ? b : a, deposit ? a : b);
+		}
+
+		List<HistoryAccount> recent = accountService.readDashboard(userId, null).getAccounts().get(0)
+				.getRecentHistories();
+		assertEquals(List.of(6L, 5L), recent.stream().map(HistoryAccount::getAmount).toList());
+		assertEquals(106L, recent.get(0).getBalance()); // 출금 쪽은 w_balance
+		assertEquals(205L, recent.get(1).getBalance()); // 입금 쪽은 d_balance
+	}
+
+	private int account(String number, long balance, Integer userId) {
+		jdbcTemplate.update("insert into account_tb(number, password, balance, user_id) values(?, '1234', ?, ?)", number,
+				balance, userId);
+		return jdbcTemplate.queryForObject("select id from account_tb where number = ?", Integer.class, number);
+	}
+}
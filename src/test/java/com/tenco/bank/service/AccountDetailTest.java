@@ -0,0 +1,84 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.tenco.bank.handler.exception.BusinessException;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.model.AccountDetail;
+import com.tenco.bank.repository.model.HistoryAccount;
+
+@SpringBootTest
+class AccountDetailTest {
+
+	@Autowired
+	private AccountService accountService;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// 계좌와 거래 내역 한 페이지, 유형별 전체 건수를 한 번에
+	@Test
+	void readsAccountWithOnePageOfHistory() {
+		Integer userId = user("detail-user");
+		int a = account("detail-a", 5_000L, userId);
+		int b = account("detail-b", 0L, userId);
+		for (int i = 1; i <= 3; i++) {
+			jdbcTemplate.update("insert into history_tb(amount, w_balance, d_balance, w_account_id, d_account_id)"
+					+ " values(?, ?, ?, ?, ?)", i, 5_000L - i, (long) i, a, b);
+		}
+		jdbcTemplate.update("insert into history_tb(amount, w_balance, d_balance, w_account_id, d_account_id)"
+				+ " values(100, null, 5100, null, ?)", a);
+
+		AccountDetail all = accountService.readAccountDetail("all", a, userId, 1, 3);
+		assertEquals("detail-a", all.getAccount().getNumber());
+		assertEquals(4, all.getTotalRecords());
+		assertEquals(List.of(1L, 2L, 3L), all.getHistories().stream().map(HistoryAccount::getAmount).toList());
+		assertEquals(4_999L, all.getHistories().get(0).getBalance());
+
+		AccountDetail lastPage = accountService.readAccountDetail("all", a, userId, 2, 3);
+		assertEquals(1, lastPage.getHistories().size());
+		assertEquals("ATM", lastPage.getHistories().get(0).getSender());
+		assertEquals(5_100L, lastPage.getHistories().get(0).getBalance());
+
+		assertEquals(1, accountService.readAccountDetail("deposit", a, userId, 1, 10).getTotalRecords());
+		assertEquals(3, accountService.readAccountDetail("withdrawal", a, userId, 1, 10).getTotalRecords());
+		// 범위를 벗어난 페이지는 건수만 따로 조회
+		AccountDetail beyond = accountService.readAccountDetail("all", a, userId, 5, 3);
+		assertTrue(beyond.getHistories().isEmpty());
+		assertEquals(4, beyond.getTotalRecords());
+	}
+
+	// 소유자가 아니면 거래 내역을 읽지 않고 거절 한다.
+	@Test
+	void rejectsOtherUsersAccount() {
+		Integer owner = user("detail-owner");
+		Integer other = user("detail-other");
+		int a = account("detail-owned", 1_000L, owner);
+
+		DataDeliveryException e = assertThrows(DataDeliveryException.class,
+				() -> accountService.readAccountDetail("all", a, other, 1, 10));
+		assertSame(BusinessException.NOT_ACCOUNT_OWNER, e);
+		assertSame(BusinessException.NOT_EXIST_ACCOUNT,
+				assertThrows(DataDeliveryException.class, () -> accountService.readAccountDetail("all", -1, owner, 1, 10)));
+	}
+
+	private Integer user(String username) {
+		jdbcTemplate.update("insert into user_tb(username, password, fullname) values(?, '1234', ?)", username, username);
+		return jdbcTemplate.queryForObject("select id from user_tb where username = ?", Integer.class, username);
+	}
+
+	private int account(String number, long balance, Integer userId) {
+		jdbcTemplate.update("insert into account_tb(number, password, balance, user_id) values(?, '1234', ?, ?)", number,
+				balance, userId);
+		return jdbcTemplate.queryForObject("select id from account_tb where number = ?", Integer.class, number);
+	}
+}
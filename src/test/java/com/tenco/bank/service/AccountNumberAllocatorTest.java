@@ -0,0 +1,86 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.tenco.bank.repository.interfaces.AccountNumberSequenceRepository;
+
+@SpringBootTest
+class AccountNumberAllocatorTest {
+
+	@Autowired
+	private AccountNumberSequenceRepository sequenceRepository;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Long saved;
+
+	@AfterEach
+	void restore() {
+		if (saved != null) {
+			jdbcTemplate.update("delete from account_number_seq_tb where name = 'account'");
+			jdbcTemplate.update("insert into account_number_seq_tb(name, next_val) values('account', ?)", saved);
+		}
+	}
+
+	@Test
+	void createsMissingSequenceRow() {
+		saved = jdbcTemplate.queryForObject("select next_val from account_number_seq_tb where name = 'account'",
+				Long.class);
+		jdbcTemplate.update("delete from account_number_seq_tb where name = 'account'");
+
+		AccountNumberAllocator allocator = new AccountNumberAllocator(sequenceRepository, transactionManager, 10,
+				500000000L);
+		assertEquals(AccountNumberAllocator.withCheckDigit(500000000L), allocator.nextAccountNumber());
+		assertEquals(500000010L, jdbcTemplate.queryForObject(
+				"select next_val from account_number_seq_tb where name = 'account'", Long.class));
+	}
+
+	// 두 노드가 동시에 발급해도 번호가 겹치지 않는다.
+	@Test
+	void nodesNeverShareNumbers() throws Exception {
+		AccountNumberAllocator nodeA = new AccountNumberAllocator(sequenceRepository, transactionManager, 7, 0);
+		AccountNumberAllocator nodeB = new AccountNumberAllocator(sequenceRepository, transactionManager, 7, 0);
+		Set<String> numbers = ConcurrentHashMap.newKeySet();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				AccountNumberAllocator allocator = t % 2 == 0 ? nodeA : nodeB;
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 200; i++) {
+						assertTrue(numbers.add(allocator.nextAccountNumber()));
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(800, numbers.size());
+	}
+
+	@Test
+	void luhnCheckDigit() {
+		assertEquals("79927398713", AccountNumberAllocator.withCheckDigit(7992739871L));
+	}
+}
@@ -0,0 +1,91 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.tenco.bank.dto.DepositDTO;
+import com.tenco.bank.dto.TransferDTO;
+import com.tenco.bank.dto.WithdrawalDTO;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.model.AccountRollup;
+import com.tenco.bank.utils.Define;
+
+@SpringBootTest
+class AccountRollupServiceTest {
+
+	@Autowired
+	private AccountRollupService rollupService;
+	@Autowired
+	private AccountService accountService;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// 거래 내역과 같은 트랜잭션에서 집계가 쌓이고, 다시 계산해도 같은 값이 나온다.
+	@Test
+	void recordsWithHistoryAndRebuildsTheSame() {
+		jdbcTemplate.update("insert into user_tb(username, password, fullname) values('rollup-user', '1234', 'rollup')");
+		Integer userId = jdbcTemplate.queryForObject("select id from user_tb where username = 'rollup-user'",
+				Integer.class);
+		int a = account("rollup-a", userId);
+		int b = account("rollup-b", userId);
+
+		DepositDTO deposit = new DepositDTO();
+		deposit.setAmount(5_000L);
+		deposit.setDAccountNumber("rollup-a");
+		accountService.updateAccountDeposit(deposit, userId);
+		accountService.updateAccountWithdraw(WithdrawalDTO.builder().amount(300L).wAccountNumber("rollup-a")
+				.wAccountPassword("1234").build(), userId);
+		TransferDTO transfer = new TransferDTO();
+		transfer.setAmount(700L);
+		transfer.setWAccountNumber("rollup-a");
+		transfer.setDAccountNumber("rollup-b");
+		transfer.setPassword("1234");
+		accountService.updateAccountTransfer(transfer, userId);
+
+		AccountRollup ofA = thisMonth(a);
+		assertEquals(5_000L, ofA.getInAmount());
+		assertEquals(1, ofA.getInCount());
+		assertEquals(1_000L, ofA.getOutAmount());
+		assertEquals(2, ofA.getOutCount());
+		assertEquals(700L, ofA.getMaxOut());
+		assertEquals(700L, thisMonth(b).getInAmount());
+
+		// 집계가 틀어져도 거래 내역으로 다시 계산
+		jdbcTemplate.update("update account_rollup_tb set out_amount = 1, out_count = 99 where account_id = ?", a);
+		rollupService.rebuild();
+		AccountRollup rebuilt = thisMonth(a);
+		assertEquals(ofA.getInAmount(), rebuilt.getInAmount());
+		assertEquals(ofA.getOutAmount(), rebuilt.getOutAmount());
+		assertEquals(ofA.getOutCount(), rebuilt.getOutCount());
+		assertEquals(ofA.getMaxOut(), rebuilt.getMaxOut());
+	}
+
+	@Test
+	void rejectsInvalidRange() {
+		YearMonth now = YearMonth.now();
+		assertEquals(Define.INVALID_SEARCH_CONDITION, assertThrows(DataDeliveryException.class,
+				() -> rollupService.readMonthly(1, now, now.minusMonths(1))).getMessage());
+		assertThrows(DataDeliveryException.class, () -> rollupService.readMonthly(1, now.minusMonths(36), now));
+		assertEquals(List.of(), rollupService.readMonthly(-1, now.minusMonths(35), now));
+	}
+
+	private AccountRollup thisMonth(int accountId) {
+		List<AccountRollup> months = rollupService.readMonthly(accountId, YearMonth.now(), YearMonth.now());
+		assertEquals(1, months.size());
+		return months.get(0);
+	}
+
+	private int account(String number, Integer userId) {
+		jdbcTemplate.update("insert into account_tb(number, password, balance, user_id) values(?, '1234', 10000, ?)", number,
+				userId);
+		return jdbcTemplate.queryForObject("select id from account_tb where number = ?", Integer.class, number);
+	}
+}
@@ -0,0 +1,96 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.tenco.bank.dto.DepositDTO;
+import com.tenco.bank.dto.TransferDTO;
+import com.tenco.bank.dto.WithdrawalDTO;
+
+// 같은 계좌에 입금, 출금, 양방향 이체가 동시에 들어와도 갱신이 사라지지 않는다.
+@SpringBootTest
+class AccountServiceConcurrencyTest {
+
+	private static final int ROUNDS = 100;
+
+	@Autowired
+	private AccountService accountService;
+	@Autowired
+	private ReconciliationService reconciliationService;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void concurrentWritersKeepEveryUpdate() throws Exception {
+		jdbcTemplate.update("insert into user_tb(username, password, fullname) values('race-user', '1234', 'race')");
+		Integer userId = jdbcTemplate.queryForObject("select id from user_tb where username = 'race-user'", Integer.class);
+		int a = account("race-a", userId);
+		int b = account("race-b", userId);
+
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			futures.add(pool.submit(() -> repeat(() -> {
+				DepositDTO dto = new DepositDTO();
+				dto.setAmount(1L);
+				dto.setDAccountNumber("race-a");
+				accountService.updateAccountDeposit(dto, userId);
+			})));
+			futures.add(pool.submit(() -> repeat(() -> accountService.updateAccountWithdraw(
+					WithdrawalDTO.builder().amount(1L).wAccountNumber("race-a").wAccountPassword("1234").build(),
+					userId))));
+			futures.add(pool.submit(() -> repeat(() -> accountService.updateAccountTransfer(transfer("race-a", "race-b"),
+					userId))));
+			futures.add(pool.submit(() -> repeat(() -> accountService.updateAccountTransfer(transfer("race-b", "race-a"),
+					userId))));
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			pool.shutdown();
+		}
+
+		assertEquals(100_000L, balanceOf(a));
+		assertEquals(100_000L, balanceOf(b));
+		// 거래 내역의 거래 후 잔액도 순서대로 이어진다.
+		assertTrue(reconciliationService.reconcile().getMismatches().stream()
+				.noneMatch(mismatch -> Set.of(a, b).contains(mismatch.getAccountId())));
+	}
+
+	private void repeat(Runnable work) {
+		for (int i = 0; i < ROUNDS; i++) {
+			work.run();
+		}
+	}
+
+	private TransferDTO transfer(String from, String to) {
+		TransferDTO dto = new TransferDTO();
+		dto.setAmount(1L);
+		dto.setWAccountNumber(from);
+		dto.setDAccountNumber(to);
+		dto.setPassword("1234");
+		return dto;
+	}
+
+	private int account(String number, Integer userId) {
+		jdbcTemplate.update("insert into account_tb(number, password, balance, user_id) values(?, '1234', 100000, ?)",
+				number, userId);
+		return jdbcTemplate.queryForObject("select id from account_tb where number = ?", Integer.class, number);
+	}
+
+	private long balanceOf(int id) {
+		return jdbcTemplate.queryForObject("select balance from account_tb where id = ?", Long.class, id);
+	}
+}
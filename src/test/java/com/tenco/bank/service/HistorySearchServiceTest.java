@@ -0,0 +1,104 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.tenco.bank.dto.HistorySearchDTO;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.interfaces.HistoryRepository;
+import com.tenco.bank.repository.model.HistoryAccount;
+import com.tenco.bank.utils.Define;
+
+@SpringBootTest
+class HistorySearchServiceTest {
+
+	@Autowired
+	private HistorySearchService historySearchService;
+	@Autowired
+	private HistoryRepository historyRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// 같은 초에 여러 건이 있어도 cursor 로 넘기면 빠지거나 겹치는 행이 없다.
+	@Test
+	void cursorPagesThroughRowsInTheSameSecond() {
+		int account = account("search-cursor");
+		int other = account("search-cursor-other");
+		List<Integer> expected = new ArrayList<>();
+		for (int i = 0; i < 7; i++) {
+			// 모두 같은 초, 밀리초만 다르다. (역순으로 넣어서 id 순서와 시간 순서를 다르게)
+			jdbcTemplate.update("insert into history_tb(amount, w_balance, d_balance, w_account_id, d_account_id, created_at)"
+					+ " values(?, 0, 0, ?, ?, ?)", 10 + i, i % 2 == 0 ? account : other, i % 2 == 0 ? other : account,
+					Timestamp.valueOf("2024-03-01 10:00:00." + (900 - i * 100)));
+			expected.add(jdbcTemplate.queryForObject("select max(id) from history_tb", Integer.class));
+		}
+
+		List<Integer> seen = new ArrayList<>();
+		String cursor = null;
+		for (int page = 0; page < 10; page++) {
+			HistorySearchDTO search = new HistorySearchDTO();
+			search.setAccountNumber("search-cursor");
+			search.setSize(2);
+			search.setCursor(cursor);
+			List<HistoryAccount> rows = search(search);
+			if (rows.isEmpty()) {
+				break;
+			}
+			rows.forEach(row -> seen.add(row.getId()));
+			cursor = historySearchService.cursorOf(rows.get(rows.size() - 1));
+		}
+		assertEquals(expected, seen); // created_at 역순 = 넣은 순서
+	}
+
+	@Test
+	void rejectsMalformedCursor() {
+		account("search-bad-cursor");
+		HistorySearchDTO search = new HistorySearchDTO();
+		search.setAccountNumber("search-bad-cursor");
+		search.setCursor("not-a-cursor");
+		DataDeliveryException e = assertThrows(DataDeliveryException.class, () -> historySearchService.prepare(search));
+		assertEquals(Define.INVALID_SEARCH_CONDITION, e.getMessage());
+	}
+
+	// 출금 쪽, 입금 쪽 모두 (계좌, created_at, amount) 인덱스로 읽는다.
+	@Test
+	void searchUsesAccountCreatedAtIndexes() {
+		account("search-plan");
+		HistorySearchDTO search = new HistorySearchDTO();
+		search.setAccountNumber("search-plan");
+		search.setFrom("2024-01-01");
+		search.setTo("2024-12-31");
+		search.setMinAmount(100L);
+		search.setCursor(historySearchService.cursorOf(HistoryAccount.builder().id(1)
+				.createdAt(Timestamp.valueOf("2024-06-01 00:00:00.123456789")).build()));
+		assertTrue(historySearchService.prepare(search));
+
+		String withdrawals = historyRepository.explainSearchWithdrawals(search).toString();
+		String deposits = historyRepository.explainSearchDeposits(search).toString();
+		assertTrue(withdrawals.contains("idx_history_w_account_created"), withdrawals);
+		assertTrue(deposits.contains("idx_history_d_account_created"), deposits);
+		assertEquals(123456789, search.getAfterTimestamp().getNanos());
+	}
+
+	private List<HistoryAccount> search(HistorySearchDTO search) {
+		List<HistoryAccount> rows = new ArrayList<>();
+		historySearchService.prepare(search);
+		historySearchService.stream(search, resultContext -> rows.add(resultContext.getResultObject()));
+		return rows;
+	}
+
+	private int account(String number) {
+		jdbcTemplate.update("insert into account_tb(number, password, balance) values(?, '1234', 0)", number);
+		return jdbcTemplate.queryForObject("select id from account_tb where number = ?", Integer.class, number);
+	}
+}
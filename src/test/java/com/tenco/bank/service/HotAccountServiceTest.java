@@ -0,0 +1,121 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tenco.bank.repository.interfaces.AccountRepository;
+import com.tenco.bank.repository.model.Account;
+
+@SpringBootTest
+class HotAccountServiceTest {
+
+	@Autowired
+	private HotAccountService hotAccountService;
+	@Autowired
+	private AccountRepository accountRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	// 잠금 없이 읽은 합계는 거래 후 잔액으로 쓰지 않는다.
+	@Test
+	void slotCreditHasNoBalance() {
+		Account account = hotAccount("hot-credit", 4);
+
+		assertNull(credit(account, 100));
+		assertEquals(1100L, totalOf(account.getId()));
+		assertEquals(1000L, jdbcTemplate.queryForObject("select balance from account_tb where id = ?", Long.class,
+				account.getId()));
+	}
+
+	// 조회 이후 슬롯이 줄어서 고른 슬롯이 없어도 입금이 실패하지 않는다.
+	@Test
+	void staleCreditAfterShrinkUsesRemainingSlots() {
+		Account account = hotAccount("hot-shrink", 8);
+		Account stale = accountRepository.findByNumber("hot-shrink");
+		hotAccountService.changeSlots(account.getId(), 1);
+
+		for (int i = 0; i < 20; i++) {
+			assertNull(credit(stale, 10));
+		}
+		assertEquals(1200L, totalOf(account.getId()));
+		assertEquals(1, jdbcTemplate.queryForObject("select count(*) from account_balance_slot_tb where account_id = ?",
+				Integer.class, account.getId()));
+	}
+
+	// 일반 계좌로 바뀌었으면 계좌 행에 입금하고 정확한 잔액을 돌려준다.
+	@Test
+	void staleCreditAfterConversionUpdatesAccountRow() {
+		Account account = hotAccount("hot-convert", 4);
+		Account stale = accountRepository.findByNumber("hot-convert");
+		hotAccountService.changeSlots(account.getId(), 0);
+
+		assertEquals(1100L, credit(stale, 100));
+		assertEquals(1100L, totalOf(account.getId()));
+	}
+
+	// 입금 도중 슬롯 수를 계속 바꿔도 금액이 사라지거나 실패하지 않는다.
+	@Test
+	void concurrentResizeKeepsEveryCredit() throws Exception {
+		Account account = hotAccount("hot-resize", 4);
+		AtomicBoolean running = new AtomicBoolean(true);
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			Future<?> resizer = pool.submit(() -> {
+				int slots = 1;
+				while (running.get()) {
+					hotAccountService.changeSlots(account.getId(), slots);
+					slots = slots % 6 + 1;
+				}
+			});
+			List<Future<?>> creditors = new ArrayList<>();
+			for (int t = 0; t < 3; t++) {
+				creditors.add(pool.submit(() -> {
+					for (int i = 0; i < 200; i++) {
+						credit(accountRepository.findByNumber("hot-resize"), 1);
+					}
+				}));
+			}
+			for (Future<?> creditor : creditors) {
+				creditor.get();
+			}
+			running.set(false);
+			resizer.get();
+		} finally {
+			running.set(false);
+			pool.shutdown();
+		}
+		assertEquals(1600L, totalOf(account.getId()));
+	}
+
+	private Long credit(Account account, long amount) {
+		return new TransactionTemplate(transactionManager).execute(status -> hotAccountService.credit(account, amount));
+	}
+
+	private Account hotAccount(String number, int slots) {
+		jdbcTemplate.update("insert into account_tb(number, password, balance) values(?, '1234', 1000)", number);
+		Account account = accountRepository.findByNumber(number);
+		hotAccountService.changeSlots(account.getId(), slots);
+		return accountRepository.findByNumber(number);
+	}
+
+	private long totalOf(Integer accountId) {
+		return jdbcTemplate.queryForObject("select a.balance + coalesce((select sum(s.balance) from account_balance_slot_tb"
+				+ " as s where s.account_id = a.id), 0) from account_tb as a where a.id = ?", Long.class, accountId);
+	}
+}
@@ -0,0 +1,80 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.interfaces.AccountRepository;
+import com.tenco.bank.repository.interfaces.InterestRepository;
+import com.tenco.bank.shard.ShardRouter;
+import com.tenco.bank.utils.Define;
+
+@SpringBootTest
+class InterestAccrualServiceTest {
+
+	@Autowired
+	private InterestAccrualService interestAccrualService;
+	@Autowired
+	private AccountRepository accountRepository;
+	@Autowired
+	private InterestRepository interestRepository;
+	@Autowired
+	private HotAccountService hotAccountService;
+	@Autowired
+	private ShardRouter shardRouter;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void rejectsFutureDate() {
+		DataDeliveryException e = assertThrows(DataDeliveryException.class,
+				() -> interestAccrualService.accrue(LocalDate.now().plusDays(1)));
+		assertEquals(Define.INTEREST_FUTURE_DATE, e.getMessage());
+	}
+
+	// 구간 크기 설정이 바뀐 뒤 재실행해도 첫 실행의 구간 경계를 쓰므로 같은 계좌에 두 번 지급하지 않는다.
+	@Test
+	void resumeUsesFirstRunChunkSize() {
+		LocalDate businessDate = LocalDate.now().minusDays(10);
+		int paid = account("interest-paid");
+		account("interest-next");
+		int pending = account("interest-pending");
+		account("interest-last");
+
+		// chunk-size 2 로 시작해서 paid 가 있는 구간까지만 처리하고 멈춘 실행
+		int lo = (paid - 1) / 2 * 2 + 1;
+		jdbcTemplate.update("insert into interest_run_tb(business_date, chunk_size) values(?, 2)", businessDate);
+		jdbcTemplate.update("insert into interest_checkpoint_tb(business_date, chunk_lo, chunk_hi) values(?, ?, ?)",
+				businessDate, lo, lo + 1);
+		jdbcTemplate.update("update account_tb set balance = balance + 100 where id = ?", paid);
+
+		// 설정은 5000 으로 바뀜
+		InterestAccrualService resumed = new InterestAccrualService(accountRepository, interestRepository,
+				hotAccountService, shardRouter, 5000, 2, 100);
+		resumed.accrue(businessDate);
+
+		assertEquals(3_650_100L, balanceOf(paid));
+		assertEquals(3_650_100L, balanceOf(pending));
+
+		DataDeliveryException e = assertThrows(DataDeliveryException.class, () -> resumed.accrue(businessDate));
+		assertEquals(Define.INTEREST_ALREADY_ACCRUED, e.getMessage());
+		assertEquals(3_650_100L, balanceOf(pending));
+	}
+
+	// 잔액 3,650,000 원, 연 1% -> 일 이자 100 원
+	private int account(String number) {
+		jdbcTemplate.update("insert into account_tb(number, password, balance) values(?, '1234', 3650000)", number);
+		return jdbcTemplate.queryForObject("select id from account_tb where number = ?", Integer.class, number);
+	}
+
+	private long balanceOf(int id) {
+		return jdbcTemplate.queryForObject("select balance from account_tb where id = ?", Long.class, id);
+	}
+}
@@ -0,0 +1,157 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tenco.bank.dto.ReconciliationReportDTO.Mismatch;
+
+@SpringBootTest
+class ReconciliationServiceTest {
+
+	@Autowired
+	private ReconciliationService reconciliationService;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	@Autowired
+	private HotAccountService hotAccountService;
+
+	@Test
+	void cleanLedgerHasNoMismatch() {
+		int a = account("recon-clean-a", 1000, 0);
+		int b = account("recon-clean-b", 0, 0);
+		transfer(a, b, 300, 700, 300L);
+
+		assertTrue(mismatchesOf(Set.of(a, b)).isEmpty());
+	}
+
+	@Test
+	void reportsFirstDivergingHistory() {
+		int a = account("recon-bad-a", 1000, 0);
+		int b = account("recon-bad-b", 0, 0);
+		transfer(a, b, 300, 700, 300L);
+		int broken = transfer(a, b, 100, 650, 400L); // 700 - 100 = 600 이어야 한다.
+
+		List<Mismatch> mismatches = mismatchesOf(Set.of(a, b));
+		assertEquals(1, mismatches.size());
+		assertEquals(a, mismatches.get(0).getAccountId());
+		assertEquals(broken, mismatches.get(0).getFirstDivergingHistoryId());
+		assertEquals(600L, mismatches.get(0).getExpectedBalance());
+	}
+
+	// 분할 계좌 : 입금은 잔액 기록 없이 슬롯에 쌓이고, 실제 잔액은 balance + 슬롯 합계
+	@Test
+	void hotAccountComparesBalancePlusSlots() {
+		int a = account("recon-hot-a", 1000, 0);
+		int hot = account("recon-hot", 500, 2);
+		jdbcTemplate.update("insert into account_balance_slot_tb(account_id, slot, balance) values(?, 0, 0), (?, 1, 0)",
+				hot, hot);
+		jdbcTemplate.update("insert into history_tb(amount, d_balance, d_account_id) values(500, 500, ?)", hot);
+		transfer(a, hot, 100, 900, null);
+		transfer(a, hot, 200, 700, null);
+		assertTrue(mismatchesOf(Set.of(a, hot)).isEmpty());
+
+		// 슬롯 잔액이 거래 내역과 다르면 최종 잔액 불일치
+		jdbcTemplate.update("update account_balance_slot_tb set balance = 350 where account_id = ? and slot = 0", hot);
+		List<Mismatch> mismatches = mismatchesOf(Set.of(a, hot));
+		assertEquals(1, mismatches.size());
+		assertEquals(hot, mismatches.get(0).getAccountId());
+		assertEquals(800L, mismatches.get(0).getExpectedBalance());
+		assertEquals(850L, mismatches.get(0).getActualBalance());
+	}
+
+	// 분할을 해제한 계좌도 예전 슬롯 입금(잔액 기록 없음)은 금액만큼 이어서 계산 한다.
+	@Test
+	void hotAccountTurnedNormalKeepsSlotDeposits() {
+		int a = account("recon-unhot-a", 1000, 0);
+		int hot = account("recon-unhot", 500, 2);
+		jdbcTemplate.update("insert into account_balance_slot_tb(account_id, slot, balance) values(?, 0, 0), (?, 1, 0)",
+				hot, hot);
+		jdbcTemplate.update("insert into history_tb(amount, d_balance, d_account_id) values(500, 500, ?)", hot);
+		transfer(a, hot, 100, 900, null);
+		transfer(a, hot, 200, 700, null);
+
+		hotAccountService.changeSlots(hot, 0);
+		transfer(hot, a, 50, 750, 750L);
+		assertTrue(mismatchesOf(Set.of(a, hot)).isEmpty());
+
+		// 잔액 기록이 없는 출금은 여전히 불일치
+		jdbcTemplate.update("insert into history_tb(amount, w_balance, w_account_id) values(10, null, ?)", hot);
+		int broken = jdbcTemplate.queryForObject("select max(id) from history_tb", Integer.class);
+		List<Mismatch> mismatches = mismatchesOf(Set.of(a, hot));
+		assertEquals(1, mismatches.size());
+		assertEquals(hot, mismatches.get(0).getAccountId());
+		assertEquals(broken, mismatches.get(0).getFirstDivergingHistoryId());
+	}
+
+	// 대사 도중 커밋되는 이체가 있어도 계좌와 거래 내역을 같은 시점에서 읽는다.
+	@Test
+	void concurrentTransfersDoNotCauseFalseMismatches() throws Exception {
+		int a = account("recon-live-a", 1_000_000, 0);
+		int b = account("recon-live-b", 0, 0);
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+		AtomicBoolean running = new AtomicBoolean(true);
+
+		Thread writer = new Thread(() -> {
+			long balance = 1_000_000;
+			while (running.get() && balance > 0) {
+				long wBalance = --balance;
+				tx.executeWithoutResult(status -> {
+					jdbcTemplate.update("update account_tb set balance = balance - 1 where id = ?", a);
+					jdbcTemplate.update("update account_tb set balance = balance + 1 where id = ?", b);
+					jdbcTemplate.update(
+							"insert into history_tb(amount, w_balance, d_balance, w_account_id, d_account_id) values(1, ?, ?, ?, ?)",
+							wBalance, 1_000_000 - wBalance, a, b);
+				});
+			}
+		});
+		writer.start();
+		try {
+			for (int i = 0; i < 50; i++) {
+				List<Mismatch> mismatches = mismatchesOf(Set.of(a, b));
+				assertTrue(mismatches.isEmpty(), "round " + i + " " + mismatches);
+			}
+		} finally {
+			running.set(false);
+			writer.join();
+		}
+	}
+
+	private List<Mismatch> mismatchesOf(Set<Integer> accountIds) {
+		return reconciliationService.reconcile().getMismatches().stream()
+				.filter(mismatch -> accountIds.contains(mismatch.getAccountId())).toList();
+	}
+
+	private int account(String number, long balance, int hotSlots) {
+		jdbcTemplate.update("insert into account_tb(number, password, balance, hot_slots) values(?, '1234', ?, ?)",
+				number, balance, hotSlots);
+		return jdbcTemplate.queryForObject("select id from account_tb where number = ?", Integer.class, number);
+	}
+
+	// 잔액 갱신 + 거래 내역 (dBalance 가 null 이면 분할 계좌 입금 : 슬롯 0 에 쌓는다)
+	private int transfer(int from, int to, long amount, long wBalance, Long dBalance) {
+		jdbcTemplate.update("update account_tb set balance = balance - ? where id = ?", amount, from);
+		if (dBalance == null) {
+			jdbcTemplate.update("update account_balance_slot_tb set balance = balance + ? where account_id = ? and slot = 0",
+					amount, to);
+		} else {
+			jdbcTemplate.update("update account_tb set balance = balance + ? where id = ?", amount, to);
+		}
+		jdbcTemplate.update(
+				"insert into history_tb(amount, w_balance, d_balance, w_account_id, d_account_id) values(?, ?, ?, ?, ?)",
+				amount, wBalance, dBalance, from, to);
+		return jdbcTemplate.queryForObject("select max(id) from history_tb", Integer.class);
+	}
+}
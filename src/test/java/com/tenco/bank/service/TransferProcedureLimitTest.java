@@ -0,0 +1,58 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.tenco.bank.dto.TransferDTO;
+import com.tenco.bank.handler.exception.BusinessException;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+
+// 프로시저 이체 + SQL 모드 한도 : 프로시저가 넣은 거래 내역을 한도에 두 번 세지 않는다.
+@SpringBootTest(properties = { "transfer.mode=procedure", "limits.mode=sql", "limits.hourly=1000",
+		"limits.daily=1500" })
+class TransferProcedureLimitTest {
+
+	@Autowired
+	private AccountService accountService;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void transfersExactlyUpToTheLimit() {
+		jdbcTemplate.update("insert into user_tb(username, password, fullname) values('proc-limit', '1234', 'proc')");
+		Integer userId = jdbcTemplate.queryForObject("select id from user_tb where username = 'proc-limit'",
+				Integer.class);
+		jdbcTemplate.update("insert into account_tb(number, password, balance, user_id) values('proc-limit-w', '1234',"
+				+ " 10000, ?)", userId);
+		jdbcTemplate.update("insert into account_tb(number, password, balance, user_id) values('proc-limit-d', '1234',"
+				+ " 0, ?)", userId);
+
+		accountService.updateAccountTransfer(transfer(600), userId);
+		accountService.updateAccountTransfer(transfer(400), userId);
+		assertEquals(1000L, balanceOf("proc-limit-d"));
+
+		DataDeliveryException e = assertThrows(DataDeliveryException.class,
+				() -> accountService.updateAccountTransfer(transfer(1), userId));
+		assertSame(BusinessException.EXCEED_HOURLY_LIMIT, e);
+		assertEquals(9000L, balanceOf("proc-limit-w"));
+	}
+
+	private TransferDTO transfer(long amount) {
+		TransferDTO dto = new TransferDTO();
+		dto.setAmount(amount);
+		dto.setWAccountNumber("proc-limit-w");
+		dto.setDAccountNumber("proc-limit-d");
+		dto.setPassword("1234");
+		return dto;
+	}
+
+	private long balanceOf(String number) {
+		return jdbcTemplate.queryForObject("select balance from account_tb where number = ?", Long.class, number);
+	}
+}
@@ -0,0 +1,179 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.tenco.bank.dto.TransferDTO;
+import com.tenco.bank.dto.WithdrawalDTO;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.interfaces.HistoryRepository;
+import com.tenco.bank.repository.model.WithdrawalTotals;
+import com.tenco.bank.shard.ShardRouter;
+import com.tenco.bank.shard.ShardRoutingDataSource;
+import com.tenco.bank.utils.Define;
+
+// 샤드 0 -> 샤드 1 이체 : 출금 후 중단, 복구, 보상(환불), 복구 작업의 출금 중단
+// 계좌를 만들고 테이블 이름을 바꾸므로 다른 샤딩 테스트와 DB 를 같이 쓰지 않는다.
+@SpringBootTest
+@ActiveProfiles("sharded")
+@DirtiesContext
+class TransferSagaShardedTest {
+
+	private static final int W_SHARD = 0;
+	private static final int D_SHARD = 1;
+
+	@Autowired
+	private AccountService accountService;
+	@Autowired
+	private TransferSagaService transferSagaService;
+	@Autowired
+	private HistoryRepository historyRepository;
+	@Autowired
+	private ShardRouter shardRouter;
+	@Autowired
+	private ShardRoutingDataSource shardRoutingDataSource;
+
+	// 출금 커밋 후 상태 기록 전에 노드가 죽어도 복구 작업이 입금을 한 번만 이어서 처리 한다.
+	@Test
+	void debitThenCrashIsCompletedByRecovery() {
+		int userId = user("saga-crash");
+		int sagaId = stuckAfterDebit(userId, "saga-crash", 300_000);
+		// 상태 변경(STARTED -> DEBITED)도 남기지 못하고 죽은 경우
+		shard(W_SHARD).update("update transfer_saga_tb set status = 'STARTED' where id = ?", sagaId);
+		age(sagaId);
+
+		transferSagaService.recover();
+
+		assertEquals("DONE", statusOf(sagaId));
+		assertEquals(1_700_000L, balanceOf(W_SHARD, "saga-crash-w"));
+		assertEquals(300_000L, balanceOf(D_SHARD, "saga-crash-d"));
+
+		// 다시 돌려도 입금은 한 번만
+		shard(W_SHARD).update("update transfer_saga_tb set status = 'DEBITED' where id = ?", sagaId);
+		age(sagaId);
+		transferSagaService.recover();
+		assertEquals(300_000L, balanceOf(D_SHARD, "saga-crash-d"));
+		assertEquals(1, shard(D_SHARD).queryForObject("select count(*) from history_tb where d_account_id = ?",
+				Integer.class, accountId(D_SHARD, "saga-crash-d")));
+	}
+
+	// 입금 계좌가 없어지면 환불하고, 환불한 금액은 출금 한도에서도 빠진다.
+	@Test
+	void compensationRefundsAndReleasesLimit() {
+		int userId = user("saga-refund");
+		int sagaId = stuckAfterDebit(userId, "saga-refund", 700_000);
+		shard(D_SHARD).update("delete from account_tb where number = 'saga-refund-d'");
+		age(sagaId);
+
+		transferSagaService.recover();
+
+		assertEquals("COMPENSATED", statusOf(sagaId));
+		assertEquals(2_000_000L, balanceOf(W_SHARD, "saga-refund-w"));
+		// 시간당 한도 1,000,000 - 취소된 700,000 이 남아 있으면 실패
+		accountService.updateAccountWithdraw(WithdrawalDTO.builder().amount(700_000L).wAccountNumber("saga-refund-w")
+				.wAccountPassword("1234").build(), userId);
+		assertEquals(1_300_000L, balanceOf(W_SHARD, "saga-refund-w"));
+		// sql 모드 합계에서도 빠진다.
+		int wAccountId = accountId(W_SHARD, "saga-refund-w");
+		long now = System.currentTimeMillis();
+		WithdrawalTotals totals = shardRouter.query(W_SHARD, () -> historyRepository.sumWithdrawals(wAccountId,
+				new Timestamp(now - 3_600_000L), new Timestamp(now - 86_400_000L), null));
+		assertEquals(700_000L, totals.getHourly());
+	}
+
+	// 출금 전에 멈춘 saga 는 복구 작업이 출금 단계를 "중단" 으로 차지해서 늦게 온 출금이 반영되지 않는다.
+	@Test
+	void recoveryAbortsSagaThatNeverDebited() {
+		int userId = user("saga-abort");
+		int wAccountId = account(W_SHARD, "saga-abort-w", userId, 1_000_000);
+		int dAccountId = account(D_SHARD, "saga-abort-d", userId, 0);
+		shard(W_SHARD).update("insert into transfer_saga_tb(user_id, w_account_number, d_account_number, w_account_id,"
+				+ " d_account_id, w_shard, d_shard, amount, status) values(?, 'saga-abort-w', 'saga-abort-d', ?, ?, ?, ?,"
+				+ " 1000, 'STARTED')", userId, wAccountId, dAccountId, W_SHARD, D_SHARD);
+		int sagaId = shard(W_SHARD).queryForObject("select max(id) from transfer_saga_tb", Integer.class);
+		age(sagaId);
+
+		transferSagaService.recover();
+
+		assertEquals("FAILED", statusOf(sagaId));
+		assertTrue(shard(W_SHARD).queryForObject(
+				"select aborted from transfer_saga_step_tb where saga_id = ? and step = 'DEBIT'", Boolean.class, sagaId));
+		assertEquals(1_000_000L, balanceOf(W_SHARD, "saga-abort-w"));
+		assertEquals(0L, balanceOf(D_SHARD, "saga-abort-d"));
+	}
+
+	// 출금은 커밋 되고 입금 샤드 장애로 입금이 멈춘 saga (DEBITED)
+	private int stuckAfterDebit(int userId, String prefix, long amount) {
+		account(W_SHARD, prefix + "-w", userId, 2_000_000);
+		account(D_SHARD, prefix + "-d", userId, 0);
+		TransferDTO dto = new TransferDTO();
+		dto.setAmount(amount);
+		dto.setWAccountNumber(prefix + "-w");
+		dto.setDAccountNumber(prefix + "-d");
+		dto.setPassword("1234");
+
+		shard(D_SHARD).execute("alter table history_tb rename to history_tb_down");
+		try {
+			DataDeliveryException e = assertThrows(DataDeliveryException.class,
+					() -> accountService.updateAccountTransfer(dto, userId));
+			assertEquals(Define.TRANSFER_IN_PROGRESS, e.getMessage());
+		} finally {
+			shard(D_SHARD).execute("alter table history_tb_down rename to history_tb");
+		}
+		int sagaId = shard(W_SHARD).queryForObject(
+				"select id from transfer_saga_tb where w_account_number = ?", Integer.class, prefix + "-w");
+		assertEquals("DEBITED", statusOf(sagaId));
+		assertEquals(2_000_000L - amount, balanceOf(W_SHARD, prefix + "-w"));
+		assertEquals(0L, balanceOf(D_SHARD, prefix + "-d"));
+		return sagaId;
+	}
+
+	// 복구 대상이 되도록 마지막 진행 시각을 saga.stale-ms 이전으로
+	private void age(int sagaId) {
+		shard(W_SHARD).update("update transfer_saga_tb set updated_at = dateadd('MINUTE', -5, now()) where id = ?",
+				sagaId);
+	}
+
+	private String statusOf(int sagaId) {
+		return shard(W_SHARD).queryForObject("select status from transfer_saga_tb where id = ?", String.class, sagaId);
+	}
+
+	private int user(String username) {
+		shard(ShardRouter.GLOBAL).update("insert into user_tb(username, password, fullname) values(?, '1234', ?)",
+				username, username);
+		return shard(ShardRouter.GLOBAL).queryForObject("select id from user_tb where username = ?", Integer.class,
+				username);
+	}
+
+	private int account(int shard, String number, int userId, long balance) {
+		shard(ShardRouter.GLOBAL).update("insert into account_directory_tb(number, shard) values(?, ?)", number, shard);
+		shard(shard).update("insert into account_tb(number, password, balance, user_id) values(?, '1234', ?, ?)",
+				number, balance, userId);
+		return accountId(shard, number);
+	}
+
+	private int accountId(int shard, String number) {
+		return shard(shard).queryForObject("select id from account_tb where number = ?", Integer.class, number);
+	}
+
+	private long balanceOf(int shard, String number) {
+		return shard(shard).queryForObject("select balance from account_tb where number = ?", Long.class, number);
+	}
+
+	private JdbcTemplate shard(int shard) {
+		DataSource dataSource = shardRoutingDataSource.getResolvedDataSources().get(shard);
+		return new JdbcTemplate(dataSource);
+	}
+}
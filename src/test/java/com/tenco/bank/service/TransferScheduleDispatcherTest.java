@@ -0,0 +1,109 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.tenco.bank.dto.TransferDTO;
+import com.tenco.bank.handler.exception.BusinessException;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.model.TransferSchedule;
+import com.tenco.bank.utils.Define;
+
+@SpringBootTest
+class TransferScheduleDispatcherTest {
+
+	@Autowired
+	private TransferScheduleDispatcher dispatcher;
+	@Autowired
+	private TransferScheduleService scheduleService;
+	@Autowired
+	private AccountService accountService;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// 이체 커밋 후 완료 기록 전에 노드가 죽고 점유가 만료되어도 한 번만 출금 된다.
+	@Test
+	void crashBeforeCompletePaysOnce() throws Exception {
+		int scheduleId = schedule("sched-crash");
+
+		List<TransferSchedule> claimed = scheduleService.claimDue("node-a", 100, 300000);
+		TransferSchedule onNodeA = claimed.stream().filter(s -> s.getId() == scheduleId).findFirst().get();
+		accountService.updateAccountTransferBySchedule(dtoOf(onNodeA), onNodeA);
+		// node-a 는 여기서 죽는다. 점유 만료 후 다른 노드가 다시 가져간다.
+		jdbcTemplate.update("update transfer_schedule_tb set claimed_until = dateadd('SECOND', -1, now()) where id = ?",
+				scheduleId);
+		dispatcher.dispatch();
+		awaitStatus(scheduleId, "DONE");
+
+		assertEquals(900L, balanceOf("sched-crash-w"));
+		assertEquals(100L, balanceOf("sched-crash-d"));
+		assertEquals(Define.SCHEDULE_ALREADY_RUN, jdbcTemplate.queryForObject(
+				"select last_result from transfer_schedule_tb where id = ?", String.class, scheduleId));
+
+		// 늦게 살아난 node-a 의 완료 기록은 점유를 잃었으므로 무시 된다.
+		assertFalse(scheduleService.complete(onNodeA, true, "정상 처리"));
+		assertEquals(1, jdbcTemplate.queryForObject(
+				"select count(*) from transfer_schedule_run_tb where schedule_id = ?", Integer.class, scheduleId));
+	}
+
+	// 같은 실행 시각으로 두 번 이체하면 두 번째는 롤백 된다.
+	@Test
+	void sameRunTimeTransfersOnce() {
+		int scheduleId = schedule("sched-twice");
+		TransferSchedule schedule = scheduleService.claimDue("node-b", 100, 300000).stream()
+				.filter(s -> s.getId() == scheduleId).findFirst().get();
+
+		accountService.updateAccountTransferBySchedule(dtoOf(schedule), schedule);
+		DataDeliveryException e = assertThrows(DataDeliveryException.class,
+				() -> accountService.updateAccountTransferBySchedule(dtoOf(schedule), schedule));
+		assertSame(BusinessException.SCHEDULE_ALREADY_RUN, e);
+		assertEquals(900L, balanceOf("sched-twice-w"));
+		assertEquals(100L, balanceOf("sched-twice-d"));
+	}
+
+	private int schedule(String prefix) {
+		jdbcTemplate.update("insert into user_tb(username, password, fullname) values(?, '1234', ?)", prefix, prefix);
+		Integer userId = jdbcTemplate.queryForObject("select id from user_tb where username = ?", Integer.class, prefix);
+		jdbcTemplate.update("insert into account_tb(number, password, balance, user_id) values(?, '1234', 1000, ?)",
+				prefix + "-w", userId);
+		jdbcTemplate.update("insert into account_tb(number, password, balance, user_id) values(?, '1234', 0, ?)",
+				prefix + "-d", userId);
+		jdbcTemplate.update("insert into transfer_schedule_tb(user_id, w_account_number, d_account_number, amount, cycle,"
+				+ " next_run_at, status) values(?, ?, ?, 100, 'ONCE', dateadd('MINUTE', -1, now()), 'ACTIVE')", userId,
+				prefix + "-w", prefix + "-d");
+		return jdbcTemplate.queryForObject("select id from transfer_schedule_tb where w_account_number = ?",
+				Integer.class, prefix + "-w");
+	}
+
+	private TransferDTO dtoOf(TransferSchedule schedule) {
+		TransferDTO dto = new TransferDTO();
+		dto.setAmount(schedule.getAmount());
+		dto.setWAccountNumber(schedule.getWAccountNumber());
+		dto.setDAccountNumber(schedule.getDAccountNumber());
+		return dto;
+	}
+
+	private long balanceOf(String number) {
+		return jdbcTemplate.queryForObject("select balance from account_tb where number = ?", Long.class, number);
+	}
+
+	private void awaitStatus(int scheduleId, String status) throws InterruptedException {
+		for (int i = 0; i < 100; i++) {
+			if (status.equals(jdbcTemplate.queryForObject("select status from transfer_schedule_tb where id = ?",
+					String.class, scheduleId))) {
+				return;
+			}
+			Thread.sleep(50);
+		}
+		throw new AssertionError("schedule " + scheduleId + " is not " + status);
+	}
+}
@@ -0,0 +1,50 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.tenco.bank.dto.ImportResultDTO;
+import com.tenco.bank.utils.Define;
+
+@SpringBootTest
+class UserImportServiceTest {
+
+	@Autowired
+	private UserImportService userImportService;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void reportsDuplicateAndInvalidRowsSeparately() {
+		String longName = "x".repeat(60); // username varchar(50)
+		String csv = """
+				username,password,fullname,accountPassword,balance
+				import-ok,1234,가나다,1111,1000
+				길동,1234,중복,1111,1000
+				%s,1234,길이초과
+				import-ok2,1234,라마바
+				""".formatted(longName);
+
+		ImportResultDTO result = userImportService.importUsers(
+				new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+		assertEquals(4, result.getTotalRows());
+		assertEquals(2, result.getSuccessRows());
+		assertEquals(2, result.getErrors().size());
+		assertEquals(3, result.getErrors().get(0).getLine());
+		assertEquals("중복 이름을 사용할 수 없습니다.", result.getErrors().get(0).getMessage());
+		assertEquals(4, result.getErrors().get(1).getLine());
+		assertTrue(result.getErrors().get(1).getMessage().startsWith(Define.INVALID_INPUT));
+		assertEquals(1, jdbcTemplate.queryForObject(
+				"select count(*) from account_tb a join user_tb u on a.user_id = u.id where u.username = 'import-ok'",
+				Integer.class));
+	}
+}
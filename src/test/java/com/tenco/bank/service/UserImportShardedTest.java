@@ -0,0 +1,62 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.tenco.bank.dto.ImportResultDTO;
+import com.tenco.bank.shard.ShardRoutingDataSource;
+
+@SpringBootTest
+@ActiveProfiles("sharded")
+class UserImportShardedTest {
+
+	@Autowired
+	private UserImportService userImportService;
+	@Autowired
+	private ShardRoutingDataSource shardRoutingDataSource;
+
+	// 계좌 insert 가 실패해서 사용자 트랜잭션이 롤백 되어도 다른 샤드에 주인 없는 계좌가 남지 않는다.
+	@Test
+	void noOrphanAccountsWhenUserChunkRollsBack() {
+		StringBuilder csv = new StringBuilder("username,password,fullname,accountPassword,balance\n");
+		for (int i = 0; i < 10; i++) {
+			csv.append("good").append(i).append(",1234,정상,1111,1000\n");
+			csv.append("bad").append(i).append(",1234,계좌비번초과,").append("9".repeat(40)).append(",1000\n");
+		}
+
+		ImportResultDTO result = userImportService.importUsers(
+				new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+
+		assertEquals(20, result.getTotalRows());
+		assertEquals(10, result.getSuccessRows());
+		assertEquals(10, result.getErrors().size());
+
+		JdbcTemplate shard0 = new JdbcTemplate(shard(0));
+		Set<Integer> userIds = new HashSet<>(shard0.queryForList("select id from user_tb", Integer.class));
+		int accounts = 0;
+		for (int shard = 0; shard < 2; shard++) {
+			for (Integer userId : new JdbcTemplate(shard(shard)).queryForList(
+					"select user_id from account_tb where number not in ('1111', '2222', '3333')", Integer.class)) {
+				assertEquals(true, userIds.contains(userId), "주인 없는 계좌 user_id=" + userId);
+				accounts++;
+			}
+		}
+		assertEquals(10, accounts);
+	}
+
+	private DataSource shard(int shard) {
+		return shardRoutingDataSource.getResolvedDataSources().get(shard);
+	}
+}
@@ -0,0 +1,45 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SpringBootTest
+class UserServiceTest {
+
+	@Autowired
+	private UserService userService;
+	@Autowired
+	private UsernameFilter usernameFilter;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// 다른 노드에서 가입한 이름 (이 노드의 필터에는 없다) 도 조회 된다. - 소셜 로그인 중복 가입 방지
+	@Test
+	void searchFindsNameMissingFromFilter() {
+		jdbcTemplate.update("insert into user_tb(username, password, fullname) values('other-node_1', '1234', 'other')");
+		assertFalse(usernameFilter.mightContain("other-node_1"));
+		long before = usernameFilter.readStats().getFalseNegatives();
+
+		assertNotNull(userService.searcUsername("other-node_1"));
+		assertEquals(before + 1, usernameFilter.readStats().getFalseNegatives());
+		// 한 번 확인한 이름은 필터에도 들어간다.
+		assertTrue(usernameFilter.mightContain("other-node_1"));
+		assertFalse(userService.isUsernameAvailable("other-node_1"));
+	}
+
+	// 사용 가능 여부는 힌트 - 필터가 확실히 없다고 하면 DB 를 보지 않는다.
+	@Test
+	void availabilityIsAHintFromFilter() {
+		jdbcTemplate.update("insert into user_tb(username, password, fullname) values('hint-only', '1234', 'hint')");
+
+		assertTrue(userService.isUsernameAvailable("hint-only"));
+		assertNotNull(userService.searcUsername("hint-only"));
+	}
+}
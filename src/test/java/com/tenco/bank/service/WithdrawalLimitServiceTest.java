@@ -0,0 +1,66 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Timestamp;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tenco.bank.handler.exception.BusinessException;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+
+@SpringBootTest(properties = { "limits.hourly=1000", "limits.daily=1500" })
+class WithdrawalLimitServiceTest {
+
+	@Autowired
+	private WithdrawalLimitService limitService;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// 재시작하면 최근 1일 출금 내역으로 윈도우를 다시 채운다. (2시간 전 출금은 1일 한도에만 포함)
+	@Test
+	void rebuildCountsRecentWithdrawals() {
+		int accountId = account("limit-rebuild");
+		jdbcTemplate.update("insert into history_tb(amount, w_balance, d_balance, w_account_id, d_account_id, created_at)"
+				+ " values(800, 0, null, ?, null, ?)", accountId, new Timestamp(System.currentTimeMillis() - 7_200_000L));
+
+		limitService.rebuild();
+
+		limitService.checkAndReserve(accountId, 700);
+		assertExceeded(BusinessException.EXCEED_DAILY_LIMIT, accountId, 1);
+	}
+
+	// 롤백된 출금은 한도에 남지 않고, 취소(환불)한 출금은 한도에서 빠진다.
+	@Test
+	void rollbackAndReleaseFreeTheLimit() {
+		int accountId = account("limit-rollback");
+
+		transactionTemplate.executeWithoutResult(status -> {
+			limitService.checkAndReserve(accountId, 600);
+			status.setRollbackOnly();
+		});
+		limitService.checkAndReserve(accountId, 1000);
+		assertExceeded(BusinessException.EXCEED_HOURLY_LIMIT, accountId, 1);
+
+		limitService.release(accountId, 400, new Timestamp(System.currentTimeMillis()));
+		limitService.checkAndReserve(accountId, 400);
+		assertExceeded(BusinessException.EXCEED_HOURLY_LIMIT, accountId, 1);
+	}
+
+	private void assertExceeded(BusinessException expected, int accountId, long amount) {
+		assertSame(expected,
+				assertThrows(DataDeliveryException.class, () -> limitService.checkAndReserve(accountId, amount)));
+	}
+
+	private int account(String number) {
+		jdbcTemplate.update("insert into account_tb(number, password, balance) values(?, '1234', 0)", number);
+		return jdbcTemplate.queryForObject("select id from account_tb where number = ?", Integer.class, number);
+	}
+}
@@ -0,0 +1,174 @@
+package com.tenco.bank.thumbnail;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.utils.Define;
+
+// 원격 호출 없이 로컬 stub 으로 확인 (요청 합치기, LRU 삭제, 허용 호스트)
+class ThumbnailCacheTest {
+
+	private static final String A = "https://k.kakaocdn.net/a.jpg";
+	private static final String B = "https://k.kakaocdn.net/b.jpg";
+	private static final String C = "https://k.kakaocdn.net/c.jpg";
+
+	@TempDir
+	Path dir;
+
+	// 같은 주소를 동시에 요청하면 원격 호출은 한 번, 나머지는 그 결과를 같이 쓴다.
+	@Test
+	void concurrentRequestsShareOneFetch() throws Exception {
+		StubClient client = new StubClient(100);
+		CountDownLatch release = new CountDownLatch(1);
+		client.gate = release;
+		ThumbnailCache cache = cache(client, 10_000);
+
+		int threads = 8;
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<ThumbnailCache.Thumbnail>> results = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				results.add(pool.submit(() -> cache.get(A)));
+			}
+			// 나머지 7 개가 모두 먼저 간 요청을 기다리는 중이 될 때까지
+			for (int i = 0; i < 500 && cache.readStats().getCoalesced() < threads - 1; i++) {
+				Thread.sleep(10);
+			}
+			release.countDown();
+			ThumbnailCache.Thumbnail first = results.get(0).get(5, TimeUnit.SECONDS);
+			assertNotNull(first);
+			for (Future<ThumbnailCache.Thumbnail> result : results) {
+				assertSame(first, result.get(5, TimeUnit.SECONDS));
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		assertEquals(1, client.calls(A));
+		assertEquals(threads - 1, cache.readStats().getCoalesced());
+		assertEquals(1, cache.readStats().getMisses());
+	}
+
+	// 최대 크기를 넘으면 가장 오래 사용하지 않은 것부터 지운다.
+	@Test
+	void evictsLeastRecentlyUsed() throws Exception {
+		StubClient client = new StubClient(100);
+		ThumbnailCache cache = cache(client, 250);
+
+		Path a = cache.get(A).file();
+		Path b = cache.get(B).file();
+		cache.get(A); // A 를 최근 사용으로
+		Path c = cache.get(C).file();
+
+		assertTrue(Files.exists(a));
+		assertFalse(Files.exists(b));
+		assertTrue(Files.exists(c));
+		assertEquals(1, cache.readStats().getEvictions());
+		assertEquals(200, cache.readStats().getTotalBytes());
+
+		// 지워진 것은 다시 가져오고, 이번에는 A 가 가장 오래 됐다.
+		cache.get(B);
+		assertEquals(2, client.calls(B));
+		assertFalse(Files.exists(a));
+	}
+
+	// 재시작하면 디렉터리의 파일로 목록을 다시 만든다.
+	@Test
+	void reloadsFromDirectory() throws Exception {
+		StubClient client = new StubClient(100);
+		cache(client, 10_000).get(A);
+
+		ThumbnailCache restarted = cache(client, 10_000);
+		assertNotNull(restarted.get(A));
+		assertEquals(1, client.calls(A));
+		assertEquals(1, restarted.readStats().getHits());
+	}
+
+	@Test
+	void rejectsHostsOutsideAllowList() throws Exception {
+		StubClient client = new StubClient(100);
+		ThumbnailCache cache = cache(client, 10_000);
+
+		for (String url : List.of("https://evil.example/a.jpg", "https://kakaocdn.net.evil.example/a.jpg",
+				"https://user@k.kakaocdn.net/a.jpg", "file:///etc/passwd", "ftp://k.kakaocdn.net/a.jpg", "not a url")) {
+			DataDeliveryException e = assertThrows(DataDeliveryException.class, () -> cache.get(url), url);
+			assertEquals(Define.INVALID_THUMBNAIL_URL, e.getMessage());
+		}
+		assertEquals(0, client.total.get());
+	}
+
+	// 이미지가 아닌 응답은 저장하지 않고 null (원본 주소로 보낸다)
+	@Test
+	void nonImageResponseIsNotCached() throws Exception {
+		StubClient client = new StubClient(100);
+		client.contentType = "text/html";
+		ThumbnailCache cache = cache(client, 10_000);
+
+		assertNull(cache.get(A));
+		assertEquals(1, cache.readStats().getFetchFailures());
+		assertEquals(0, cache.readStats().getEntries());
+	}
+
+	private ThumbnailCache cache(ThumbnailClient client, long maxBytes) throws IOException {
+		ThumbnailCache cache = new ThumbnailCache(client, dir.toString(), maxBytes, 1_000, List.of("kakaocdn.net"),
+				1_000, 4_000);
+		cache.load();
+		return cache;
+	}
+
+	// 주소마다 호출 수를 세는 로컬 stub (gate 가 있으면 열릴 때까지 응답을 미룬다)
+	private static class StubClient implements ThumbnailClient {
+		private final int size;
+		private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+		private final AtomicInteger total = new AtomicInteger();
+		private volatile CountDownLatch gate;
+		private volatile String contentType = "image/jpeg";
+
+		private StubClient(int size) {
+			this.size = size;
+		}
+
+		@Override
+		public Image fetch(URI url, int maxBytes) throws IOException {
+			total.incrementAndGet();
+			calls.computeIfAbsent(url.toString(), key -> new AtomicInteger()).incrementAndGet();
+			CountDownLatch current = gate;
+			if (current != null) {
+				try {
+					current.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return new Image(new byte[size], contentType);
+		}
+
+		private int calls(String url) {
+			AtomicInteger count = calls.get(url);
+			return count == null ? 0 : count.get();
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package com.tenco.bank.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowTest {
+
+	private static final long MINUTE = 60_000L;
+
+	@Test
+	void sumsOnlyBucketsInsideWindow() {
+		long now = System.currentTimeMillis();
+		SlidingWindow window = new SlidingWindow(MINUTE, 60);
+		window.add(now, 100);
+		window.add(now - 30 * MINUTE, 200);
+		window.add(now - 61 * MINUTE, 400); // 윈도우 밖 - 무시
+
+		assertEquals(300, window.total(now));
+		// 30분 뒤에는 30분 전 값이 빠진다.
+		assertEquals(100, window.total(now + 30 * MINUTE));
+		assertEquals(0, window.total(now + 60 * MINUTE));
+		assertEquals(60 * MINUTE, window.windowMillis());
+	}
+
+	// 같은 칸을 쓰던 오래된 구간은 새 구간이 들어오면 지워진다.
+	@Test
+	void reusesBucketForNewerInterval() {
+		long now = System.currentTimeMillis();
+		SlidingWindow window = new SlidingWindow(MINUTE, 3);
+		window.add(now - 2 * MINUTE, 10);
+		window.add(now, 5);
+		window.add(now, -2); // 취소(환불)는 음수로
+
+		assertEquals(13, window.total(now));
+		assertEquals(3, window.total(now + 2 * MINUTE));
+	}
+}
@@ -0,0 +1,57 @@
+package com.tenco.bank.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Timestamp;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+
+class ValueFormatterTest {
+
+	@Test
+	void formatWonMatchesDecimalFormat() {
+		DecimalFormat df = new DecimalFormat("#,###");
+		long[] values = { 0, 1, 999, 1000, 1_234_567, -1, -1000, -1_234_567, Long.MAX_VALUE, Long.MIN_VALUE + 1 };
+		for (long value : values) {
+			assertEquals(df.format(value) + "원", ValueFormatter.formatWon(value));
+		}
+		assertEquals("-9,223,372,036,854,775,808원", ValueFormatter.formatWon(Long.MIN_VALUE));
+		assertEquals("", ValueFormatter.formatWon(null));
+	}
+
+	@Test
+	void formatTimestamp() {
+		assertEquals("2026-10-19 15:06:37", ValueFormatter.formatTimestamp(Timestamp.valueOf("2026-10-19 15:06:37.123")));
+		assertEquals("", ValueFormatter.formatTimestamp(null));
+	}
+
+	// 스레드별 버퍼가 다른 스레드의 결과와 섞이지 않는지
+	@Test
+	void concurrentCallsDoNotShareBuffers() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				futures.add(executor.submit(() -> {
+					DecimalFormat df = new DecimalFormat("#,###");
+					for (int i = 0; i < 20_000; i++) {
+						long value = ThreadLocalRandom.current().nextLong();
+						assertEquals(df.format(value) + "원", ValueFormatter.formatWon(value));
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}